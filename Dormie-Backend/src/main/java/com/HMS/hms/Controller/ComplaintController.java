@@ -29,9 +29,9 @@ import com.HMS.hms.DTO.ComplaintCreateRequest;
 import com.HMS.hms.DTO.ComplaintDTO;
 import com.HMS.hms.DTO.ComplaintUpdateRequest;
 import com.HMS.hms.DTO.MessageResponse;
+import com.HMS.hms.Security.CurrentStudentContext;
 import com.HMS.hms.Security.UserDetailsImpl;
 import com.HMS.hms.Service.ComplaintService;
-import com.HMS.hms.Service.UserService;
 import com.HMS.hms.Tables.Users;
 
 @RestController
@@ -43,7 +43,7 @@ public class ComplaintController {
     private ComplaintService complaintService;
 
     @Autowired
-    private UserService userService;
+    private CurrentStudentContext currentStudentContext;
 
     /**
      * Create a new complaint (only for students)
@@ -89,7 +89,7 @@ public class ComplaintController {
             }
 
             // Get user by email to get user ID
-            var userOpt = userService.findByEmail(userEmail);
+            var userOpt = currentStudentContext.getUser();
             if (userOpt.isEmpty()) {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND)
                         .body("User not found");
@@ -133,7 +133,7 @@ public class ComplaintController {
             }
 
             // Get user by email to get user ID
-            var userOpt = userService.findByEmail(userEmail);
+            var userOpt = currentStudentContext.getUser();
             if (userOpt.isEmpty()) {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND)
                         .body("User not found");
@@ -171,7 +171,7 @@ public class ComplaintController {
             }
 
             // Get user by email to get user ID
-            var userOpt = userService.findByEmail(userEmail);
+            var userOpt = currentStudentContext.getUser();
             if (userOpt.isEmpty()) {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND)
                         .body("User not found");
@@ -208,7 +208,7 @@ public class ComplaintController {
             }
 
             // Get user by email to get user ID
-            var userOpt = userService.findByEmail(userEmail);
+            var userOpt = currentStudentContext.getUser();
             if (userOpt.isEmpty()) {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND)
                         .body("User not found");
@@ -269,7 +269,7 @@ public class ComplaintController {
             }
 
             // Get user by email to get user ID
-            var userOpt = userService.findByEmail(userEmail);
+            var userOpt = currentStudentContext.getUser();
             if (userOpt.isEmpty()) {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND)
                         .body("User not found");
@@ -305,7 +305,7 @@ public class ComplaintController {
             }
 
             // Get user by email to get user ID
-            var userOpt = userService.findByEmail(userEmail);
+            var userOpt = currentStudentContext.getUser();
             if (userOpt.isEmpty()) {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND)
                         .body("User not found");
@@ -340,7 +340,7 @@ public class ComplaintController {
             }
 
             // Get user by email to get user ID
-            var userOpt = userService.findByEmail(userEmail);
+            var userOpt = currentStudentContext.getUser();
             if (userOpt.isEmpty()) {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND)
                         .body("User not found");
@@ -375,7 +375,7 @@ public class ComplaintController {
             }
 
             // Get user by email to get user ID
-            var userOpt = userService.findByEmail(userEmail);
+            var userOpt = currentStudentContext.getUser();
             if (userOpt.isEmpty()) {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND)
                         .body("User not found");
@@ -410,7 +410,7 @@ public class ComplaintController {
             }
 
             // Get user by email to get user ID
-            var userOpt = userService.findByEmail(userEmail);
+            var userOpt = currentStudentContext.getUser();
             if (userOpt.isEmpty()) {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND)
                         .body("User not found");
@@ -448,7 +448,7 @@ public class ComplaintController {
             }
 
             // Get user by email to get user ID
-            var userOpt = userService.findByEmail(userEmail);
+            var userOpt = currentStudentContext.getUser();
             if (userOpt.isEmpty()) {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND)
                         .body("User not found");
@@ -489,7 +489,7 @@ public class ComplaintController {
             }
 
             // Get user by email to get user ID
-            var userOpt = userService.findByEmail(userEmail);
+            var userOpt = currentStudentContext.getUser();
             if (userOpt.isEmpty()) {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND)
                         .body("User not found");
@@ -531,7 +531,7 @@ public class ComplaintController {
             }
 
             // Get user by email to get user ID
-            var userOpt = userService.findByEmail(userEmail);
+            var userOpt = currentStudentContext.getUser();
             if (userOpt.isEmpty()) {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND)
                         .body("User not found");
@@ -571,7 +571,7 @@ public class ComplaintController {
             }
 
             // Get user by email to get user ID
-            var userOpt = userService.findByEmail(userEmail);
+            var userOpt = currentStudentContext.getUser();
             if (userOpt.isEmpty()) {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND)
                         .body("User not found");
@@ -610,7 +610,7 @@ public class ComplaintController {
             }
 
             // Get user by email to get user ID
-            var userOpt = userService.findByEmail(userEmail);
+            var userOpt = currentStudentContext.getUser();
             if (userOpt.isEmpty()) {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND)
                         .body("User not found");
@@ -673,7 +673,7 @@ public class ComplaintController {
             }
 
             // Get user by email to get user ID
-            var userOpt = userService.findByEmail(userEmail);
+            var userOpt = currentStudentContext.getUser();
             if (userOpt.isEmpty()) {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND)
                         .body("User not found");
@@ -716,7 +716,7 @@ public class ComplaintController {
             }
 
             // Get user by email to get user ID
-            var userOpt = userService.findByEmail(userEmail);
+            var userOpt = currentStudentContext.getUser();
             if (userOpt.isEmpty()) {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND)
                         .body("User not found");
@@ -20,10 +20,17 @@ import org.springframework.web.bind.annotation.RequestMapping; // For getApplica
 import org.springframework.web.bind.annotation.RequestParam; // Ensure this is imported
 import org.springframework.web.bind.annotation.RestController; // Ensure this is imported
 
+import com.HMS.hms.DTO.BulkApplicationDecisionRequest;
+import com.HMS.hms.DTO.BulkApplicationDecisionResultDTO;
+import com.HMS.hms.DTO.HallApplicationIntakeTicketDTO;
 import com.HMS.hms.DTO.HallApplicationRequest;
 import com.HMS.hms.DTO.HallApplicationSummaryDTO;
 import com.HMS.hms.DTO.MessageResponse;
+import com.HMS.hms.DTO.RankedApplicationsPageDTO;
 import com.HMS.hms.Security.UserDetailsImpl;
+import com.HMS.hms.Service.HallApplicationDistanceService;
+import com.HMS.hms.Service.HallApplicationIntakeService;
+import com.HMS.hms.Service.HallApplicationRankingService;
 import com.HMS.hms.Service.HallApplicationService;
 import com.HMS.hms.Tables.HallApplication;
 
@@ -41,12 +48,22 @@ public class HallApplicationController {
     @Autowired
     private HallApplicationService hallApplicationService;
 
+    @Autowired
+    private HallApplicationDistanceService hallApplicationDistanceService;
+
+    @Autowired
+    private HallApplicationRankingService hallApplicationRankingService;
+
+    @Autowired
+    private HallApplicationIntakeService hallApplicationIntakeService;
+
     /**
      * Endpoint for a student to submit a hall seat application.
      * Accepts JSON data and extracts student ID from JWT token.
+     * In intake mode the application is queued and 202 Accepted is returned with a ticket to poll.
      *
      * @param applicationRequest The DTO containing application data (JSON).
-     * @return ResponseEntity with success/error message.
+     * @return ResponseEntity with success/error message, or the intake ticket in intake mode.
      */
     @PostMapping("/seat")
     @PreAuthorize("hasRole('STUDENT')") // Only logged-in students can apply
@@ -62,6 +79,10 @@ public class HallApplicationController {
         Long userId = userDetails.getId();
 
         try {
+            if (hallApplicationIntakeService.isEnabled()) {
+                HallApplicationIntakeTicketDTO ticket = hallApplicationIntakeService.enqueue(applicationRequest, userId);
+                return ResponseEntity.status(HttpStatus.ACCEPTED).body(ticket);
+            }
             hallApplicationService.submitHallApplication(applicationRequest, userId);
             return ResponseEntity.ok(new MessageResponse("Hall application submitted successfully!"));
         } catch (IllegalArgumentException e) {
@@ -96,6 +117,34 @@ public class HallApplicationController {
         }
     }
 
+    /**
+     * Get one page of hall applications in priority order, highest score first (for Provost's allocation view).
+     * Pass the previous page's nextAfterScore and nextAfterId as afterScore and afterId to fetch the next page.
+     * @param status Optional application status filter (e.g., "PENDING").
+     * @param afterScore Cursor score from the previous page; omit for the first page.
+     * @param afterId Cursor application ID from the previous page; omit for the first page.
+     * @param limit Page size (max 200).
+     * @return RankedApplicationsPageDTO with the page and the cursor for the next one.
+     */
+    @GetMapping("/ranked") // e.g., GET /api/applications/ranked?status=PENDING&limit=50
+    @PreAuthorize("hasRole('PROVOST')") // Only Provosts can view the ranked list
+    public ResponseEntity<RankedApplicationsPageDTO> getRankedApplications(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) Double afterScore,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(defaultValue = "50") int limit
+    ) {
+        if ((afterScore == null) != (afterId == null)) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return ResponseEntity.ok(hallApplicationRankingService.getRankedPage(status, afterScore, afterId, limit));
+        } catch (Exception e) {
+            logger.error("Error fetching ranked applications: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
     /**
      * Get full details of a single hall application by ID.
      * @param applicationId The ID of the application.
@@ -154,6 +203,89 @@ public class HallApplicationController {
         }
     }
 
+    /**
+     * Accept or reject many applications in one request, either by ID or the top N pending by rank.
+     * Accepting also updates the students' residency. Applications that are missing or already
+     * decided are skipped and reported per ID.
+     * @param request The decision and the applications it applies to.
+     * @return BulkApplicationDecisionResultDTO with the outcome for every application.
+     */
+    @PostMapping("/bulk-decision")
+    @PreAuthorize("hasRole('PROVOST') or hasRole('ADMIN')") // Only Provosts and Admins can accept or reject
+    public ResponseEntity<?> decideApplications(@RequestBody @Valid BulkApplicationDecisionRequest request) {
+        try {
+            BulkApplicationDecisionResultDTO result = hallApplicationService.decideHallApplications(request);
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Bad request for bulk application decision: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(new MessageResponse("Error: " + e.getMessage()));
+        } catch (Exception e) {
+            logger.error("An unexpected error occurred during bulk application decision: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new MessageResponse("An unexpected error occurred: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Re-queue distance calculation for every application that still has no distance,
+     * e.g. after a geocoder outage. Returns immediately; distances are filled in the background.
+     * @return MessageResponse with the number of applications queued.
+     */
+    @PostMapping("/distances/backfill")
+    @PreAuthorize("hasRole('PROVOST') or hasRole('ADMIN')") // Only Provosts and Admins can trigger a backfill
+    public ResponseEntity<?> backfillDistances() {
+        try {
+            int queued = hallApplicationDistanceService.backfill();
+            return ResponseEntity.ok(new MessageResponse("Queued " + queued + " applications for distance calculation."));
+        } catch (Exception e) {
+            logger.error("An unexpected error occurred while queueing distance backfill: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new MessageResponse("An unexpected error occurred: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Recompute the priority score of every application, e.g. after the ranking weights were changed.
+     * @return MessageResponse with the number of applications rescored.
+     */
+    @PostMapping("/ranking/rescore")
+    @PreAuthorize("hasRole('PROVOST') or hasRole('ADMIN')") // Only Provosts and Admins can trigger a rescore
+    public ResponseEntity<?> rescoreApplications() {
+        try {
+            int rescored = hallApplicationRankingService.rescoreAll();
+            return ResponseEntity.ok(new MessageResponse("Rescored " + rescored + " applications."));
+        } catch (Exception e) {
+            logger.error("An unexpected error occurred while rescoring applications: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new MessageResponse("An unexpected error occurred: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Get the state of a hall application submitted through the intake queue.
+     * Students can only see their own tickets.
+     * @param ticketId The ticket ID returned on submission.
+     * @return HallApplicationIntakeTicketDTO, or 404 if the ticket is unknown.
+     */
+    @GetMapping("/intake/{ticketId}")
+    @PreAuthorize("hasRole('STUDENT')") // Only logged-in students can check their tickets
+    public ResponseEntity<?> getIntakeTicket(@PathVariable String ticketId) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated() || !(authentication.getPrincipal() instanceof UserDetailsImpl)) {
+            logger.warn("Unauthorized attempt to get intake ticket: No valid authentication found.");
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(new MessageResponse("Authentication required. Please log in as a student."));
+        }
+        Long userId = ((UserDetailsImpl) authentication.getPrincipal()).getId();
+
+        try {
+            Optional<HallApplicationIntakeTicketDTO> ticket = hallApplicationIntakeService.getTicket(ticketId, userId);
+            if (ticket.isPresent()) {
+                return ResponseEntity.ok(ticket.get());
+            }
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new MessageResponse("Ticket not found: " + ticketId));
+        } catch (Exception e) {
+            logger.error("Error fetching intake ticket {} for user {}: {}", ticketId, userId, e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new MessageResponse("An unexpected error occurred: " + e.getMessage()));
+        }
+    }
+
     /**
      * Get the status of the current student's hall application.
      * Extracts student ID from JWT token and checks for existing application.
@@ -0,0 +1,136 @@
+package com.HMS.hms.Controller;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.HMS.hms.DTO.MealMenuGenerationResultDTO;
+import com.HMS.hms.DTO.MealMenuTemplateDTO;
+import com.HMS.hms.Security.UserDetailsImpl;
+import com.HMS.hms.Service.MealMenuTemplateService;
+
+@RestController
+@RequestMapping("/api/meal-plans/templates")
+@CrossOrigin(origins = "*")
+public class MealMenuTemplateController {
+
+    @Autowired
+    private MealMenuTemplateService mealMenuTemplateService;
+
+    // Create a menu template (Mess Manager only)
+    @PostMapping
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<?> createTemplate(@RequestBody MealMenuTemplateDTO templateDTO) {
+        try {
+            MealMenuTemplateDTO template = mealMenuTemplateService.createTemplate(templateDTO, currentUserId());
+            return ResponseEntity.status(HttpStatus.CREATED).body(template);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("message", "Error creating menu template: " + e.getMessage()));
+        }
+    }
+
+    // Get all menu templates
+    @GetMapping
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<?> getAllTemplates() {
+        try {
+            List<MealMenuTemplateDTO> templates = mealMenuTemplateService.getAllTemplates();
+            return ResponseEntity.ok(templates);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("message", "Error retrieving menu templates: " + e.getMessage()));
+        }
+    }
+
+    // Get a menu template with its meals
+    @GetMapping("/{templateId}")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<?> getTemplate(@PathVariable Long templateId) {
+        try {
+            Optional<MealMenuTemplateDTO> template = mealMenuTemplateService.getTemplate(templateId);
+            if (template.isPresent()) {
+                return ResponseEntity.ok(template.get());
+            } else {
+                return ResponseEntity.notFound().build();
+            }
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("message", "Error retrieving menu template: " + e.getMessage()));
+        }
+    }
+
+    // Update a menu template (Mess Manager only)
+    @PutMapping("/{templateId}")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<?> updateTemplate(@PathVariable Long templateId, @RequestBody MealMenuTemplateDTO templateDTO) {
+        try {
+            MealMenuTemplateDTO template = mealMenuTemplateService.updateTemplate(templateId, templateDTO, currentUserId());
+            return ResponseEntity.ok(template);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("message", "Error updating menu template: " + e.getMessage()));
+        }
+    }
+
+    // Delete a menu template (Mess Manager only)
+    @DeleteMapping("/{templateId}")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<?> deleteTemplate(@PathVariable Long templateId) {
+        try {
+            mealMenuTemplateService.deleteTemplate(templateId, currentUserId());
+            return ResponseEntity.ok(Map.of("message", "Menu template deleted successfully"));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("message", "Error deleting menu template: " + e.getMessage()));
+        }
+    }
+
+    // Create or update a month of meal plans from a template, e.g. month=2025-07 (Mess Manager only)
+    @PostMapping("/{templateId}/generate")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<?> generateMonth(@PathVariable Long templateId, @RequestParam String month) {
+        try {
+            MealMenuGenerationResultDTO result = mealMenuTemplateService.generateMonth(
+                    templateId, YearMonth.parse(month), currentUserId());
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        } catch (DateTimeParseException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", "Month must look like 2025-07"));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("message", "Error generating meal plans: " + e.getMessage()));
+        }
+    }
+
+    // User ID of the authenticated caller
+    private Long currentUserId() {
+        UserDetailsImpl userDetails = (UserDetailsImpl) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        return userDetails.getId();
+    }
+}
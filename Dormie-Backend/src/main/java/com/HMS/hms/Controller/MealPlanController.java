@@ -6,10 +6,11 @@ import java.util.Map;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -21,14 +22,19 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import com.HMS.hms.DTO.MealCheckInResultDTO;
+import com.HMS.hms.DTO.MealHeadcountDTO;
+import com.HMS.hms.DTO.MealOptOutDTO;
 import com.HMS.hms.DTO.MealPlanDTO;
+import com.HMS.hms.DTO.MealTokenDTO;
+import com.HMS.hms.Security.CurrentStudentContext;
 import com.HMS.hms.Security.UserDetailsImpl;
+import com.HMS.hms.Service.MealCheckInService;
+import com.HMS.hms.Service.MealHeadcountService;
 import com.HMS.hms.Service.MealPlanService;
-import com.HMS.hms.Service.StudentsService;
-import com.HMS.hms.Service.UserService;
-import com.HMS.hms.Tables.Students;
-import com.HMS.hms.Tables.Users;
+import com.HMS.hms.Service.MenuCacheService;
 
 @RestController
 @RequestMapping("/api/meal-plans")
@@ -39,10 +45,16 @@ public class MealPlanController {
     private MealPlanService mealPlanService;
 
     @Autowired
-    private StudentsService studentsService;
+    private MenuCacheService menuCacheService;
 
     @Autowired
-    private UserService userService;
+    private MealHeadcountService mealHeadcountService;
+
+    @Autowired
+    private MealCheckInService mealCheckInService;
+
+    @Autowired
+    private CurrentStudentContext currentStudentContext;
 
     // Create or update meal plan (Mess Manager only)
     @PostMapping
@@ -61,7 +73,7 @@ public class MealPlanController {
 
     // Get all meal plans (Admin view)
     @GetMapping
-    public ResponseEntity<?> getAllMealPlans() {
+    public ResponseEntity<?> getAllMealPlans(WebRequest request) {
         try {
             // Check if user is a resident student
             if (!isResidentStudent()) {
@@ -69,9 +81,8 @@ public class MealPlanController {
                         .body(Map.of("message", "Only resident students can access meal plans"));
             }
             
-            // Get all future meals for general viewing
-            List<MealPlanDTO> mealPlans = mealPlanService.getFutureMeals();
-            return ResponseEntity.ok(mealPlans);
+            // Get the coming week's meals for general viewing
+            return cachedMenu(menuCacheService.getFutureMenu(), request);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -79,7 +90,7 @@ public class MealPlanController {
 
     // Get today's meals (Public access for all students)
     @GetMapping("/today")
-    public ResponseEntity<?> getTodaysMeals() {
+    public ResponseEntity<?> getTodaysMeals(WebRequest request) {
         try {
             // Check if user is a resident student
             if (!isResidentStudent()) {
@@ -87,8 +98,7 @@ public class MealPlanController {
                         .body(Map.of("message", "Only resident students can access meal plans"));
             }
             
-            List<MealPlanDTO> todaysMeals = mealPlanService.getTodaysMeals();
-            return ResponseEntity.ok(todaysMeals);
+            return cachedMenu(menuCacheService.getTodaysMenu(), request);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -131,6 +141,23 @@ public class MealPlanController {
         }
     }
 
+    // Get a week of meal plans starting at startDate (default today)
+    @GetMapping("/week")
+    public ResponseEntity<List<MealPlanDTO>> getWeekMealPlans(@RequestParam(required = false) String startDate) {
+        try {
+            // Check if the user is a resident student
+            if (!isResidentStudent()) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+            }
+
+            LocalDate start = startDate != null ? LocalDate.parse(startDate) : LocalDate.now();
+            List<MealPlanDTO> mealPlans = mealPlanService.getWeekMealPlans(start);
+            return ResponseEntity.ok(mealPlans);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
     // Get meal plans by mess manager (Mess Manager view)
     @GetMapping("/mess-manager/{messManagerId}")
     @PreAuthorize("isAuthenticated()")
@@ -214,48 +241,150 @@ public class MealPlanController {
         }
     }
 
-    // Get future meals (Public access)
+    // Get the coming week's meals (Public access)
     @GetMapping("/future")
-    public ResponseEntity<List<MealPlanDTO>> getFutureMeals() {
+    public ResponseEntity<?> getFutureMeals(WebRequest request) {
         try {
             // Check if the user is a resident student
             if (!isResidentStudent()) {
                 return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
             }
-            
-            List<MealPlanDTO> futureMeals = mealPlanService.getFutureMeals();
-            return ResponseEntity.ok(futureMeals);
+
+            return cachedMenu(menuCacheService.getFutureMenu(), request);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
 
-    // Helper method to check if the current user is a resident student
-    private boolean isResidentStudent() {
+    // Opt out of a meal before its cutoff (resident students)
+    @PutMapping("/{mealPlanId}/opt-out")
+    public ResponseEntity<?> optOutOfMeal(@PathVariable Long mealPlanId) {
+        return setOptOut(mealPlanId, true);
+    }
+
+    // Opt back in to a meal before its cutoff (resident students)
+    @DeleteMapping("/{mealPlanId}/opt-out")
+    public ResponseEntity<?> optInToMeal(@PathVariable Long mealPlanId) {
+        return setOptOut(mealPlanId, false);
+    }
+
+    // Get the current student's opt-out state for a meal
+    @GetMapping("/{mealPlanId}/opt-out")
+    public ResponseEntity<?> getOptOut(@PathVariable Long mealPlanId) {
         try {
-            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            if (authentication == null || !authentication.isAuthenticated()) {
-                return false;
+            if (!isResidentStudent()) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                        .body(Map.of("message", "Only resident students can access meal plans"));
             }
 
-            UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
-            String email = userDetails.getEmail();
+            MealOptOutDTO optOut = mealHeadcountService.getOptOut(mealPlanId, currentUserId());
+            return ResponseEntity.ok(optOut);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("message", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("message", "Error retrieving opt-out: " + e.getMessage()));
+        }
+    }
 
-            Optional<Users> userOpt = userService.findByEmail(email);
-            if (userOpt.isEmpty()) {
-                return false;
+    // Live headcounts of a date's meals, default today (Mess Manager only)
+    @GetMapping("/headcount")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<?> getHeadcounts(@RequestParam(required = false) String date) {
+        try {
+            LocalDate mealDate = date != null ? LocalDate.parse(date) : LocalDate.now();
+            List<MealHeadcountDTO> headcounts = mealHeadcountService.getHeadcounts(currentUserId(), mealDate);
+            return ResponseEntity.ok(headcounts);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("message", "Error retrieving headcounts: " + e.getMessage()));
+        }
+    }
+
+    // Get a check-in token for one of today's meals (resident students with a paid dining fee)
+    @GetMapping("/{mealPlanId}/token")
+    public ResponseEntity<?> getMealToken(@PathVariable Long mealPlanId) {
+        try {
+            if (!isResidentStudent()) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                        .body(Map.of("message", "Only resident students can check in to meals"));
             }
 
-            Users user = userOpt.get();
-            Optional<Students> studentOpt = studentsService.findByUserId(user.getUserId());
-            if (studentOpt.isEmpty()) {
-                return false;
+            MealTokenDTO token = mealCheckInService.issueToken(currentUserId(), mealPlanId);
+            return ResponseEntity.ok(token);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("message", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("message", "Error issuing meal token: " + e.getMessage()));
+        }
+    }
+
+    // Check a student in at the dining hall entrance with their meal token
+    @PostMapping("/check-in")
+    @PreAuthorize("hasRole('SUPERVISOR') or hasRole('ADMIN') or hasRole('PROVOST')")
+    public ResponseEntity<?> checkIn(@RequestBody Map<String, String> request) {
+        try {
+            MealCheckInResultDTO result = mealCheckInService.checkIn(request.get("token"));
+            switch (result.getResult()) {
+                case MealCheckInResultDTO.ADMITTED:
+                    return ResponseEntity.ok(result);
+                case MealCheckInResultDTO.ALREADY_CHECKED_IN:
+                    return ResponseEntity.status(HttpStatus.CONFLICT).body(result);
+                default:
+                    return ResponseEntity.badRequest().body(result);
             }
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("message", "Error checking in: " + e.getMessage()));
+        }
+    }
 
-            Students student = studentOpt.get();
-            return "resident".equals(student.getResidencyStatus());
+    private ResponseEntity<?> setOptOut(Long mealPlanId, boolean optOut) {
+        try {
+            if (!isResidentStudent()) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                        .body(Map.of("message", "Only resident students can opt out of meals"));
+            }
+
+            MealOptOutDTO result = mealHeadcountService.setOptOut(mealPlanId, currentUserId(), optOut);
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("message", e.getMessage()));
         } catch (Exception e) {
-            return false;
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("message", "Error updating opt-out: " + e.getMessage()));
         }
     }
+
+    // Serve a precomputed menu; a poll whose If-None-Match matches gets 304 without a body
+    private ResponseEntity<?> cachedMenu(MenuCacheService.CachedMenu menu, WebRequest request) {
+        if (request.checkNotModified(menu.getETag())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .eTag(menu.getETag())
+                .body(menu.getBody());
+    }
+
+    // User ID of the authenticated caller
+    private Long currentUserId() {
+        UserDetailsImpl userDetails = (UserDetailsImpl) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        return userDetails.getId();
+    }
+
+    // Helper method to check if the current user is a resident student
+    private boolean isResidentStudent() {
+        return currentStudentContext.isResidentStudent();
+    }
 }
@@ -7,8 +7,6 @@ import java.util.Optional;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -18,13 +16,9 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
-import com.HMS.hms.Security.UserDetailsImpl;
+import com.HMS.hms.Security.CurrentStudentContext;
 import com.HMS.hms.Service.MessManagerApplicationService;
-import com.HMS.hms.Service.StudentsService;
-import com.HMS.hms.Service.UserService;
 import com.HMS.hms.Tables.MessManagerApplication;
-import com.HMS.hms.Tables.Students;
-import com.HMS.hms.Tables.Users;
 
 @RestController
 @RequestMapping("/api/mess-manager-applications")
@@ -35,10 +29,7 @@ public class MessManagerApplicationController {
     private MessManagerApplicationService applicationService;
 
     @Autowired
-    private StudentsService studentsService;
-
-    @Autowired
-    private UserService userService;
+    private CurrentStudentContext currentStudentContext;
 
     // Student applies for mess manager position
     @PostMapping("/apply")
@@ -127,11 +118,7 @@ public class MessManagerApplicationController {
     @GetMapping("/call/{callId}/summary")
     public ResponseEntity<Map<String, Integer>> getApplicationSummary(@PathVariable Long callId) {
         try {
-            Map<String, Integer> summary = Map.of(
-                "total", applicationService.getTotalApplicationsCount(callId),
-                "pending", applicationService.getPendingApplicationsCount(callId),
-                "currentManagers", applicationService.getCurrentMessManagerCount(callId)
-            );
+            Map<String, Integer> summary = applicationService.getApplicationSummary(callId);
             return ResponseEntity.ok(summary);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -200,25 +187,6 @@ public class MessManagerApplicationController {
 
     // Helper method to validate if user is a resident student
     private boolean isResidentStudent() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication != null && authentication.getPrincipal() instanceof UserDetailsImpl) {
-            UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
-            String email = userDetails.getEmail();
-            
-            // Find user by email
-            Optional<Users> userOpt = userService.findByEmail(email);
-            if (userOpt.isPresent()) {
-                Users user = userOpt.get();
-                // Check if user is a student and has resident status
-                if ("STUDENT".equals(user.getRole())) {
-                    Optional<Students> studentOpt = studentsService.findByUserId(user.getUserId());
-                    if (studentOpt.isPresent()) {
-                        Students student = studentOpt.get();
-                        return "resident".equals(student.getResidencyStatus());
-                    }
-                }
-            }
-        }
-        return false;
+        return currentStudentContext.isResidentStudent();
     }
 }
@@ -6,8 +6,7 @@ import java.util.Optional;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -16,15 +15,13 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
-import com.HMS.hms.Security.UserDetailsImpl;
+import com.HMS.hms.Security.CurrentStudentContext;
+import com.HMS.hms.Service.MessManagerCallLifecycleService;
 import com.HMS.hms.Service.MessManagerCallService;
-import com.HMS.hms.Service.StudentsService;
-import com.HMS.hms.Service.UserService;
 import com.HMS.hms.Tables.MessManagerCall;
-import com.HMS.hms.Tables.Students;
-import com.HMS.hms.Tables.Users;
 
 @RestController
 @RequestMapping("/api/mess-manager-calls")
@@ -35,10 +32,10 @@ public class MessManagerCallController {
     private MessManagerCallService messManagerCallService;
 
     @Autowired
-    private StudentsService studentsService;
+    private MessManagerCallLifecycleService messManagerCallLifecycleService;
 
     @Autowired
-    private UserService userService;
+    private CurrentStudentContext currentStudentContext;
 
     // Create a new mess manager call (Provost only)
     @PostMapping
@@ -156,6 +153,19 @@ public class MessManagerCallController {
         }
     }
 
+    // Provost call list for a year: each call with its dining fee and application counts (defaults to this year)
+    @GetMapping("/dashboard")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('PROVOST')")
+    public ResponseEntity<?> getDashboard(@RequestParam(required = false) Integer year) {
+        try {
+            int dashboardYear = year != null ? year : java.time.LocalDate.now().getYear();
+            return ResponseEntity.ok(messManagerCallService.getDashboard(dashboardYear));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(java.util.Map.of("message", "Error retrieving call dashboard: " + e.getMessage()));
+        }
+    }
+
     // Get calls by provost ID
     @GetMapping("/provost/{provostId}")
     public ResponseEntity<List<MessManagerCall>> getCallsByProvost(@PathVariable Long provostId) {
@@ -242,8 +252,8 @@ public class MessManagerCallController {
     @PostMapping("/update-expired")
     public ResponseEntity<?> updateExpiredCalls() {
         try {
-            messManagerCallService.updateExpiredCalls();
-            return ResponseEntity.ok(java.util.Map.of("message", "Expired calls updated successfully"));
+            int updated = messManagerCallService.updateExpiredCalls();
+            return ResponseEntity.ok(java.util.Map.of("message", "Expired calls updated successfully", "updated", updated));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(java.util.Map.of("message", "Error updating expired calls: " + e.getMessage()));
@@ -254,14 +264,21 @@ public class MessManagerCallController {
     @PostMapping("/update-completed")
     public ResponseEntity<?> updateCompletedCalls() {
         try {
-            messManagerCallService.updateCompletedCalls();
-            return ResponseEntity.ok(java.util.Map.of("message", "Completed calls updated successfully"));
+            int updated = messManagerCallService.updateCompletedCalls();
+            return ResponseEntity.ok(java.util.Map.of("message", "Completed calls updated successfully", "updated", updated));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(java.util.Map.of("message", "Error updating completed calls: " + e.getMessage()));
         }
     }
 
+    // Timing and outcome of the scheduled status transitions (admin/provost only)
+    @GetMapping("/lifecycle-status")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('PROVOST')")
+    public ResponseEntity<?> getLifecycleStatus() {
+        return ResponseEntity.ok(messManagerCallLifecycleService.getStatus());
+    }
+
     // Get available dining fees (not used in any mess manager call)
     @GetMapping("/available-dining-fees")
     public ResponseEntity<?> getAvailableDiningFees() {
@@ -276,25 +293,6 @@ public class MessManagerCallController {
 
     // Helper method to validate if user is a resident student
     private boolean isResidentStudent() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication != null && authentication.getPrincipal() instanceof UserDetailsImpl) {
-            UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
-            String email = userDetails.getEmail();
-            
-            // Find user by email
-            Optional<Users> userOpt = userService.findByEmail(email);
-            if (userOpt.isPresent()) {
-                Users user = userOpt.get();
-                // Check if user is a student and has resident status
-                if ("STUDENT".equals(user.getRole())) {
-                    Optional<Students> studentOpt = studentsService.findByUserId(user.getUserId());
-                    if (studentOpt.isPresent()) {
-                        Students student = studentOpt.get();
-                        return "resident".equals(student.getResidencyStatus());
-                    }
-                }
-            }
-        }
-        return false;
+        return currentStudentContext.isResidentStudent();
     }
 }
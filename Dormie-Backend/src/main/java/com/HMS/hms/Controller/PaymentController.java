@@ -21,6 +21,7 @@ import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.HMS.hms.Security.UserDetailsImpl;
+import com.HMS.hms.Service.PaymentHistoryService;
 import com.HMS.hms.Service.PaymentService;
 @RestController
 @RequestMapping("/api/payment")
@@ -31,6 +32,9 @@ public class PaymentController {
     @Autowired
     private PaymentService paymentService;
 
+    @Autowired
+    private PaymentHistoryService paymentHistoryService;
+
     @PostMapping("/initiate")
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<?> initiatePayment() throws IOException, UnsupportedEncodingException {
@@ -164,4 +168,31 @@ public class PaymentController {
                     ));
         }
     }
+
+    // My payment history: hall and dining payments in one paginated list
+    @GetMapping("/history")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<?> getMyPaymentHistory(@RequestParam(defaultValue = "0") int page,
+                                                 @RequestParam(defaultValue = "20") int size) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
+
+        try {
+            PaymentHistoryService.PaymentHistoryPage history =
+                    paymentHistoryService.getPaymentHistory(userDetails.getId(), page, size);
+            return ResponseEntity.ok(Map.of(
+                "payments", history.getPayments(),
+                "page", history.getPage(),
+                "size", history.getSize(),
+                "totalElements", history.getTotalElements(),
+                "totalPages", history.getTotalPages()
+            ));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Error fetching payment history: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("message", "Error fetching payment history"));
+        }
+    }
 }
@@ -0,0 +1,67 @@
+package com.HMS.hms.Controller;
+
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.HMS.hms.Service.ReportExportService;
+import com.HMS.hms.Service.ReportExportService.ExportFormat;
+import com.HMS.hms.Service.ReportExportService.ReportType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@RestController
+@RequestMapping("/api/reports")
+@CrossOrigin(origins = "*", maxAge = 3600)
+public class ReportExportController {
+
+    @Autowired
+    private ReportExportService reportExportService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Stream a report as CSV or XLSX.
+     * Reports: hall-fees, dining-fees, payments, room-allocations.
+     * The optional year filter applies to the fee and payment reports.
+     */
+    @GetMapping("/{report}/export")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('PROVOST')")
+    public ResponseEntity<StreamingResponseBody> exportReport(@PathVariable String report,
+                                          @RequestParam(defaultValue = "csv") String format,
+                                          @RequestParam(required = false) Integer year) {
+        ReportType reportType;
+        ExportFormat exportFormat;
+        try {
+            reportType = ReportType.fromPath(report);
+            exportFormat = ExportFormat.fromString(format);
+            reportExportService.validateYearFilter(reportType, year);
+        } catch (IllegalArgumentException e) {
+            // The handler must return a StreamingResponseBody, so the error JSON is streamed as well
+            Map<String, String> error = Map.of("message", e.getMessage());
+            return ResponseEntity.badRequest()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(outputStream -> objectMapper.writeValue(outputStream, error));
+        }
+
+        String filename = reportType.getPath() + (year != null ? "-" + year : "") + "." + exportFormat.getExtension();
+        StreamingResponseBody body = outputStream ->
+                reportExportService.export(reportType, exportFormat, year, outputStream);
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .body(body);
+    }
+}
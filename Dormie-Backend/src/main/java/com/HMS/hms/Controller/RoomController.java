@@ -5,14 +5,13 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Random;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -25,13 +24,15 @@ import com.HMS.hms.DTO.MessageResponse;
 import com.HMS.hms.DTO.RoomAssignmentRequest;
 import com.HMS.hms.DTO.RoomDTO;
 import com.HMS.hms.DTO.UnassignedStudentDTO;
-import com.HMS.hms.Security.UserDetailsImpl;
+import com.HMS.hms.Security.CurrentStudentContext;
 import com.HMS.hms.Service.RoomService;
 import com.HMS.hms.Service.StudentRoomService;
 import com.HMS.hms.Service.StudentsService;
 import com.HMS.hms.Tables.StudentRoom;
 import com.HMS.hms.Tables.Students;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.validation.Valid;
 
 @RestController
@@ -48,6 +49,12 @@ public class RoomController {
     @Autowired
     private StudentRoomService studentRoomService;
 
+    @Autowired
+    private CurrentStudentContext currentStudentContext;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @PostMapping("/set-room")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<?> setRooms(@Valid @RequestBody RoomDTO roomDTO) {
@@ -73,6 +80,10 @@ public class RoomController {
 
     @PostMapping("/assign-room")
     public ResponseEntity<?> assignRoom(@Valid @RequestBody RoomAssignmentRequest request) {
+        return timeAllocation("single", () -> allocateRoom(request));
+    }
+
+    private ResponseEntity<?> allocateRoom(RoomAssignmentRequest request) {
         try {
             // Check if student exists
             Optional<Students> studentOpt = studentsService.findByUserId(request.getUserId());
@@ -164,22 +175,14 @@ public class RoomController {
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<?> getAllocationStatus() {
         try {
-            // Get userId from JWT token using SecurityContextHolder (same as other controllers)
-            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            Long userId = null;
-            
-            if (authentication != null && authentication.getPrincipal() instanceof UserDetailsImpl) {
-                UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
-                userId = userDetails.getId();
-            }
-            
+            // Authenticated user, student record and room assignment, loaded together once per request
+            Long userId = currentStudentContext.getUserId();
             if (userId == null) {
                 return ResponseEntity.badRequest()
                         .body(new MessageResponse("Unable to extract user ID from token"));
             }
             
-            // Find student by userId
-            Optional<Students> studentOpt = studentsService.findByUserId(userId);
+            Optional<Students> studentOpt = currentStudentContext.getStudent();
             if (!studentOpt.isPresent()) {
                 return ResponseEntity.badRequest()
                         .body(new MessageResponse("Student not found for user ID: " + userId));
@@ -196,7 +199,7 @@ public class RoomController {
             // Check if student is resident
             if ("resident".equalsIgnoreCase(residencyStatus)) {
                 // Check if student has a room assignment
-                Optional<StudentRoom> studentRoomOpt = studentRoomService.getStudentRoomByUserId(userId);
+                Optional<StudentRoom> studentRoomOpt = currentStudentContext.getStudentRoom();
                 if (studentRoomOpt.isPresent()) {
                     String roomNo = studentRoomOpt.get().getRoomId();
                     return ResponseEntity.ok(new MessageResponse("room assigned to " + roomNo));
@@ -218,13 +221,8 @@ public class RoomController {
     @PreAuthorize("hasRole('STUDENT')")
     public ResponseEntity<?> getCurrentRoom() {
         try {
-            // Get the authenticated user's details
-            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
-            Long userId = userDetails.getId();
-
-            // Get student's current room assignment
-            Optional<StudentRoom> studentRoomOpt = studentRoomService.getStudentRoomByUserId(userId);
+            // Get the authenticated student's current room assignment
+            Optional<StudentRoom> studentRoomOpt = currentStudentContext.getStudentRoom();
             
             if (studentRoomOpt.isPresent()) {
                 StudentRoom studentRoom = studentRoomOpt.get();
@@ -302,6 +300,10 @@ public class RoomController {
     @PostMapping("/assign-random")
     @PreAuthorize("hasRole('PROVOST')")
     public ResponseEntity<?> assignRoomsRandomly(@RequestBody Map<String, Object> request) {
+        return timeAllocation("random", () -> allocateRoomsRandomly(request));
+    }
+
+    private ResponseEntity<?> allocateRoomsRandomly(Map<String, Object> request) {
         try {
             // Extract probability from request
             Double probability = 0.0;
@@ -529,6 +531,19 @@ public class RoomController {
         }
     }
 
+    /**
+     * Times an allocation request, tagged by mode and whether it succeeded
+     */
+    private ResponseEntity<?> timeAllocation(String mode, Supplier<ResponseEntity<?>> allocation) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        ResponseEntity<?> response = allocation.get();
+        sample.stop(Timer.builder("hms.room.allocation")
+                .description("Room allocation requests")
+                .tags("mode", mode, "outcome", response.getStatusCode().is2xxSuccessful() ? "success" : "failure")
+                .register(meterRegistry));
+        return response;
+    }
+
     /**
      * Helper method to assign a student to a room
      * This method performs the same validation as normal room assignment
@@ -19,10 +19,12 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.HMS.hms.DTO.StudentDTO;
+import com.HMS.hms.DTO.StudentDashboardDTO;
 import com.HMS.hms.DTO.StudentUpdateRequest;
+import com.HMS.hms.Security.CurrentStudentContext;
 import com.HMS.hms.Security.UserDetailsImpl;
+import com.HMS.hms.Service.StudentDashboardService;
 import com.HMS.hms.Service.StudentsService;
-import com.HMS.hms.Service.UserService;
 import com.HMS.hms.Tables.Students;
 import com.HMS.hms.Tables.Users;
 
@@ -38,7 +40,10 @@ public class StudentsController {
     private StudentsService studentsService;
     
     @Autowired
-    private UserService userService;
+    private CurrentStudentContext currentStudentContext;
+
+    @Autowired
+    private StudentDashboardService studentDashboardService;
 
     /**
      * Get all students info
@@ -78,7 +83,7 @@ public class StudentsController {
             }
             
             // Find the user by email
-            Optional<Users> userOpt = userService.findByEmail(email);
+            Optional<Users> userOpt = currentStudentContext.getUser();
             if (userOpt.isEmpty()) {
                 System.out.println("DEBUG: User not found with email: " + email);
                 return ResponseEntity.status(404).body("User not found with email: " + email);
@@ -93,7 +98,7 @@ public class StudentsController {
             }
             
             // Find the student record by user ID
-            Optional<Students> studentOpt = studentsService.findByUserId(user.getUserId());
+            Optional<Students> studentOpt = currentStudentContext.getStudent();
             if (studentOpt.isEmpty()) {
                 return ResponseEntity.status(404).body("Student record not found");
             }
@@ -142,13 +147,11 @@ public class StudentsController {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Authentication required");
         }
         
-        Optional<Users> userOpt = userService.findByEmail(email);
-        if (userOpt.isEmpty()) {
+        if (currentStudentContext.getUser().isEmpty()) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body("User not found with email: " + email);
         }
         
-        Users user = userOpt.get();
-        Optional<Students> studentOpt = studentsService.findByUserId(user.getUserId());
+        Optional<Students> studentOpt = currentStudentContext.getStudent();
         if (studentOpt.isEmpty()) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Student record not found");
         }
@@ -158,6 +161,28 @@ public class StudentsController {
         return ResponseEntity.ok(studentDTO);
     }
 
+    /**
+     * Endpoint for the authenticated student's home page: profile, room, fees, today's meals,
+     * recent complaints and hall application status in one response.
+     * Sections that could not be loaded in time are listed under "unavailable".
+     *
+     * @return ResponseEntity with the dashboard or an error message.
+     */
+    @GetMapping("/me/dashboard")
+    @PreAuthorize("hasRole('STUDENT')")
+    public ResponseEntity<?> getMyDashboard() {
+        try {
+            Optional<StudentDashboardDTO> dashboard = studentDashboardService.getDashboard();
+            if (dashboard.isEmpty()) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Student record not found");
+            }
+            return ResponseEntity.ok(dashboard.get());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Error loading dashboard: " + e.getMessage());
+        }
+    }
+
     /**
      * Endpoint for an authenticated user to get their student ID by providing their email.
      * Only accessible by authenticated students and admins.
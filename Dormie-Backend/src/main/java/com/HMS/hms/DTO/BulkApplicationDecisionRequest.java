@@ -0,0 +1,33 @@
+package com.HMS.hms.DTO;
+
+import java.util.List;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+
+/**
+ * Accept or reject many hall applications at once. Give either {@code applicationIds} or
+ * {@code topN}, the N highest-ranked pending applications, but not both.
+ */
+public class BulkApplicationDecisionRequest {
+
+    @NotBlank(message = "Decision is required")
+    @Pattern(regexp = "^(?i)(accept|reject)$", message = "Decision must be 'accept' or 'reject'")
+    private String decision;
+
+    private List<Long> applicationIds;
+
+    @Min(value = 1, message = "topN must be at least 1")
+    private Integer topN;
+
+    public BulkApplicationDecisionRequest() {}
+
+    // --- Getters and Setters ---
+    public String getDecision() { return decision; }
+    public void setDecision(String decision) { this.decision = decision; }
+    public List<Long> getApplicationIds() { return applicationIds; }
+    public void setApplicationIds(List<Long> applicationIds) { this.applicationIds = applicationIds; }
+    public Integer getTopN() { return topN; }
+    public void setTopN(Integer topN) { this.topN = topN; }
+}
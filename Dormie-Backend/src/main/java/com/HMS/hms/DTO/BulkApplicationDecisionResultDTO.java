@@ -0,0 +1,61 @@
+package com.HMS.hms.DTO;
+
+import java.util.List;
+
+/**
+ * Result of a bulk accept/reject, with the outcome for every requested application
+ */
+public class BulkApplicationDecisionResultDTO {
+
+    public static final String DECIDED = "DECIDED"; // Status changed by this request
+    public static final String NOT_FOUND = "NOT_FOUND"; // No application with this ID
+    public static final String NOT_PENDING = "NOT_PENDING"; // Already decided; applicationStatus shows how
+
+    private String decision; // accept or reject
+    private int decided;
+    private int skipped;
+    private List<Outcome> outcomes;
+
+    public BulkApplicationDecisionResultDTO() {}
+
+    public BulkApplicationDecisionResultDTO(String decision, List<Outcome> outcomes) {
+        this.decision = decision;
+        this.outcomes = outcomes;
+        this.decided = (int) outcomes.stream().filter(outcome -> DECIDED.equals(outcome.getOutcome())).count();
+        this.skipped = outcomes.size() - decided;
+    }
+
+    // --- Getters and Setters ---
+    public String getDecision() { return decision; }
+    public void setDecision(String decision) { this.decision = decision; }
+    public int getDecided() { return decided; }
+    public void setDecided(int decided) { this.decided = decided; }
+    public int getSkipped() { return skipped; }
+    public void setSkipped(int skipped) { this.skipped = skipped; }
+    public List<Outcome> getOutcomes() { return outcomes; }
+    public void setOutcomes(List<Outcome> outcomes) { this.outcomes = outcomes; }
+
+    /**
+     * Outcome for one application
+     */
+    public static class Outcome {
+        private Long applicationId;
+        private String outcome; // DECIDED, NOT_FOUND or NOT_PENDING
+        private String applicationStatus; // Status after the request; null if not found
+
+        public Outcome() {}
+
+        public Outcome(Long applicationId, String outcome, String applicationStatus) {
+            this.applicationId = applicationId;
+            this.outcome = outcome;
+            this.applicationStatus = applicationStatus;
+        }
+
+        public Long getApplicationId() { return applicationId; }
+        public void setApplicationId(Long applicationId) { this.applicationId = applicationId; }
+        public String getOutcome() { return outcome; }
+        public void setOutcome(String outcome) { this.outcome = outcome; }
+        public String getApplicationStatus() { return applicationStatus; }
+        public void setApplicationStatus(String applicationStatus) { this.applicationStatus = applicationStatus; }
+    }
+}
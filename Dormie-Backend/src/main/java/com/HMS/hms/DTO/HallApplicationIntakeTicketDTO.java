@@ -0,0 +1,43 @@
+package com.HMS.hms.DTO;
+
+/**
+ * State of a hall application submitted through the intake queue, as seen by the student.
+ */
+public class HallApplicationIntakeTicketDTO {
+    private String ticketId;
+    private String status; // queued, submitted, rejected or failed
+    private Long applicationId; // Set once the application was created
+    private Long queuePosition; // Tickets ahead of this one while queued; null once processed
+    private String message; // Acknowledgement, or the reason the application was rejected
+    private String createdAt; // ISO string
+    private String processedAt; // ISO string; null while queued
+
+    public HallApplicationIntakeTicketDTO() {}
+
+    public HallApplicationIntakeTicketDTO(String ticketId, String status, Long applicationId, Long queuePosition,
+                                          String message, String createdAt, String processedAt) {
+        this.ticketId = ticketId;
+        this.status = status;
+        this.applicationId = applicationId;
+        this.queuePosition = queuePosition;
+        this.message = message;
+        this.createdAt = createdAt;
+        this.processedAt = processedAt;
+    }
+
+    // --- Getters and Setters ---
+    public String getTicketId() { return ticketId; }
+    public void setTicketId(String ticketId) { this.ticketId = ticketId; }
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+    public Long getApplicationId() { return applicationId; }
+    public void setApplicationId(Long applicationId) { this.applicationId = applicationId; }
+    public Long getQueuePosition() { return queuePosition; }
+    public void setQueuePosition(Long queuePosition) { this.queuePosition = queuePosition; }
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+    public String getCreatedAt() { return createdAt; }
+    public void setCreatedAt(String createdAt) { this.createdAt = createdAt; }
+    public String getProcessedAt() { return processedAt; }
+    public void setProcessedAt(String processedAt) { this.processedAt = processedAt; }
+}
@@ -1,6 +1,9 @@
 package com.HMS.hms.DTO;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import com.HMS.hms.Tables.HallApplication;
 
 public class HallApplicationSummaryDTO {
     private Long applicationId;
@@ -9,19 +12,32 @@ public class HallApplicationSummaryDTO {
     private String applicationStatus; // E.g., PENDING, APPROVED, REJECTED
     private String familyIncome; // Converted to String for display
     private Double distanceFromHallKm; // Converted to Double for display
+    private String distanceStatus; // pending, resolved or failed; null for applications older than background calculation
     private String applicationDate; // ISO string for display
+    private Double priorityScore; // Composite allocation priority, higher first
+
+    public HallApplicationSummaryDTO() {}
 
     // Updated constructor to include applicationDate
-    public HallApplicationSummaryDTO(Long applicationId, Long studentIdNo, String username, String applicationStatus, BigDecimal familyIncome, BigDecimal distanceFromHallKm, String applicationDate) {
+    public HallApplicationSummaryDTO(Long applicationId, Long studentIdNo, String username, String applicationStatus, BigDecimal familyIncome, BigDecimal distanceFromHallKm, String distanceStatus, String applicationDate) {
         this.applicationId = applicationId;
         this.studentIdNo = studentIdNo;
         this.username = username;
         this.applicationStatus = applicationStatus;
         this.familyIncome = (familyIncome != null) ? familyIncome.toPlainString() : null; // Convert BigDecimal to String
         this.distanceFromHallKm = (distanceFromHallKm != null) ? distanceFromHallKm.doubleValue() : null; // Convert BigDecimal to Double
+        this.distanceStatus = distanceStatus;
         this.applicationDate = applicationDate;
     }
 
+    // Used by JPQL constructor projections in HallApplicationRepo
+    public HallApplicationSummaryDTO(Long applicationId, Long studentIdNo, String username, String applicationStatus, BigDecimal familyIncome, BigDecimal distanceFromHallKm, HallApplication.DistanceStatus distanceStatus, LocalDateTime applicationDate, Double priorityScore) {
+        this(applicationId, studentIdNo, username, applicationStatus, familyIncome, distanceFromHallKm,
+             distanceStatus != null ? distanceStatus.getValue() : null,
+             applicationDate != null ? applicationDate.toString() : null);
+        this.priorityScore = priorityScore;
+    }
+
     // --- Getters and Setters ---
     public Long getApplicationId() { return applicationId; }
     public void setApplicationId(Long applicationId) { this.applicationId = applicationId; }
@@ -35,6 +51,10 @@ public class HallApplicationSummaryDTO {
     public void setFamilyIncome(String familyIncome) { this.familyIncome = familyIncome; }
     public Double getDistanceFromHallKm() { return distanceFromHallKm; }
     public void setDistanceFromHallKm(Double distanceFromHallKm) { this.distanceFromHallKm = distanceFromHallKm; }
+    public String getDistanceStatus() { return distanceStatus; }
+    public void setDistanceStatus(String distanceStatus) { this.distanceStatus = distanceStatus; }
     public String getApplicationDate() { return applicationDate; }
     public void setApplicationDate(String applicationDate) { this.applicationDate = applicationDate; }
+    public Double getPriorityScore() { return priorityScore; }
+    public void setPriorityScore(Double priorityScore) { this.priorityScore = priorityScore; }
 }
\ No newline at end of file
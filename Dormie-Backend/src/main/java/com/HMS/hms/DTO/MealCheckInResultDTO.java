@@ -0,0 +1,42 @@
+package com.HMS.hms.DTO;
+
+import java.time.LocalDateTime;
+
+/**
+ * Result of presenting a meal token at the dining hall entrance
+ */
+public class MealCheckInResultDTO {
+
+    public static final String ADMITTED = "ADMITTED"; // Valid token, first use
+    public static final String ALREADY_CHECKED_IN = "ALREADY_CHECKED_IN"; // Valid token, student already entered
+    public static final String EXPIRED = "EXPIRED"; // Signature fine, outside its validity window
+    public static final String INVALID = "INVALID"; // Malformed or not signed by us
+
+    private String result;
+    private Long userId;
+    private Long mealPlanId;
+    private LocalDateTime checkedInAt;
+
+    public MealCheckInResultDTO() {}
+
+    public MealCheckInResultDTO(String result, Long userId, Long mealPlanId, LocalDateTime checkedInAt) {
+        this.result = result;
+        this.userId = userId;
+        this.mealPlanId = mealPlanId;
+        this.checkedInAt = checkedInAt;
+    }
+
+    public static MealCheckInResultDTO invalid() {
+        return new MealCheckInResultDTO(INVALID, null, null, null);
+    }
+
+    // --- Getters and Setters ---
+    public String getResult() { return result; }
+    public void setResult(String result) { this.result = result; }
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+    public Long getMealPlanId() { return mealPlanId; }
+    public void setMealPlanId(Long mealPlanId) { this.mealPlanId = mealPlanId; }
+    public LocalDateTime getCheckedInAt() { return checkedInAt; }
+    public void setCheckedInAt(LocalDateTime checkedInAt) { this.checkedInAt = checkedInAt; }
+}
@@ -0,0 +1,47 @@
+package com.HMS.hms.DTO;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Live headcount of a meal: resident students minus those who opted out
+ */
+public class MealHeadcountDTO {
+
+    private Long mealPlanId;
+    private LocalDate mealDate;
+    private String mealType;
+    private long residents;
+    private long optedOut;
+    private long expectedHeadcount;
+    private LocalDateTime cutoff;
+
+    public MealHeadcountDTO() {
+    }
+
+    public MealHeadcountDTO(Long mealPlanId, LocalDate mealDate, String mealType, long residents, long optedOut,
+                            LocalDateTime cutoff) {
+        this.mealPlanId = mealPlanId;
+        this.mealDate = mealDate;
+        this.mealType = mealType;
+        this.residents = residents;
+        this.optedOut = optedOut;
+        this.expectedHeadcount = Math.max(0, residents - optedOut);
+        this.cutoff = cutoff;
+    }
+
+    public Long getMealPlanId() { return mealPlanId; }
+    public void setMealPlanId(Long mealPlanId) { this.mealPlanId = mealPlanId; }
+    public LocalDate getMealDate() { return mealDate; }
+    public void setMealDate(LocalDate mealDate) { this.mealDate = mealDate; }
+    public String getMealType() { return mealType; }
+    public void setMealType(String mealType) { this.mealType = mealType; }
+    public long getResidents() { return residents; }
+    public void setResidents(long residents) { this.residents = residents; }
+    public long getOptedOut() { return optedOut; }
+    public void setOptedOut(long optedOut) { this.optedOut = optedOut; }
+    public long getExpectedHeadcount() { return expectedHeadcount; }
+    public void setExpectedHeadcount(long expectedHeadcount) { this.expectedHeadcount = expectedHeadcount; }
+    public LocalDateTime getCutoff() { return cutoff; }
+    public void setCutoff(LocalDateTime cutoff) { this.cutoff = cutoff; }
+}
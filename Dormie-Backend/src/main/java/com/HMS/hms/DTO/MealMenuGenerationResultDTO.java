@@ -0,0 +1,42 @@
+package com.HMS.hms.DTO;
+
+import java.time.LocalDate;
+
+/**
+ * What generating meal plans from a template changed
+ */
+public class MealMenuGenerationResultDTO {
+
+    private Long templateId;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private int created;
+    private int updated;
+    private int unchanged;
+
+    public MealMenuGenerationResultDTO() {}
+
+    public MealMenuGenerationResultDTO(Long templateId, LocalDate startDate, LocalDate endDate,
+                                       int created, int updated, int unchanged) {
+        this.templateId = templateId;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.created = created;
+        this.updated = updated;
+        this.unchanged = unchanged;
+    }
+
+    // --- Getters and Setters ---
+    public Long getTemplateId() { return templateId; }
+    public void setTemplateId(Long templateId) { this.templateId = templateId; }
+    public LocalDate getStartDate() { return startDate; }
+    public void setStartDate(LocalDate startDate) { this.startDate = startDate; }
+    public LocalDate getEndDate() { return endDate; }
+    public void setEndDate(LocalDate endDate) { this.endDate = endDate; }
+    public int getCreated() { return created; }
+    public void setCreated(int created) { this.created = created; }
+    public int getUpdated() { return updated; }
+    public void setUpdated(int updated) { this.updated = updated; }
+    public int getUnchanged() { return unchanged; }
+    public void setUnchanged(int unchanged) { this.unchanged = unchanged; }
+}
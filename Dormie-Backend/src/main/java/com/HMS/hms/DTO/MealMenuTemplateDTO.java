@@ -0,0 +1,76 @@
+package com.HMS.hms.DTO;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * A recurring menu template with one entry per meal of its cycle
+ */
+public class MealMenuTemplateDTO {
+
+    private Long templateId;
+    private String name;
+    private Integer cycleWeeks; // 1 for a weekly menu, up to 4
+    private LocalDate anchorDate; // Any day of cycle week 1; defaults to today
+    private Long messManagerId;
+    private List<Entry> entries;
+
+    public MealMenuTemplateDTO() {}
+
+    public MealMenuTemplateDTO(Long templateId, String name, Integer cycleWeeks, LocalDate anchorDate,
+                               Long messManagerId, List<Entry> entries) {
+        this.templateId = templateId;
+        this.name = name;
+        this.cycleWeeks = cycleWeeks;
+        this.anchorDate = anchorDate;
+        this.messManagerId = messManagerId;
+        this.entries = entries;
+    }
+
+    // --- Getters and Setters ---
+    public Long getTemplateId() { return templateId; }
+    public void setTemplateId(Long templateId) { this.templateId = templateId; }
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+    public Integer getCycleWeeks() { return cycleWeeks; }
+    public void setCycleWeeks(Integer cycleWeeks) { this.cycleWeeks = cycleWeeks; }
+    public LocalDate getAnchorDate() { return anchorDate; }
+    public void setAnchorDate(LocalDate anchorDate) { this.anchorDate = anchorDate; }
+    public Long getMessManagerId() { return messManagerId; }
+    public void setMessManagerId(Long messManagerId) { this.messManagerId = messManagerId; }
+    public List<Entry> getEntries() { return entries; }
+    public void setEntries(List<Entry> entries) { this.entries = entries; }
+
+    /**
+     * One meal of the cycle
+     */
+    public static class Entry {
+        private Integer weekNumber; // 1 to cycleWeeks
+        private String dayOfWeek; // e.g. monday
+        private String mealType; // lunch or dinner
+        private BigDecimal costPerPerson;
+        private List<String> items;
+
+        public Entry() {}
+
+        public Entry(Integer weekNumber, String dayOfWeek, String mealType, BigDecimal costPerPerson, List<String> items) {
+            this.weekNumber = weekNumber;
+            this.dayOfWeek = dayOfWeek;
+            this.mealType = mealType;
+            this.costPerPerson = costPerPerson;
+            this.items = items;
+        }
+
+        public Integer getWeekNumber() { return weekNumber; }
+        public void setWeekNumber(Integer weekNumber) { this.weekNumber = weekNumber; }
+        public String getDayOfWeek() { return dayOfWeek; }
+        public void setDayOfWeek(String dayOfWeek) { this.dayOfWeek = dayOfWeek; }
+        public String getMealType() { return mealType; }
+        public void setMealType(String mealType) { this.mealType = mealType; }
+        public BigDecimal getCostPerPerson() { return costPerPerson; }
+        public void setCostPerPerson(BigDecimal costPerPerson) { this.costPerPerson = costPerPerson; }
+        public List<String> getItems() { return items; }
+        public void setItems(List<String> items) { this.items = items; }
+    }
+}
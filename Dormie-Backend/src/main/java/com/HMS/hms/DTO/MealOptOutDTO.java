@@ -0,0 +1,29 @@
+package com.HMS.hms.DTO;
+
+import java.time.LocalDateTime;
+
+/**
+ * A student's opt-out state for one meal and when changes to it close
+ */
+public class MealOptOutDTO {
+
+    private Long mealPlanId;
+    private boolean optedOut;
+    private LocalDateTime cutoff;
+
+    public MealOptOutDTO() {
+    }
+
+    public MealOptOutDTO(Long mealPlanId, boolean optedOut, LocalDateTime cutoff) {
+        this.mealPlanId = mealPlanId;
+        this.optedOut = optedOut;
+        this.cutoff = cutoff;
+    }
+
+    public Long getMealPlanId() { return mealPlanId; }
+    public void setMealPlanId(Long mealPlanId) { this.mealPlanId = mealPlanId; }
+    public boolean isOptedOut() { return optedOut; }
+    public void setOptedOut(boolean optedOut) { this.optedOut = optedOut; }
+    public LocalDateTime getCutoff() { return cutoff; }
+    public void setCutoff(LocalDateTime cutoff) { this.cutoff = cutoff; }
+}
@@ -0,0 +1,33 @@
+package com.HMS.hms.DTO;
+
+import java.time.LocalDateTime;
+
+/**
+ * A signed meal check-in token and its validity window
+ */
+public class MealTokenDTO {
+
+    private String token;
+    private Long mealPlanId;
+    private LocalDateTime validFrom;
+    private LocalDateTime expiresAt;
+
+    public MealTokenDTO() {
+    }
+
+    public MealTokenDTO(String token, Long mealPlanId, LocalDateTime validFrom, LocalDateTime expiresAt) {
+        this.token = token;
+        this.mealPlanId = mealPlanId;
+        this.validFrom = validFrom;
+        this.expiresAt = expiresAt;
+    }
+
+    public String getToken() { return token; }
+    public void setToken(String token) { this.token = token; }
+    public Long getMealPlanId() { return mealPlanId; }
+    public void setMealPlanId(Long mealPlanId) { this.mealPlanId = mealPlanId; }
+    public LocalDateTime getValidFrom() { return validFrom; }
+    public void setValidFrom(LocalDateTime validFrom) { this.validFrom = validFrom; }
+    public LocalDateTime getExpiresAt() { return expiresAt; }
+    public void setExpiresAt(LocalDateTime expiresAt) { this.expiresAt = expiresAt; }
+}
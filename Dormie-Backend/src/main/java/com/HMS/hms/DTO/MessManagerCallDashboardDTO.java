@@ -0,0 +1,93 @@
+package com.HMS.hms.DTO;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+/**
+ * One row of the provost's call list: the call, its dining fee and its application counts
+ */
+public class MessManagerCallDashboardDTO {
+
+    private Long callId;
+    private Long provostId;
+    private Integer year;
+    private String status;
+
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate applicationEndDate;
+
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate managerActivityStartDate;
+
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate managerActivityEndDate;
+
+    private Integer maxManagers;
+    private LocalDateTime createdAt;
+
+    private Long diningFeeId;
+
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate diningFeeStartDate;
+
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate diningFeeEndDate;
+
+    private BigDecimal diningFee;
+
+    private int totalApplications;
+    private int pendingApplications;
+    private int acceptedApplications;
+    private int rejectedApplications;
+    private int monthEndApplications;
+
+    public MessManagerCallDashboardDTO() {}
+
+    /**
+     * Open manager slots: the maximum minus accepted applications, never negative
+     */
+    public int getRemainingSlots() {
+        return maxManagers == null ? 0 : Math.max(0, maxManagers - acceptedApplications);
+    }
+
+    // --- Getters and Setters ---
+    public Long getCallId() { return callId; }
+    public void setCallId(Long callId) { this.callId = callId; }
+    public Long getProvostId() { return provostId; }
+    public void setProvostId(Long provostId) { this.provostId = provostId; }
+    public Integer getYear() { return year; }
+    public void setYear(Integer year) { this.year = year; }
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+    public LocalDate getApplicationEndDate() { return applicationEndDate; }
+    public void setApplicationEndDate(LocalDate applicationEndDate) { this.applicationEndDate = applicationEndDate; }
+    public LocalDate getManagerActivityStartDate() { return managerActivityStartDate; }
+    public void setManagerActivityStartDate(LocalDate managerActivityStartDate) { this.managerActivityStartDate = managerActivityStartDate; }
+    public LocalDate getManagerActivityEndDate() { return managerActivityEndDate; }
+    public void setManagerActivityEndDate(LocalDate managerActivityEndDate) { this.managerActivityEndDate = managerActivityEndDate; }
+    public Integer getMaxManagers() { return maxManagers; }
+    public void setMaxManagers(Integer maxManagers) { this.maxManagers = maxManagers; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+    public Long getDiningFeeId() { return diningFeeId; }
+    public void setDiningFeeId(Long diningFeeId) { this.diningFeeId = diningFeeId; }
+    public LocalDate getDiningFeeStartDate() { return diningFeeStartDate; }
+    public void setDiningFeeStartDate(LocalDate diningFeeStartDate) { this.diningFeeStartDate = diningFeeStartDate; }
+    public LocalDate getDiningFeeEndDate() { return diningFeeEndDate; }
+    public void setDiningFeeEndDate(LocalDate diningFeeEndDate) { this.diningFeeEndDate = diningFeeEndDate; }
+    public BigDecimal getDiningFee() { return diningFee; }
+    public void setDiningFee(BigDecimal diningFee) { this.diningFee = diningFee; }
+    public int getTotalApplications() { return totalApplications; }
+    public void setTotalApplications(int totalApplications) { this.totalApplications = totalApplications; }
+    public int getPendingApplications() { return pendingApplications; }
+    public void setPendingApplications(int pendingApplications) { this.pendingApplications = pendingApplications; }
+    public int getAcceptedApplications() { return acceptedApplications; }
+    public void setAcceptedApplications(int acceptedApplications) { this.acceptedApplications = acceptedApplications; }
+    public int getRejectedApplications() { return rejectedApplications; }
+    public void setRejectedApplications(int rejectedApplications) { this.rejectedApplications = rejectedApplications; }
+    public int getMonthEndApplications() { return monthEndApplications; }
+    public void setMonthEndApplications(int monthEndApplications) { this.monthEndApplications = monthEndApplications; }
+}
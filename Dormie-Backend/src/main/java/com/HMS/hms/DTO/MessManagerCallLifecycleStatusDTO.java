@@ -0,0 +1,47 @@
+package com.HMS.hms.DTO;
+
+import java.time.LocalDateTime;
+
+/**
+ * Timing and outcome of the scheduled mess manager call status transitions
+ */
+public class MessManagerCallLifecycleStatusDTO {
+
+    private boolean enabled;
+    private LocalDateTime lastRunStartedAt;
+    private Long lastRunDurationMs;
+    private boolean lastRunSkipped;
+    private String lastRunError;
+    private int lastExpired;
+    private int lastCompleted;
+    private LocalDateTime lastSuccessAt;
+    private long totalRuns;
+    private long totalSkipped;
+    private long totalFailures;
+
+    public MessManagerCallLifecycleStatusDTO() {}
+
+    // --- Getters and Setters ---
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    public LocalDateTime getLastRunStartedAt() { return lastRunStartedAt; }
+    public void setLastRunStartedAt(LocalDateTime lastRunStartedAt) { this.lastRunStartedAt = lastRunStartedAt; }
+    public Long getLastRunDurationMs() { return lastRunDurationMs; }
+    public void setLastRunDurationMs(Long lastRunDurationMs) { this.lastRunDurationMs = lastRunDurationMs; }
+    public boolean isLastRunSkipped() { return lastRunSkipped; }
+    public void setLastRunSkipped(boolean lastRunSkipped) { this.lastRunSkipped = lastRunSkipped; }
+    public String getLastRunError() { return lastRunError; }
+    public void setLastRunError(String lastRunError) { this.lastRunError = lastRunError; }
+    public int getLastExpired() { return lastExpired; }
+    public void setLastExpired(int lastExpired) { this.lastExpired = lastExpired; }
+    public int getLastCompleted() { return lastCompleted; }
+    public void setLastCompleted(int lastCompleted) { this.lastCompleted = lastCompleted; }
+    public LocalDateTime getLastSuccessAt() { return lastSuccessAt; }
+    public void setLastSuccessAt(LocalDateTime lastSuccessAt) { this.lastSuccessAt = lastSuccessAt; }
+    public long getTotalRuns() { return totalRuns; }
+    public void setTotalRuns(long totalRuns) { this.totalRuns = totalRuns; }
+    public long getTotalSkipped() { return totalSkipped; }
+    public void setTotalSkipped(long totalSkipped) { this.totalSkipped = totalSkipped; }
+    public long getTotalFailures() { return totalFailures; }
+    public void setTotalFailures(long totalFailures) { this.totalFailures = totalFailures; }
+}
@@ -0,0 +1,124 @@
+package com.HMS.hms.DTO;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * DTO for one entry of a student's combined payment history
+ * Hall and dining payments share this shape; the period dates are only set for dining fees
+ */
+public class PaymentHistoryDTO {
+
+    private String feeType; // "hall" or "dining"
+    private Long feeId;
+    private Integer year;
+    private BigDecimal amount;
+    private String tranId;
+    private String valId;
+    private String paymentMethod;
+    private LocalDate feeStartDate;
+    private LocalDate feeEndDate;
+
+    // Default constructor
+    public PaymentHistoryDTO() {}
+
+    // Constructor with parameters
+    public PaymentHistoryDTO(String feeType, Long feeId, Integer year, BigDecimal amount,
+                             String tranId, String valId, String paymentMethod,
+                             LocalDate feeStartDate, LocalDate feeEndDate) {
+        this.feeType = feeType;
+        this.feeId = feeId;
+        this.year = year;
+        this.amount = amount;
+        this.tranId = tranId;
+        this.valId = valId;
+        this.paymentMethod = paymentMethod;
+        this.feeStartDate = feeStartDate;
+        this.feeEndDate = feeEndDate;
+    }
+
+    // Getters and Setters
+    public String getFeeType() {
+        return feeType;
+    }
+
+    public void setFeeType(String feeType) {
+        this.feeType = feeType;
+    }
+
+    public Long getFeeId() {
+        return feeId;
+    }
+
+    public void setFeeId(Long feeId) {
+        this.feeId = feeId;
+    }
+
+    public Integer getYear() {
+        return year;
+    }
+
+    public void setYear(Integer year) {
+        this.year = year;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    public String getTranId() {
+        return tranId;
+    }
+
+    public void setTranId(String tranId) {
+        this.tranId = tranId;
+    }
+
+    public String getValId() {
+        return valId;
+    }
+
+    public void setValId(String valId) {
+        this.valId = valId;
+    }
+
+    public String getPaymentMethod() {
+        return paymentMethod;
+    }
+
+    public void setPaymentMethod(String paymentMethod) {
+        this.paymentMethod = paymentMethod;
+    }
+
+    public LocalDate getFeeStartDate() {
+        return feeStartDate;
+    }
+
+    public void setFeeStartDate(LocalDate feeStartDate) {
+        this.feeStartDate = feeStartDate;
+    }
+
+    public LocalDate getFeeEndDate() {
+        return feeEndDate;
+    }
+
+    public void setFeeEndDate(LocalDate feeEndDate) {
+        this.feeEndDate = feeEndDate;
+    }
+
+    @Override
+    public String toString() {
+        return "PaymentHistoryDTO{" +
+                "feeType='" + feeType + '\'' +
+                ", feeId=" + feeId +
+                ", year=" + year +
+                ", amount=" + amount +
+                ", tranId='" + tranId + '\'' +
+                ", paymentMethod='" + paymentMethod + '\'' +
+                '}';
+    }
+}
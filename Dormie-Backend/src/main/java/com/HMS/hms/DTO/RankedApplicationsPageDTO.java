@@ -0,0 +1,33 @@
+package com.HMS.hms.DTO;
+
+import java.util.List;
+
+/**
+ * One page of the provost's ranked application list. Pass {@code nextAfterScore} and
+ * {@code nextAfterId} back as {@code afterScore} and {@code afterId} to fetch the following page.
+ */
+public class RankedApplicationsPageDTO {
+    private List<HallApplicationSummaryDTO> applications;
+    private Double nextAfterScore; // Score of the last application on this page; null when there is no next page
+    private Long nextAfterId; // ID of the last application on this page; null when there is no next page
+    private boolean hasMore;
+
+    public RankedApplicationsPageDTO() {}
+
+    public RankedApplicationsPageDTO(List<HallApplicationSummaryDTO> applications, Double nextAfterScore, Long nextAfterId, boolean hasMore) {
+        this.applications = applications;
+        this.nextAfterScore = nextAfterScore;
+        this.nextAfterId = nextAfterId;
+        this.hasMore = hasMore;
+    }
+
+    // --- Getters and Setters ---
+    public List<HallApplicationSummaryDTO> getApplications() { return applications; }
+    public void setApplications(List<HallApplicationSummaryDTO> applications) { this.applications = applications; }
+    public Double getNextAfterScore() { return nextAfterScore; }
+    public void setNextAfterScore(Double nextAfterScore) { this.nextAfterScore = nextAfterScore; }
+    public Long getNextAfterId() { return nextAfterId; }
+    public void setNextAfterId(Long nextAfterId) { this.nextAfterId = nextAfterId; }
+    public boolean isHasMore() { return hasMore; }
+    public void setHasMore(boolean hasMore) { this.hasMore = hasMore; }
+}
@@ -0,0 +1,96 @@
+package com.HMS.hms.DTO;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+/**
+ * Everything the student home page shows, in one payload.
+ * <p>
+ * Sections that could not be loaded in time are left null and listed in {@code unavailable}
+ * with the reason ("timeout", "error" or "busy"), so the page can render the rest.
+ */
+public class StudentDashboardDTO {
+
+    private StudentDTO profile;
+    private String allocationStatus;
+    private String roomNo;
+    private FeeSummary<StudentHallFeePaymentDTO> hallFees;
+    private FeeSummary<StudentDiningFeePaymentDTO> diningFees;
+    private String todaysMeals;
+    private List<ComplaintDTO> recentComplaints;
+    private ApplicationStatus application;
+    private Map<String, String> unavailable = new LinkedHashMap<>();
+
+    public StudentDashboardDTO() {}
+
+    // --- Getters and Setters ---
+    public StudentDTO getProfile() { return profile; }
+    public void setProfile(StudentDTO profile) { this.profile = profile; }
+    public String getAllocationStatus() { return allocationStatus; }
+    public void setAllocationStatus(String allocationStatus) { this.allocationStatus = allocationStatus; }
+    public String getRoomNo() { return roomNo; }
+    public void setRoomNo(String roomNo) { this.roomNo = roomNo; }
+    public FeeSummary<StudentHallFeePaymentDTO> getHallFees() { return hallFees; }
+    public void setHallFees(FeeSummary<StudentHallFeePaymentDTO> hallFees) { this.hallFees = hallFees; }
+    public FeeSummary<StudentDiningFeePaymentDTO> getDiningFees() { return diningFees; }
+    public void setDiningFees(FeeSummary<StudentDiningFeePaymentDTO> diningFees) { this.diningFees = diningFees; }
+    // Today's menu JSON as served by /api/meal-plans/today; null for non-residents
+    @JsonRawValue
+    public String getTodaysMeals() { return todaysMeals; }
+    public void setTodaysMeals(String todaysMeals) { this.todaysMeals = todaysMeals; }
+    public List<ComplaintDTO> getRecentComplaints() { return recentComplaints; }
+    public void setRecentComplaints(List<ComplaintDTO> recentComplaints) { this.recentComplaints = recentComplaints; }
+    public ApplicationStatus getApplication() { return application; }
+    public void setApplication(ApplicationStatus application) { this.application = application; }
+    public Map<String, String> getUnavailable() { return unavailable; }
+    public void setUnavailable(Map<String, String> unavailable) { this.unavailable = unavailable; }
+
+    /**
+     * Unpaid total and payment history for one kind of fee
+     */
+    public static class FeeSummary<P> {
+        private BigDecimal unpaidAmount;
+        private List<P> payments;
+
+        public FeeSummary() {}
+
+        public FeeSummary(BigDecimal unpaidAmount, List<P> payments) {
+            this.unpaidAmount = unpaidAmount;
+            this.payments = payments;
+        }
+
+        public BigDecimal getUnpaidAmount() { return unpaidAmount; }
+        public void setUnpaidAmount(BigDecimal unpaidAmount) { this.unpaidAmount = unpaidAmount; }
+        public List<P> getPayments() { return payments; }
+        public void setPayments(List<P> payments) { this.payments = payments; }
+    }
+
+    /**
+     * The student's latest hall application; status is "no application" if there is none
+     */
+    public static class ApplicationStatus {
+        private Long applicationId;
+        private String status;
+        private LocalDateTime applicationDate;
+
+        public ApplicationStatus() {}
+
+        public ApplicationStatus(Long applicationId, String status, LocalDateTime applicationDate) {
+            this.applicationId = applicationId;
+            this.status = status;
+            this.applicationDate = applicationDate;
+        }
+
+        public Long getApplicationId() { return applicationId; }
+        public void setApplicationId(Long applicationId) { this.applicationId = applicationId; }
+        public String getStatus() { return status; }
+        public void setStatus(String status) { this.status = status; }
+        public LocalDateTime getApplicationDate() { return applicationDate; }
+        public void setApplicationDate(LocalDateTime applicationDate) { this.applicationDate = applicationDate; }
+    }
+}
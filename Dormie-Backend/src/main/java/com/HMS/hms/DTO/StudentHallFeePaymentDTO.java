@@ -1,5 +1,7 @@
 package com.HMS.hms.DTO;
 
+import java.math.BigDecimal;
+
 /**
  * DTO for student hall fee payment information
  * Combines StudentHallFees and StudentPaymentInfo data
@@ -26,6 +28,12 @@ public class StudentHallFeePaymentDTO {
         this.valId = valId;
         this.paymentMethod = paymentMethod;
     }
+
+    // Constructor used by JPQL constructor expressions (fee amounts are stored as BigDecimal)
+    public StudentHallFeePaymentDTO(Integer year, BigDecimal amount, Long feeId,
+                                   String tranId, String valId, String paymentMethod) {
+        this(year, amount != null ? amount.doubleValue() : 0.0, feeId, tranId, valId, paymentMethod);
+    }
     
     // Getters and Setters
     public Integer getYear() {
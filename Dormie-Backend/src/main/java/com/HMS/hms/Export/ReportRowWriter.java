@@ -0,0 +1,18 @@
+package com.HMS.hms.Export;
+
+import java.io.IOException;
+
+/**
+ * Row-at-a-time sink for report exports.
+ * Implementations write straight to the underlying stream and never buffer
+ * more than the current row, so memory use does not grow with the report size.
+ */
+public interface ReportRowWriter extends AutoCloseable {
+
+    void writeHeader(String... columns) throws IOException;
+
+    void writeRow(Object... values) throws IOException;
+
+    @Override
+    void close() throws IOException;
+}
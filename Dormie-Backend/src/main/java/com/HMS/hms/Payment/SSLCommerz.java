@@ -1,21 +1,19 @@
 package com.HMS.hms.Payment;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
 import java.io.UnsupportedEncodingException;
-import java.net.HttpURLConnection;
-import java.net.URL;
-import java.net.URLEncoder;
-import java.nio.charset.Charset;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import com.HMS.hms.Payment.Utility.ParameterBuilder;
 import com.HMS.hms.Payment.Utility.Util;
 import com.HMS.hms.Payment.parametermappings.SSLCommerzInitResponse;
+import com.HMS.hms.Payment.parametermappings.SSLCommerzTransactionQueryResponse;
 import com.HMS.hms.Payment.parametermappings.SSLCommerzValidatorResponse;
 
 /**
@@ -33,9 +31,10 @@ public class SSLCommerz {
     private String generateHash;
     private String error;
 
-    private String sslczURL = "https://securepay.sslcommerz.com/";
+    private SSLCommerzGatewayClient gatewayClient;
     private final String submitURL = "gwprocess/v4/api.php";
     private final String validationURL = "validator/api/validationserverAPI.php";
+    private final String transactionQueryURL = "validator/api/merchantTransIDvalidationAPI.php";
 
     /****
      *
@@ -43,36 +42,21 @@ public class SSLCommerz {
      * Store_ID is that Id of user to connect SSLCommerz
      * @param Store_Pass
      * Store_Pass is that password of user to connect SSLCommerz
-     * @param Store_Test_Mode
-     *  Store_Test_Mode is to define whether user is testing this or not.
+     * @param gatewayClient
+     *  gatewayClient is the shared HTTP transport; it also decides sandbox or live base URL.
      * @throws Exception
      */
-    public SSLCommerz(String Store_ID, String Store_Pass, boolean Store_Test_Mode) throws Exception {
+    public SSLCommerz(String Store_ID, String Store_Pass, SSLCommerzGatewayClient gatewayClient) throws Exception {
         if (!Store_ID.isEmpty() && !Store_Pass.isEmpty()) {
             this.storeId = Store_ID;
             this.storePass = Store_Pass;
-            this.setSSLCzTestMode(Store_Test_Mode);
+            this.gatewayClient = gatewayClient;
+            this.storeTestMode = gatewayClient.isSandbox();
         } else {
             throw new Exception("Please provide Store ID and Password to initialize SSLCommerz");
         }
     }
 
-    /***
-     *
-     * @param storeTestMode
-     * storeTestMode defines user Testing mode and sets test id, password and sandbox URL
-     */
-    private void setSSLCzTestMode(boolean storeTestMode) {
-        this.storeTestMode = storeTestMode;
-
-        if (storeTestMode) {
-//             this.storeId = "testbox";
-//             this.storePass = "qwerty";
-            this.sslczURL = "https://sandbox.sslcommerz.com/";
-        }
-
-    }
-
     /**
      *
      * @param postData
@@ -89,7 +73,7 @@ public class SSLCommerz {
 
         postData.put("store_id", this.storeId);
         postData.put("store_passwd", this.storePass);
-        String response = this.sendPost(postData);
+        String response = this.gatewayClient.postForm(this.submitURL, postData);
         try {
             SSLCommerzInitResponse resp = Util.extractInitResponse(response);
             if (resp.status.equals("SUCCESS")) {
@@ -107,50 +91,27 @@ public class SSLCommerz {
         return response;
     }
 
-    private String sendPost(Map<String, String> postData) throws IOException {
-        System.out.println(this.sslczURL + this.submitURL);
-        String response = SSLCommerz.post(this.sslczURL + this.submitURL, postData);
-        return response;
-    }
-
     /**
-     * @param uri
-     * uri to hit SSL Commerz URI
+     * Non-blocking variant of {@link #initiateTransaction(Map, boolean)}.
      * @param postData
      * postData is the request parameter Map comprised of key value pair
      * @return
-     * Returns a String which is an URL with Session Key to perform payment option selection,
-     * and payment finalization
-     * @throws IOException
+     * Completes with the gateway page URL, or exceptionally if the session could not be created
      */
-    private static String post(String uri, Map<String, String> postData) throws IOException {
-        URL url = new URL(uri);
-
-        String urlParameters = ParameterBuilder.getParamsString(postData, true);
-        byte[] postDataBytes = urlParameters.getBytes();
-        int postDataLength = postDataBytes.length;
-
-        HttpURLConnection con = (HttpURLConnection) url.openConnection();
-        con.setRequestMethod("POST");
-        con.setConnectTimeout(5000);
-        con.setReadTimeout(5000);
-
-        con.setInstanceFollowRedirects(false);
-        con.setRequestProperty("Content-Type", "application/x-www-form-urlencoded");
-        con.setRequestProperty("charset", "utf-8");
-        con.setRequestProperty("Content-Length", Integer.toString(postDataLength));
-        con.setUseCaches(false);
-        con.setDoOutput(true);
-        con.getOutputStream().write(postDataBytes);
-
-        StringBuilder output = new StringBuilder();
-        try (BufferedReader br = new BufferedReader(new InputStreamReader(con.getInputStream()))) {
-            String outputLine;
-            while ((outputLine = br.readLine()) != null) {
-                output.append(outputLine);
+    public CompletableFuture<String> initiateTransactionAsync(Map<String, String> postData) {
+        postData.put("store_id", this.storeId);
+        postData.put("store_passwd", this.storePass);
+        return this.gatewayClient.postFormAsync(this.submitURL, postData).thenApply(response -> {
+            try {
+                SSLCommerzInitResponse resp = Util.extractInitResponse(response);
+                if ("SUCCESS".equals(resp.status)) {
+                    return resp.getGatewayPageURL();
+                }
+            } catch (IOException e) {
+                throw new CompletionException(e);
             }
-        }
-        return output.toString();
+            throw new CompletionException(new IOException("Unable to get data from SSLCommerz. Please contact your manager!"));
+        });
     }
 
     /**
@@ -174,15 +135,15 @@ public class SSLCommerz {
         boolean hash_verified = this.ipnHashVerify(requestParameters);
         if (hash_verified) {
 
-            String EncodedValID = URLEncoder.encode(requestParameters.get("val_id"), Charset.forName("UTF-8").displayName());
-            String EncodedStoreID = URLEncoder.encode(this.storeId, Charset.forName("UTF-8").displayName());
-            String EncodedStorePassword = URLEncoder.encode(this.storePass, Charset.forName("UTF-8").displayName());
-
+            Map<String, String> query = new LinkedHashMap<>();
+            query.put("val_id", requestParameters.get("val_id"));
+            query.put("store_id", this.storeId);
+            query.put("store_passwd", this.storePass);
+            query.put("v", "1");
+            query.put("format", "json");
 
-            //GET Request
-            String validUrl = this.sslczURL + this.validationURL + "?val_id=" + EncodedValID
-                    + "&store_id=" + EncodedStoreID + "&store_passwd=" + EncodedStorePassword + "&v=1&format=json";
-            String json = Util.getByOpeningJavaUrlConnection(validUrl);
+            //GET Request, retried on transient gateway failures since validation is idempotent
+            String json = this.gatewayClient.getWithRetry(this.validationURL, query);
 
             if (!json.isEmpty()) {
                 SSLCommerzValidatorResponse resp = Util.extractValidatorResponse(json);//new JavaScriptSerializer().Deserialize < SSLCommerzValidatorResponse > (json);
@@ -213,6 +174,25 @@ public class SSLCommerz {
         }
     }
 
+    /**
+     * Looks up a transaction by the merchant's tran_id, for payments whose callback never arrived.
+     * @param merchantTrnxnId
+     * merchantTrnxnId: Merchant Transaction ID sent at initiation
+     * @return
+     * Every gateway attempt recorded under this tran_id, each with its own status
+     * @throws IOException
+     */
+    public SSLCommerzTransactionQueryResponse queryTransaction(String merchantTrnxnId) throws IOException {
+        Map<String, String> query = new LinkedHashMap<>();
+        query.put("tran_id", merchantTrnxnId);
+        query.put("store_id", this.storeId);
+        query.put("store_passwd", this.storePass);
+        query.put("format", "json");
+
+        String json = this.gatewayClient.getWithRetry(this.transactionQueryURL, query);
+        return Util.extractTransactionQueryResponse(json);
+    }
+
     /**
      *
      * @param requestParameters
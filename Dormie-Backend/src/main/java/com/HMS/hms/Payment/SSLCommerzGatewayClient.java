@@ -0,0 +1,233 @@
+package com.HMS.hms.Payment;
+
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.HMS.hms.Payment.Utility.CircuitBreaker;
+import com.HMS.hms.Payment.Utility.ParameterBuilder;
+import com.HMS.hms.Payment.Utility.SSLCommerzConfiguration;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Shared HTTP transport for all SSLCommerz calls.
+ * <p>
+ * One {@link HttpClient} is reused for the life of the application, so connections to the
+ * gateway are pooled and kept alive between requests. Every request has a connect timeout and
+ * a response timeout, validation GETs are retried with jittered exponential backoff, and a
+ * circuit breaker fails fast while the gateway is unreachable instead of tying up threads.
+ * Both blocking and {@link CompletableFuture}-based methods are exposed.
+ */
+@Component
+public class SSLCommerzGatewayClient {
+
+    private static final Logger logger = LoggerFactory.getLogger(SSLCommerzGatewayClient.class);
+
+    private final SSLCommerzConfiguration config;
+    private final ExecutorService executor;
+    private final HttpClient httpClient;
+    private final CircuitBreaker circuitBreaker;
+
+    public SSLCommerzGatewayClient(SSLCommerzConfiguration config) {
+        this.config = config;
+        SSLCommerzConfiguration.Http http = config.getHttp();
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(http.getIoThreads(), runnable -> {
+            Thread thread = new Thread(runnable, "sslcommerz-http-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(http.getConnectTimeoutMs()))
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .executor(executor)
+                .build();
+        this.circuitBreaker = new CircuitBreaker(http.getCircuitFailureThreshold(), http.getCircuitOpenMs());
+    }
+
+    /**
+     * POST form parameters to a gateway path. Not retried: session initiation is not idempotent.
+     */
+    public CompletableFuture<String> postFormAsync(String path, Map<String, String> form) {
+        HttpRequest request;
+        try {
+            request = newRequest(path)
+                    .header("Content-Type", "application/x-www-form-urlencoded; charset=UTF-8")
+                    .POST(HttpRequest.BodyPublishers.ofString(ParameterBuilder.getParamsString(form, true)))
+                    .build();
+        } catch (UnsupportedEncodingException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return send(request, 0);
+    }
+
+    public String postForm(String path, Map<String, String> form) throws IOException {
+        return await(postFormAsync(path, form));
+    }
+
+    /**
+     * GET a gateway path with URL-encoded query parameters, retrying transient failures.
+     * Only use this for idempotent calls such as order validation.
+     */
+    public CompletableFuture<String> getWithRetryAsync(String path, Map<String, String> query) {
+        HttpRequest request;
+        try {
+            request = newRequest(path + "?" + ParameterBuilder.getParamsString(query, true))
+                    .GET()
+                    .build();
+        } catch (UnsupportedEncodingException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return send(request, config.getHttp().getMaxRetries());
+    }
+
+    public String getWithRetry(String path, Map<String, String> query) throws IOException {
+        return await(getWithRetryAsync(path, query));
+    }
+
+    public String getBaseUrl() {
+        return config.getGatewayBaseUrl();
+    }
+
+    public boolean isSandbox() {
+        return config.getSandbox().isEnabled();
+    }
+
+    public CircuitBreaker.State getCircuitState() {
+        return circuitBreaker.getState();
+    }
+
+    private HttpRequest.Builder newRequest(String pathAndQuery) {
+        return HttpRequest.newBuilder(URI.create(getBaseUrl() + pathAndQuery))
+                .timeout(Duration.ofMillis(config.getHttp().getReadTimeoutMs()));
+    }
+
+    /**
+     * One logical call: the circuit breaker admits it once and sees one outcome, however many
+     * attempts the retries take. An answered client error (4xx) counts as the gateway being up.
+     */
+    private CompletableFuture<String> send(HttpRequest request, int maxRetries) {
+        if (!circuitBreaker.allowRequest()) {
+            return CompletableFuture.failedFuture(
+                    new IOException("SSLCommerz gateway is unavailable (circuit open), request not sent"));
+        }
+
+        return attempt(request, 0, maxRetries).whenComplete((body, error) -> {
+            Throwable cause = error == null ? null : unwrap(error);
+            if (cause == null || cause instanceof GatewayStatusException statusException && !statusException.isRetryable()) {
+                circuitBreaker.recordSuccess();
+            } else {
+                circuitBreaker.recordFailure();
+            }
+        });
+    }
+
+    private CompletableFuture<String> attempt(HttpRequest request, int attempt, int maxRetries) {
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .thenApply(response -> {
+                    int status = response.statusCode();
+                    if (status >= 500 || status == 429) {
+                        throw new CompletionException(new GatewayStatusException(status, true));
+                    }
+                    if (status >= 400) {
+                        throw new CompletionException(new GatewayStatusException(status, false));
+                    }
+                    return response.body();
+                })
+                .exceptionallyCompose(error -> {
+                    Throwable cause = unwrap(error);
+                    if (cause instanceof GatewayStatusException statusException && !statusException.isRetryable()) {
+                        // The gateway answered; a client error will not go away on retry
+                        return CompletableFuture.failedFuture(cause);
+                    }
+
+                    boolean transientFailure = cause instanceof IOException;
+                    if (!transientFailure || attempt >= maxRetries) {
+                        logger.warn("SSLCommerz request to {} failed after {} attempt(s): {}",
+                                request.uri().getPath(), attempt + 1, cause.getMessage());
+                        return CompletableFuture.failedFuture(cause);
+                    }
+
+                    long delay = backoffDelay(attempt);
+                    logger.info("Retrying SSLCommerz request to {} in {} ms (attempt {} failed: {})",
+                            request.uri().getPath(), delay, attempt + 1, cause.getMessage());
+                    return CompletableFuture
+                            .supplyAsync(() -> null, CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS, executor))
+                            .thenCompose(ignored -> attempt(request, attempt + 1, maxRetries));
+                });
+    }
+
+    /**
+     * Full jitter: a random delay between zero and the exponential backoff ceiling
+     */
+    private long backoffDelay(int attempt) {
+        long ceiling = (long) config.getHttp().getRetryBackoffMs() << Math.min(attempt, 10);
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        Throwable cause = error;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException) && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+    private static String await(CompletableFuture<String> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for SSLCommerz", e);
+        } catch (ExecutionException e) {
+            Throwable cause = unwrap(e);
+            if (cause instanceof IOException ioException) {
+                throw ioException;
+            }
+            throw new IOException(cause.getMessage(), cause);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Non-2xx response from the gateway. 5xx and 429 are retryable, other 4xx are not.
+     */
+    private static class GatewayStatusException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        private final boolean retryable;
+
+        GatewayStatusException(int status, boolean retryable) {
+            super("SSLCommerz gateway returned HTTP " + status);
+            this.retryable = retryable;
+        }
+
+        boolean isRetryable() {
+            return retryable;
+        }
+    }
+}
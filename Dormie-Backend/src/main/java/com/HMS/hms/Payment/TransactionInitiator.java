@@ -6,6 +6,7 @@ import java.util.UUID;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
@@ -20,6 +21,9 @@ public class TransactionInitiator {
     
     @Value("${app.base.url}")
     private String baseUrl;
+
+    @Autowired
+    private SSLCommerzGatewayClient gatewayClient;
     
     public String initTrnxnRequest() {
         String response = "";
@@ -32,9 +36,9 @@ public class TransactionInitiator {
             Map<String, String> postData = constructDefaultRequestParameters();
             /**
              * Provide your SSL Commerz store Id and Password by this following constructor.
-             * If Test Mode then insert true and false otherwise.
+             * Test Mode follows the gateway client (sslcommerz.sandbox.enabled).
              */
-            SSLCommerz sslcz = new SSLCommerz("abc682f4e02dae8b", "abc682f4e02dae8b@ssl", true);
+            SSLCommerz sslcz = new SSLCommerz("abc682f4e02dae8b", "abc682f4e02dae8b@ssl", gatewayClient);
 
             /**
              * If user want to get Gate way list then pass isGetGatewayList parameter as true
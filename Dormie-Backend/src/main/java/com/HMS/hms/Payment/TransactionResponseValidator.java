@@ -2,8 +2,11 @@ package com.HMS.hms.Payment;
 
 import java.util.Map;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import com.HMS.hms.Payment.Utility.SSLCommerzConfiguration;
+
 /**
  * This class handles the Response parameters redirected from payment success page.
  * Validates those parameters fetched from payment page response and returns true for successful transaction
@@ -11,6 +14,13 @@ import org.springframework.stereotype.Component;
  */
 @Component
 public class TransactionResponseValidator {
+
+    @Autowired
+    private SSLCommerzConfiguration sslCommerzConfig;
+
+    @Autowired
+    private SSLCommerzGatewayClient gatewayClient;
+
     /**
      *
      * @param request
@@ -32,8 +42,9 @@ public class TransactionResponseValidator {
             return false;
         }
         
-        // Set your store Id and store password and define TestMode
-        SSLCommerz sslcz = new SSLCommerz("abc682f4e02dae8b", "abc682f4e02dae8b@ssl", true);
+        // Store credentials and sandbox/live mode come from the sslcommerz.* configuration
+        SSLCommerz sslcz = new SSLCommerz(sslCommerzConfig.getStore().getId(),
+                sslCommerzConfig.getStore().getPassword(), gatewayClient);
 
         /**
          * If following order validation returns true, then process transaction as success.
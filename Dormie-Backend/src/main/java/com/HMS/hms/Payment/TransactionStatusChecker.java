@@ -0,0 +1,111 @@
+package com.HMS.hms.Payment;
+
+import java.io.IOException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.HMS.hms.Payment.Utility.SSLCommerzConfiguration;
+import com.HMS.hms.Payment.parametermappings.SSLCommerzTransactionQueryResponse;
+import com.HMS.hms.Payment.parametermappings.SSLCommerzValidatorResponse;
+
+/**
+ * This class asks SSLCommerz what happened to a transaction, by the tran_id sent at initiation.
+ * Used to reconcile payments whose success or failure callback never reached us, and to confirm
+ * failure and cancellation callbacks before a transaction is closed.
+ */
+@Component
+public class TransactionStatusChecker {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionStatusChecker.class);
+
+    @Autowired
+    private SSLCommerzConfiguration sslCommerzConfig;
+
+    @Autowired
+    private SSLCommerzGatewayClient gatewayClient;
+
+    /**
+     *
+     * @param tranId
+     * @return every attempt the gateway recorded under this tran_id
+     * @throws IOException if the gateway could not be reached
+     */
+    public SSLCommerzTransactionQueryResponse queryTransaction(String tranId) throws IOException {
+        try {
+            SSLCommerz sslcz = new SSLCommerz(sslCommerzConfig.getStore().getId(),
+                    sslCommerzConfig.getStore().getPassword(), gatewayClient);
+            return sslcz.queryTransaction(tranId);
+        } catch (IOException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Queries the gateway and reduces its attempts to one outcome. Never throws; an unreachable
+     * gateway or an unexpected answer is {@link Resolution#UNKNOWN}.
+     *
+     * @param tranId
+     * @return the outcome, with the paying attempt when it is {@link Resolution#PAID}
+     */
+    public TransactionOutcome checkTransaction(String tranId) {
+        try {
+            return TransactionOutcome.from(queryTransaction(tranId));
+        } catch (Exception e) {
+            logger.warn("Could not query gateway for transaction {}: {}", tranId, e.getMessage());
+            return new TransactionOutcome(Resolution.UNKNOWN, null);
+        }
+    }
+
+    public enum Resolution {
+        PAID, FAILED, CANCELLED, NOT_FOUND, UNKNOWN
+    }
+
+    /**
+     * What the gateway reported for one tran_id
+     */
+    public static class TransactionOutcome {
+        private final Resolution resolution;
+        private final SSLCommerzValidatorResponse payment;
+
+        public TransactionOutcome(Resolution resolution, SSLCommerzValidatorResponse payment) {
+            this.resolution = resolution;
+            this.payment = payment;
+        }
+
+        /**
+         * A successful attempt wins over failed ones; otherwise the last terminal status counts
+         */
+        static TransactionOutcome from(SSLCommerzTransactionQueryResponse response) {
+            if (response == null || !"DONE".equalsIgnoreCase(response.APIConnect)) {
+                return new TransactionOutcome(Resolution.UNKNOWN, null);
+            }
+            if (response.element == null || response.element.isEmpty()) {
+                return new TransactionOutcome(Resolution.NOT_FOUND, null);
+            }
+
+            Resolution resolution = Resolution.NOT_FOUND;
+            for (SSLCommerzValidatorResponse attempt : response.element) {
+                String status = attempt.status == null ? "" : attempt.status.toUpperCase();
+                switch (status) {
+                    case "VALID", "VALIDATED" -> {
+                        return new TransactionOutcome(Resolution.PAID, attempt);
+                    }
+                    case "FAILED" -> resolution = Resolution.FAILED;
+                    case "CANCELLED" -> resolution = Resolution.CANCELLED;
+                    default -> {
+                        // PENDING, UNATTEMPTED, EXPIRED...: the customer never completed this attempt
+                    }
+                }
+            }
+            return new TransactionOutcome(resolution, null);
+        }
+
+        public Resolution getResolution() { return resolution; }
+        public SSLCommerzValidatorResponse getPayment() { return payment; }
+    }
+}
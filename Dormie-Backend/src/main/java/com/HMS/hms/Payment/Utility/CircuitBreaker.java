@@ -0,0 +1,66 @@
+package com.HMS.hms.Payment.Utility;
+
+/**
+ * Minimal consecutive-failure circuit breaker for outbound gateway calls.
+ * <p>
+ * CLOSED lets every call through. After {@code failureThreshold} consecutive failures the
+ * circuit OPENs and calls are rejected immediately for {@code openMillis}. The first call
+ * after that window is let through as a HALF_OPEN probe: success closes the circuit,
+ * failure opens it again.
+ */
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final long openMillis;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+
+    public CircuitBreaker(int failureThreshold, long openMillis) {
+        if (failureThreshold < 1) {
+            throw new IllegalArgumentException("Failure threshold must be at least 1");
+        }
+        this.failureThreshold = failureThreshold;
+        this.openMillis = openMillis;
+    }
+
+    /**
+     * @return true if the call may proceed; false if the circuit is open
+     */
+    public synchronized boolean allowRequest() {
+        if (state == State.OPEN) {
+            if (System.currentTimeMillis() - openedAt < openMillis) {
+                return false;
+            }
+            state = State.HALF_OPEN;
+            return true;
+        }
+        if (state == State.HALF_OPEN) {
+            // Only one probe at a time while half-open
+            return false;
+        }
+        return true;
+    }
+
+    public synchronized void recordSuccess() {
+        consecutiveFailures = 0;
+        state = State.CLOSED;
+    }
+
+    public synchronized void recordFailure() {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            state = State.OPEN;
+            openedAt = System.currentTimeMillis();
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+}
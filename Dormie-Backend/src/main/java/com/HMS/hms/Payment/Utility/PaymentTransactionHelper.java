@@ -3,6 +3,8 @@ package com.HMS.hms.Payment.Utility;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -11,6 +13,7 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import com.HMS.hms.Payment.SSLCommerz;
+import com.HMS.hms.Payment.SSLCommerzGatewayClient;
 // IMPORTANT: You might not need this import anymore if Util.extractInitResponse is removed
 // import com.HMS.hms.Payment.parametermappings.SSLCommerzInitResponse;
 
@@ -27,6 +30,9 @@ public class PaymentTransactionHelper {
     @Autowired
     private SSLCommerzConfiguration sslCommerzConfig;
 
+    @Autowired
+    private SSLCommerzGatewayClient gatewayClient;
+
     @Value("${app.base.url:http://localhost:8080}")
     private String baseUrl;
 
@@ -82,24 +88,37 @@ public class PaymentTransactionHelper {
      * @return PaymentTransactionResponse containing the result of the operation
      */
     public PaymentTransactionResponse initiatePaymentTransactionWithResponse(PaymentTransactionRequest request) {
-        try {
-            logger.info("Initiating payment transaction for customer: {}, amount: {}",
-                    request.getCustomerName(), request.getAmount());
+        // The gateway client bounds the wait with its connect/read timeouts and circuit breaker
+        return initiatePaymentTransactionAsync(request).join();
+    }
 
+    /**
+     * Initiates a payment transaction with SSLCommerz without blocking the calling thread
+     * @param request Payment transaction request containing customer and transaction details
+     * @return future completing with the PaymentTransactionResponse; it never completes exceptionally
+     */
+    public CompletableFuture<PaymentTransactionResponse> initiatePaymentTransactionAsync(PaymentTransactionRequest request) {
+        logger.info("Initiating payment transaction for customer: {}, amount: {}",
+                request.getCustomerName(), request.getAmount());
+
+        CompletableFuture<String> redirect;
+        try {
             // Build payment parameters
             Map<String, String> paymentParams = buildPaymentParameters(request);
+            redirect = newSSLCommerz().initiateTransactionAsync(paymentParams);
+        } catch (Exception e) {
+            redirect = CompletableFuture.failedFuture(e);
+        }
 
-            // Initialize SSLCommerz
-            SSLCommerz sslCommerz = new SSLCommerz(
-                    sslCommerzConfig.getStore().getId(),
-                    sslCommerzConfig.getStore().getPassword(),
-                    sslCommerzConfig.getSandbox().isEnabled()
-            );
-
-            // --- CRITICAL FIX START ---
-            // The SSLCommerz.initiateTransaction method directly returns the redirect URL string
-            // It does NOT return a JSON object that needs further parsing with Util.extractInitResponse
-            String redirectUrl = sslCommerz.initiateTransaction(paymentParams, false);
+        return redirect.handle((redirectUrl, error) -> {
+            if (error != null) {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause() : error;
+                logger.error("Failed to initiate payment transaction for customer: {} - Error: {}",
+                        request.getCustomerName(), cause.getMessage());
+                return PaymentTransactionResponse.failure(
+                        "Payment transaction initiation failed: " + cause.getMessage());
+            }
 
             // Validate if the response is actually a URL for success
             if (redirectUrl != null && redirectUrl.startsWith("https://")) {
@@ -111,22 +130,15 @@ public class PaymentTransactionHelper {
                         request.getTransactionId());
                 result.setGatewayResponse(redirectUrl); // Store the raw URL as gateway response
                 return result;
-            } else {
-                // If it doesn't start with "https", it's a failure response or an error message from SSLCommerz
-                logger.warn("Payment transaction initiation failed for transaction ID: {} - Raw Response: {}",
-                        request.getTransactionId(), redirectUrl);
-                return PaymentTransactionResponse.failure(
-                        "Payment initiation failed: " + redirectUrl, // Use the raw response as error message
-                        redirectUrl); // Store the raw response as gateway response
             }
-            // --- CRITICAL FIX END ---
 
-        } catch (Exception e) {
-            logger.error("Failed to initiate payment transaction for customer: {} - Error: {}",
-                    request.getCustomerName(), e.getMessage(), e);
+            // If it doesn't start with "https", it's a failure response or an error message from SSLCommerz
+            logger.warn("Payment transaction initiation failed for transaction ID: {} - Raw Response: {}",
+                    request.getTransactionId(), redirectUrl);
             return PaymentTransactionResponse.failure(
-                    "Payment transaction initiation failed: " + e.getMessage());
-        }
+                    "Payment initiation failed: " + redirectUrl, // Use the raw response as error message
+                    redirectUrl); // Store the raw response as gateway response
+        });
     }
 
     /**
@@ -147,11 +159,7 @@ public class PaymentTransactionHelper {
             Map<String, String> paymentParams = buildPaymentParameters(request);
 
             // Initialize SSLCommerz
-            SSLCommerz sslCommerz = new SSLCommerz(
-                    sslCommerzConfig.getStore().getId(),
-                    sslCommerzConfig.getStore().getPassword(),
-                    sslCommerzConfig.getSandbox().isEnabled()
-            );
+            SSLCommerz sslCommerz = newSSLCommerz();
 
             // Initiate transaction
             String response = sslCommerz.initiateTransaction(paymentParams, false);
@@ -168,6 +176,17 @@ public class PaymentTransactionHelper {
         }
     }
 
+    /**
+     * Creates an SSLCommerz facade bound to the configured store and the shared gateway client
+     */
+    private SSLCommerz newSSLCommerz() throws Exception {
+        return new SSLCommerz(
+                sslCommerzConfig.getStore().getId(),
+                sslCommerzConfig.getStore().getPassword(),
+                gatewayClient
+        );
+    }
+
     /**
      * Builds the payment parameters map required by SSLCommerz
      * @param request Payment transaction request
@@ -13,7 +13,9 @@ public class SSLCommerzConfiguration {
     
     private Store store = new Store();
     private Sandbox sandbox = new Sandbox();
+    private Production production = new Production();
     private Urls urls = new Urls();
+    private Http http = new Http();
     
     public static class Store {
         private String id = "abc682f4e02dae8b";
@@ -37,6 +39,48 @@ public class SSLCommerzConfiguration {
         public void setBaseUrl(String baseUrl) { this.baseUrl = baseUrl; }
     }
     
+    public static class Production {
+        private String baseUrl = "https://securepay.sslcommerz.com";
+        
+        public String getBaseUrl() { return baseUrl; }
+        public void setBaseUrl(String baseUrl) { this.baseUrl = baseUrl; }
+    }
+    
+    /**
+     * Transport settings for calls to the gateway.
+     * Timeouts are in milliseconds; retries only apply to idempotent validation calls.
+     */
+    public static class Http {
+        private int connectTimeoutMs = 3000;
+        private int readTimeoutMs = 10000;
+        private int maxRetries = 2;
+        private int retryBackoffMs = 250;
+        private int circuitFailureThreshold = 5;
+        private int circuitOpenMs = 30000;
+        private int ioThreads = 8;
+        
+        public int getConnectTimeoutMs() { return connectTimeoutMs; }
+        public void setConnectTimeoutMs(int connectTimeoutMs) { this.connectTimeoutMs = connectTimeoutMs; }
+        
+        public int getReadTimeoutMs() { return readTimeoutMs; }
+        public void setReadTimeoutMs(int readTimeoutMs) { this.readTimeoutMs = readTimeoutMs; }
+        
+        public int getMaxRetries() { return maxRetries; }
+        public void setMaxRetries(int maxRetries) { this.maxRetries = maxRetries; }
+        
+        public int getRetryBackoffMs() { return retryBackoffMs; }
+        public void setRetryBackoffMs(int retryBackoffMs) { this.retryBackoffMs = retryBackoffMs; }
+        
+        public int getCircuitFailureThreshold() { return circuitFailureThreshold; }
+        public void setCircuitFailureThreshold(int circuitFailureThreshold) { this.circuitFailureThreshold = circuitFailureThreshold; }
+        
+        public int getCircuitOpenMs() { return circuitOpenMs; }
+        public void setCircuitOpenMs(int circuitOpenMs) { this.circuitOpenMs = circuitOpenMs; }
+        
+        public int getIoThreads() { return ioThreads; }
+        public void setIoThreads(int ioThreads) { this.ioThreads = ioThreads; }
+    }
+    
     public static class Urls {
         private String success = "/api/payment/ssl-success-page";
         private String fail = "/api/payment/ssl-fail-page";
@@ -58,6 +102,20 @@ public class SSLCommerzConfiguration {
     public Sandbox getSandbox() { return sandbox; }
     public void setSandbox(Sandbox sandbox) { this.sandbox = sandbox; }
     
+    public Production getProduction() { return production; }
+    public void setProduction(Production production) { this.production = production; }
+    
     public Urls getUrls() { return urls; }
     public void setUrls(Urls urls) { this.urls = urls; }
+    
+    public Http getHttp() { return http; }
+    public void setHttp(Http http) { this.http = http; }
+    
+    /**
+     * Base URL of the gateway for the active environment, always ending with '/'
+     */
+    public String getGatewayBaseUrl() {
+        String baseUrl = sandbox.isEnabled() ? sandbox.getBaseUrl() : production.getBaseUrl();
+        return baseUrl.endsWith("/") ? baseUrl : baseUrl + "/";
+    }
 }
@@ -0,0 +1,38 @@
+package com.HMS.hms.Payment.parametermappings;
+
+import java.util.List;
+
+/**
+ * Response of the transaction query API (lookup by merchant tran_id).
+ * Each element carries the same fields as a validator response.
+ */
+public class SSLCommerzTransactionQueryResponse {
+
+    public String APIConnect;
+    public String no_of_trans_found;
+    public List<SSLCommerzValidatorResponse> element;
+
+    public String getAPIConnect() {
+        return APIConnect;
+    }
+
+    public void setAPIConnect(String APIConnect) {
+        this.APIConnect = APIConnect;
+    }
+
+    public String getNo_of_trans_found() {
+        return no_of_trans_found;
+    }
+
+    public void setNo_of_trans_found(String no_of_trans_found) {
+        this.no_of_trans_found = no_of_trans_found;
+    }
+
+    public List<SSLCommerzValidatorResponse> getElement() {
+        return element;
+    }
+
+    public void setElement(List<SSLCommerzValidatorResponse> element) {
+        this.element = element;
+    }
+}
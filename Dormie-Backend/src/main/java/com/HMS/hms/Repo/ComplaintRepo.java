@@ -15,6 +15,9 @@ public interface ComplaintRepo extends JpaRepository<Complaint, Long> {
     // Find complaints by user ID (complainant)
     List<Complaint> findByUserIdOrderByCreatedAtDesc(Long userId);
 
+    // Find a user's five most recent complaints
+    List<Complaint> findTop5ByUserIdOrderByCreatedAtDesc(Long userId);
+
     // Find complaints by student ID
     List<Complaint> findByStudentIdOrderByCreatedAtDesc(Long studentId);
 
@@ -4,14 +4,18 @@ import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional; // Import Optional
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.HMS.hms.Tables.DiningFee;
 import com.HMS.hms.Tables.DiningFee.ResidencyType; // Import ResidencyType enum
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface DiningFeeRepo extends JpaRepository<DiningFee, Long> {
 
@@ -32,6 +36,7 @@ public interface DiningFeeRepo extends JpaRepository<DiningFee, Long> {
     Optional<DiningFee> findByTypeAndYear(String type, Integer year);
 
     // Changed Enum type to return Optional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<DiningFee> findByTypeAndYear(ResidencyType type, Integer year);
     // --- CRITICAL FIX END ---
 
@@ -0,0 +1,62 @@
+package com.HMS.hms.Repo;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.HMS.hms.Tables.HallApplicationIntake;
+
+@Repository
+public interface HallApplicationIntakeRepo extends JpaRepository<HallApplicationIntake, String> {
+
+    // A user's ticket in the given status, e.g. to find one that is still queued
+    Optional<HallApplicationIntake> findFirstByUserIdAndStatusOrderByCreatedAtAsc(Long userId, HallApplicationIntake.IntakeStatus status);
+
+    // Queued tickets due for an attempt, in arrival order
+    @Query("SELECT i FROM HallApplicationIntake i " +
+           "WHERE i.status = com.HMS.hms.Tables.HallApplicationIntake$IntakeStatus.QUEUED AND i.nextAttemptAt <= :now " +
+           "ORDER BY i.createdAt, i.ticketId")
+    List<HallApplicationIntake> findDue(@Param("now") LocalDateTime now, Pageable pageable);
+
+    // Number of queued tickets that arrived before the given time, i.e. a ticket's place in the queue
+    @Query("SELECT COUNT(i) FROM HallApplicationIntake i " +
+           "WHERE i.status = com.HMS.hms.Tables.HallApplicationIntake$IntakeStatus.QUEUED AND i.createdAt < :createdAt")
+    long countQueuedBefore(@Param("createdAt") LocalDateTime createdAt);
+
+    // Record the outcome of a ticket; returns 0 if it was already processed
+    @Modifying
+    @Transactional
+    @Query("UPDATE HallApplicationIntake i SET i.status = :status, i.applicationId = :applicationId, " +
+           "i.message = :message, i.attempts = i.attempts + 1, i.processedAt = :processedAt " +
+           "WHERE i.ticketId = :ticketId AND i.status = com.HMS.hms.Tables.HallApplicationIntake$IntakeStatus.QUEUED")
+    int markProcessed(@Param("ticketId") String ticketId,
+                      @Param("status") HallApplicationIntake.IntakeStatus status,
+                      @Param("applicationId") Long applicationId,
+                      @Param("message") String message,
+                      @Param("processedAt") LocalDateTime processedAt);
+
+    // Record a failed attempt; the ticket stays QUEUED until nextAttemptAt
+    @Modifying
+    @Transactional
+    @Query("UPDATE HallApplicationIntake i SET i.attempts = i.attempts + 1, i.nextAttemptAt = :nextAttemptAt, " +
+           "i.message = :message WHERE i.ticketId = :ticketId " +
+           "AND i.status = com.HMS.hms.Tables.HallApplicationIntake$IntakeStatus.QUEUED")
+    int recordAttemptFailed(@Param("ticketId") String ticketId,
+                            @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+                            @Param("message") String message);
+
+    // Purge tickets that were processed before the cutoff
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM HallApplicationIntake i " +
+           "WHERE i.status <> com.HMS.hms.Tables.HallApplicationIntake$IntakeStatus.QUEUED AND i.processedAt < :cutoff")
+    int deleteProcessedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
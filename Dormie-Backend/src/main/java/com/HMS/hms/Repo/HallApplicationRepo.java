@@ -1,11 +1,20 @@
 package com.HMS.hms.Repo;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.HMS.hms.DTO.HallApplicationSummaryDTO;
 import com.HMS.hms.Tables.HallApplication;
 
 @Repository
@@ -15,4 +24,103 @@ public interface HallApplicationRepo extends JpaRepository<HallApplication, Long
     List<HallApplication> findByUserIdAndApplicationStatus(Long userId, String applicationStatus); // Find by user and status
     Optional<HallApplication> findByStudentIdNo(Long studentIdNo); // Find by university student ID
     List<HallApplication> findByApplicationStatus(String applicationStatus); // Find by status (PENDING, APPROVED)
-}
\ No newline at end of file
+
+    // Summary rows for the provost's list with the username joined in, so no per-row user lookups
+    @Query("SELECT new com.HMS.hms.DTO.HallApplicationSummaryDTO(ha.applicationId, ha.studentIdNo, u.username, " +
+           "ha.applicationStatus, ha.familyIncome, ha.distanceFromHallKm, ha.distanceStatus, ha.applicationDate, ha.priorityScore) " +
+           "FROM HallApplication ha LEFT JOIN ha.user u")
+    List<HallApplicationSummaryDTO> findAllSummaries(Sort sort);
+
+    // Next page of scored applications by priority, highest first, strictly after the (afterScore, afterId) cursor
+    @Query("SELECT new com.HMS.hms.DTO.HallApplicationSummaryDTO(ha.applicationId, ha.studentIdNo, u.username, " +
+           "ha.applicationStatus, ha.familyIncome, ha.distanceFromHallKm, ha.distanceStatus, ha.applicationDate, ha.priorityScore) " +
+           "FROM HallApplication ha LEFT JOIN ha.user u " +
+           "WHERE ha.priorityScore IS NOT NULL " +
+           "AND (ha.priorityScore < :afterScore OR (ha.priorityScore = :afterScore AND ha.applicationId < :afterId)) " +
+           "ORDER BY ha.priorityScore DESC, ha.applicationId DESC")
+    List<HallApplicationSummaryDTO> findRankedPage(@Param("afterScore") Double afterScore,
+                                                   @Param("afterId") Long afterId,
+                                                   Pageable pageable);
+
+    // Same as findRankedPage, restricted to one application status
+    @Query("SELECT new com.HMS.hms.DTO.HallApplicationSummaryDTO(ha.applicationId, ha.studentIdNo, u.username, " +
+           "ha.applicationStatus, ha.familyIncome, ha.distanceFromHallKm, ha.distanceStatus, ha.applicationDate, ha.priorityScore) " +
+           "FROM HallApplication ha LEFT JOIN ha.user u " +
+           "WHERE ha.applicationStatus = :status AND ha.priorityScore IS NOT NULL " +
+           "AND (ha.priorityScore < :afterScore OR (ha.priorityScore = :afterScore AND ha.applicationId < :afterId)) " +
+           "ORDER BY ha.priorityScore DESC, ha.applicationId DESC")
+    List<HallApplicationSummaryDTO> findRankedPageByStatus(@Param("status") String status,
+                                                           @Param("afterScore") Double afterScore,
+                                                           @Param("afterId") Long afterId,
+                                                           Pageable pageable);
+
+    // IDs of the highest-ranked pending applications, for "top N" bulk decisions
+    @Query("SELECT ha.applicationId FROM HallApplication ha " +
+           "WHERE ha.applicationStatus = 'PENDING' AND ha.priorityScore IS NOT NULL " +
+           "ORDER BY ha.priorityScore DESC, ha.applicationId DESC")
+    List<Long> findTopPendingIdsByRank(Pageable pageable);
+
+    // [applicationId, applicationStatus] pairs for the given IDs; unknown IDs are absent
+    @Query("SELECT ha.applicationId, ha.applicationStatus FROM HallApplication ha WHERE ha.applicationId IN :applicationIds")
+    List<Object[]> findStatusesByIds(@Param("applicationIds") List<Long> applicationIds);
+
+    // Decide every listed application that is still PENDING in one statement; returns how many changed
+    @Modifying
+    @Transactional
+    @Query("UPDATE HallApplication ha SET ha.applicationStatus = :status " +
+           "WHERE ha.applicationId IN :applicationIds AND ha.applicationStatus = 'PENDING'")
+    int updateStatusOfPending(@Param("applicationIds") List<Long> applicationIds, @Param("status") String status);
+
+    // Applications after afterId with their applicant's batch, for (re)scoring in ID order
+    @Query("SELECT ha, s.batch FROM HallApplication ha LEFT JOIN Students s ON s.userId = ha.userId " +
+           "WHERE ha.applicationId > :afterId AND (:onlyUnscored = false OR ha.priorityScore IS NULL) " +
+           "ORDER BY ha.applicationId")
+    List<Object[]> findForScoring(@Param("afterId") Long afterId,
+                                  @Param("onlyUnscored") boolean onlyUnscored,
+                                  Pageable pageable);
+
+    // Store a recomputed score; skipped (returns 0) if the distance changed since the score was computed
+    @Modifying
+    @Transactional
+    @Query("UPDATE HallApplication ha SET ha.priorityScore = :score " +
+           "WHERE ha.applicationId = :applicationId AND COALESCE(ha.distanceFromHallKm, -1) = :distanceSeen")
+    int updatePriorityScore(@Param("applicationId") Long applicationId,
+                            @Param("score") Double score,
+                            @Param("distanceSeen") BigDecimal distanceSeen);
+
+    // Applications whose distance is still to be calculated and due for an attempt, oldest first
+    @Query("SELECT ha FROM HallApplication ha " +
+           "WHERE ha.distanceStatus = com.HMS.hms.Tables.HallApplication$DistanceStatus.PENDING " +
+           "AND (ha.distanceNextAttemptAt IS NULL OR ha.distanceNextAttemptAt <= :now) " +
+           "ORDER BY ha.applicationId")
+    List<HallApplication> findDueForDistance(@Param("now") LocalDateTime now, Pageable pageable);
+
+    // Store a calculated distance and the score recomputed with it; returns 0 if the application is no longer waiting for one
+    @Modifying
+    @Transactional
+    @Query("UPDATE HallApplication ha SET ha.distanceFromHallKm = :distance, ha.priorityScore = :score, " +
+           "ha.distanceStatus = com.HMS.hms.Tables.HallApplication$DistanceStatus.RESOLVED, " +
+           "ha.distanceAttempts = COALESCE(ha.distanceAttempts, 0) + 1, ha.distanceNextAttemptAt = NULL " +
+           "WHERE ha.applicationId = :applicationId " +
+           "AND ha.distanceStatus = com.HMS.hms.Tables.HallApplication$DistanceStatus.PENDING")
+    int resolveDistance(@Param("applicationId") Long applicationId, @Param("distance") BigDecimal distance,
+                        @Param("score") Double score);
+
+    // Record a failed distance attempt; stays PENDING until nextAttemptAt, or becomes FAILED when retries are used up
+    @Modifying
+    @Transactional
+    @Query("UPDATE HallApplication ha SET ha.distanceStatus = :status, " +
+           "ha.distanceAttempts = COALESCE(ha.distanceAttempts, 0) + 1, ha.distanceNextAttemptAt = :nextAttemptAt " +
+           "WHERE ha.applicationId = :applicationId " +
+           "AND ha.distanceStatus = com.HMS.hms.Tables.HallApplication$DistanceStatus.PENDING")
+    int recordDistanceAttemptFailed(@Param("applicationId") Long applicationId,
+                                    @Param("status") HallApplication.DistanceStatus status,
+                                    @Param("nextAttemptAt") LocalDateTime nextAttemptAt);
+
+    // Queue every application without a distance for a fresh round of attempts
+    @Modifying
+    @Transactional
+    @Query("UPDATE HallApplication ha SET ha.distanceStatus = com.HMS.hms.Tables.HallApplication$DistanceStatus.PENDING, " +
+           "ha.distanceAttempts = 0, ha.distanceNextAttemptAt = :now WHERE ha.distanceFromHallKm IS NULL")
+    int requeueMissingDistances(@Param("now") LocalDateTime now);
+}
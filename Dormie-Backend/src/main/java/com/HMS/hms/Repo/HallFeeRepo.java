@@ -1,8 +1,11 @@
 package com.HMS.hms.Repo;
 
 import com.HMS.hms.Tables.HallFee;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -19,6 +22,7 @@ public interface HallFeeRepo extends JpaRepository<HallFee, Long> {
     List<HallFee> findByYear(Integer year);
 
     // Find hall fee by type and year (should be unique)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<HallFee> findByTypeAndYear(HallFee.ResidencyType type, Integer year);
 
     // Find hall fees by type (using string)
@@ -0,0 +1,21 @@
+package com.HMS.hms.Repo;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.HMS.hms.Tables.MealAttendance;
+
+@Repository
+public interface MealAttendanceRepo extends JpaRepository<MealAttendance, Long> {
+
+    // Users already checked in for a meal, to rebuild its replay set
+    @Query("SELECT a.userId FROM MealAttendance a WHERE a.mealPlanId = :mealPlanId")
+    List<Long> findUserIdsByMealPlanId(@Param("mealPlanId") Long mealPlanId);
+
+    // Number of check-ins written for a meal
+    long countByMealPlanId(Long mealPlanId);
+}
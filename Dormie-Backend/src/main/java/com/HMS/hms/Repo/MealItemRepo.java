@@ -1,8 +1,11 @@
 package com.HMS.hms.Repo;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.HMS.hms.Tables.MealItem;
@@ -16,6 +19,16 @@ public interface MealItemRepo extends JpaRepository<MealItem, Long> {
     // Find meal items by meal plan ID ordered by item order
     List<MealItem> findByMealPlanMealPlanIdOrderByItemOrder(Long mealPlanId);
 
+    // [mealPlanId, itemName] for the items of several meal plans in one query, in item order within each plan
+    @Query("SELECT i.mealPlan.mealPlanId, i.itemName FROM MealItem i WHERE i.mealPlan.mealPlanId IN :mealPlanIds " +
+           "ORDER BY i.mealPlan.mealPlanId, i.itemOrder")
+    List<Object[]> findItemNamesByMealPlanIds(@Param("mealPlanIds") Collection<Long> mealPlanIds);
+
+    // [mealPlanId, mealItemId, itemOrder, itemName] for the items of several meal plans, in item order within each plan
+    @Query("SELECT i.mealPlan.mealPlanId, i.mealItemId, i.itemOrder, i.itemName FROM MealItem i " +
+           "WHERE i.mealPlan.mealPlanId IN :mealPlanIds ORDER BY i.mealPlan.mealPlanId, i.itemOrder, i.mealItemId")
+    List<Object[]> findItemRowsByMealPlanIds(@Param("mealPlanIds") Collection<Long> mealPlanIds);
+
     // Delete meal items by meal plan ID
     void deleteByMealPlanMealPlanId(Long mealPlanId);
 }
@@ -0,0 +1,23 @@
+package com.HMS.hms.Repo;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.HMS.hms.Tables.MealMenuTemplate;
+import com.HMS.hms.Tables.MealMenuTemplateEntry;
+
+@Repository
+public interface MealMenuTemplateRepo extends JpaRepository<MealMenuTemplate, Long> {
+
+    // All templates by name
+    List<MealMenuTemplate> findAllByOrderByNameAsc();
+
+    // A template's entries with their items in one query
+    @Query("SELECT DISTINCT e FROM MealMenuTemplateEntry e LEFT JOIN FETCH e.items " +
+           "WHERE e.template.templateId = :templateId ORDER BY e.weekNumber, e.dayOfWeek, e.mealType")
+    List<MealMenuTemplateEntry> findEntriesWithItems(@Param("templateId") Long templateId);
+}
@@ -0,0 +1,26 @@
+package com.HMS.hms.Repo;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.HMS.hms.Tables.MealOptOut;
+
+@Repository
+public interface MealOptOutRepo extends JpaRepository<MealOptOut, Long> {
+
+    // Whether a student's opt-out of a meal has been written
+    boolean existsByMealPlanIdAndUserId(Long mealPlanId, Long userId);
+
+    // Number of written opt-outs of a meal
+    long countByMealPlanId(Long mealPlanId);
+
+    // Remove the opt-outs of a deleted meal plan
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM MealOptOut o WHERE o.mealPlanId = :mealPlanId")
+    int deleteByMealPlanId(@Param("mealPlanId") Long mealPlanId);
+}
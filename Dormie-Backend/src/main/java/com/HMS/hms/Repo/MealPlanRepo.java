@@ -30,14 +30,18 @@ public interface MealPlanRepo extends JpaRepository<MealPlan, Long> {
     @Query("SELECT m FROM MealPlan m WHERE m.mealDate BETWEEN :startDate AND :endDate ORDER BY m.mealDate DESC, m.mealType")
     List<MealPlan> findByDateRange(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
 
+    // Find meal plans by date range, earliest first
+    @Query("SELECT m FROM MealPlan m WHERE m.mealDate BETWEEN :startDate AND :endDate ORDER BY m.mealDate, m.mealType")
+    List<MealPlan> findByDateRangeAscending(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    // [mealPlanId, mealDate, mealType] of the meal plans in a date range
+    @Query("SELECT m.mealPlanId, m.mealDate, m.mealType FROM MealPlan m WHERE m.mealDate BETWEEN :startDate AND :endDate")
+    List<Object[]> findKeysByDateRange(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
     // Find today's meal plans
     @Query("SELECT m FROM MealPlan m WHERE m.mealDate = :today ORDER BY m.mealType")
     List<MealPlan> findTodaysMeals(@Param("today") LocalDate today);
 
-    // Find future meal plans
-    @Query("SELECT m FROM MealPlan m WHERE m.mealDate > :today ORDER BY m.mealDate, m.mealType")
-    List<MealPlan> findFutureMeals(@Param("today") LocalDate today);
-
     // Find meal plans by mess manager ID ordered by date descending
     List<MealPlan> findByMessManagerIdOrderByMealDateDescMealTypeAsc(Long messManagerId);
 
@@ -34,6 +34,13 @@ public interface MessManagerApplicationRepo extends JpaRepository<MessManagerApp
     // Count applications by call ID and status
     int countByCallIdAndStatus(Long callId, MessManagerApplication.ApplicationStatus status);
 
+    // Count all applications for a call
+    int countByCallId(Long callId);
+
+    // Application counts per status for a call, one row per status: [status, count]
+    @Query("SELECT m.status, COUNT(m) FROM MessManagerApplication m WHERE m.callId = :callId GROUP BY m.status")
+    List<Object[]> countByStatusForCall(@Param("callId") Long callId);
+
     // Find applications by call ID ordered by created date
     List<MessManagerApplication> findByCallIdOrderByCreatedAtDesc(Long callId);
 
@@ -4,13 +4,19 @@ import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.HMS.hms.Tables.MessManagerCall;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface MessManagerCallRepo extends JpaRepository<MessManagerCall, Long> {
 
@@ -56,16 +62,38 @@ public interface MessManagerCallRepo extends JpaRepository<MessManagerCall, Long
     @Query("SELECT m FROM MessManagerCall m WHERE m.year = :year ORDER BY m.createdAt DESC")
     Optional<MessManagerCall> findLatestCallByYear(@Param("year") Integer year);
 
-    // Find calls that have expired (application deadline passed)
-    @Query("SELECT m FROM MessManagerCall m WHERE m.applicationEndDate < :currentDate AND m.status = 'ACTIVE'")
-    List<MessManagerCall> findExpiredCalls(@Param("currentDate") LocalDate currentDate);
-
-    // Find calls that are completed (manager activity end date passed)
-    @Query("SELECT m FROM MessManagerCall m WHERE m.managerActivityEndDate < :currentDate AND m.status != 'COMPLETED'")
-    List<MessManagerCall> findCompletedCalls(@Param("currentDate") LocalDate currentDate);
+    // Expire active calls whose application deadline has passed, in one statement
+    @Modifying
+    @Transactional
+    @Query("UPDATE MessManagerCall m SET m.status = com.HMS.hms.Tables.MessManagerCall$CallStatus.EXPIRED " +
+           "WHERE m.applicationEndDate < :currentDate " +
+           "AND m.status = com.HMS.hms.Tables.MessManagerCall$CallStatus.ACTIVE")
+    int expireCalls(@Param("currentDate") LocalDate currentDate);
+
+    // Complete calls whose manager activity period has ended, in one statement
+    @Modifying
+    @Transactional
+    @Query("UPDATE MessManagerCall m SET m.status = com.HMS.hms.Tables.MessManagerCall$CallStatus.COMPLETED " +
+           "WHERE m.managerActivityEndDate < :currentDate " +
+           "AND m.status <> com.HMS.hms.Tables.MessManagerCall$CallStatus.COMPLETED")
+    int completeCalls(@Param("currentDate") LocalDate currentDate);
+
+    // Calls of a year with their dining fee and application counts per status, one row per (call, status);
+    // a call without applications has a single row with a null status and a zero count
+    @Query("SELECT m.callId, m.provostId, m.year, m.status, m.applicationEndDate, m.managerActivityStartDate, " +
+           "m.managerActivityEndDate, m.maxManagers, m.createdAt, d.id, d.startDate, d.endDate, d.fee, " +
+           "a.status, COUNT(a.applicationId) " +
+           "FROM MessManagerCall m JOIN m.diningFee d " +
+           "LEFT JOIN MessManagerApplication a ON a.callId = m.callId " +
+           "WHERE m.year = :year " +
+           "GROUP BY m.callId, m.provostId, m.year, m.status, m.applicationEndDate, m.managerActivityStartDate, " +
+           "m.managerActivityEndDate, m.maxManagers, m.createdAt, d.id, d.startDate, d.endDate, d.fee, a.status " +
+           "ORDER BY m.createdAt DESC, m.callId DESC")
+    List<Object[]> findDashboardRowsByYear(@Param("year") Integer year);
 
     // Find calls with their dining fee information
     @Query("SELECT m FROM MessManagerCall m JOIN FETCH m.diningFee WHERE m.callId = :callId")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<MessManagerCall> findByIdWithDiningFee(@Param("callId") Long callId);
 
     // Find active calls with dining fee information
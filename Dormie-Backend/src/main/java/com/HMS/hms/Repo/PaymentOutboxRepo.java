@@ -0,0 +1,55 @@
+package com.HMS.hms.Repo;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.HMS.hms.Tables.PaymentOutboxEvent;
+
+@Repository
+public interface PaymentOutboxRepo extends JpaRepository<PaymentOutboxEvent, Long> {
+
+    // Find events of a transaction
+    List<PaymentOutboxEvent> findByTranIdOrderByEventIdAsc(String tranId);
+
+    // Due PENDING events in write order, skipping users whose earlier event is still waiting for a retry
+    @Query("SELECT e FROM PaymentOutboxEvent e " +
+           "WHERE e.status = com.HMS.hms.Tables.PaymentOutboxEvent$EventStatus.PENDING " +
+           "AND e.nextAttemptAt <= :now " +
+           "AND NOT EXISTS (SELECT 1 FROM PaymentOutboxEvent w WHERE w.userId = e.userId " +
+           "AND w.status = com.HMS.hms.Tables.PaymentOutboxEvent$EventStatus.PENDING " +
+           "AND w.eventId < e.eventId AND w.nextAttemptAt > :now) " +
+           "ORDER BY e.eventId")
+    List<PaymentOutboxEvent> findDueEvents(@Param("now") LocalDateTime now, Pageable pageable);
+
+    // Mark an event as handled
+    @Modifying
+    @Transactional
+    @Query("UPDATE PaymentOutboxEvent e SET e.status = com.HMS.hms.Tables.PaymentOutboxEvent$EventStatus.DONE, " +
+           "e.attempts = e.attempts + 1, e.processedAt = :processedAt, e.lastError = NULL WHERE e.eventId = :eventId")
+    int markDone(@Param("eventId") Long eventId, @Param("processedAt") LocalDateTime processedAt);
+
+    // Record a failed attempt; the event stays PENDING until nextAttemptAt, or becomes FAILED when retries are used up
+    @Modifying
+    @Transactional
+    @Query("UPDATE PaymentOutboxEvent e SET e.status = :status, e.attempts = e.attempts + 1, " +
+           "e.nextAttemptAt = :nextAttemptAt, e.lastError = :lastError WHERE e.eventId = :eventId")
+    int markAttemptFailed(@Param("eventId") Long eventId,
+                          @Param("status") PaymentOutboxEvent.EventStatus status,
+                          @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+                          @Param("lastError") String lastError);
+
+    // Purge events that were handled before the cutoff
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM PaymentOutboxEvent e " +
+           "WHERE e.status = com.HMS.hms.Tables.PaymentOutboxEvent$EventStatus.DONE AND e.processedAt < :cutoff")
+    int deleteDoneBefore(@Param("cutoff") LocalDateTime cutoff);
+}
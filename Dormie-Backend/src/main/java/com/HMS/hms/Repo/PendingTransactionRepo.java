@@ -0,0 +1,79 @@
+package com.HMS.hms.Repo;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.HMS.hms.Tables.PendingTransaction;
+
+@Repository
+public interface PendingTransactionRepo extends JpaRepository<PendingTransaction, String> {
+
+    // Find transactions of a user by status
+    List<PendingTransaction> findByUserIdAndStatus(Long userId, PendingTransaction.TransactionStatus status);
+
+    // Move a transaction out of PENDING; returns 0 if it was already settled or closed
+    @Modifying
+    @Transactional
+    @Query("UPDATE PendingTransaction pt SET pt.status = :status, pt.updatedAt = :updatedAt " +
+           "WHERE pt.tranId = :tranId AND pt.status = com.HMS.hms.Tables.PendingTransaction$TransactionStatus.PENDING")
+    int closePendingTransaction(@Param("tranId") String tranId,
+                                @Param("status") PendingTransaction.TransactionStatus status,
+                                @Param("updatedAt") LocalDateTime updatedAt);
+
+    // Claim a validated transaction for settlement, whether still PENDING or already closed as failed,
+    // cancelled or expired; returns 0 if another callback already settled it
+    @Modifying
+    @Transactional
+    @Query("UPDATE PendingTransaction pt SET pt.status = com.HMS.hms.Tables.PendingTransaction$TransactionStatus.SETTLED, " +
+           "pt.valId = :valId, pt.updatedAt = :updatedAt " +
+           "WHERE pt.tranId = :tranId AND pt.status NOT IN (" +
+           "com.HMS.hms.Tables.PendingTransaction$TransactionStatus.SETTLED, " +
+           "com.HMS.hms.Tables.PendingTransaction$TransactionStatus.REFUND_REQUIRED)")
+    int claimForSettlement(@Param("tranId") String tranId,
+                           @Param("valId") String valId,
+                           @Param("updatedAt") LocalDateTime updatedAt);
+
+    // Flag a just-settled transaction whose charge, in part or in full, has to be refunded
+    @Modifying
+    @Transactional
+    @Query("UPDATE PendingTransaction pt SET pt.status = com.HMS.hms.Tables.PendingTransaction$TransactionStatus.REFUND_REQUIRED " +
+           "WHERE pt.tranId = :tranId")
+    int markRefundRequired(@Param("tranId") String tranId);
+
+    // Hall fee IDs covered by a transaction
+    @Query("SELECT f FROM PendingTransaction pt JOIN pt.hallFeeIds f WHERE pt.tranId = :tranId")
+    List<Long> findHallFeeIdsByTranId(@Param("tranId") String tranId);
+
+    // Dining fee IDs covered by a transaction
+    @Query("SELECT f FROM PendingTransaction pt JOIN pt.diningFeeIds f WHERE pt.tranId = :tranId")
+    List<Long> findDiningFeeIdsByTranId(@Param("tranId") String tranId);
+
+    // Page of PENDING transactions created before the cutoff, keyset-ordered by (createdAt, tranId)
+    @Query("SELECT pt FROM PendingTransaction pt " +
+           "WHERE pt.status = com.HMS.hms.Tables.PendingTransaction$TransactionStatus.PENDING " +
+           "AND pt.createdAt < :cutoff " +
+           "AND (pt.createdAt > :afterCreatedAt OR (pt.createdAt = :afterCreatedAt AND pt.tranId > :afterTranId)) " +
+           "ORDER BY pt.createdAt, pt.tranId")
+    List<PendingTransaction> findStalePendingAfter(@Param("cutoff") LocalDateTime cutoff,
+                                                   @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+                                                   @Param("afterTranId") String afterTranId,
+                                                   Pageable pageable);
+
+    // Move a batch of transactions out of PENDING; rows no longer PENDING are left alone
+    @Modifying
+    @Transactional
+    @Query("UPDATE PendingTransaction pt SET pt.status = :status, pt.updatedAt = :updatedAt " +
+           "WHERE pt.tranId IN :tranIds AND pt.status = com.HMS.hms.Tables.PendingTransaction$TransactionStatus.PENDING")
+    int closePendingTransactions(@Param("tranIds") Collection<String> tranIds,
+                                 @Param("status") PendingTransaction.TransactionStatus status,
+                                 @Param("updatedAt") LocalDateTime updatedAt);
+}
@@ -0,0 +1,10 @@
+package com.HMS.hms.Repo;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.HMS.hms.Tables.PostcodeGeocode;
+
+@Repository
+public interface PostcodeGeocodeRepo extends JpaRepository<PostcodeGeocode, String> {
+}
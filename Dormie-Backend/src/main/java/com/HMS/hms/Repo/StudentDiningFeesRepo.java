@@ -2,14 +2,17 @@ package com.HMS.hms.Repo;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.HMS.hms.DTO.StudentDiningFeePaymentDTO;
 import com.HMS.hms.DTO.UnpaidFeesSummaryDTO;
 import com.HMS.hms.Tables.StudentDiningFees;
 
@@ -80,6 +83,12 @@ public interface StudentDiningFeesRepo extends JpaRepository<StudentDiningFees,
     @Query("SELECT sdf FROM StudentDiningFees sdf WHERE sdf.studentId = :studentId AND sdf.status = 'UNPAID'")
     List<StudentDiningFees> findUnpaidByStudentId(@Param("studentId") Long studentId);
 
+    // Whether the user has a paid dining fee whose period covers the date
+    @Query("SELECT CASE WHEN COUNT(sdf) > 0 THEN true ELSE false END FROM StudentDiningFees sdf " +
+           "WHERE sdf.userId = :userId AND sdf.status = com.HMS.hms.Tables.StudentDiningFees$PaymentStatus.PAID " +
+           "AND :date BETWEEN sdf.startDate AND sdf.endDate")
+    boolean hasPaidFeeCovering(@Param("userId") Long userId, @Param("date") LocalDate date);
+
     // Find paid fees for a user
     @Query("SELECT sdf FROM StudentDiningFees sdf WHERE sdf.userId = :userId AND sdf.status = 'PAID'")
     List<StudentDiningFees> findPaidByUserId(@Param("userId") Long userId);
@@ -138,4 +147,29 @@ public interface StudentDiningFeesRepo extends JpaRepository<StudentDiningFees,
     // Find by userId, year, startDate, and endDate to check for exact duplicates
     List<StudentDiningFees> findByUserIdAndYearAndStartDateAndEndDate(
         Long userId, Integer year, LocalDate startDate, LocalDate endDate);
+
+    // Get paid dining fees joined with their payment info and fee amount in a single query.
+    // The amount comes from one overlapping DiningFee period (the latest created), as in the payment history
+    @Query("SELECT new com.HMS.hms.DTO.StudentDiningFeePaymentDTO(sdf.year, 'dining', spi.feeId, spi.tranId, spi.valId, " +
+           "spi.paymentMethod, sdf.startDate, sdf.endDate, COALESCE(df.fee, 0), sdf.studentType) " +
+           "FROM StudentDiningFees sdf " +
+           "JOIN StudentPaymentInfo spi ON spi.feeId = sdf.feeId " +
+           "AND spi.feeType = com.HMS.hms.Tables.StudentPaymentInfo$FeeType.DINING " +
+           "LEFT JOIN DiningFee df ON df.id = (" +
+           "    SELECT MAX(d.id) FROM DiningFee d WHERE d.type = com.HMS.hms.Tables.DiningFee$ResidencyType.RESIDENT " +
+           "    AND d.year = sdf.year AND sdf.startDate <= d.endDate AND sdf.endDate >= d.startDate) " +
+           "WHERE sdf.userId = :userId AND sdf.status = 'PAID' " +
+           "ORDER BY sdf.year DESC, sdf.startDate DESC, sdf.feeId DESC")
+    List<StudentDiningFeePaymentDTO> findDiningFeePaymentsByUserId(@Param("userId") Long userId);
+
+    // Lock the still-unpaid fees among the given IDs until the surrounding transaction ends
+    @Query(value = "SELECT fee_id FROM student_dining_fees WHERE fee_id IN (:feeIds) AND status = 'UNPAID' FOR UPDATE",
+           nativeQuery = true)
+    List<Long> lockUnpaidFeeIds(@Param("feeIds") Collection<Long> feeIds);
+
+    // Mark the given fees PAID in one statement; fees that are no longer UNPAID are left alone
+    @Modifying
+    @Query("UPDATE StudentDiningFees f SET f.status = com.HMS.hms.Tables.StudentDiningFees$PaymentStatus.PAID " +
+           "WHERE f.feeId IN :feeIds AND f.status = com.HMS.hms.Tables.StudentDiningFees$PaymentStatus.UNPAID")
+    int markFeesPaid(@Param("feeIds") Collection<Long> feeIds);
 }
@@ -1,14 +1,17 @@
 package com.HMS.hms.Repo;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.HMS.hms.DTO.StudentHallFeePaymentDTO;
 import com.HMS.hms.DTO.UnpaidFeesSummaryDTO;
 import com.HMS.hms.Tables.StudentHallFees;
 
@@ -146,4 +149,29 @@ public interface StudentHallFeesRepo extends JpaRepository<StudentHallFees, Long
            "WHERE shf.userId = :userId AND shf.status = 'UNPAID' " +
            "GROUP BY u.email, u.username")
     UnpaidFeesSummaryDTO getUnpaidFeesSummaryByUserId(@Param("userId") Long userId);
+
+    // Get paid hall fees joined with their payment info and fee amount in a single query
+    @Query("SELECT new com.HMS.hms.DTO.StudentHallFeePaymentDTO(shf.year, COALESCE(hf.fee, 0), spi.feeId, spi.tranId, spi.valId, spi.paymentMethod) " +
+           "FROM StudentHallFees shf " +
+           "JOIN StudentPaymentInfo spi ON spi.feeId = shf.feeId " +
+           "AND spi.feeType = com.HMS.hms.Tables.StudentPaymentInfo$FeeType.HALL " +
+           "LEFT JOIN HallFee hf ON hf.type = CASE " +
+           "    WHEN LOWER(shf.studentType) = 'attached' THEN com.HMS.hms.Tables.HallFee$ResidencyType.ATTACHED " +
+           "    WHEN LOWER(shf.studentType) = 'resident' THEN com.HMS.hms.Tables.HallFee$ResidencyType.RESIDENT " +
+           "    ELSE com.HMS.hms.Tables.HallFee$ResidencyType.ATTACHED " +
+           "END AND hf.year = shf.year " +
+           "WHERE shf.userId = :userId AND shf.status = 'PAID' " +
+           "ORDER BY shf.year DESC, shf.feeId DESC")
+    List<StudentHallFeePaymentDTO> findHallFeePaymentsByUserId(@Param("userId") Long userId);
+
+    // Lock the still-unpaid fees among the given IDs until the surrounding transaction ends
+    @Query(value = "SELECT fee_id FROM student_hall_fees WHERE fee_id IN (:feeIds) AND status = 'UNPAID' FOR UPDATE",
+           nativeQuery = true)
+    List<Long> lockUnpaidFeeIds(@Param("feeIds") Collection<Long> feeIds);
+
+    // Mark the given fees PAID in one statement; fees that are no longer UNPAID are left alone
+    @Modifying
+    @Query("UPDATE StudentHallFees f SET f.status = com.HMS.hms.Tables.StudentHallFees$PaymentStatus.PAID " +
+           "WHERE f.feeId IN :feeIds AND f.status = com.HMS.hms.Tables.StudentHallFees$PaymentStatus.UNPAID")
+    int markFeesPaid(@Param("feeIds") Collection<Long> feeIds);
 }
@@ -110,4 +110,47 @@ public interface StudentPaymentInfoRepo extends JpaRepository<StudentPaymentInfo
     // Find by feeId and fee type
     @Query("SELECT spi FROM StudentPaymentInfo spi WHERE spi.feeId = :feeId AND spi.feeType = :feeType")
     List<StudentPaymentInfo> findByFeeIdAndFeeType(@Param("feeId") Long feeId, @Param("feeType") StudentPaymentInfo.FeeType feeType);
+
+    // Get one page of a user's combined hall and dining payment history.
+    // The last column is the total row count (window function), so page and total come back in one round trip.
+    // Hall fees are priced as in StudentHallFeesRepo: 'resident' students at the RESIDENT rate, anyone else
+    // at the ATTACHED rate. A dining fee takes the amount of one overlapping DiningFee period (the latest
+    // created), so overlapping periods cannot repeat a payment.
+    @Query(value = "SELECT h.fee_type, h.fee_id, h.fee_year, h.amount, h.tran_id, h.val_id, h.payment_method, " +
+                   "h.start_date, h.end_date, COUNT(*) OVER () AS total_count FROM (" +
+                   "  SELECT 'hall' AS fee_type, shf.fee_id, shf.\"year\" AS fee_year, hf.fee AS amount, " +
+                   "  spi.tran_id, spi.val_id, spi.payment_method, " +
+                   "  CAST(NULL AS DATE) AS start_date, CAST(NULL AS DATE) AS end_date " +
+                   "  FROM student_hall_fees shf " +
+                   "  JOIN student_payment_info spi ON spi.fee_id = shf.fee_id AND spi.fee_type = 'HALL' " +
+                   "  LEFT JOIN hall_fee hf ON hf.\"year\" = shf.\"year\" AND hf.type = " +
+                   "  CASE WHEN LOWER(shf.student_type) = 'resident' THEN 'RESIDENT' ELSE 'ATTACHED' END " +
+                   "  WHERE shf.user_id = :userId AND shf.status = 'PAID' " +
+                   "  UNION ALL " +
+                   "  SELECT 'dining' AS fee_type, sdf.fee_id, sdf.\"year\" AS fee_year, df.fee AS amount, " +
+                   "  spi.tran_id, spi.val_id, spi.payment_method, sdf.start_date, sdf.end_date " +
+                   "  FROM student_dining_fees sdf " +
+                   "  JOIN student_payment_info spi ON spi.fee_id = sdf.fee_id AND spi.fee_type = 'DINING' " +
+                   "  LEFT JOIN dining_fee df ON df.id = (" +
+                   "    SELECT MAX(d.id) FROM dining_fee d WHERE d.type = 'RESIDENT' AND d.\"year\" = sdf.\"year\" " +
+                   "    AND sdf.start_date <= d.end_date AND sdf.end_date >= d.start_date) " +
+                   "  WHERE sdf.user_id = :userId AND sdf.status = 'PAID'" +
+                   ") h " +
+                   "ORDER BY h.fee_year DESC, h.start_date DESC NULLS LAST, h.fee_type, h.fee_id DESC " +
+                   "OFFSET :offset ROWS FETCH NEXT :limit ROWS ONLY",
+           nativeQuery = true)
+    List<Object[]> findPaymentHistoryPageByUserId(@Param("userId") Long userId,
+                                                  @Param("offset") int offset,
+                                                  @Param("limit") int limit);
+
+    // Count a user's combined hall and dining payment history entries
+    @Query(value = "SELECT " +
+                   "(SELECT COUNT(*) FROM student_hall_fees shf " +
+                   " JOIN student_payment_info spi ON spi.fee_id = shf.fee_id AND spi.fee_type = 'HALL' " +
+                   " WHERE shf.user_id = :userId AND shf.status = 'PAID') + " +
+                   "(SELECT COUNT(*) FROM student_dining_fees sdf " +
+                   " JOIN student_payment_info spi ON spi.fee_id = sdf.fee_id AND spi.fee_type = 'DINING' " +
+                   " WHERE sdf.user_id = :userId AND sdf.status = 'PAID')",
+           nativeQuery = true)
+    Long countPaymentHistoryByUserId(@Param("userId") Long userId);
 }
@@ -4,7 +4,11 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.HMS.hms.Tables.Students;
 
@@ -26,8 +30,22 @@ public interface StudentsRepo extends JpaRepository<Students, Long> {
     // Find by batch
     List<Students> findByBatch(Integer batch);
     
+    // Batch of the student with this user ID, without loading the student
+    @Query("SELECT s.batch FROM Students s WHERE s.userId = :userId")
+    Optional<Integer> findBatchByUserId(@Param("userId") Long userId);
+
+    // Make the applicants of the given approved hall applications residents in one statement
+    @Modifying
+    @Transactional
+    @Query("UPDATE Students s SET s.residencyStatus = 'resident' WHERE s.userId IN " +
+           "(SELECT ha.userId FROM HallApplication ha WHERE ha.applicationId IN :applicationIds AND ha.applicationStatus = 'APPROVED')")
+    int markResidentsForApprovedApplications(@Param("applicationIds") List<Long> applicationIds);
+
     // Find by residency status
     List<Students> findByResidencyStatus(String residencyStatus);
+
+    // Count by residency status
+    long countByResidencyStatus(String residencyStatus);
     
     // Find by department and batch
     List<Students> findByDepartmentAndBatch(String department, Integer batch);
@@ -3,16 +3,32 @@ package com.HMS.hms.Repo;
 import java.util.List;
 import java.util.Optional;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import com.HMS.hms.Tables.Users;
 
+import jakarta.persistence.QueryHint;
+
 public interface UsersRepo extends JpaRepository<Users, Long> {
     Optional<Users> findByUsername(String username);
 
+    // Looked up on every authenticated request, so served from the query cache
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Users> findByEmail(String email);
 
     Optional<Users> findByUserId(Long userId);
     
     List<Users> findByRole(String role);
+
+    // The user with their student record and room assignment in one query: [Users, Students, StudentRoom];
+    // the last two are null when absent
+    @Query("SELECT u, s, sr FROM Users u " +
+           "LEFT JOIN Students s ON s.userId = u.userId " +
+           "LEFT JOIN StudentRoom sr ON sr.userId = u.userId " +
+           "WHERE u.userId = :userId")
+    List<Object[]> findWithStudentContext(@Param("userId") Long userId);
 }
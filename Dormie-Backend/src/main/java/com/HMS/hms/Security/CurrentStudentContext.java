@@ -0,0 +1,114 @@
+package com.HMS.hms.Security;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.RequestScope;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import com.HMS.hms.Repo.UsersRepo;
+import com.HMS.hms.Tables.StudentRoom;
+import com.HMS.hms.Tables.Students;
+import com.HMS.hms.Tables.Users;
+
+/**
+ * The authenticated caller's user record, student record and room assignment, loaded at most
+ * once per request with a single joined query.
+ * <p>
+ * Request scoped: inject it anywhere that runs on a request thread instead of looking the caller
+ * up again through {@code findByEmail}/{@code findByUserId}. Nothing is loaded until first asked for.
+ * Entities are read as of that first access; after changing them in the same request, use the
+ * returned (managed) entities rather than re-reading. Code that may also run off a request thread
+ * (scheduled jobs, worker pools) checks {@link #isAvailable()} first.
+ */
+@Component
+@RequestScope
+public class CurrentStudentContext {
+
+    @Autowired
+    private UsersRepo usersRepo;
+
+    private boolean loaded;
+    private Users user;
+    private Students student;
+    private StudentRoom studentRoom;
+
+    /**
+     * Whether the current thread is serving a request, so the context can be used at all.
+     * Outside a request any call on the injected proxy fails.
+     */
+    public static boolean isAvailable() {
+        return RequestContextHolder.getRequestAttributes() != null;
+    }
+
+    /**
+     * User ID of the authenticated caller, or null if the request is not authenticated
+     */
+    public Long getUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserDetailsImpl userDetails) {
+            return userDetails.getId();
+        }
+        return null;
+    }
+
+    /**
+     * Whether {@code userId} is the authenticated caller
+     */
+    public boolean isCurrentUser(Long userId) {
+        return userId != null && userId.equals(getUserId());
+    }
+
+    public Optional<Users> getUser() {
+        load();
+        return Optional.ofNullable(user);
+    }
+
+    public Optional<Students> getStudent() {
+        load();
+        return Optional.ofNullable(student);
+    }
+
+    public Optional<StudentRoom> getStudentRoom() {
+        load();
+        return Optional.ofNullable(studentRoom);
+    }
+
+    /**
+     * Whether the caller is a student with a student record
+     */
+    public boolean isStudent() {
+        load();
+        return user != null && "STUDENT".equals(user.getRole()) && student != null;
+    }
+
+    /**
+     * Whether the caller is a student with resident status
+     */
+    public boolean isResidentStudent() {
+        return isStudent() && "resident".equals(student.getResidencyStatus());
+    }
+
+    private void load() {
+        if (loaded) {
+            return;
+        }
+        loaded = true;
+        Long userId = getUserId();
+        if (userId == null) {
+            return;
+        }
+        List<Object[]> rows = usersRepo.findWithStudentContext(userId);
+        if (rows.isEmpty()) {
+            return;
+        }
+        Object[] row = rows.get(0);
+        user = (Users) row[0];
+        student = (Students) row[1];
+        studentRoom = (StudentRoom) row[2];
+    }
+}
@@ -0,0 +1,134 @@
+package com.HMS.hms.Security;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.Base64;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.jsonwebtoken.io.Decoders;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Signs and verifies meal check-in tokens.
+ * <p>
+ * A token is {@code base64url(payload).base64url(HMAC-SHA256(payload))}, where the 33-byte payload
+ * holds a version byte, the user ID, the meal plan ID and the validity window in epoch seconds.
+ * It is small enough for a QR code and is verified with one HMAC, without any lookup.
+ * The signing key is derived from {@code meal-tokens.secret} (default: the JWT secret), so a meal
+ * token can never pass as a JWT or the other way round.
+ */
+@Component
+public class MealTokenUtils {
+
+    private static final byte VERSION = 1;
+    private static final int PAYLOAD_LENGTH = 1 + 8 + 8 + 8 + 8;
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    @Value("${meal-tokens.secret:${jwt.secret}}")
+    private String secret;
+
+    private SecretKeySpec signingKey;
+
+    // Mac instances are not thread-safe and costly to create; keep one per thread
+    private final ThreadLocal<Mac> macs = ThreadLocal.withInitial(this::newMac);
+
+    @PostConstruct
+    public void init() {
+        try {
+            Mac derivation = Mac.getInstance(HMAC_ALGORITHM);
+            derivation.init(new SecretKeySpec(Decoders.BASE64.decode(secret), HMAC_ALGORITHM));
+            signingKey = new SecretKeySpec(derivation.doFinal("meal-token".getBytes(StandardCharsets.UTF_8)),
+                                           HMAC_ALGORITHM);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Could not derive meal token key", e);
+        }
+    }
+
+    public String generateToken(MealToken mealToken) {
+        ByteBuffer payload = ByteBuffer.allocate(PAYLOAD_LENGTH)
+                .put(VERSION)
+                .putLong(mealToken.getUserId())
+                .putLong(mealToken.getMealPlanId())
+                .putLong(mealToken.getValidFrom().getEpochSecond())
+                .putLong(mealToken.getExpiresAt().getEpochSecond());
+        byte[] bytes = payload.array();
+        return ENCODER.encodeToString(bytes) + "." + ENCODER.encodeToString(sign(bytes));
+    }
+
+    /**
+     * @return the token's contents, or null if it is malformed or its signature does not match.
+     *         The validity window is not checked here.
+     */
+    public MealToken parseToken(String token) {
+        if (token == null) {
+            return null;
+        }
+        int dot = token.indexOf('.');
+        if (dot < 0) {
+            return null;
+        }
+        byte[] payload;
+        byte[] signature;
+        try {
+            payload = DECODER.decode(token.substring(0, dot));
+            signature = DECODER.decode(token.substring(dot + 1));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        if (payload.length != PAYLOAD_LENGTH || payload[0] != VERSION
+                || !MessageDigest.isEqual(sign(payload), signature)) {
+            return null;
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(payload, 1, PAYLOAD_LENGTH - 1);
+        return new MealToken(buffer.getLong(), buffer.getLong(),
+                             Instant.ofEpochSecond(buffer.getLong()), Instant.ofEpochSecond(buffer.getLong()));
+    }
+
+    private byte[] sign(byte[] payload) {
+        return macs.get().doFinal(payload);
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(signingKey);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Could not create meal token MAC", e);
+        }
+    }
+
+    /**
+     * Contents of a meal token
+     */
+    public static class MealToken {
+        private final long userId;
+        private final long mealPlanId;
+        private final Instant validFrom;
+        private final Instant expiresAt;
+
+        public MealToken(long userId, long mealPlanId, Instant validFrom, Instant expiresAt) {
+            this.userId = userId;
+            this.mealPlanId = mealPlanId;
+            this.validFrom = validFrom;
+            this.expiresAt = expiresAt;
+        }
+
+        public long getUserId() { return userId; }
+        public long getMealPlanId() { return mealPlanId; }
+        public Instant getValidFrom() { return validFrom; }
+        public Instant getExpiresAt() { return expiresAt; }
+    }
+}
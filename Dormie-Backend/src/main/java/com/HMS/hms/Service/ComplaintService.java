@@ -13,6 +13,7 @@ import com.HMS.hms.DTO.ComplaintCreateRequest;
 import com.HMS.hms.DTO.ComplaintDTO;
 import com.HMS.hms.DTO.ComplaintUpdateRequest;
 import com.HMS.hms.Repo.ComplaintRepo;
+import com.HMS.hms.Security.CurrentStudentContext;
 import com.HMS.hms.Tables.Complaint;
 import com.HMS.hms.Tables.Students;
 import com.HMS.hms.Tables.Users;
@@ -29,6 +30,9 @@ public class ComplaintService {
     @Autowired
     private StudentsService studentsService;
 
+    @Autowired
+    private CurrentStudentContext currentStudentContext;
+
     /**
      * Create a new complaint
      * 
@@ -39,8 +43,9 @@ public class ComplaintService {
      */
     @Transactional
     public ComplaintDTO createComplaint(ComplaintCreateRequest createRequest, Long userId) {
-        // Verify user exists and is a student
-        Optional<Users> userOpt = userService.findByUserId(userId);
+        // Verify user exists and is a student; the caller's records are already loaded for this request
+        boolean currentUser = CurrentStudentContext.isAvailable() && currentStudentContext.isCurrentUser(userId);
+        Optional<Users> userOpt = currentUser ? currentStudentContext.getUser() : userService.findByUserId(userId);
         if (userOpt.isEmpty()) {
             throw new RuntimeException("User not found with ID: " + userId);
         }
@@ -51,7 +56,7 @@ public class ComplaintService {
         }
 
         // Get student information
-        Optional<Students> studentOpt = studentsService.findByUserId(userId);
+        Optional<Students> studentOpt = currentUser ? currentStudentContext.getStudent() : studentsService.findByUserId(userId);
         if (studentOpt.isEmpty()) {
             throw new RuntimeException("Student record not found for user ID: " + userId);
         }
@@ -146,6 +151,18 @@ public class ComplaintService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Get the five most recent complaints created by a user
+     * 
+     * @param userId the user's ID
+     * @return up to five complaints, newest first
+     */
+    public List<ComplaintDTO> getRecentComplaintsByUser(Long userId) {
+        return complaintRepo.findTop5ByUserIdOrderByCreatedAtDesc(userId).stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+    }
+
     /**
      * Get complaints by user ID and type
      * 
@@ -19,6 +19,9 @@ import com.HMS.hms.Tables.StudentDiningFees;
 import com.HMS.hms.Tables.Students;
 import com.HMS.hms.Tables.Users; // Ensure this is imported
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
 @Service
 public class DiningFeeService {
 
@@ -34,6 +37,9 @@ public class DiningFeeService {
     @Autowired
     private StudentsService studentsService;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     // DTO Mapping Methods
     public DiningFeeDTO convertToDTO(DiningFee diningFee) {
         return new DiningFeeDTO(
@@ -77,6 +83,8 @@ public class DiningFeeService {
      * Only resident students get dining fees, attached students do not.
      */
     private void createStudentDiningFeesForAllStudents(DiningFee diningFee) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        int issued = 0;
         List<Users> students = usersRepo.findByRole("STUDENT");
 
         for (Users student : students) {
@@ -96,9 +104,13 @@ public class DiningFeeService {
                             StudentDiningFees.PaymentStatus.UNPAID
                     );
                     studentDiningFeesRepo.save(studentFee);
+                    issued++;
                 }
             }
         }
+
+        sample.stop(meterRegistry.timer(HallFeeService.FEE_ISSUANCE_TIMER, "fee", "dining"));
+        meterRegistry.counter("hms.fee.issued", "fee", "dining").increment(issued);
     }
 
     public List<DiningFeeDTO> getAllDiningFeesAsDTO() {
@@ -1,27 +1,59 @@
 package com.HMS.hms.Service;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.dao.DataAccessException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.util.UriComponentsBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.HMS.hms.Repo.PostcodeGeocodeRepo;
+import com.HMS.hms.Tables.PostcodeGeocode;
+import com.HMS.hms.Utility.RateLimiter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+
 import java.net.URI;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map; // To parse JSON response into a Map
+import java.util.Optional;
 
+/**
+ * Resolves postcodes to coordinates and distances to the hall.
+ * <p>
+ * Lookups are answered from the bundled {@link PostcodeGazetteer} where possible. Postcodes it
+ * does not list go through an in-memory LRU, then the {@code postcode_geocode} table, and only
+ * then to Nominatim, which can be switched off for deployments without outbound access; a
+ * postcode resolved once is never sent out again, and requests to Nominatim are throttled to
+ * {@code nominatim.requests-per-second}. The hall's own coordinates are resolved once at startup.
+ */
 @Service
 public class GeocodingService {
 
     private static final Logger logger = LoggerFactory.getLogger(GeocodingService.class);
 
+    // Memory-cache marker for postcodes Nominatim definitely does not know
+    private static final double[] NOT_FOUND = new double[0];
+
+    static final String LOOKUP_TIMER = "hms.geocoding.lookup";
+
     @Value("${nominatim.base.url}")
     private String nominatimBaseUrl;
 
@@ -31,21 +63,168 @@ public class GeocodingService {
     @Value("${hall.postcode}")
     private String hallPostcode; // Injected from application.properties
 
+    @Value("${nominatim.enabled:true}")
+    private boolean nominatimEnabled;
+
+    // Nominatim's usage policy allows at most one request per second
+    @Value("${nominatim.requests-per-second:1}")
+    private double nominatimRequestsPerSecond;
+
+    @Value("${geocoding.cache.max-entries:10000}")
+    private int memoryCacheMaxEntries;
+
     private final RestTemplate restTemplate; // Injected via constructor
 
-    // Constructor for dependency injection of RestTemplate
-    public GeocodingService(RestTemplate restTemplate) {
+    private final PostcodeGeocodeRepo postcodeGeocodeRepo;
+
+    private final PostcodeGazetteer postcodeGazetteer;
+
+    // Cache writes commit on their own, so a failed application does not discard a resolved postcode
+    private final TransactionTemplate cacheWriteTransaction;
+
+    // Access-ordered, so the least recently used postcode is evicted first
+    private final Map<String, double[]> memoryCache = Collections.synchronizedMap(
+            new LinkedHashMap<String, double[]>(256, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, double[]> eldest) {
+                    return size() > memoryCacheMaxEntries;
+                }
+            });
+
+    private volatile double[] hallCoordinates;
+
+    private RateLimiter nominatimRateLimiter;
+
+    private final MeterRegistry meterRegistry;
+
+    // Constructor for dependency injection
+    public GeocodingService(RestTemplate restTemplate, PostcodeGeocodeRepo postcodeGeocodeRepo,
+                            PostcodeGazetteer postcodeGazetteer, PlatformTransactionManager transactionManager,
+                            MeterRegistry meterRegistry) {
         this.restTemplate = restTemplate;
+        this.postcodeGeocodeRepo = postcodeGeocodeRepo;
+        this.postcodeGazetteer = postcodeGazetteer;
+        this.meterRegistry = meterRegistry;
+        this.cacheWriteTransaction = new TransactionTemplate(transactionManager);
+        this.cacheWriteTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @PostConstruct
+    public void init() {
+        nominatimRateLimiter = new RateLimiter(nominatimRequestsPerSecond, 1);
     }
 
     /**
-     * Geocodes a postcode to retrieve its latitude and longitude using Nominatim.
+     * Resolves the hall's coordinates once the application is up, so no request pays for it
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resolveHallCoordinates() {
+        getHallCoordinates();
+    }
+
+    /**
+     * @return the hall's [latitude, longitude], or null if it could not be resolved yet
+     */
+    public double[] getHallCoordinates() {
+        double[] coords = hallCoordinates;
+        if (coords == null) {
+            coords = getCoordinatesFromPostcode(hallPostcode);
+            if (coords != null) {
+                hallCoordinates = coords;
+                logger.info("Hall postcode {} resolved to lat={}, lon={}", hallPostcode.trim(), coords[0], coords[1]);
+            } else {
+                logger.warn("Could not resolve hall postcode {}, will retry on next use", hallPostcode);
+            }
+        }
+        return coords;
+    }
+
+    /**
+     * Resolves a postcode through the offline gazetteer, the memory cache, the postcode_geocode
+     * table and finally Nominatim.
      * @param postcode The postal code to geocode.
      * @return A double array [latitude, longitude], or null if geocoding fails.
      */
-    @SuppressWarnings({"java:S1181", "squid:S1181", "CatchAndPrintStackTrace", "UseSpecificCatch"})
     public double[] getCoordinatesFromPostcode(String postcode) {
+        if (postcode == null || postcode.trim().isEmpty()) {
+            return null;
+        }
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Resolution resolution = resolve(postcode.trim());
+        sample.stop(Timer.builder(LOOKUP_TIMER)
+                .description("Postcode lookups, by where the answer came from")
+                .tag("source", resolution.source())
+                .register(meterRegistry));
+        return resolution.coordinates();
+    }
+
+    private Resolution resolve(String key) {
+        double[] offline = postcodeGazetteer.lookup(key);
+        if (offline != null) {
+            return new Resolution(offline, "gazetteer");
+        }
+
+        double[] cached = memoryCache.get(key);
+        if (cached != null) {
+            return new Resolution(cached == NOT_FOUND ? null : cached, "memory");
+        }
+
+        Optional<PostcodeGeocode> stored = findStored(key);
+        if (stored.isPresent()) {
+            double[] coords = {stored.get().getLatitude(), stored.get().getLongitude()};
+            memoryCache.put(key, coords);
+            return new Resolution(coords, "database");
+        }
+
+        if (!nominatimEnabled) {
+            logger.warn("Postcode {} is not in the gazetteer and online geocoding is disabled", key);
+            return new Resolution(null, "unavailable");
+        }
+
+        double[] coords = queryNominatim(key);
+        if (coords == null) {
+            // Transient failure; try again next time
+            return new Resolution(null, "unavailable");
+        }
+        memoryCache.put(key, coords);
+        if (coords == NOT_FOUND) {
+            return new Resolution(null, "nominatim");
+        }
+        store(key, coords);
+        return new Resolution(coords, "nominatim");
+    }
+
+    private Optional<PostcodeGeocode> findStored(String postcode) {
         try {
+            return postcodeGeocodeRepo.findById(postcode);
+        } catch (DataAccessException e) {
+            logger.warn("Could not read cached coordinates for postcode {}: {}", postcode, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private void store(String postcode, double[] coords) {
+        try {
+            cacheWriteTransaction.executeWithoutResult(status ->
+                    postcodeGeocodeRepo.save(new PostcodeGeocode(postcode, coords[0], coords[1])));
+        } catch (DataAccessException | TransactionException e) {
+            // Most likely another request stored the same postcode first
+            logger.debug("Could not cache coordinates for postcode {}: {}", postcode, e.getMessage());
+        }
+    }
+
+    /**
+     * Geocodes a postcode to retrieve its latitude and longitude using Nominatim.
+     * @param postcode The postal code to geocode.
+     * @return A double array [latitude, longitude], {@link #NOT_FOUND} if Nominatim has no match,
+     *         or null if the request failed.
+     */
+    @SuppressWarnings({"java:S1181", "squid:S1181", "CatchAndPrintStackTrace", "UseSpecificCatch"})
+    private double[] queryNominatim(String postcode) {
+        try {
+            // Wait for our turn rather than exceed the request rate
+            nominatimRateLimiter.acquire();
+
             // Build the URL with query parameters safely
             URI uri = UriComponentsBuilder.fromUriString(nominatimBaseUrl)
                     .queryParam("postalcode", postcode)
@@ -83,11 +262,14 @@ public class GeocodingService {
                 return new double[]{lat, lon};
             } else {
                 logger.warn("Couldn't find coordinates for postcode: {}", postcode);
-                return null;
+                return NOT_FOUND;
             }
         } catch (RestClientException | NumberFormatException e) {
             logger.error("Error during geocoding for postcode {}: {}", postcode, e.getMessage(), e);
             return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
         } catch (Exception e) { // NOSONAR - Intentional catch-all for unexpected exceptions
             logger.error("Unexpected error during geocoding for postcode {}: {}", postcode, e.getMessage(), e);
             return null;
@@ -123,12 +305,12 @@ public class GeocodingService {
 
     /**
      * Calculates the distance from the hall's postcode to a given student postcode.
-     * Uses the hallPostcode configured in application.properties.
+     * Uses the hall coordinates resolved at startup.
      * @param studentPostcode The student's postcode.
      * @return Distance in kilometers, or null if geocoding fails for either postcode.
      */
     public Double calculateDistanceToHall(String studentPostcode) {
-        double[] hallCoords = getCoordinatesFromPostcode(hallPostcode); // Get hall's coordinates
+        double[] hallCoords = getHallCoordinates(); // Resolved once, not per application
         double[] studentCoords = getCoordinatesFromPostcode(studentPostcode); // Get student's coordinates
 
         if (hallCoords != null && studentCoords != null) {
@@ -139,4 +321,8 @@ public class GeocodingService {
         }
         return null; // Return null if coordinates couldn't be obtained for either location
     }
-}
\ No newline at end of file
+
+    // Coordinates (or null) and where they came from, for the lookup timer
+    private record Resolution(double[] coordinates, String source) {
+    }
+}
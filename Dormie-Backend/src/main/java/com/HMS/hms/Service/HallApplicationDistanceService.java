@@ -0,0 +1,205 @@
+package com.HMS.hms.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.HMS.hms.Repo.HallApplicationRepo;
+import com.HMS.hms.Tables.HallApplication;
+import com.HMS.hms.Utility.CoalescingWorker;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Fills in {@code distanceFromHallKm} for hall applications in the background.
+ * <p>
+ * Applications are saved with a PENDING distance and picked up here once their transaction
+ * commits, so a student's submission never waits on geocoding. Outbound geocoder traffic is
+ * throttled by {@link GeocodingService}; failed attempts are retried with exponential backoff
+ * and the application is marked FAILED once {@code max-attempts} is used up. A backfill queues
+ * every application that still has no distance. Runs on one backend instance at a time.
+ * <p>
+ * The priority score is recomputed together with the distance, see {@link HallApplicationRankingService}.
+ */
+@Service
+public class HallApplicationDistanceService {
+
+    private static final Logger logger = LoggerFactory.getLogger(HallApplicationDistanceService.class);
+
+    private static final String JOB_NAME = "hall-application-distance";
+
+    @Autowired
+    private HallApplicationRepo hallApplicationRepo;
+
+    @Autowired
+    private GeocodingService geocodingService;
+
+    @Autowired
+    private HallApplicationRankingService hallApplicationRankingService;
+
+    @Autowired
+    private JobLockService jobLockService;
+
+    @Value("${hall-application.distance.enabled:true}")
+    private boolean enabled;
+
+    @Value("${hall-application.distance.batch-size:50}")
+    private int batchSize;
+
+    @Value("${hall-application.distance.max-attempts:6}")
+    private int maxAttempts;
+
+    @Value("${hall-application.distance.retry-backoff-ms:30000}")
+    private long retryBackoffMs;
+
+    @Value("${hall-application.distance.max-retry-backoff-ms:3600000}")
+    private long maxRetryBackoffMs;
+
+    @Value("${hall-application.distance.backfill-on-startup:false}")
+    private boolean backfillOnStartup;
+
+    private CoalescingWorker worker;
+
+    @PostConstruct
+    public void init() {
+        worker = new CoalescingWorker("hall-application-distance", this::processDue);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        worker.shutdown();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        if (backfillOnStartup) {
+            backfill();
+        }
+    }
+
+    /**
+     * Queues the application's distance calculation. Inside a transaction the work starts once it
+     * commits, so the worker never looks for an application that is not visible yet.
+     */
+    public void enqueue(HallApplication application) {
+        application.setDistanceFromHallKm(null);
+        application.setDistanceStatus(HallApplication.DistanceStatus.PENDING);
+        application.setDistanceAttempts(0);
+        application.setDistanceNextAttemptAt(LocalDateTime.now());
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    requestRun();
+                }
+            });
+        } else {
+            requestRun();
+        }
+    }
+
+    /**
+     * Queues every application that has no distance yet, including ones given up on, for a fresh
+     * round of attempts.
+     *
+     * @return number of applications queued
+     */
+    public int backfill() {
+        int queued = hallApplicationRepo.requeueMissingDistances(LocalDateTime.now());
+        logger.info("Queued {} hall applications without a distance for calculation", queued);
+        if (queued > 0) {
+            requestRun();
+        }
+        return queued;
+    }
+
+    /**
+     * Asks for a run soon on the worker thread; returns immediately
+     */
+    public void requestRun() {
+        if (enabled) {
+            worker.requestRun();
+        }
+    }
+
+    // Safety net for wake-ups lost to a restart or to another instance holding the lock
+    @Scheduled(fixedDelayString = "${hall-application.distance.poll-interval-ms:60000}",
+               initialDelayString = "${hall-application.distance.poll-interval-ms:60000}")
+    public void scheduledRun() {
+        requestRun();
+    }
+
+    /**
+     * Calculates distances for every application that is due, batch by batch.
+     *
+     * @return false if skipped because another instance is running it
+     */
+    public boolean processDue() {
+        return jobLockService.runExclusively(JOB_NAME, () -> {
+            while (true) {
+                List<HallApplication> batch = hallApplicationRepo.findDueForDistance(LocalDateTime.now(),
+                                                                                     PageRequest.of(0, batchSize));
+                for (HallApplication application : batch) {
+                    calculate(application);
+                }
+                if (batch.size() < batchSize || Thread.currentThread().isInterrupted()) {
+                    return;
+                }
+            }
+        });
+    }
+
+    private void calculate(HallApplication application) {
+        Double distance = null;
+        try {
+            distance = geocodingService.calculateDistanceToHall(application.getPostcode());
+        } catch (Exception e) {
+            logger.error("Error calculating distance for application {} (postcode {}): {}",
+                       application.getApplicationId(), application.getPostcode(), e.getMessage());
+        }
+
+        if (distance != null) {
+            // Round to 2 decimal places for precise storage
+            BigDecimal distanceFromHall = BigDecimal.valueOf(distance).setScale(2, RoundingMode.HALF_UP);
+            // Distance is a ranking factor, so the priority score is recomputed alongside it
+            application.setDistanceFromHallKm(distanceFromHall);
+            double score = hallApplicationRankingService.score(application);
+            hallApplicationRepo.resolveDistance(application.getApplicationId(), distanceFromHall, score);
+            logger.info("Calculated distance for application {} (postcode {}): {} km, priority score {}",
+                       application.getApplicationId(), application.getPostcode(), distanceFromHall, score);
+            return;
+        }
+
+        int attempts = (application.getDistanceAttempts() == null ? 0 : application.getDistanceAttempts()) + 1;
+        if (attempts >= maxAttempts) {
+            logger.warn("Giving up on distance for application {} (postcode {}) after {} attempts",
+                       application.getApplicationId(), application.getPostcode(), attempts);
+            hallApplicationRepo.recordDistanceAttemptFailed(application.getApplicationId(),
+                                                            HallApplication.DistanceStatus.FAILED, null);
+            return;
+        }
+
+        long backoffMs = CoalescingWorker.backoffMs(attempts, retryBackoffMs, maxRetryBackoffMs);
+        logger.warn("Could not calculate distance for application {} (postcode {}), attempt {} of {}, retrying in {} ms",
+                   application.getApplicationId(), application.getPostcode(), attempts, maxAttempts, backoffMs);
+        hallApplicationRepo.recordDistanceAttemptFailed(application.getApplicationId(),
+                                                        HallApplication.DistanceStatus.PENDING,
+                                                        LocalDateTime.now().plusNanos(backoffMs * 1_000_000L));
+        worker.requestRunAfter(backoffMs);
+    }
+}
@@ -0,0 +1,306 @@
+package com.HMS.hms.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.HMS.hms.DTO.HallApplicationIntakeTicketDTO;
+import com.HMS.hms.DTO.HallApplicationRequest;
+import com.HMS.hms.Repo.HallApplicationIntakeRepo;
+import com.HMS.hms.Tables.HallApplication;
+import com.HMS.hms.Tables.HallApplicationIntake;
+import com.HMS.hms.Utility.CoalescingWorker;
+import com.HMS.hms.Utility.RateLimiter;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Intake queue for hall applications, for deadline-day surges.
+ * <p>
+ * With {@code hall-application.intake.enabled}, a submission only gets the checks that need no
+ * database lookups, is stored in the intake table and is acknowledged with a ticket ID. A fixed
+ * pool of workers turns queued tickets into applications through
+ * {@link HallApplicationService#submitHallApplication} at no more than {@code rate-per-second},
+ * so a burst of submissions never competes for more connections than there are workers. Students
+ * poll their ticket for the outcome. Unexpected errors are retried with exponential backoff and
+ * the ticket is marked FAILED once {@code max-attempts} is used up. The queue is drained on one
+ * backend instance at a time, and always, so tickets queued before intake was switched off are
+ * still processed.
+ */
+@Service
+public class HallApplicationIntakeService {
+
+    private static final Logger logger = LoggerFactory.getLogger(HallApplicationIntakeService.class);
+
+    private static final String JOB_NAME = "hall-application-intake";
+    private static final int MAX_MESSAGE_LENGTH = 1000;
+
+    @Autowired
+    private HallApplicationIntakeRepo hallApplicationIntakeRepo;
+
+    @Autowired
+    private HallApplicationService hallApplicationService;
+
+    @Autowired
+    private JobLockService jobLockService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${hall-application.intake.enabled:false}")
+    private boolean enabled;
+
+    @Value("${hall-application.intake.workers:4}")
+    private int workerCount;
+
+    @Value("${hall-application.intake.batch-size:100}")
+    private int batchSize;
+
+    @Value("${hall-application.intake.rate-per-second:10}")
+    private double ratePerSecond;
+
+    @Value("${hall-application.intake.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${hall-application.intake.retry-backoff-ms:5000}")
+    private long retryBackoffMs;
+
+    @Value("${hall-application.intake.max-retry-backoff-ms:300000}")
+    private long maxRetryBackoffMs;
+
+    @Value("${hall-application.intake.retention-days:30}")
+    private long retentionDays;
+
+    private CoalescingWorker coordinator;
+    private ExecutorService workers;
+    private RateLimiter rateLimiter;
+    private TransactionTemplate submitTransaction;
+
+    @PostConstruct
+    public void init() {
+        int poolSize = Math.max(1, workerCount);
+        coordinator = new CoalescingWorker("hall-application-intake-coordinator", this::drain);
+        workers = Executors.newFixedThreadPool(poolSize, CoalescingWorker.namedThreads("hall-application-intake-worker"));
+        rateLimiter = new RateLimiter(ratePerSecond, poolSize);
+        submitTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        coordinator.shutdown();
+        workers.shutdownNow();
+    }
+
+    /**
+     * @return true if submissions should go through the intake queue
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Validates a submission cheaply and queues it. A student who already has a queued ticket gets
+     * that ticket back instead of a second one.
+     *
+     * @param applicationRequest The DTO containing application data.
+     * @param userId The ID of the authenticated user submitting the application (from JWT).
+     * @return the ticket to poll for the outcome
+     * @throws IllegalArgumentException if a validation rule is violated
+     */
+    @Transactional
+    public HallApplicationIntakeTicketDTO enqueue(HallApplicationRequest applicationRequest, Long userId) {
+        hallApplicationService.validateApplicationRequest(applicationRequest);
+
+        Optional<HallApplicationIntake> queued = hallApplicationIntakeRepo.findFirstByUserIdAndStatusOrderByCreatedAtAsc(
+                userId, HallApplicationIntake.IntakeStatus.QUEUED);
+        if (queued.isPresent()) {
+            return toTicketDTO(queued.get());
+        }
+
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(applicationRequest);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialise hall application of user " + userId, e);
+        }
+        HallApplicationIntake ticket = hallApplicationIntakeRepo.save(
+                new HallApplicationIntake(UUID.randomUUID().toString(), userId, payload));
+        logger.info("Queued hall application of user {} as ticket {}", userId, ticket.getTicketId());
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    requestDrain();
+                }
+            });
+        } else {
+            requestDrain();
+        }
+        return toTicketDTO(ticket);
+    }
+
+    /**
+     * @param ticketId The ticket returned on submission
+     * @param userId The user asking; tickets of other users are not found
+     * @return the ticket's current state, or empty if there is no such ticket for this user
+     */
+    public Optional<HallApplicationIntakeTicketDTO> getTicket(String ticketId, Long userId) {
+        return hallApplicationIntakeRepo.findById(ticketId)
+                .filter(ticket -> ticket.getUserId().equals(userId))
+                .map(this::toTicketDTO);
+    }
+
+    /**
+     * Asks for a drain soon on the coordinator thread; returns immediately
+     */
+    public void requestDrain() {
+        coordinator.requestRun();
+    }
+
+    // Safety net for wake-ups lost to a restart or to another instance holding the lock
+    @Scheduled(fixedDelayString = "${hall-application.intake.poll-interval-ms:5000}",
+               initialDelayString = "${hall-application.intake.poll-interval-ms:5000}")
+    public void scheduledDrain() {
+        requestDrain();
+    }
+
+    @Scheduled(cron = "${hall-application.intake.purge-cron:0 45 3 * * *}")
+    public void purgeProcessedTickets() {
+        int purged = hallApplicationIntakeRepo.deleteProcessedBefore(LocalDateTime.now().minusDays(retentionDays));
+        if (purged > 0) {
+            logger.info("Purged {} processed hall application intake tickets", purged);
+        }
+    }
+
+    /**
+     * Processes every due ticket, batch by batch, until none is left.
+     *
+     * @return false if the drain was skipped because it is running elsewhere
+     */
+    public boolean drain() {
+        return jobLockService.runExclusively(JOB_NAME, this::drainBatches);
+    }
+
+    private void drainBatches() {
+        while (!Thread.currentThread().isInterrupted()) {
+            List<HallApplicationIntake> batch = hallApplicationIntakeRepo.findDue(LocalDateTime.now(),
+                                                                                 PageRequest.of(0, batchSize));
+            if (batch.isEmpty()) {
+                return;
+            }
+
+            List<CompletableFuture<Void>> tasks = new ArrayList<>(batch.size());
+            for (HallApplicationIntake ticket : batch) {
+                tasks.add(CompletableFuture.runAsync(() -> process(ticket), workers));
+            }
+            CompletableFuture.allOf(tasks.toArray(new CompletableFuture<?>[0])).join();
+
+            if (batch.size() < batchSize) {
+                return;
+            }
+        }
+    }
+
+    private void process(HallApplicationIntake ticket) {
+        try {
+            rateLimiter.acquire();
+        } catch (InterruptedException e) {
+            // Shutting down; the ticket stays queued
+            Thread.currentThread().interrupt();
+            return;
+        }
+
+        HallApplicationRequest applicationRequest;
+        try {
+            applicationRequest = objectMapper.readValue(ticket.getPayload(), HallApplicationRequest.class);
+        } catch (JsonProcessingException e) {
+            logger.error("Intake ticket {} has an unreadable payload: {}", ticket, e.getMessage());
+            finish(ticket, HallApplicationIntake.IntakeStatus.REJECTED, null, "Submission could not be read, please apply again.");
+            return;
+        }
+
+        try {
+            // The application and the ticket's outcome commit together
+            submitTransaction.executeWithoutResult(status -> {
+                HallApplication application = hallApplicationService.submitHallApplication(applicationRequest, ticket.getUserId());
+                finish(ticket, HallApplicationIntake.IntakeStatus.SUBMITTED, application.getApplicationId(),
+                       "Hall application submitted successfully!");
+            });
+        } catch (IllegalArgumentException e) {
+            logger.info("Intake ticket {} rejected: {}", ticket, e.getMessage());
+            finish(ticket, HallApplicationIntake.IntakeStatus.REJECTED, null, e.getMessage());
+        } catch (Exception e) {
+            recordFailure(ticket, e);
+        }
+    }
+
+    private void finish(HallApplicationIntake ticket, HallApplicationIntake.IntakeStatus status, Long applicationId,
+                        String message) {
+        hallApplicationIntakeRepo.markProcessed(ticket.getTicketId(), status, applicationId, truncate(message),
+                                                LocalDateTime.now());
+    }
+
+    private void recordFailure(HallApplicationIntake ticket, Exception error) {
+        int attempts = ticket.getAttempts() + 1;
+        String message = truncate(String.valueOf(error.getMessage()));
+
+        if (attempts >= maxAttempts) {
+            logger.error("Intake ticket {} failed for the last time after {} attempts: {}", ticket, attempts, message, error);
+            finish(ticket, HallApplicationIntake.IntakeStatus.FAILED, null,
+                   "Your application could not be processed, please apply again.");
+            return;
+        }
+
+        long backoffMs = CoalescingWorker.backoffMs(attempts, retryBackoffMs, maxRetryBackoffMs);
+        logger.warn("Intake ticket {} failed (attempt {} of {}), retrying in {} ms: {}",
+                   ticket, attempts, maxAttempts, backoffMs, message);
+        hallApplicationIntakeRepo.recordAttemptFailed(ticket.getTicketId(),
+                                                      LocalDateTime.now().plusNanos(backoffMs * 1_000_000L), message);
+        coordinator.requestRunAfter(backoffMs);
+    }
+
+    private HallApplicationIntakeTicketDTO toTicketDTO(HallApplicationIntake ticket) {
+        boolean queued = ticket.getStatus() == HallApplicationIntake.IntakeStatus.QUEUED;
+        String message = queued
+                ? "Hall application received and queued for processing."
+                : ticket.getMessage();
+        return new HallApplicationIntakeTicketDTO(
+                ticket.getTicketId(),
+                ticket.getStatus().getValue(),
+                ticket.getApplicationId(),
+                queued ? hallApplicationIntakeRepo.countQueuedBefore(ticket.getCreatedAt()) : null,
+                message,
+                ticket.getCreatedAt() != null ? ticket.getCreatedAt().toString() : null,
+                ticket.getProcessedAt() != null ? ticket.getProcessedAt().toString() : null
+        );
+    }
+
+    private static String truncate(String message) {
+        return message != null && message.length() > MAX_MESSAGE_LENGTH ? message.substring(0, MAX_MESSAGE_LENGTH) : message;
+    }
+}
@@ -0,0 +1,185 @@
+package com.HMS.hms.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import com.HMS.hms.DTO.HallApplicationSummaryDTO;
+import com.HMS.hms.DTO.RankedApplicationsPageDTO;
+import com.HMS.hms.Repo.HallApplicationRepo;
+import com.HMS.hms.Repo.StudentsRepo;
+import com.HMS.hms.Tables.HallApplication;
+
+/**
+ * Ranks hall applications by a composite priority score for seat allocation.
+ * <p>
+ * Each factor is normalised to 0..1 and multiplied by its configured weight:
+ * <ul>
+ *   <li>family income: lower income ranks higher, capped at {@code family-income-ceiling}</li>
+ *   <li>distance from hall: farther ranks higher, capped at {@code distance-ceiling-km}; 0 until known</li>
+ *   <li>local relative: applicants without a local relative rank higher</li>
+ *   <li>batch: seniority in years at the time of application, capped at {@code batch-ceiling-years}</li>
+ * </ul>
+ * The score is computed when an application is written (on submission and again once its distance
+ * is known) and stored in an indexed column, so the provost's list is read in score order a page at
+ * a time instead of being sorted in memory. After changing the weights, run {@link #rescoreAll()}.
+ */
+@Service
+public class HallApplicationRankingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(HallApplicationRankingService.class);
+
+    private static final int RESCORE_BATCH_SIZE = 500;
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final BigDecimal NO_DISTANCE = BigDecimal.valueOf(-1);
+
+    @Autowired
+    private HallApplicationRepo hallApplicationRepo;
+
+    @Autowired
+    private StudentsRepo studentsRepo;
+
+    @Value("${hall-application.ranking.weight.family-income:40}")
+    private double familyIncomeWeight;
+
+    @Value("${hall-application.ranking.weight.distance:30}")
+    private double distanceWeight;
+
+    @Value("${hall-application.ranking.weight.local-relative:20}")
+    private double localRelativeWeight;
+
+    @Value("${hall-application.ranking.weight.batch:10}")
+    private double batchWeight;
+
+    @Value("${hall-application.ranking.family-income-ceiling:100000}")
+    private double familyIncomeCeiling;
+
+    @Value("${hall-application.ranking.distance-ceiling-km:300}")
+    private double distanceCeilingKm;
+
+    @Value("${hall-application.ranking.batch-ceiling-years:4}")
+    private double batchCeilingYears;
+
+    // Scores applications saved before ranking existed; cheap when there are none
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        int scored = rescore(true);
+        if (scored > 0) {
+            logger.info("Scored {} hall applications that had no priority score", scored);
+        }
+    }
+
+    /**
+     * Computes the priority score of an application from its current fields.
+     *
+     * @param application The application; its distance may still be unknown
+     * @param batch The applicant's batch (admission year), or null if unknown
+     * @return the score, rounded to 4 decimal places
+     */
+    public double score(HallApplication application, Integer batch) {
+        double score = 0;
+
+        BigDecimal income = application.getFamilyIncome();
+        if (income != null && familyIncomeCeiling > 0) {
+            score += familyIncomeWeight * (1 - clamp(income.doubleValue() / familyIncomeCeiling));
+        }
+
+        BigDecimal distance = application.getDistanceFromHallKm();
+        if (distance != null && distanceCeilingKm > 0) {
+            score += distanceWeight * clamp(distance.doubleValue() / distanceCeilingKm);
+        }
+
+        if (!Boolean.TRUE.equals(application.getHasLocalRelative())) {
+            score += localRelativeWeight;
+        }
+
+        if (batch != null && batchCeilingYears > 0) {
+            int appliedIn = application.getApplicationDate() != null
+                    ? application.getApplicationDate().getYear() : LocalDateTime.now().getYear();
+            score += batchWeight * clamp((appliedIn - batch) / batchCeilingYears);
+        }
+
+        return Math.round(score * 10_000) / 10_000.0;
+    }
+
+    /**
+     * Computes the score of an application, looking up the applicant's batch
+     */
+    public double score(HallApplication application) {
+        return score(application, studentsRepo.findBatchByUserId(application.getUserId()).orElse(null));
+    }
+
+    /**
+     * Returns one page of applications in priority order, highest first.
+     *
+     * @param status Only applications with this status (e.g. PENDING), or null for all
+     * @param afterScore Score of the last application on the previous page, or null for the first page
+     * @param afterId ID of the last application on the previous page, or null for the first page
+     * @param limit Page size, capped at 200
+     */
+    public RankedApplicationsPageDTO getRankedPage(String status, Double afterScore, Long afterId, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        double scoreCursor = afterScore != null ? afterScore : Double.MAX_VALUE;
+        long idCursor = afterId != null ? afterId : Long.MAX_VALUE;
+
+        // Fetch one extra row to learn whether there is a next page
+        PageRequest page = PageRequest.of(0, pageSize + 1);
+        List<HallApplicationSummaryDTO> rows = (status == null || status.isBlank())
+                ? hallApplicationRepo.findRankedPage(scoreCursor, idCursor, page)
+                : hallApplicationRepo.findRankedPageByStatus(status.toUpperCase(), scoreCursor, idCursor, page);
+
+        boolean hasMore = rows.size() > pageSize;
+        List<HallApplicationSummaryDTO> applications = hasMore ? rows.subList(0, pageSize) : rows;
+        if (!hasMore || applications.isEmpty()) {
+            return new RankedApplicationsPageDTO(applications, null, null, false);
+        }
+        HallApplicationSummaryDTO last = applications.get(applications.size() - 1);
+        return new RankedApplicationsPageDTO(applications, last.getPriorityScore(), last.getApplicationId(), true);
+    }
+
+    /**
+     * Recomputes the score of every application, e.g. after the weights were changed.
+     *
+     * @return number of applications scored
+     */
+    public int rescoreAll() {
+        int scored = rescore(false);
+        logger.info("Rescored {} hall applications", scored);
+        return scored;
+    }
+
+    private int rescore(boolean onlyUnscored) {
+        int scored = 0;
+        long afterId = 0;
+        while (true) {
+            List<Object[]> batch = hallApplicationRepo.findForScoring(afterId, onlyUnscored,
+                                                                      PageRequest.of(0, RESCORE_BATCH_SIZE));
+            for (Object[] row : batch) {
+                HallApplication application = (HallApplication) row[0];
+                Integer applicantBatch = (Integer) row[1];
+                BigDecimal distanceSeen = application.getDistanceFromHallKm() != null
+                        ? application.getDistanceFromHallKm() : NO_DISTANCE;
+                // A concurrent distance update rescores the application itself, so a miss here is fine
+                scored += hallApplicationRepo.updatePriorityScore(application.getApplicationId(),
+                                                                  score(application, applicantBatch), distanceSeen);
+                afterId = application.getApplicationId();
+            }
+            if (batch.size() < RESCORE_BATCH_SIZE) {
+                return scored;
+            }
+        }
+    }
+
+    private static double clamp(double value) {
+        return Math.max(0, Math.min(1, value));
+    }
+}
@@ -1,18 +1,23 @@
 package com.HMS.hms.Service;
 
-import java.math.BigDecimal; // Import the new Summary DTO
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort; // Import Spring Data Sort
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.HMS.hms.DTO.BulkApplicationDecisionRequest;
+import com.HMS.hms.DTO.BulkApplicationDecisionResultDTO;
 import com.HMS.hms.DTO.HallApplicationRequest; // Ensure this is imported
 import com.HMS.hms.DTO.HallApplicationSummaryDTO; // Ensure this is imported
 import com.HMS.hms.Repo.HallApplicationRepo;
@@ -28,6 +33,9 @@ public class HallApplicationService {
     // Logger declaration for this service
     private static final Logger logger = LoggerFactory.getLogger(HallApplicationService.class);
 
+    // Upper bound on applications decided by one bulk request, keeps the IN lists and the response bounded
+    private static final int MAX_BULK_DECISION_SIZE = 5000;
+
     // Autowired Repositories and Services
     @Autowired
     private HallApplicationRepo hallApplicationRepo;
@@ -39,14 +47,17 @@ public class HallApplicationService {
     private StudentsRepo studentsRepo;
 
     @Autowired
-    private GeocodingService geocodingService;
+    private HallApplicationDistanceService hallApplicationDistanceService;
+
+    @Autowired
+    private HallApplicationRankingService hallApplicationRankingService;
 
     @Autowired
     private StudentsService studentsService; // <--- ENSURE THIS IS AUTOWIRED for updating student residency
 
     /**
      * Processes and saves a new hall application submitted by a student.
-     * Includes image storage, distance calculation, and various validations.
+     * Includes various validations; the distance from hall is filled in asynchronously.
      *
      * @param applicationRequest The DTO containing application data.
      * @param userId The ID of the authenticated user submitting the application (from JWT).
@@ -57,13 +68,7 @@ public class HallApplicationService {
     public HallApplication submitHallApplication(HallApplicationRequest applicationRequest, Long userId) {
 
         // --- 1. Perform Business Validations ---
-        // Validate conditional field: localRelativeAddress required if hasLocalRelative is "yes"
-        if ("yes".equalsIgnoreCase(applicationRequest.getHasLocalRelative())) {
-            String localRelativeAddress = applicationRequest.getLocalRelativeAddress();
-            if (localRelativeAddress == null || localRelativeAddress.trim().isEmpty()) {
-                throw new IllegalArgumentException("Local relative address is required if 'Yes' for local relative.");
-            }
-        }
+        validateApplicationRequest(applicationRequest);
 
         // Validate that the authenticated user exists
         Optional<Users> userOpt = usersRepo.findById(userId);
@@ -86,23 +91,7 @@ public class HallApplicationService {
             throw new IllegalArgumentException("You already have a pending hall application. Please wait for it to be processed.");
         }
 
-        // --- 2. Calculate Distance from Hall ---
-        BigDecimal distanceFromHall = null;
-        try {
-            Double distance = geocodingService.calculateDistanceToHall(applicationRequest.getPostcode());
-            if (distance != null) {
-                // Convert double to BigDecimal and round to 2 decimal places for precise storage
-                distanceFromHall = BigDecimal.valueOf(distance).setScale(2, java.math.RoundingMode.HALF_UP);
-                logger.info("Calculated distance for user {} (postcode {}): {} km", user.getUsername(), applicationRequest.getPostcode(), distanceFromHall);
-            } else {
-                logger.warn("Could not calculate distance for postcode: {}. Saving as null.", applicationRequest.getPostcode());
-            }
-        } catch (Exception e) {
-            logger.error("Error calculating distance for postcode {}: {}", applicationRequest.getPostcode(), e.getMessage());
-        }
-
-
-        // --- 3. Create and Populate HallApplication Entity ---
+        // --- 2. Create and Populate HallApplication Entity ---
         HallApplication application = new HallApplication();
         application.setUserId(userId); // Link application to the user's primary ID
         application.setUser(user); // Set the Users entity relationship (for convenience in JPA)
@@ -118,24 +107,45 @@ public class HallApplicationService {
         application.setLocalRelativeAddress(applicationRequest.getLocalRelativeAddress());
         application.setApplicationDate(LocalDateTime.now()); // Set current timestamp
         application.setApplicationStatus("PENDING"); // Default status upon submission
-        application.setDistanceFromHallKm(distanceFromHall);
+        // Distance from hall is calculated in the background once the application is saved
+        hallApplicationDistanceService.enqueue(application);
+        // Scored without distance for now; rescored once the distance is known
+        application.setPriorityScore(hallApplicationRankingService.score(application, student.getBatch()));
         // NOTE: application.setApplicationType() is removed as per clarification that all accepted are 'resident'
 
-        // --- 4. Save the HallApplication entity to the database ---
+        // --- 3. Save the HallApplication entity to the database ---
         return hallApplicationRepo.save(application);
     }
 
 
+    /**
+     * Validation rules that need only the request itself, no database access.
+     * Also applied when a submission enters the intake queue.
+     *
+     * @param applicationRequest The DTO containing application data.
+     * @throws IllegalArgumentException if a rule is violated.
+     */
+    public void validateApplicationRequest(HallApplicationRequest applicationRequest) {
+        // Validate conditional field: localRelativeAddress required if hasLocalRelative is "yes"
+        if ("yes".equalsIgnoreCase(applicationRequest.getHasLocalRelative())) {
+            String localRelativeAddress = applicationRequest.getLocalRelativeAddress();
+            if (localRelativeAddress == null || localRelativeAddress.trim().isEmpty()) {
+                throw new IllegalArgumentException("Local relative address is required if 'Yes' for local relative.");
+            }
+        }
+    }
+
     /**
      * Retrieves all hall applications, optionally sorted by a specific field and order.
-     * This is used for the Provost's list view.
-     * @param sortBy Field to sort by (e.g., "familyIncome", "distanceFromHallKm", "applicationDate", "studentIdNo").
+     * This is used for the Provost's list view; usernames are joined in by the same query.
+     * For large lists prefer the keyset-paged {@link HallApplicationRankingService#getRankedPage}.
+     * @param sortBy Field to sort by (e.g., "familyIncome", "distanceFromHallKm", "applicationDate", "studentIdNo", "priorityScore").
      * @param sortOrder "asc" for ascending, "desc" for descending.
      * @return List of HallApplicationSummaryDTOs.
      */
     public List<HallApplicationSummaryDTO> getAllHallApplicationSummaries(String sortBy, String sortOrder) {
         // Define a whitelist of allowed sortable fields to prevent injection attacks
-        List<String> allowedSortFields = List.of("familyIncome", "distanceFromHallKm", "applicationDate", "studentIdNo");
+        List<String> allowedSortFields = List.of("familyIncome", "distanceFromHallKm", "applicationDate", "studentIdNo", "priorityScore");
         Sort sort;
         if (sortBy != null && allowedSortFields.contains(sortBy)) {
             Sort.Direction direction = "desc".equalsIgnoreCase(sortOrder) ? Sort.Direction.DESC : Sort.Direction.ASC;
@@ -145,52 +155,8 @@ public class HallApplicationService {
             sort = Sort.by(Sort.Direction.DESC, "applicationDate");
         }
 
-        // Fetch applications from the repository with the determined sort order
-        List<HallApplication> applications = hallApplicationRepo.findAll(sort);
-
-        // Convert HallApplication entities to HallApplicationSummaryDTOs for the list view
-        // The convertToSummaryDTO method handles fetching the username if needed.
-        return applications.stream()
-                .map(this::convertToSummaryDTO)
-                .collect(Collectors.toList());
-    }
-
-    /**
-     * Converts a HallApplication entity to a HallApplicationSummaryDTO.
-     * Includes a lookup for username if the 'user' object is not eagerly loaded.
-     * @param application The HallApplication entity.
-     * @return HallApplicationSummaryDTO.
-     */
-    private HallApplicationSummaryDTO convertToSummaryDTO(HallApplication application) {
-        String username = null;
-        // Try to get username directly from the 'user' association if it's already loaded by JPA
-        Users user = application.getUser();
-        if (user != null) {
-            username = user.getUsername();
-        } else {
-            // Fallback: If 'user' association is not eagerly loaded (default for @OneToOne can be lazy),
-            // look up the user explicitly by userId to get the username.
-            Optional<Users> userOpt = usersRepo.findById(application.getUserId());
-            if (userOpt.isPresent()) {
-                username = userOpt.get().getUsername();
-            }
-        }
-
-        // Convert applicationDate to ISO string for DTO
-        String applicationDateStr = null;
-        if (application.getApplicationDate() != null) {
-            applicationDateStr = application.getApplicationDate().toString();
-        }
-
-        return new HallApplicationSummaryDTO(
-                application.getApplicationId(),
-                application.getStudentIdNo(),
-                username, // Student's username for the summary list
-                application.getApplicationStatus(),
-                application.getFamilyIncome(),
-                application.getDistanceFromHallKm(),
-                applicationDateStr
-        );
+        // One query builds the summaries with the username joined in
+        return hallApplicationRepo.findAllSummaries(sort);
     }
 
     /**
@@ -281,6 +247,85 @@ public class HallApplicationService {
         return updatedApplication;
     }
 
+    /**
+     * Accepts or rejects many applications at once, e.g. a whole intake. Runs in one transaction with
+     * set-based updates: one UPDATE for the application statuses and, for acceptances, one UPDATE that
+     * makes the applicants residents. Applications that are missing or no longer PENDING are skipped
+     * and reported, not treated as errors.
+     *
+     * @param request Either explicit application IDs or the top N pending applications by priority score.
+     * @return The outcome for every application, in request (or rank) order.
+     * @throws IllegalArgumentException if the request selects no applications or too many.
+     */
+    @Transactional
+    public BulkApplicationDecisionResultDTO decideHallApplications(BulkApplicationDecisionRequest request) {
+        boolean accept = "accept".equalsIgnoreCase(request.getDecision());
+        String targetStatus = accept ? "APPROVED" : "REJECTED";
+
+        // --- 1. Resolve the applications to decide ---
+        boolean hasIds = request.getApplicationIds() != null && !request.getApplicationIds().isEmpty();
+        if (hasIds == (request.getTopN() != null)) {
+            throw new IllegalArgumentException("Provide either applicationIds or topN.");
+        }
+        List<Long> applicationIds;
+        if (hasIds) {
+            // Drop duplicates but keep the caller's order for the response
+            applicationIds = new ArrayList<>(new LinkedHashSet<>(request.getApplicationIds()));
+            applicationIds.removeIf(id -> id == null);
+        } else {
+            applicationIds = hallApplicationRepo.findTopPendingIdsByRank(
+                    PageRequest.of(0, Math.min(request.getTopN(), MAX_BULK_DECISION_SIZE)));
+        }
+        if (applicationIds.size() > MAX_BULK_DECISION_SIZE) {
+            throw new IllegalArgumentException("At most " + MAX_BULK_DECISION_SIZE + " applications can be decided at once.");
+        }
+        if (applicationIds.isEmpty()) {
+            return new BulkApplicationDecisionResultDTO(request.getDecision().toLowerCase(), List.of());
+        }
+
+        // --- 2. Apply the decision to the ones still PENDING ---
+        Map<Long, String> statusBefore = readStatuses(applicationIds);
+        List<Long> pendingIds = applicationIds.stream()
+                .filter(id -> "PENDING".equals(statusBefore.get(id)))
+                .toList();
+        Map<Long, String> statusAfter = new HashMap<>(statusBefore);
+        if (!pendingIds.isEmpty()) {
+            int updated = hallApplicationRepo.updateStatusOfPending(pendingIds, targetStatus);
+            pendingIds.forEach(id -> statusAfter.put(id, targetStatus));
+            if (updated != pendingIds.size()) {
+                // Some were decided concurrently since they were read; see where they ended up
+                statusAfter.putAll(readStatuses(pendingIds));
+            }
+            if (accept) {
+                int residents = studentsRepo.markResidentsForApprovedApplications(pendingIds);
+                logger.info("Bulk accept updated residency status of {} students", residents);
+            }
+        }
+
+        // --- 3. Report the outcome per application ---
+        List<BulkApplicationDecisionResultDTO.Outcome> outcomes = new ArrayList<>(applicationIds.size());
+        for (Long applicationId : applicationIds) {
+            String before = statusBefore.get(applicationId);
+            String after = statusAfter.get(applicationId);
+            String outcome = before == null ? BulkApplicationDecisionResultDTO.NOT_FOUND
+                    : "PENDING".equals(before) && targetStatus.equals(after) ? BulkApplicationDecisionResultDTO.DECIDED
+                    : BulkApplicationDecisionResultDTO.NOT_PENDING;
+            outcomes.add(new BulkApplicationDecisionResultDTO.Outcome(applicationId, outcome, after));
+        }
+        BulkApplicationDecisionResultDTO result = new BulkApplicationDecisionResultDTO(request.getDecision().toLowerCase(), outcomes);
+        logger.info("Bulk {}: {} applications set to {}, {} skipped",
+                result.getDecision(), result.getDecided(), targetStatus, result.getSkipped());
+        return result;
+    }
+
+    private Map<Long, String> readStatuses(List<Long> applicationIds) {
+        Map<Long, String> statuses = new HashMap<>();
+        for (Object[] row : hallApplicationRepo.findStatusesByIds(applicationIds)) {
+            statuses.put((Long) row[0], (String) row[1]);
+        }
+        return statuses;
+    }
+
     /**
      * Retrieves the most relevant HallApplication entity by user ID.
      * Priority: PENDING applications first, then most recent application.
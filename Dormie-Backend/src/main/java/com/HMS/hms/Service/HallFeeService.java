@@ -16,9 +16,15 @@ import com.HMS.hms.Tables.HallFee;
 import com.HMS.hms.Tables.StudentHallFees;
 import com.HMS.hms.Tables.Students;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
 @Service
 public class HallFeeService {
 
+    // Issuing a fee to every matching student, timed per fee type
+    static final String FEE_ISSUANCE_TIMER = "hms.fee.issuance";
+
     @Autowired
     private HallFeeRepo hallFeeRepo;
     
@@ -28,6 +34,9 @@ public class HallFeeService {
     @Autowired
     private StudentsRepo studentsRepo;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     // Create a new hall fee
     public HallFee createHallFee(String type, Integer year, BigDecimal fee) {
         HallFee hallFee = new HallFee(type, year, fee);
@@ -186,6 +195,8 @@ public class HallFeeService {
      * When a "resident" hall fee is created, only students with residencyStatus="resident" get the fee.
      */
     private void createStudentHallFeesForAllStudents(HallFee hallFee) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+
         // Get the hall fee type (attached/resident)
         String feeType = hallFee.getTypeAsString().toLowerCase();
         
@@ -207,6 +218,9 @@ public class HallFeeService {
             
             studentHallFeesRepo.save(studentFee);
         }
+
+        sample.stop(meterRegistry.timer(FEE_ISSUANCE_TIMER, "fee", "hall"));
+        meterRegistry.counter("hms.fee.issued", "fee", "hall").increment(matchingStudents.size());
     }
     
     /**
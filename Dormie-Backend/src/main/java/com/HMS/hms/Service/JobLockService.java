@@ -0,0 +1,101 @@
+package com.HMS.hms.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+/**
+ * Makes sure a background job runs on at most one backend instance at a time.
+ * <p>
+ * On PostgreSQL this takes a session-level advisory lock keyed by the job name, held on one
+ * pooled connection for the duration of the job. Other databases (H2 in tests) have no advisory
+ * locks, so the job is only guarded within this JVM.
+ */
+@Service
+public class JobLockService {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobLockService.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final Map<String, ReentrantLock> localLocks = new ConcurrentHashMap<>();
+
+    private volatile Boolean postgres;
+
+    /**
+     * Runs {@code job} if no other instance is running the job with the same name.
+     *
+     * @param jobName Name identifying the job across instances
+     * @param job Work to run while holding the lock
+     * @return true if the job ran, false if it was skipped because the lock is held elsewhere
+     */
+    public boolean runExclusively(String jobName, Runnable job) {
+        ReentrantLock localLock = localLocks.computeIfAbsent(jobName, name -> new ReentrantLock());
+        if (!localLock.tryLock()) {
+            logger.info("Job {} is already running in this instance, skipping", jobName);
+            return false;
+        }
+        try {
+            Boolean ran = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+                if (!isPostgres(connection)) {
+                    job.run();
+                    return true;
+                }
+
+                long key = lockKey(jobName);
+                if (!advisoryLock(connection, "SELECT pg_try_advisory_lock(?)", key)) {
+                    logger.info("Job {} is running on another instance, skipping", jobName);
+                    return false;
+                }
+                try {
+                    job.run();
+                    return true;
+                } finally {
+                    advisoryLock(connection, "SELECT pg_advisory_unlock(?)", key);
+                }
+            });
+            return Boolean.TRUE.equals(ran);
+        } finally {
+            localLock.unlock();
+        }
+    }
+
+    private boolean isPostgres(Connection connection) throws SQLException {
+        if (postgres == null) {
+            postgres = connection.getMetaData().getDatabaseProductName().toLowerCase().contains("postgresql");
+        }
+        return postgres;
+    }
+
+    private static boolean advisoryLock(Connection connection, String sql, long key) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setLong(1, key);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() && resultSet.getBoolean(1);
+            }
+        }
+    }
+
+    /**
+     * Stable 64-bit key for a job name; the same on every instance and across restarts
+     */
+    private static long lockKey(String jobName) {
+        CRC32 crc = new CRC32();
+        crc.update(jobName.getBytes(StandardCharsets.UTF_8));
+        return crc.getValue();
+    }
+}
@@ -0,0 +1,286 @@
+package com.HMS.hms.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.HMS.hms.DTO.MealCheckInResultDTO;
+import com.HMS.hms.DTO.MealTokenDTO;
+import com.HMS.hms.Repo.MealAttendanceRepo;
+import com.HMS.hms.Repo.MealPlanRepo;
+import com.HMS.hms.Repo.StudentDiningFeesRepo;
+import com.HMS.hms.Security.MealTokenUtils;
+import com.HMS.hms.Tables.MealPlan;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Meal check-in at the dining hall entrance.
+ * <p>
+ * Students fetch a signed token for today's meal ahead of time; the checks that need the database
+ * (paid dining fee, opt-out) happen then. At the entrance a token is verified with one HMAC and
+ * a clock comparison, and replays are caught by a per-meal bitset of checked-in user IDs, so a
+ * check-in does no database work. The bitset of a meal is loaded from {@code meal_attendance}
+ * the first time this instance sees the meal, which keeps replay protection across restarts.
+ * <p>
+ * The bitset is only a per-instance fast path. The unique key on {@code (meal_plan_id, user_id)}
+ * is the authority: check-ins are inserted with a statement that skips rows already recorded, so
+ * a token replayed at another instance, after this instance loaded the meal, can be admitted at
+ * the door but is recorded once and logged.
+ * <p>
+ * Accepted check-ins are appended to a queue and inserted in batches by a scheduled writer. A
+ * batch that fails on a database error is put back at the head of the queue and retried; one that
+ * breaks a constraint is written row by row instead, dropping the rows the database refuses.
+ * Check-ins still queued when the JVM dies are lost from the attendance record.
+ */
+@Service
+public class MealCheckInService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MealCheckInService.class);
+
+    private static final String INSERT_ATTENDANCE_POSTGRES_SQL =
+            "INSERT INTO meal_attendance (meal_plan_id, user_id, checked_in_at) VALUES (?, ?, ?) " +
+            "ON CONFLICT (meal_plan_id, user_id) DO NOTHING";
+
+    // Standard SQL equivalent for other databases (H2 in tests)
+    private static final String INSERT_ATTENDANCE_MERGE_SQL =
+            "MERGE INTO meal_attendance a " +
+            "USING (VALUES (CAST(? AS BIGINT), CAST(? AS BIGINT), CAST(? AS TIMESTAMP))) " +
+            "AS c (meal_plan_id, user_id, checked_in_at) " +
+            "ON a.meal_plan_id = c.meal_plan_id AND a.user_id = c.user_id " +
+            "WHEN NOT MATCHED THEN INSERT (meal_plan_id, user_id, checked_in_at) " +
+            "VALUES (c.meal_plan_id, c.user_id, c.checked_in_at)";
+
+    // Tolerated difference between the issuing server's clock and the checking one
+    private static final Duration CLOCK_SKEW = Duration.ofSeconds(30);
+
+    @Autowired
+    private MealTokenUtils mealTokenUtils;
+
+    @Autowired
+    private MealPlanRepo mealPlanRepo;
+
+    @Autowired
+    private MealAttendanceRepo mealAttendanceRepo;
+
+    @Autowired
+    private StudentDiningFeesRepo studentDiningFeesRepo;
+
+    @Autowired
+    private MealHeadcountService mealHeadcountService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${meal-tokens.ttl-minutes:60}")
+    private long ttlMinutes;
+
+    @Value("${meal-tokens.attendance.batch-size:500}")
+    private int batchSize;
+
+    private final Map<Long, CheckedInUsers> checkedIn = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedDeque<Object[]> attendanceQueue = new ConcurrentLinkedDeque<>();
+
+    private TransactionTemplate writeTransaction;
+    private String insertAttendanceSql;
+
+    @PostConstruct
+    public void init() {
+        writeTransaction = new TransactionTemplate(transactionManager);
+        boolean postgres = Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                connection.getMetaData().getDatabaseProductName().toLowerCase().contains("postgresql")));
+        insertAttendanceSql = postgres ? INSERT_ATTENDANCE_POSTGRES_SQL : INSERT_ATTENDANCE_MERGE_SQL;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        try {
+            flushAttendance();
+        } catch (RuntimeException e) {
+            logger.warn("Could not write {} queued meal check-ins on shutdown", attendanceQueue.size(), e);
+        }
+    }
+
+    /**
+     * Issues a check-in token for one of today's meals. The token expires after
+     * {@code meal-tokens.ttl-minutes} or at the end of the day, whichever is first.
+     *
+     * @throws IllegalArgumentException if the meal is not today's, no paid dining fee covers it or
+     *         the student opted out of it
+     */
+    public MealTokenDTO issueToken(Long userId, Long mealPlanId) {
+        MealPlan mealPlan = mealPlanRepo.findById(mealPlanId)
+                .orElseThrow(() -> new IllegalArgumentException("Meal plan not found"));
+        LocalDate today = LocalDate.now();
+        if (!today.equals(mealPlan.getMealDate())) {
+            throw new IllegalArgumentException("Meal tokens are only issued on the day of the meal");
+        }
+        if (!studentDiningFeesRepo.hasPaidFeeCovering(userId, today)) {
+            throw new IllegalArgumentException("No paid dining fee covers this meal");
+        }
+        if (mealHeadcountService.getOptOut(mealPlanId, userId).isOptedOut()) {
+            throw new IllegalArgumentException("You have opted out of this meal");
+        }
+
+        ZoneId zone = ZoneId.systemDefault();
+        Instant validFrom = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        Instant endOfDay = today.plusDays(1).atStartOfDay(zone).toInstant();
+        Instant expiresAt = validFrom.plus(Duration.ofMinutes(ttlMinutes));
+        if (expiresAt.isAfter(endOfDay)) {
+            expiresAt = endOfDay;
+        }
+
+        String token = mealTokenUtils.generateToken(new MealTokenUtils.MealToken(userId, mealPlanId, validFrom, expiresAt));
+        return new MealTokenDTO(token, mealPlanId, LocalDateTime.ofInstant(validFrom, zone),
+                                LocalDateTime.ofInstant(expiresAt, zone));
+    }
+
+    /**
+     * Verifies a token and admits its student once per meal at this instance
+     */
+    public MealCheckInResultDTO checkIn(String token) {
+        MealTokenUtils.MealToken mealToken = mealTokenUtils.parseToken(token);
+        if (mealToken == null) {
+            return MealCheckInResultDTO.invalid();
+        }
+        Long userId = mealToken.getUserId();
+        Long mealPlanId = mealToken.getMealPlanId();
+
+        Instant now = Instant.now();
+        if (now.isBefore(mealToken.getValidFrom().minus(CLOCK_SKEW)) || !now.isBefore(mealToken.getExpiresAt())) {
+            return new MealCheckInResultDTO(MealCheckInResultDTO.EXPIRED, userId, mealPlanId, null);
+        }
+
+        CheckedInUsers users = checkedIn.computeIfAbsent(mealPlanId,
+                id -> new CheckedInUsers(mealAttendanceRepo.findUserIdsByMealPlanId(id)));
+        if (!users.add(userId)) {
+            return new MealCheckInResultDTO(MealCheckInResultDTO.ALREADY_CHECKED_IN, userId, mealPlanId, null);
+        }
+
+        LocalDateTime checkedInAt = LocalDateTime.now();
+        attendanceQueue.addLast(new Object[] {mealPlanId, userId, checkedInAt});
+        return new MealCheckInResultDTO(MealCheckInResultDTO.ADMITTED, userId, mealPlanId, checkedInAt);
+    }
+
+    /**
+     * Inserts queued check-ins in batches of {@code meal-tokens.attendance.batch-size}
+     *
+     * @return number of check-ins written; rows already recorded are not counted
+     */
+    @Scheduled(fixedDelayString = "${meal-tokens.attendance.flush-interval-ms:500}")
+    public synchronized int flushAttendance() {
+        int written = 0;
+        while (true) {
+            List<Object[]> batch = new ArrayList<>();
+            Object[] row;
+            while (batch.size() < batchSize && (row = attendanceQueue.pollFirst()) != null) {
+                batch.add(row);
+            }
+            if (batch.isEmpty()) {
+                return written;
+            }
+
+            try {
+                int[] counts = writeTransaction.execute(status -> jdbcTemplate.batchUpdate(insertAttendanceSql, batch));
+                int skipped = 0;
+                for (int count : counts) {
+                    if (count == 0) {
+                        skipped++;
+                    }
+                }
+                if (skipped > 0) {
+                    logger.warn("{} meal check-ins were already recorded, most likely admitted by another instance", skipped);
+                }
+                written += batch.size() - skipped;
+            } catch (DataIntegrityViolationException e) {
+                // Retrying the batch would fail the same way, e.g. after losing an insert race
+                logger.warn("Batch of {} meal check-ins broke a constraint, writing them one by one", batch.size(), e);
+                for (int i = 0; i < batch.size(); i++) {
+                    Object[] checkIn = batch.get(i);
+                    try {
+                        written += writeTransaction.execute(status -> jdbcTemplate.update(insertAttendanceSql, checkIn));
+                    } catch (DataIntegrityViolationException rowFailure) {
+                        logger.warn("Dropping meal check-in {} refused by the database", Arrays.toString(checkIn), rowFailure);
+                    } catch (RuntimeException rowFailure) {
+                        logger.warn("Could not write {} meal check-ins, will retry", batch.size() - i, rowFailure);
+                        requeue(batch.subList(i, batch.size()));
+                        return written;
+                    }
+                }
+            } catch (RuntimeException e) {
+                logger.warn("Could not write {} meal check-ins, will retry", batch.size(), e);
+                requeue(batch);
+                return written;
+            }
+        }
+    }
+
+    // Puts check-ins back at the head of the queue, in their original order
+    private void requeue(List<Object[]> checkIns) {
+        for (int i = checkIns.size() - 1; i >= 0; i--) {
+            attendanceQueue.addFirst(checkIns.get(i));
+        }
+    }
+
+    /**
+     * Forgets the replay sets of earlier days; their tokens have expired
+     */
+    @Scheduled(cron = "${meal-tokens.evict-cron:0 10 0 * * *}")
+    public void evictPastMeals() {
+        LocalDate today = LocalDate.now();
+        checkedIn.values().removeIf(users -> users.createdOn.isBefore(today));
+    }
+
+    // User IDs checked in for one meal; IDs beyond int range, which IDENTITY columns do not reach
+    // in practice, fall back to a hash set
+    private static class CheckedInUsers {
+        private final LocalDate createdOn = LocalDate.now();
+        private final BitSet bits = new BitSet();
+        private final Set<Long> overflow = new HashSet<>();
+
+        private CheckedInUsers(List<Long> userIds) {
+            userIds.forEach(this::add);
+        }
+
+        // @return false if the user was already checked in
+        private synchronized boolean add(long userId) {
+            if (userId < 0 || userId > Integer.MAX_VALUE) {
+                return overflow.add(userId);
+            }
+            int index = (int) userId;
+            if (bits.get(index)) {
+                return false;
+            }
+            bits.set(index);
+            return true;
+        }
+    }
+}
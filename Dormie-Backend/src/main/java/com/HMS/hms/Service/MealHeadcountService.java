@@ -0,0 +1,467 @@
+package com.HMS.hms.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.HMS.hms.DTO.MealHeadcountDTO;
+import com.HMS.hms.DTO.MealOptOutDTO;
+import com.HMS.hms.Repo.MealOptOutRepo;
+import com.HMS.hms.Repo.MealPlanRepo;
+import com.HMS.hms.Repo.MessManagerApplicationRepo;
+import com.HMS.hms.Repo.StudentsRepo;
+import com.HMS.hms.Tables.MealPlan;
+import com.HMS.hms.Utility.StripedLock;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Meal opt-outs and live headcounts.
+ * <p>
+ * A student's opt-out change is recorded in memory only: the new state goes into a pending map
+ * and the meal's unwritten total, a {@link LongAdder}, moves by one. Nothing is written and no row
+ * is locked on the request path, so a rush of changes just before the cutoff costs one indexed
+ * read per student and meal at most. Changes to the same student and meal are serialised by a
+ * striped lock so repeated clicks cannot count twice.
+ * <p>
+ * A scheduled flush writes pending changes in batches: one batched DELETE and INSERT for the
+ * opt-out rows and one batched UPDATE of {@code meal_plans.opt_out_count}, per transaction.
+ * Changes being flushed stay visible (in-flight) until the batch commits, and are put back if it
+ * fails. A headcount is the written {@code opt_out_count} plus this instance's unwritten total,
+ * so it never touches opt-out rows and includes other instances' changes once they are flushed.
+ */
+@Service
+public class MealHeadcountService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MealHeadcountService.class);
+
+    private static final String RESIDENT = "resident";
+
+    private static final String DELETE_OPT_OUT_SQL =
+            "DELETE FROM meal_opt_outs WHERE meal_plan_id = ? AND user_id = ?";
+    private static final String INSERT_OPT_OUT_SQL =
+            "INSERT INTO meal_opt_outs (meal_plan_id, user_id, created_at) VALUES (?, ?, ?)";
+    private static final String UPDATE_OPT_OUT_COUNT_SQL =
+            "UPDATE meal_plans SET opt_out_count = COALESCE(opt_out_count, 0) + ? WHERE meal_plan_id = ?";
+
+    // How long a change waits for another change of the same student and meal
+    private static final long LOCK_TIMEOUT_MS = 2000;
+
+    @Autowired
+    private MealPlanRepo mealPlanRepo;
+
+    @Autowired
+    private MealOptOutRepo mealOptOutRepo;
+
+    @Autowired
+    private StudentsRepo studentsRepo;
+
+    @Autowired
+    private MessManagerApplicationRepo messManagerApplicationRepo;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${meal-plans.opt-out.lunch-cutoff:10:00}")
+    private String lunchCutoff;
+
+    @Value("${meal-plans.opt-out.dinner-cutoff:16:00}")
+    private String dinnerCutoff;
+
+    @Value("${meal-plans.headcount.flush-batch-size:500}")
+    private int flushBatchSize;
+
+    @Value("${meal-plans.headcount.lock-stripes:64}")
+    private int lockStripes;
+
+    private final Map<Long, MealCounter> counters = new ConcurrentHashMap<>();
+    private final Map<OptOutKey, Change> pending = new ConcurrentHashMap<>();
+    private final Map<OptOutKey, Change> inFlight = new ConcurrentHashMap<>();
+
+    // Guards the hand-over of flushed changes from the unwritten totals to the written count
+    private final ReentrantReadWriteLock countLock = new ReentrantReadWriteLock();
+
+    private Map<MealPlan.MealType, LocalTime> cutoffs;
+    private StripedLock locks;
+    private TransactionTemplate flushTransaction;
+
+    @PostConstruct
+    public void init() {
+        cutoffs = Map.of(MealPlan.MealType.LUNCH, LocalTime.parse(lunchCutoff),
+                         MealPlan.MealType.DINNER, LocalTime.parse(dinnerCutoff));
+        locks = new StripedLock(lockStripes);
+        flushTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            logger.warn("Could not flush {} meal opt-out changes on shutdown", pending.size(), e);
+        }
+    }
+
+    /**
+     * Opts a student out of a meal, or back in. Setting the current state again changes nothing.
+     *
+     * @throws IllegalArgumentException if the meal does not exist or its cutoff has passed
+     * @throws IllegalStateException if the student's previous change is still being applied
+     */
+    public MealOptOutDTO setOptOut(Long mealPlanId, Long userId, boolean optOut) {
+        MealCounter counter = counterFor(mealPlanId);
+        LocalDateTime cutoff = cutoffFor(counter);
+        if (!LocalDateTime.now().isBefore(cutoff)) {
+            throw new IllegalArgumentException("Opt-out for this meal closed at " + cutoff);
+        }
+
+        OptOutKey key = new OptOutKey(mealPlanId, userId);
+        ReentrantLock lock = lock(key);
+        try {
+            boolean current = currentState(key);
+            if (current != optOut) {
+                Change previous = pending.get(key);
+                boolean baseline = previous != null ? previous.baseline : current;
+                if (optOut == baseline) {
+                    // Back to what the database holds (or will hold once in-flight changes commit)
+                    pending.remove(key);
+                } else {
+                    pending.put(key, new Change(baseline, optOut));
+                }
+                counter.unwritten.add(optOut ? 1 : -1);
+            }
+        } finally {
+            lock.unlock();
+        }
+        return new MealOptOutDTO(mealPlanId, optOut, cutoff);
+    }
+
+    /**
+     * @return whether the student has opted out of the meal, including changes not yet written
+     */
+    public MealOptOutDTO getOptOut(Long mealPlanId, Long userId) {
+        MealCounter counter = counterFor(mealPlanId);
+        OptOutKey key = new OptOutKey(mealPlanId, userId);
+        ReentrantLock lock = lock(key);
+        try {
+            return new MealOptOutDTO(mealPlanId, currentState(key), cutoffFor(counter));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Live headcounts of the meals planned on a date, for an active mess manager
+     */
+    public List<MealHeadcountDTO> getHeadcounts(Long messManagerId, LocalDate date) {
+        if (!messManagerApplicationRepo.isStudentCurrentlyMessManager(messManagerId, LocalDate.now())) {
+            throw new IllegalArgumentException("User is not an active mess manager");
+        }
+
+        long residents = studentsRepo.countByResidencyStatus(RESIDENT);
+        List<MealPlan> mealPlans;
+        Map<Long, Long> unwritten = new HashMap<>();
+        // Reads the written counts and the unwritten totals between two flushes
+        countLock.readLock().lock();
+        try {
+            mealPlans = new ArrayList<>(mealPlanRepo.findByMealDate(date));
+            for (MealPlan mealPlan : mealPlans) {
+                MealCounter counter = counters.get(mealPlan.getMealPlanId());
+                unwritten.put(mealPlan.getMealPlanId(), counter != null ? counter.unwritten.sum() : 0);
+            }
+        } finally {
+            countLock.readLock().unlock();
+        }
+
+        mealPlans.sort(Comparator.comparing(MealPlan::getMealType));
+        List<MealHeadcountDTO> headcounts = new ArrayList<>(mealPlans.size());
+        for (MealPlan mealPlan : mealPlans) {
+            long optedOut = (mealPlan.getOptOutCount() != null ? mealPlan.getOptOutCount() : 0)
+                    + unwritten.get(mealPlan.getMealPlanId());
+            headcounts.add(new MealHeadcountDTO(mealPlan.getMealPlanId(), mealPlan.getMealDate(),
+                                                mealPlan.getMealTypeAsString(), residents, optedOut,
+                                                LocalDateTime.of(mealPlan.getMealDate(),
+                                                                 cutoffs.get(mealPlan.getMealType()))));
+        }
+        return headcounts;
+    }
+
+    /**
+     * Writes pending opt-out changes in batches of {@code flush-batch-size}.
+     *
+     * @return number of changes written
+     */
+    @Scheduled(fixedDelayString = "${meal-plans.headcount.flush-interval-ms:1000}")
+    public synchronized int flush() {
+        List<OptOutKey> keys = new ArrayList<>(pending.keySet());
+        int flushed = 0;
+        for (int from = 0; from < keys.size(); from += flushBatchSize) {
+            flushed += flushBatch(keys.subList(from, Math.min(from + flushBatchSize, keys.size())));
+        }
+        if (flushed > 0) {
+            logger.debug("Flushed {} meal opt-out changes", flushed);
+        }
+        return flushed;
+    }
+
+    /**
+     * Drops the in-memory state of meal plans that were deleted
+     */
+    @TransactionalEventListener
+    public void onMealPlanChanged(MealPlanChangedEvent event) {
+        Long mealPlanId = event.getMealPlanId();
+        if (mealPlanId != null && !mealPlanRepo.existsById(mealPlanId)) {
+            counters.remove(mealPlanId);
+            pending.keySet().removeIf(key -> key.mealPlanId.equals(mealPlanId));
+        }
+    }
+
+    /**
+     * Forgets the totals of past meals once nothing of theirs is left to write
+     */
+    @Scheduled(cron = "${meal-plans.headcount.evict-cron:0 5 0 * * *}")
+    public void evictPastMeals() {
+        LocalDate today = LocalDate.now();
+        counters.entrySet().removeIf(entry -> entry.getValue().mealDate.isBefore(today)
+                && pending.keySet().stream().noneMatch(key -> key.mealPlanId.equals(entry.getKey()))
+                && inFlight.keySet().stream().noneMatch(key -> key.mealPlanId.equals(entry.getKey())));
+    }
+
+    private int flushBatch(List<OptOutKey> keys) {
+        Map<OptOutKey, Change> batch = new LinkedHashMap<>();
+        for (OptOutKey key : keys) {
+            ReentrantLock lock = tryLock(key);
+            if (lock == null) {
+                continue; // Busy; the next flush picks it up
+            }
+            try {
+                Change change = pending.remove(key);
+                if (change != null) {
+                    inFlight.put(key, change);
+                    batch.put(key, change);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        if (!writeAndCount(batch)) {
+            batch.forEach(this::restore);
+            return 0;
+        }
+
+        // Waits without a timeout: giving up here would leave written changes in flight for good
+        batch.forEach((key, change) -> {
+            ReentrantLock lock = locks.lock(key);
+            try {
+                inFlight.remove(key, change);
+            } finally {
+                lock.unlock();
+            }
+        });
+        return batch.size();
+    }
+
+    // Writes a batch and moves it from the unwritten totals to the written count. Holds the write lock
+    // of countLock throughout, so a headcount never sees the batch in both or in neither
+    private boolean writeAndCount(Map<OptOutKey, Change> batch) {
+        countLock.writeLock().lock();
+        try {
+            flushTransaction.executeWithoutResult(status -> write(batch));
+
+            Map<Long, Long> expectedDelta = new HashMap<>();
+            batch.forEach((key, change) -> expectedDelta.merge(key.mealPlanId, change.delta(), Long::sum));
+            expectedDelta.forEach((mealPlanId, delta) -> {
+                MealCounter counter = counters.get(mealPlanId);
+                if (counter != null) {
+                    counter.unwritten.add(-delta);
+                }
+            });
+            return true;
+        } catch (RuntimeException e) {
+            logger.warn("Could not write {} meal opt-out changes, will retry", batch.size(), e);
+            return false;
+        } finally {
+            countLock.writeLock().unlock();
+        }
+    }
+
+    // Writes a batch in the current transaction. The count moves by what the rows actually did, so
+    // a row already changed by another instance is not counted twice
+    private void write(Map<OptOutKey, Change> batch) {
+        List<Object[]> deletes = new ArrayList<>(batch.size());
+        List<Object[]> inserts = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (Map.Entry<OptOutKey, Change> entry : batch.entrySet()) {
+            OptOutKey key = entry.getKey();
+            deletes.add(new Object[] {key.mealPlanId, key.userId});
+            if (entry.getValue().optedOut) {
+                inserts.add(new Object[] {key.mealPlanId, key.userId, now});
+            }
+        }
+
+        int[] deleted = jdbcTemplate.batchUpdate(DELETE_OPT_OUT_SQL, deletes);
+        if (!inserts.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_OPT_OUT_SQL, inserts);
+        }
+
+        Map<Long, Long> delta = new HashMap<>();
+        int i = 0;
+        for (Map.Entry<OptOutKey, Change> entry : batch.entrySet()) {
+            Change change = entry.getValue();
+            // Drivers may not report per-statement counts; then trust the remembered baseline
+            long removed = deleted[i] >= 0 ? deleted[i] : (change.baseline ? 1 : 0);
+            delta.merge(entry.getKey().mealPlanId, (change.optedOut ? 1 : 0) - removed, Long::sum);
+            i++;
+        }
+
+        List<Object[]> countUpdates = new ArrayList<>();
+        delta.forEach((mealPlanId, change) -> {
+            if (change != 0) {
+                countUpdates.add(new Object[] {change, mealPlanId});
+            }
+        });
+        if (!countUpdates.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_OPT_OUT_COUNT_SQL, countUpdates);
+        }
+    }
+
+    // Puts a change whose write failed back in front of any newer change of the same key. Waits for
+    // the lock without a timeout, as a change dropped here would be lost
+    private void restore(OptOutKey key, Change change) {
+        ReentrantLock lock = locks.lock(key);
+        try {
+            inFlight.remove(key, change);
+            Change newer = pending.get(key);
+            if (newer == null) {
+                pending.put(key, change);
+            } else if (newer.optedOut == change.baseline) {
+                pending.remove(key);
+            } else {
+                pending.put(key, new Change(change.baseline, newer.optedOut));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // State as the student last set it: pending, then being written, then in the database
+    private boolean currentState(OptOutKey key) {
+        Change change = pending.get(key);
+        if (change == null) {
+            change = inFlight.get(key);
+        }
+        return change != null ? change.optedOut : mealOptOutRepo.existsByMealPlanIdAndUserId(key.mealPlanId, key.userId);
+    }
+
+    private MealCounter counterFor(Long mealPlanId) {
+        MealCounter counter = counters.get(mealPlanId);
+        if (counter != null) {
+            return counter;
+        }
+        MealPlan mealPlan = mealPlanRepo.findById(mealPlanId)
+                .orElseThrow(() -> new IllegalArgumentException("Meal plan not found"));
+        return counters.computeIfAbsent(mealPlanId, id -> new MealCounter(mealPlan));
+    }
+
+    private LocalDateTime cutoffFor(MealCounter counter) {
+        return LocalDateTime.of(counter.mealDate, cutoffs.get(counter.mealType));
+    }
+
+    private ReentrantLock lock(OptOutKey key) {
+        ReentrantLock lock = tryLock(key);
+        if (lock == null) {
+            throw new IllegalStateException("Your previous change to this meal is still being saved, please try again");
+        }
+        return lock;
+    }
+
+    private ReentrantLock tryLock(OptOutKey key) {
+        try {
+            return locks.tryLock(key, LOCK_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    // Opt-out changes of one meal made on this instance and not written yet
+    private static class MealCounter {
+        private final LocalDate mealDate;
+        private final MealPlan.MealType mealType;
+        private final LongAdder unwritten = new LongAdder();
+
+        private MealCounter(MealPlan mealPlan) {
+            this.mealDate = mealPlan.getMealDate();
+            this.mealType = mealPlan.getMealType();
+        }
+    }
+
+    // A student's unwritten change: the state it replaces and the state it sets
+    private static class Change {
+        private final boolean baseline;
+        private final boolean optedOut;
+
+        private Change(boolean baseline, boolean optedOut) {
+            this.baseline = baseline;
+            this.optedOut = optedOut;
+        }
+
+        private long delta() {
+            return (optedOut ? 1 : 0) - (baseline ? 1 : 0);
+        }
+    }
+
+    private static class OptOutKey {
+        private final Long mealPlanId;
+        private final Long userId;
+
+        private OptOutKey(Long mealPlanId, Long userId) {
+            this.mealPlanId = mealPlanId;
+            this.userId = userId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof OptOutKey)) return false;
+            OptOutKey other = (OptOutKey) o;
+            return mealPlanId.equals(other.mealPlanId) && userId.equals(other.userId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(mealPlanId, userId);
+        }
+    }
+}
@@ -0,0 +1,275 @@
+package com.HMS.hms.Service;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.HMS.hms.DTO.MealMenuGenerationResultDTO;
+import com.HMS.hms.DTO.MealMenuTemplateDTO;
+import com.HMS.hms.Repo.MealMenuTemplateRepo;
+import com.HMS.hms.Repo.MealPlanRepo;
+import com.HMS.hms.Tables.MealMenuTemplate;
+import com.HMS.hms.Tables.MealMenuTemplateEntry;
+import com.HMS.hms.Tables.MealPlan;
+
+/**
+ * Recurring menu templates and generating meal plans from them.
+ * <p>
+ * Generation turns a template into a month of meal plans in one transaction. Existing plans are
+ * compared with the template and only what differs is written: changed plans get an UPDATE,
+ * changed items are renamed in place, and missing plans and items are inserted, each as one JDBC
+ * batch. Regenerating an unchanged month therefore writes nothing. Plans the template has no
+ * entry for (e.g. added by hand) are left alone.
+ */
+@Service
+public class MealMenuTemplateService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MealMenuTemplateService.class);
+
+    private static final int MAX_CYCLE_WEEKS = 4;
+
+    private static final String INSERT_PLAN_SQL =
+            "INSERT INTO meal_plans (mess_manager_id, meal_date, meal_type, cost_per_person, created_at) VALUES (?, ?, ?, ?, ?)";
+    private static final String UPDATE_PLAN_SQL =
+            "UPDATE meal_plans SET cost_per_person = ?, mess_manager_id = ?, updated_at = ? WHERE meal_plan_id = ?";
+
+    @Autowired
+    private MealMenuTemplateRepo mealMenuTemplateRepo;
+
+    @Autowired
+    private MealPlanRepo mealPlanRepo;
+
+    @Autowired
+    private MealPlanService mealPlanService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    // Create a template
+    @Transactional
+    public MealMenuTemplateDTO createTemplate(MealMenuTemplateDTO templateDTO, Long messManagerId) {
+        mealPlanService.validateMessManager(messManagerId);
+        MealMenuTemplate template = new MealMenuTemplate();
+        apply(template, templateDTO, messManagerId);
+        return toDTO(mealMenuTemplateRepo.save(template));
+    }
+
+    // Replace a template's cycle and entries
+    @Transactional
+    public MealMenuTemplateDTO updateTemplate(Long templateId, MealMenuTemplateDTO templateDTO, Long messManagerId) {
+        mealPlanService.validateMessManager(messManagerId);
+        MealMenuTemplate template = mealMenuTemplateRepo.findById(templateId)
+                .orElseThrow(() -> new IllegalArgumentException("Menu template not found"));
+        apply(template, templateDTO, messManagerId);
+        template.setUpdatedAt(LocalDateTime.now());
+        return toDTO(mealMenuTemplateRepo.save(template));
+    }
+
+    // Get all templates, without their entries
+    public List<MealMenuTemplateDTO> getAllTemplates() {
+        return mealMenuTemplateRepo.findAllByOrderByNameAsc().stream()
+                .map(template -> new MealMenuTemplateDTO(template.getTemplateId(), template.getName(),
+                        template.getCycleWeeks(), template.getAnchorDate(), template.getMessManagerId(), null))
+                .collect(Collectors.toList());
+    }
+
+    // Get a template with its entries
+    public Optional<MealMenuTemplateDTO> getTemplate(Long templateId) {
+        return mealMenuTemplateRepo.findById(templateId).map(this::toDTO);
+    }
+
+    // Delete a template; meal plans generated from it stay
+    @Transactional
+    public void deleteTemplate(Long templateId, Long messManagerId) {
+        mealPlanService.validateMessManager(messManagerId);
+        if (!mealMenuTemplateRepo.existsById(templateId)) {
+            throw new IllegalArgumentException("Menu template not found");
+        }
+        mealMenuTemplateRepo.deleteById(templateId);
+    }
+
+    /**
+     * Creates or updates the meal plans of a month from a template. Days before today are skipped.
+     */
+    @Transactional
+    public MealMenuGenerationResultDTO generateMonth(Long templateId, YearMonth month, Long messManagerId) {
+        mealPlanService.validateMessManager(messManagerId);
+        MealMenuTemplate template = mealMenuTemplateRepo.findById(templateId)
+                .orElseThrow(() -> new IllegalArgumentException("Menu template not found"));
+
+        LocalDate today = LocalDate.now();
+        LocalDate startDate = month.atDay(1).isBefore(today) ? today : month.atDay(1);
+        LocalDate endDate = month.atEndOfMonth();
+        if (startDate.isAfter(endDate)) {
+            throw new IllegalArgumentException("Cannot generate meal plans for past months");
+        }
+
+        Map<String, MealMenuTemplateEntry> entries = new HashMap<>();
+        for (MealMenuTemplateEntry entry : mealMenuTemplateRepo.findEntriesWithItems(templateId)) {
+            entries.put(entryKey(entry.getWeekNumber(), entry.getDayOfWeek(), entry.getMealType()), entry);
+        }
+
+        Map<String, MealPlan> existingPlans = new HashMap<>();
+        for (MealPlan mealPlan : mealPlanRepo.findByDateRangeAscending(startDate, endDate)) {
+            existingPlans.putIfAbsent(planKey(mealPlan.getMealDate(), mealPlan.getMealType()), mealPlan);
+        }
+        Map<Long, List<Object[]>> existingItems = mealPlanService.loadItemRows(
+                existingPlans.values().stream().map(MealPlan::getMealPlanId).collect(Collectors.toList()));
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> planInserts = new ArrayList<>();
+        List<Object[]> planUpdates = new ArrayList<>();
+        Map<String, List<String>> newPlanItems = new HashMap<>();
+        MealPlanService.MealItemChanges itemChanges = new MealPlanService.MealItemChanges();
+        int updated = 0;
+        int unchanged = 0;
+
+        for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+            int weekNumber = template.weekNumberOf(date);
+            for (MealPlan.MealType mealType : MealPlan.MealType.values()) {
+                MealMenuTemplateEntry entry = entries.get(entryKey(weekNumber, date.getDayOfWeek(), mealType));
+                if (entry == null) {
+                    continue;
+                }
+
+                String key = planKey(date, mealType);
+                MealPlan existing = existingPlans.get(key);
+                if (existing == null) {
+                    planInserts.add(new Object[] {messManagerId, date, mealType.name(), entry.getCostPerPerson(), now});
+                    newPlanItems.put(key, entry.getItems());
+                    continue;
+                }
+
+                boolean planChanged = existing.getCostPerPerson().compareTo(entry.getCostPerPerson()) != 0
+                        || !messManagerId.equals(existing.getMessManagerId());
+                if (planChanged) {
+                    planUpdates.add(new Object[] {entry.getCostPerPerson(), messManagerId, now, existing.getMealPlanId()});
+                }
+                boolean itemsChanged = itemChanges.diff(existing.getMealPlanId(),
+                        existingItems.getOrDefault(existing.getMealPlanId(), List.of()), entry.getItems());
+                if (planChanged || itemsChanged) {
+                    updated++;
+                } else {
+                    unchanged++;
+                }
+            }
+        }
+
+        if (!planUpdates.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_PLAN_SQL, planUpdates);
+        }
+        if (!planInserts.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_PLAN_SQL, planInserts);
+            // Batched inserts return no generated keys; read the new IDs back in one query
+            for (Object[] row : mealPlanRepo.findKeysByDateRange(startDate, endDate)) {
+                String key = planKey((LocalDate) row[1], (MealPlan.MealType) row[2]);
+                List<String> items = newPlanItems.remove(key);
+                if (items != null && !existingPlans.containsKey(key)) {
+                    itemChanges.diff((Long) row[0], List.of(), items);
+                }
+            }
+        }
+        itemChanges.apply(jdbcTemplate);
+
+        if (!planInserts.isEmpty() || updated > 0) {
+            eventPublisher.publishEvent(new MealPlanChangedEvent(null, startDate));
+        }
+        logger.info("Generated {} to {} from menu template {}: {} created, {} updated, {} unchanged",
+                   startDate, endDate, templateId, planInserts.size(), updated, unchanged);
+        return new MealMenuGenerationResultDTO(templateId, startDate, endDate, planInserts.size(), updated, unchanged);
+    }
+
+    private void apply(MealMenuTemplate template, MealMenuTemplateDTO templateDTO, Long messManagerId) {
+        if (templateDTO.getName() == null || templateDTO.getName().trim().isEmpty()) {
+            throw new IllegalArgumentException("Template name is required");
+        }
+        int cycleWeeks = templateDTO.getCycleWeeks() != null ? templateDTO.getCycleWeeks() : 1;
+        if (cycleWeeks < 1 || cycleWeeks > MAX_CYCLE_WEEKS) {
+            throw new IllegalArgumentException("Cycle must be between 1 and " + MAX_CYCLE_WEEKS + " weeks");
+        }
+        if (templateDTO.getEntries() == null || templateDTO.getEntries().isEmpty()) {
+            throw new IllegalArgumentException("Template must have at least one meal");
+        }
+
+        List<MealMenuTemplateEntry> entries = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        for (MealMenuTemplateDTO.Entry entryDTO : templateDTO.getEntries()) {
+            int weekNumber = entryDTO.getWeekNumber() != null ? entryDTO.getWeekNumber() : 1;
+            if (weekNumber < 1 || weekNumber > cycleWeeks) {
+                throw new IllegalArgumentException("Week number must be between 1 and " + cycleWeeks);
+            }
+            DayOfWeek dayOfWeek = parseDayOfWeek(entryDTO.getDayOfWeek());
+            MealPlan.MealType mealType = MealPlan.MealType.fromString(entryDTO.getMealType());
+            if (!seen.add(entryKey(weekNumber, dayOfWeek, mealType))) {
+                throw new IllegalArgumentException("Duplicate " + mealType + " on " + dayOfWeek + " of week " + weekNumber);
+            }
+            if (entryDTO.getCostPerPerson() == null || entryDTO.getCostPerPerson().compareTo(BigDecimal.ZERO) <= 0) {
+                throw new IllegalArgumentException("Cost per person must be greater than 0");
+            }
+            List<String> items = entryDTO.getItems() == null ? List.of() : entryDTO.getItems().stream()
+                    .filter(item -> item != null && !item.trim().isEmpty())
+                    .map(String::trim)
+                    .collect(Collectors.toList());
+            if (items.isEmpty()) {
+                throw new IllegalArgumentException("Meal must have at least one valid item");
+            }
+            entries.add(new MealMenuTemplateEntry(template, weekNumber, dayOfWeek, mealType, entryDTO.getCostPerPerson(), items));
+        }
+
+        template.setName(templateDTO.getName().trim());
+        template.setCycleWeeks(cycleWeeks);
+        template.setAnchorDate(templateDTO.getAnchorDate() != null ? templateDTO.getAnchorDate() : LocalDate.now());
+        template.setMessManagerId(messManagerId);
+        template.getEntries().clear();
+        template.getEntries().addAll(entries);
+    }
+
+    private MealMenuTemplateDTO toDTO(MealMenuTemplate template) {
+        List<MealMenuTemplateDTO.Entry> entries = (template.getTemplateId() != null
+                ? mealMenuTemplateRepo.findEntriesWithItems(template.getTemplateId())
+                : template.getEntries()).stream()
+                .map(entry -> new MealMenuTemplateDTO.Entry(entry.getWeekNumber(),
+                        entry.getDayOfWeek().name().toLowerCase(), entry.getMealType().getValue(),
+                        entry.getCostPerPerson(), new ArrayList<>(entry.getItems())))
+                .collect(Collectors.toList());
+        return new MealMenuTemplateDTO(template.getTemplateId(), template.getName(), template.getCycleWeeks(),
+                                       template.getAnchorDate(), template.getMessManagerId(), entries);
+    }
+
+    private static DayOfWeek parseDayOfWeek(String value) {
+        try {
+            return DayOfWeek.valueOf(value.trim().toUpperCase());
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid day of week: " + value);
+        }
+    }
+
+    private static String entryKey(int weekNumber, DayOfWeek dayOfWeek, MealPlan.MealType mealType) {
+        return weekNumber + ":" + dayOfWeek + ":" + mealType;
+    }
+
+    private static String planKey(LocalDate date, MealPlan.MealType mealType) {
+        return date + ":" + mealType;
+    }
+}
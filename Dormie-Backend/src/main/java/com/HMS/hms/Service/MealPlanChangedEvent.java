@@ -0,0 +1,21 @@
+package com.HMS.hms.Service;
+
+import java.time.LocalDate;
+
+/**
+ * Published inside the transaction that creates, updates or deletes a meal plan.
+ * Listeners that act after commit see the change in the database.
+ */
+public class MealPlanChangedEvent {
+
+    private final Long mealPlanId;
+    private final LocalDate mealDate;
+
+    public MealPlanChangedEvent(Long mealPlanId, LocalDate mealDate) {
+        this.mealPlanId = mealPlanId;
+        this.mealDate = mealDate;
+    }
+
+    public Long getMealPlanId() { return mealPlanId; }
+    public LocalDate getMealDate() { return mealDate; }
+}
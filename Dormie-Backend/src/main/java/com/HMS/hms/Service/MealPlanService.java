@@ -3,16 +3,21 @@ package com.HMS.hms.Service;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.HMS.hms.DTO.MealPlanDTO;
 import com.HMS.hms.Repo.MealItemRepo;
+import com.HMS.hms.Repo.MealOptOutRepo;
 import com.HMS.hms.Repo.MealPlanRepo;
 import com.HMS.hms.Repo.MessManagerApplicationRepo;
 import com.HMS.hms.Tables.MealItem;
@@ -27,32 +32,74 @@ public class MealPlanService {
     @Autowired
     private MealItemRepo mealItemRepo;
 
+    @Autowired
+    private MealOptOutRepo mealOptOutRepo;
+
     @Autowired
     private MessManagerApplicationRepo messManagerApplicationRepo;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Meal plan IDs per item query; keeps the IN list well below database parameter limits
+    private static final int ITEM_FETCH_CHUNK_SIZE = 1000;
+
     // DTO Conversion Methods
     public MealPlanDTO convertToDTO(MealPlan mealPlan) {
-        List<String> itemNames;
-        
-        // Always ensure we have a non-null mealItems list
-        if (mealPlan.getMealItems() != null && !mealPlan.getMealItems().isEmpty()) {
-            itemNames = mealPlan.getMealItems().stream()
+        if (mealPlan.getMealPlanId() == null) {
+            // For new meal plans without ID, return the items they carry
+            return toDTO(mealPlan, mealPlan.getMealItems().stream()
                     .sorted((a, b) -> a.getItemOrder().compareTo(b.getItemOrder()))
                     .map(MealItem::getItemName)
-                    .collect(Collectors.toList());
-        } else {
-            // If mealItems is null or empty, fetch them from repository
-            if (mealPlan.getMealPlanId() != null) {
-                List<MealItem> mealItems = mealItemRepo.findByMealPlanMealPlanIdOrderByItemOrder(mealPlan.getMealPlanId());
-                itemNames = mealItems.stream()
-                        .map(MealItem::getItemName)
-                        .collect(Collectors.toList());
-            } else {
-                // For new meal plans without ID, return empty list
-                itemNames = List.of();
+                    .collect(Collectors.toList()));
+        }
+        return convertToDTOList(List.of(mealPlan)).get(0);
+    }
+
+    /**
+     * Converts meal plans to DTOs, loading the items of all plans with one query per
+     * 1000 plans instead of initialising each plan's lazy item collection.
+     */
+    public List<MealPlanDTO> convertToDTOList(List<MealPlan> mealPlans) {
+        if (mealPlans.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> mealPlanIds = mealPlans.stream()
+                .map(MealPlan::getMealPlanId)
+                .collect(Collectors.toList());
+        Map<Long, List<String>> itemNamesByPlan = new HashMap<>();
+        for (int from = 0; from < mealPlanIds.size(); from += ITEM_FETCH_CHUNK_SIZE) {
+            List<Long> chunk = mealPlanIds.subList(from, Math.min(from + ITEM_FETCH_CHUNK_SIZE, mealPlanIds.size()));
+            for (Object[] row : mealItemRepo.findItemNamesByMealPlanIds(chunk)) {
+                itemNamesByPlan.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add((String) row[1]);
+            }
+        }
+
+        return mealPlans.stream()
+                .map(mealPlan -> toDTO(mealPlan, itemNamesByPlan.getOrDefault(mealPlan.getMealPlanId(), List.of())))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Current items of several meal plans, as [mealPlanId, mealItemId, itemOrder, itemName] rows
+     * grouped by plan in item order, with one query per 1000 plans.
+     */
+    Map<Long, List<Object[]>> loadItemRows(List<Long> mealPlanIds) {
+        Map<Long, List<Object[]>> rowsByPlan = new HashMap<>();
+        for (int from = 0; from < mealPlanIds.size(); from += ITEM_FETCH_CHUNK_SIZE) {
+            List<Long> chunk = mealPlanIds.subList(from, Math.min(from + ITEM_FETCH_CHUNK_SIZE, mealPlanIds.size()));
+            for (Object[] row : mealItemRepo.findItemRowsByMealPlanIds(chunk)) {
+                rowsByPlan.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add(row);
             }
         }
+        return rowsByPlan;
+    }
 
+    private MealPlanDTO toDTO(MealPlan mealPlan, List<String> itemNames) {
         return new MealPlanDTO(
                 mealPlan.getMealPlanId(),
                 mealPlan.getMessManagerId(),
@@ -63,14 +110,8 @@ public class MealPlanService {
         );
     }
 
-    public List<MealPlanDTO> convertToDTOList(List<MealPlan> mealPlans) {
-        return mealPlans.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
-    }
-
     // Validate if user is an active mess manager
-    private void validateMessManager(Long userId) {
+    void validateMessManager(Long userId) {
         boolean isActiveManager = messManagerApplicationRepo.isStudentCurrentlyMessManager(userId, LocalDate.now());
         if (!isActiveManager) {
             throw new IllegalArgumentException("User is not an active mess manager");
@@ -120,9 +161,6 @@ public class MealPlanService {
             mealPlan.setMessManagerId(mealPlanDTO.getMessManagerId());
             mealPlan.setCostPerPerson(mealPlanDTO.getCostPerPerson());
             mealPlan.setUpdatedAt(LocalDateTime.now());
-
-            // Delete existing meal items
-            mealItemRepo.deleteByMealPlanMealPlanId(mealPlan.getMealPlanId());
         } else {
             // Create new meal plan
             mealPlan = new MealPlan(
@@ -136,17 +174,17 @@ public class MealPlanService {
         // Save meal plan
         mealPlan = mealPlanRepo.save(mealPlan);
 
-        // Create meal items
-        List<MealItem> createdItems = new ArrayList<>();
-        for (int i = 0; i < validItems.size(); i++) {
-            MealItem mealItem = new MealItem(mealPlan, validItems.get(i).trim(), i + 1);
-            MealItem savedItem = mealItemRepo.save(mealItem);
-            createdItems.add(savedItem);
-        }
+        // Bring the items in line with the request: rename in place, add or drop the tail
+        List<String> itemNames = validItems.stream().map(String::trim).collect(Collectors.toList());
+        MealItemChanges itemChanges = new MealItemChanges();
+        itemChanges.diff(mealPlan.getMealPlanId(),
+                         loadItemRows(List.of(mealPlan.getMealPlanId())).getOrDefault(mealPlan.getMealPlanId(), List.of()),
+                         itemNames);
+        itemChanges.apply(jdbcTemplate);
+
+        // Rebuild the cached student menu once this change commits
+        eventPublisher.publishEvent(new MealPlanChangedEvent(mealPlan.getMealPlanId(), mealPlan.getMealDate()));
 
-        // Set the meal items directly to avoid lazy loading issues
-        mealPlan.setMealItems(createdItems);
-        
         // Return DTO without reloading from database
         return new MealPlanDTO(
                 mealPlan.getMealPlanId(),
@@ -154,7 +192,7 @@ public class MealPlanService {
                 mealPlan.getMealDate(),
                 mealPlan.getMealTypeAsString(),
                 mealPlan.getCostPerPerson(),
-                validItems
+                itemNames
         );
     }
 
@@ -170,9 +208,16 @@ public class MealPlanService {
         return convertToDTOList(mealPlans);
     }
 
-    // Get future meals
-    public List<MealPlanDTO> getFutureMeals() {
-        List<MealPlan> mealPlans = mealPlanRepo.findFutureMeals(LocalDate.now());
+    // Get the meals of the given number of days after today, earliest first
+    public List<MealPlanDTO> getFutureMeals(int days) {
+        LocalDate today = LocalDate.now();
+        List<MealPlan> mealPlans = mealPlanRepo.findByDateRangeAscending(today.plusDays(1), today.plusDays(days));
+        return convertToDTOList(mealPlans);
+    }
+
+    // Get the meal plans of the seven days starting at startDate, earliest first; plans and items in two queries
+    public List<MealPlanDTO> getWeekMealPlans(LocalDate startDate) {
+        List<MealPlan> mealPlans = mealPlanRepo.findByDateRangeAscending(startDate, startDate.plusDays(6));
         return convertToDTOList(mealPlans);
     }
 
@@ -218,7 +263,9 @@ public class MealPlanService {
             throw new IllegalArgumentException("Cannot delete past meal plans");
         }
 
+        mealOptOutRepo.deleteByMealPlanId(mealPlanId);
         mealPlanRepo.deleteById(mealPlanId);
+        eventPublisher.publishEvent(new MealPlanChangedEvent(mealPlanId, mealPlan.getMealDate()));
     }
 
     // Get meal plans by date range
@@ -226,4 +273,59 @@ public class MealPlanService {
         List<MealPlan> mealPlans = mealPlanRepo.findByDateRange(startDate, endDate);
         return convertToDTOList(mealPlans);
     }
+
+    /**
+     * Item changes collected across meal plans and written with one JDBC batch per statement
+     * type, so unchanged items are never touched and item IDs survive edits.
+     */
+    static class MealItemChanges {
+
+        private static final String INSERT_ITEM_SQL =
+                "INSERT INTO meal_items (meal_plan_id, item_name, item_order) VALUES (?, ?, ?)";
+        private static final String UPDATE_ITEM_SQL =
+                "UPDATE meal_items SET item_name = ?, item_order = ? WHERE meal_item_id = ?";
+        private static final String DELETE_ITEM_SQL =
+                "DELETE FROM meal_items WHERE meal_item_id = ?";
+
+        private final List<Object[]> inserts = new ArrayList<>();
+        private final List<Object[]> updates = new ArrayList<>();
+        private final List<Object[]> deletes = new ArrayList<>();
+
+        /**
+         * Adds the changes that turn a plan's current items into {@code itemNames}, position by position
+         *
+         * @param current rows from {@link MealPlanService#loadItemRows}, in item order
+         * @return whether anything changes
+         */
+        boolean diff(Long mealPlanId, List<Object[]> current, List<String> itemNames) {
+            int before = inserts.size() + updates.size() + deletes.size();
+            for (int i = 0; i < itemNames.size(); i++) {
+                Integer itemOrder = i + 1;
+                if (i < current.size()) {
+                    Object[] row = current.get(i);
+                    if (!itemNames.get(i).equals(row[3]) || !itemOrder.equals(row[2])) {
+                        updates.add(new Object[] {itemNames.get(i), itemOrder, row[1]});
+                    }
+                } else {
+                    inserts.add(new Object[] {mealPlanId, itemNames.get(i), itemOrder});
+                }
+            }
+            for (int i = itemNames.size(); i < current.size(); i++) {
+                deletes.add(new Object[] {current.get(i)[1]});
+            }
+            return inserts.size() + updates.size() + deletes.size() > before;
+        }
+
+        void apply(JdbcTemplate jdbcTemplate) {
+            if (!deletes.isEmpty()) {
+                jdbcTemplate.batchUpdate(DELETE_ITEM_SQL, deletes);
+            }
+            if (!updates.isEmpty()) {
+                jdbcTemplate.batchUpdate(UPDATE_ITEM_SQL, updates);
+            }
+            if (!inserts.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_ITEM_SQL, inserts);
+            }
+        }
+    }
 }
@@ -0,0 +1,190 @@
+package com.HMS.hms.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.util.HexFormat;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.HMS.hms.DTO.MealPlanDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Serves the student menu (today's meals and the next {@value #FUTURE_DAYS} days' meals) from
+ * precomputed JSON.
+ * <p>
+ * Both lists are read and serialised once into byte arrays, each with a strong ETag derived from
+ * its content, and kept in an immutable snapshot. The snapshot is rebuilt at midnight and after
+ * every meal plan change committed on this instance; a snapshot from an earlier day is rebuilt on
+ * first use, so a missed midnight run never serves yesterday's menu. Changes made on other
+ * instances are picked up by a version probe every {@code meal-plans.menu-cache.probe-interval-ms}:
+ * the count and latest change time of the plans in the cached range, one aggregate query. Reads
+ * never touch the database while the snapshot is current, and a poll with a matching ETag needs
+ * no serialisation either.
+ */
+@Service
+public class MenuCacheService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MenuCacheService.class);
+
+    // Days after today included in the future menu
+    private static final int FUTURE_DAYS = 7;
+
+    private static final String VERSION_SQL =
+            "SELECT COUNT(*), MAX(COALESCE(updated_at, created_at)) FROM meal_plans WHERE meal_date BETWEEN ? AND ?";
+
+    @Autowired
+    private MealPlanService mealPlanService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private volatile Snapshot snapshot;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        refresh();
+    }
+
+    @Scheduled(cron = "${meal-plans.menu-cache.refresh-cron:0 0 0 * * *}")
+    public void refreshAtMidnight() {
+        refresh();
+    }
+
+    /**
+     * Rebuilds the snapshot if the meal plans it covers changed since it was built, e.g. on
+     * another instance
+     */
+    @Scheduled(fixedDelayString = "${meal-plans.menu-cache.probe-interval-ms:5000}",
+               initialDelayString = "${meal-plans.menu-cache.probe-interval-ms:5000}")
+    public void probeForChanges() {
+        Snapshot current = snapshot;
+        if (current == null || !current.version.equals(readVersion(current.date))) {
+            logger.debug("Meal plans changed since the menu cache was built, rebuilding");
+            refresh();
+        }
+    }
+
+    @TransactionalEventListener
+    public void onMealPlanChanged(MealPlanChangedEvent event) {
+        logger.debug("Meal plan {} for {} changed, rebuilding menu cache", event.getMealPlanId(), event.getMealDate());
+        refresh();
+    }
+
+    /**
+     * @return today's meals as JSON with its ETag
+     */
+    public CachedMenu getTodaysMenu() {
+        return current().today;
+    }
+
+    /**
+     * @return meals of the {@value #FUTURE_DAYS} days after today as JSON with its ETag
+     */
+    public CachedMenu getFutureMenu() {
+        return current().future;
+    }
+
+    /**
+     * Rebuilds the snapshot from the database. Serialised, so a rebuild that starts after a change
+     * committed always finishes last and its snapshot wins. The version is read first, so a
+     * change that commits while the lists are read only costs one more rebuild.
+     */
+    public synchronized void refresh() {
+        LocalDate today = LocalDate.now();
+        String version = readVersion(today);
+        snapshot = new Snapshot(today, version,
+                                serialise(mealPlanService.getTodaysMeals()),
+                                serialise(mealPlanService.getFutureMeals(FUTURE_DAYS)));
+        logger.info("Menu cache rebuilt for {} (today {}, future {})", today, snapshot.today.getETag(),
+                   snapshot.future.getETag());
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current == null || !current.date.equals(LocalDate.now())) {
+            synchronized (this) {
+                current = snapshot;
+                if (current == null || !current.date.equals(LocalDate.now())) {
+                    refresh();
+                    current = snapshot;
+                }
+            }
+        }
+        return current;
+    }
+
+    // Changes when a plan in the cached range is added, removed or saved again
+    private String readVersion(LocalDate today) {
+        return jdbcTemplate.queryForObject(VERSION_SQL, (rs, rowNum) -> rs.getLong(1) + "@" + rs.getTimestamp(2),
+                                           today, today.plusDays(FUTURE_DAYS));
+    }
+
+    private CachedMenu serialise(List<MealPlanDTO> mealPlans) {
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(mealPlans);
+            return new CachedMenu(body, "\"" + HexFormat.of().formatHex(sha256(body), 0, 16) + "\"");
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialise menu", e);
+        }
+    }
+
+    private static byte[] sha256(byte[] body) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(body);
+        } catch (NoSuchAlgorithmException e) {
+            // Every JVM ships SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static class Snapshot {
+        private final LocalDate date;
+        private final String version;
+        private final CachedMenu today;
+        private final CachedMenu future;
+
+        private Snapshot(LocalDate date, String version, CachedMenu today, CachedMenu future) {
+            this.date = date;
+            this.version = version;
+            this.today = today;
+            this.future = future;
+        }
+    }
+
+    /**
+     * Serialised menu and its strong ETag (quoted). The body must not be modified.
+     */
+    public static class CachedMenu {
+        private final byte[] body;
+        private final String eTag;
+
+        public CachedMenu(byte[] body, String eTag) {
+            this.body = body;
+            this.eTag = eTag;
+        }
+
+        public byte[] getBody() { return body; }
+        public String getETag() { return eTag; }
+
+        @Override
+        public String toString() {
+            return new String(body, StandardCharsets.UTF_8);
+        }
+    }
+}
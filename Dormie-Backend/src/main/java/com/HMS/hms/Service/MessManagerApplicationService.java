@@ -2,6 +2,7 @@ package com.HMS.hms.Service;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -123,7 +124,24 @@ public class MessManagerApplicationService {
 
     // Get all applications count for a call
     public int getTotalApplicationsCount(Long callId) {
-        return messManagerApplicationRepo.findByCallId(callId).size();
+        return messManagerApplicationRepo.countByCallId(callId);
+    }
+
+    // Get total, pending and current manager counts for a call from one grouped query
+    public Map<String, Integer> getApplicationSummary(Long callId) {
+        int total = 0;
+        int pending = 0;
+        int accepted = 0;
+        for (Object[] row : messManagerApplicationRepo.countByStatusForCall(callId)) {
+            int count = ((Number) row[1]).intValue();
+            total += count;
+            if (row[0] == MessManagerApplication.ApplicationStatus.PENDING) {
+                pending = count;
+            } else if (row[0] == MessManagerApplication.ApplicationStatus.ACCEPTED) {
+                accepted = count;
+            }
+        }
+        return Map.of("total", total, "pending", pending, "currentManagers", accepted);
     }
 
     // Get application by ID
@@ -0,0 +1,146 @@
+package com.HMS.hms.Service;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.HMS.hms.DTO.MessManagerCallLifecycleStatusDTO;
+
+/**
+ * Moves mess manager calls through their lifecycle without anyone having to ask.
+ * <p>
+ * Periodically expires active calls whose application deadline has passed and completes calls
+ * whose activity period has ended, each as a single bulk UPDATE. Only one backend instance runs
+ * the transitions at a time. The timing and outcome of the last run are kept for monitoring.
+ */
+@Service
+public class MessManagerCallLifecycleService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MessManagerCallLifecycleService.class);
+
+    static final String JOB_NAME = "mess-manager-call-lifecycle";
+
+    @Autowired
+    private MessManagerCallService messManagerCallService;
+
+    @Autowired
+    private JobLockService jobLockService;
+
+    @Value("${mess-manager-calls.lifecycle.enabled:true}")
+    private boolean enabled;
+
+    private volatile LifecycleRun lastRun;
+    private volatile LocalDateTime lastSuccessAt;
+    private final AtomicLong totalRuns = new AtomicLong();
+    private final AtomicLong totalSkipped = new AtomicLong();
+    private final AtomicLong totalFailures = new AtomicLong();
+
+    @Scheduled(fixedDelayString = "${mess-manager-calls.lifecycle.interval-ms:3600000}",
+               initialDelayString = "${mess-manager-calls.lifecycle.initial-delay-ms:60000}")
+    public void scheduledTransitions() {
+        if (enabled) {
+            try {
+                runTransitions();
+            } catch (Exception e) {
+                logger.error("Mess manager call lifecycle run failed: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Runs the expire and complete transitions once.
+     *
+     * @return what the run did; {@link LifecycleRun#isSkipped()} if another instance held the job lock
+     * @throws RuntimeException if a transition failed; the failure is recorded before rethrowing
+     */
+    public LifecycleRun runTransitions() {
+        LifecycleRun run = new LifecycleRun(LocalDateTime.now());
+        long start = System.nanoTime();
+        try {
+            boolean ran = jobLockService.runExclusively(JOB_NAME, () -> {
+                // Expire first so that a call past both dates ends up completed in the same run
+                run.expired = messManagerCallService.updateExpiredCalls();
+                run.completed = messManagerCallService.updateCompletedCalls();
+            });
+            run.skipped = !ran;
+        } catch (RuntimeException e) {
+            run.error = e.getMessage() == null ? e.getClass().getSimpleName() : e.getMessage();
+            throw e;
+        } finally {
+            run.durationMs = (System.nanoTime() - start) / 1_000_000;
+            record(run);
+        }
+        return run;
+    }
+
+    /**
+     * Timing and outcome of the last run, plus running totals since startup
+     */
+    public MessManagerCallLifecycleStatusDTO getStatus() {
+        MessManagerCallLifecycleStatusDTO status = new MessManagerCallLifecycleStatusDTO();
+        status.setEnabled(enabled);
+        LifecycleRun run = lastRun;
+        if (run != null) {
+            status.setLastRunStartedAt(run.startedAt);
+            status.setLastRunDurationMs(run.durationMs);
+            status.setLastRunSkipped(run.skipped);
+            status.setLastRunError(run.error);
+            status.setLastExpired(run.expired);
+            status.setLastCompleted(run.completed);
+        }
+        status.setLastSuccessAt(lastSuccessAt);
+        status.setTotalRuns(totalRuns.get());
+        status.setTotalSkipped(totalSkipped.get());
+        status.setTotalFailures(totalFailures.get());
+        return status;
+    }
+
+    private void record(LifecycleRun run) {
+        lastRun = run;
+        totalRuns.incrementAndGet();
+        if (run.error != null) {
+            totalFailures.incrementAndGet();
+        } else if (run.skipped) {
+            totalSkipped.incrementAndGet();
+        } else {
+            lastSuccessAt = run.startedAt;
+            if (run.expired > 0 || run.completed > 0) {
+                logger.info("Mess manager call lifecycle finished in {} ms: {}", run.durationMs, run);
+            }
+        }
+    }
+
+    /**
+     * Outcome of one lifecycle run
+     */
+    public static class LifecycleRun {
+        private final LocalDateTime startedAt;
+        private long durationMs;
+        private boolean skipped;
+        private String error;
+        private int expired;
+        private int completed;
+
+        LifecycleRun(LocalDateTime startedAt) {
+            this.startedAt = startedAt;
+        }
+
+        public LocalDateTime getStartedAt() { return startedAt; }
+        public long getDurationMs() { return durationMs; }
+        public boolean isSkipped() { return skipped; }
+        public String getError() { return error; }
+        public int getExpired() { return expired; }
+        public int getCompleted() { return completed; }
+
+        @Override
+        public String toString() {
+            return "expired=" + expired + ", completed=" + completed;
+        }
+    }
+}
@@ -1,14 +1,21 @@
 package com.HMS.hms.Service;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import com.HMS.hms.DTO.MessManagerCallDashboardDTO;
 import com.HMS.hms.Repo.DiningFeeRepo;
 import com.HMS.hms.Repo.MessManagerCallRepo;
+import com.HMS.hms.Tables.MessManagerApplication;
 import com.HMS.hms.Tables.MessManagerCall;
 
 @Service
@@ -78,6 +85,45 @@ public class MessManagerCallService {
         return messManagerCallRepo.findByYearOrderByCreatedAtDesc(year);
     }
 
+    // Get the call list for a year with dining fee and application counts, in one grouped query
+    public List<MessManagerCallDashboardDTO> getDashboard(Integer year) {
+        Map<Long, MessManagerCallDashboardDTO> calls = new LinkedHashMap<>();
+        for (Object[] row : messManagerCallRepo.findDashboardRowsByYear(year)) {
+            MessManagerCallDashboardDTO call = calls.computeIfAbsent((Long) row[0], callId -> toDashboardRow(row));
+            MessManagerApplication.ApplicationStatus status = (MessManagerApplication.ApplicationStatus) row[13];
+            if (status == null) {
+                continue;
+            }
+            int count = ((Number) row[14]).intValue();
+            call.setTotalApplications(call.getTotalApplications() + count);
+            switch (status) {
+                case PENDING -> call.setPendingApplications(count);
+                case ACCEPTED -> call.setAcceptedApplications(count);
+                case REJECTED -> call.setRejectedApplications(count);
+                case MONTH_END -> call.setMonthEndApplications(count);
+            }
+        }
+        return new ArrayList<>(calls.values());
+    }
+
+    private static MessManagerCallDashboardDTO toDashboardRow(Object[] row) {
+        MessManagerCallDashboardDTO call = new MessManagerCallDashboardDTO();
+        call.setCallId((Long) row[0]);
+        call.setProvostId((Long) row[1]);
+        call.setYear((Integer) row[2]);
+        call.setStatus(((MessManagerCall.CallStatus) row[3]).getValue());
+        call.setApplicationEndDate((LocalDate) row[4]);
+        call.setManagerActivityStartDate((LocalDate) row[5]);
+        call.setManagerActivityEndDate((LocalDate) row[6]);
+        call.setMaxManagers((Integer) row[7]);
+        call.setCreatedAt((LocalDateTime) row[8]);
+        call.setDiningFeeId((Long) row[9]);
+        call.setDiningFeeStartDate((LocalDate) row[10]);
+        call.setDiningFeeEndDate((LocalDate) row[11]);
+        call.setDiningFee((BigDecimal) row[12]);
+        return call;
+    }
+
     // Get calls by provost
     public List<MessManagerCall> getCallsByProvost(Long provostId) {
         return messManagerCallRepo.findByProvostId(provostId);
@@ -158,22 +204,14 @@ public class MessManagerCallService {
         messManagerCallRepo.deleteById(callId);
     }
 
-    // Update expired calls (should be called periodically)
-    public void updateExpiredCalls() {
-        List<MessManagerCall> expiredCalls = messManagerCallRepo.findExpiredCalls(LocalDate.now());
-        for (MessManagerCall call : expiredCalls) {
-            call.setStatus(MessManagerCall.CallStatus.EXPIRED);
-            messManagerCallRepo.save(call);
-        }
+    // Update expired calls; run periodically by MessManagerCallLifecycleService
+    public int updateExpiredCalls() {
+        return messManagerCallRepo.expireCalls(LocalDate.now());
     }
 
-    // Update completed calls (should be called periodically)
-    public void updateCompletedCalls() {
-        List<MessManagerCall> completedCalls = messManagerCallRepo.findCompletedCalls(LocalDate.now());
-        for (MessManagerCall call : completedCalls) {
-            call.setStatus(MessManagerCall.CallStatus.COMPLETED);
-            messManagerCallRepo.save(call);
-        }
+    // Update completed calls; run periodically by MessManagerCallLifecycleService
+    public int updateCompletedCalls() {
+        return messManagerCallRepo.completeCalls(LocalDate.now());
     }
 
     // Private helper method to validate call dates
@@ -0,0 +1,99 @@
+package com.HMS.hms.Service;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.HMS.hms.DTO.PaymentHistoryDTO;
+import com.HMS.hms.Repo.StudentPaymentInfoRepo;
+
+/**
+ * Combined hall and dining payment history for a single student.
+ */
+@Service
+public class PaymentHistoryService {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    @Autowired
+    private StudentPaymentInfoRepo studentPaymentInfoRepo;
+
+    /**
+     * Get one page of the user's payment history, newest first.
+     * Page content and the total count come back from the same query.
+     */
+    @Transactional(readOnly = true)
+    public PaymentHistoryPage getPaymentHistory(Long userId, int page, int size) {
+        if (page < 0) {
+            throw new IllegalArgumentException("Page index must not be negative");
+        }
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        List<Object[]> rows = studentPaymentInfoRepo.findPaymentHistoryPageByUserId(userId, page * size, size);
+
+        List<PaymentHistoryDTO> payments = new ArrayList<>(rows.size());
+        long totalElements = 0;
+        for (Object[] row : rows) {
+            payments.add(new PaymentHistoryDTO(
+                    (String) row[0],
+                    ((Number) row[1]).longValue(),
+                    row[2] != null ? ((Number) row[2]).intValue() : null,
+                    row[3] != null ? new BigDecimal(row[3].toString()) : BigDecimal.ZERO,
+                    (String) row[4],
+                    (String) row[5],
+                    (String) row[6],
+                    toLocalDate(row[7]),
+                    toLocalDate(row[8])
+            ));
+            totalElements = ((Number) row[9]).longValue();
+        }
+
+        // Past the last page the window count is not available, so fall back to a count query
+        if (rows.isEmpty() && page > 0) {
+            totalElements = studentPaymentInfoRepo.countPaymentHistoryByUserId(userId);
+        }
+
+        return new PaymentHistoryPage(payments, page, size, totalElements);
+    }
+
+    private LocalDate toLocalDate(Object value) {
+        if (value instanceof LocalDate localDate) {
+            return localDate;
+        }
+        if (value instanceof Date date) {
+            return date.toLocalDate();
+        }
+        return null;
+    }
+
+    /**
+     * One page of payment history
+     */
+    public static class PaymentHistoryPage {
+        private final List<PaymentHistoryDTO> payments;
+        private final int page;
+        private final int size;
+        private final long totalElements;
+
+        public PaymentHistoryPage(List<PaymentHistoryDTO> payments, int page, int size, long totalElements) {
+            this.payments = payments;
+            this.page = page;
+            this.size = size;
+            this.totalElements = totalElements;
+        }
+
+        public List<PaymentHistoryDTO> getPayments() { return payments; }
+        public int getPage() { return page; }
+        public int getSize() { return size; }
+        public long getTotalElements() { return totalElements; }
+        public int getTotalPages() { return (int) ((totalElements + size - 1) / size); }
+    }
+}
@@ -0,0 +1,204 @@
+package com.HMS.hms.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.HMS.hms.Repo.PaymentOutboxRepo;
+import com.HMS.hms.Tables.PaymentOutboxEvent;
+import com.HMS.hms.Utility.CoalescingWorker;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Drains the payment outbox on a bounded worker pool.
+ * <p>
+ * Due events are fetched in write order and grouped by user; each user's events run one after
+ * another on a single worker, and a failure stops that user's chain until the failed event's
+ * retry is due, so side effects of one user never overtake each other. Failed events are
+ * retried with exponential backoff and marked FAILED once {@code max-attempts} is used up.
+ * A drain runs on one backend instance at a time.
+ */
+@Service
+public class PaymentOutboxDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(PaymentOutboxDispatcher.class);
+
+    private static final String JOB_NAME = "payment-outbox";
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    @Autowired
+    private PaymentOutboxRepo paymentOutboxRepo;
+
+    @Autowired
+    private JobLockService jobLockService;
+
+    @Autowired(required = false)
+    private List<PaymentOutboxHandler> handlers = Collections.emptyList();
+
+    @Value("${payment.outbox.enabled:true}")
+    private boolean enabled;
+
+    @Value("${payment.outbox.workers:4}")
+    private int workerCount;
+
+    @Value("${payment.outbox.batch-size:200}")
+    private int batchSize;
+
+    @Value("${payment.outbox.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${payment.outbox.retry-backoff-ms:5000}")
+    private long retryBackoffMs;
+
+    @Value("${payment.outbox.max-retry-backoff-ms:600000}")
+    private long maxRetryBackoffMs;
+
+    @Value("${payment.outbox.retention-days:7}")
+    private long retentionDays;
+
+    private final Map<PaymentOutboxEvent.EventType, List<PaymentOutboxHandler>> handlersByType =
+            new EnumMap<>(PaymentOutboxEvent.EventType.class);
+
+    private CoalescingWorker coordinator;
+    private ExecutorService workers;
+
+    @PostConstruct
+    public void init() {
+        for (PaymentOutboxHandler handler : handlers) {
+            handlersByType.computeIfAbsent(handler.getEventType(), type -> new ArrayList<>()).add(handler);
+        }
+        coordinator = new CoalescingWorker("payment-outbox-coordinator", this::drain);
+        workers = Executors.newFixedThreadPool(Math.max(1, workerCount),
+                                               CoalescingWorker.namedThreads("payment-outbox-worker"));
+        logger.info("Payment outbox dispatcher started with {} workers and handlers {}", Math.max(1, workerCount),
+                   handlersByType);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        coordinator.shutdown();
+        workers.shutdownNow();
+    }
+
+    /**
+     * Asks for a drain soon on the coordinator thread; returns immediately
+     */
+    public void requestDrain() {
+        if (enabled) {
+            coordinator.requestRun();
+        }
+    }
+
+    // Safety net for wake-ups lost to a restart or to another instance holding the lock
+    @Scheduled(fixedDelayString = "${payment.outbox.poll-interval-ms:10000}",
+               initialDelayString = "${payment.outbox.poll-interval-ms:10000}")
+    public void scheduledDrain() {
+        requestDrain();
+    }
+
+    @Scheduled(cron = "${payment.outbox.purge-cron:0 30 3 * * *}")
+    public void purgeHandledEvents() {
+        int purged = paymentOutboxRepo.deleteDoneBefore(LocalDateTime.now().minusDays(retentionDays));
+        if (purged > 0) {
+            logger.info("Purged {} handled payment outbox events", purged);
+        }
+    }
+
+    /**
+     * Handles every due event, batch by batch, until none is left.
+     *
+     * @return false if the drain was skipped because it is running elsewhere
+     */
+    public boolean drain() {
+        return jobLockService.runExclusively(JOB_NAME, this::drainBatches);
+    }
+
+    private void drainBatches() {
+        while (true) {
+            List<PaymentOutboxEvent> batch = paymentOutboxRepo.findDueEvents(LocalDateTime.now(),
+                                                                             PageRequest.of(0, batchSize));
+            if (batch.isEmpty()) {
+                return;
+            }
+
+            Map<Long, List<PaymentOutboxEvent>> byUser = new LinkedHashMap<>();
+            for (PaymentOutboxEvent event : batch) {
+                byUser.computeIfAbsent(event.getUserId(), userId -> new ArrayList<>()).add(event);
+            }
+
+            List<CompletableFuture<Void>> chains = new ArrayList<>(byUser.size());
+            for (List<PaymentOutboxEvent> userEvents : byUser.values()) {
+                chains.add(CompletableFuture.runAsync(() -> runInOrder(userEvents), workers));
+            }
+            CompletableFuture.allOf(chains.toArray(new CompletableFuture<?>[0])).join();
+
+            if (batch.size() < batchSize) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Handles one user's events in order, stopping at the first failure
+     */
+    private void runInOrder(List<PaymentOutboxEvent> userEvents) {
+        for (PaymentOutboxEvent event : userEvents) {
+            if (!dispatch(event)) {
+                return;
+            }
+        }
+    }
+
+    private boolean dispatch(PaymentOutboxEvent event) {
+        try {
+            for (PaymentOutboxHandler handler : handlersByType.getOrDefault(event.getEventType(), List.of())) {
+                handler.handle(event);
+            }
+            paymentOutboxRepo.markDone(event.getEventId(), LocalDateTime.now());
+            return true;
+        } catch (Exception e) {
+            recordFailure(event, e);
+            return false;
+        }
+    }
+
+    private void recordFailure(PaymentOutboxEvent event, Exception error) {
+        int attempts = event.getAttempts() + 1;
+        String message = String.valueOf(error.getMessage());
+        if (message.length() > MAX_ERROR_LENGTH) {
+            message = message.substring(0, MAX_ERROR_LENGTH);
+        }
+
+        if (attempts >= maxAttempts) {
+            logger.error("Payment outbox event {} failed for the last time after {} attempts: {}",
+                       event, attempts, message, error);
+            paymentOutboxRepo.markAttemptFailed(event.getEventId(), PaymentOutboxEvent.EventStatus.FAILED,
+                                                LocalDateTime.now(), message);
+            return;
+        }
+
+        long backoffMs = CoalescingWorker.backoffMs(attempts, retryBackoffMs, maxRetryBackoffMs);
+        logger.warn("Payment outbox event {} failed (attempt {} of {}), retrying in {} ms: {}",
+                   event, attempts, maxAttempts, backoffMs, message);
+        paymentOutboxRepo.markAttemptFailed(event.getEventId(), PaymentOutboxEvent.EventStatus.PENDING,
+                                            LocalDateTime.now().plusNanos(backoffMs * 1_000_000L), message);
+        coordinator.requestRunAfter(backoffMs);
+    }
+}
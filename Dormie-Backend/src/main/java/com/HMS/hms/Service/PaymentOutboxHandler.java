@@ -0,0 +1,24 @@
+package com.HMS.hms.Service;
+
+import com.HMS.hms.Tables.PaymentOutboxEvent;
+
+/**
+ * A side effect of a payment, run by {@link PaymentOutboxDispatcher} after the payment commits.
+ * <p>
+ * Delivery is at least once: an event is retried when any of its handlers throws, so every
+ * handler must tolerate seeing the same event again. Events of one user reach handlers in the
+ * order they were written.
+ */
+public interface PaymentOutboxHandler {
+
+    /**
+     * @return the event type this handler reacts to
+     */
+    PaymentOutboxEvent.EventType getEventType();
+
+    /**
+     * @param event The event to handle
+     * @throws Exception to have the event retried later
+     */
+    void handle(PaymentOutboxEvent event) throws Exception;
+}
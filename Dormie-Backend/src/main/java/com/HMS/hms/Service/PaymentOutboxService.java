@@ -0,0 +1,107 @@
+package com.HMS.hms.Service;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.HMS.hms.Repo.PaymentOutboxRepo;
+import com.HMS.hms.Tables.PaymentOutboxEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Writes payment side effects to the outbox table.
+ * <p>
+ * Events must be written inside the transaction that makes the payment itself durable, so an
+ * event exists exactly when its payment committed. The dispatcher is woken once that
+ * transaction commits; the caller never waits for the side effects.
+ */
+@Service
+public class PaymentOutboxService {
+
+    @Autowired
+    private PaymentOutboxRepo paymentOutboxRepo;
+
+    @Autowired
+    private PaymentOutboxDispatcher paymentOutboxDispatcher;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Records that a transaction was settled.
+     *
+     * @param userId User who paid
+     * @param tranId Settled transaction ID
+     * @param valId Validation ID from the gateway
+     * @param paymentMethod Card type reported by the gateway
+     * @param amount Amount registered for the transaction
+     * @param hallFeeIds Hall fees this settlement marked PAID
+     * @param diningFeeIds Dining fees this settlement marked PAID
+     * @return the written event
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public PaymentOutboxEvent recordPaymentSettled(Long userId, String tranId, String valId, String paymentMethod,
+                                                   BigDecimal amount, Collection<Long> hallFeeIds,
+                                                   Collection<Long> diningFeeIds) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("tran_id", tranId);
+        payload.put("val_id", valId);
+        payload.put("payment_method", paymentMethod);
+        payload.put("amount", amount);
+        payload.put("hall_fee_ids", hallFeeIds);
+        payload.put("dining_fee_ids", diningFeeIds);
+        return record(PaymentOutboxEvent.EventType.PAYMENT_SETTLED, userId, tranId, payload);
+    }
+
+    /**
+     * Records that a validated payment covered fees already paid by another transaction, so part
+     * or all of the charge has to be refunded.
+     *
+     * @param userId User who paid
+     * @param tranId Transaction that was charged
+     * @param valId Validation ID from the gateway
+     * @param amount Amount charged for the whole transaction
+     * @param paidHallFeeIds Hall fees of the transaction that were already paid elsewhere
+     * @param paidDiningFeeIds Dining fees of the transaction that were already paid elsewhere
+     * @return the written event
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public PaymentOutboxEvent recordRefundRequired(Long userId, String tranId, String valId, BigDecimal amount,
+                                                   Collection<Long> paidHallFeeIds, Collection<Long> paidDiningFeeIds) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("tran_id", tranId);
+        payload.put("val_id", valId);
+        payload.put("amount", amount);
+        payload.put("already_paid_hall_fee_ids", paidHallFeeIds);
+        payload.put("already_paid_dining_fee_ids", paidDiningFeeIds);
+        return record(PaymentOutboxEvent.EventType.PAYMENT_REFUND_REQUIRED, userId, tranId, payload);
+    }
+
+    private PaymentOutboxEvent record(PaymentOutboxEvent.EventType eventType, Long userId, String tranId,
+                                      Map<String, Object> payload) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialise outbox payload for transaction " + tranId, e);
+        }
+        PaymentOutboxEvent event = paymentOutboxRepo.save(new PaymentOutboxEvent(eventType, userId, tranId, json));
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                paymentOutboxDispatcher.requestDrain();
+            }
+        });
+        return event;
+    }
+}
@@ -0,0 +1,37 @@
+package com.HMS.hms.Service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.HMS.hms.Tables.PaymentOutboxEvent;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Writes a receipt line for every settled payment to the application log, off the callback path.
+ * Receipt e-mails, notifications or ledger entries belong in further handlers of the same event.
+ */
+@Component
+public class PaymentReceiptLogHandler implements PaymentOutboxHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(PaymentReceiptLogHandler.class);
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Override
+    public PaymentOutboxEvent.EventType getEventType() {
+        return PaymentOutboxEvent.EventType.PAYMENT_SETTLED;
+    }
+
+    @Override
+    public void handle(PaymentOutboxEvent event) throws Exception {
+        JsonNode payload = objectMapper.readTree(event.getPayload());
+        logger.info("Payment receipt - user: {}, tran_id: {}, val_id: {}, amount: {}, method: {}, hall fees: {}, dining fees: {}",
+                   event.getUserId(), event.getTranId(), payload.path("val_id").asText(),
+                   payload.path("amount").asText(), payload.path("payment_method").asText(),
+                   payload.path("hall_fee_ids"), payload.path("dining_fee_ids"));
+    }
+}
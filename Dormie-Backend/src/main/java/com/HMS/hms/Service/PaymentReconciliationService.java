@@ -0,0 +1,253 @@
+package com.HMS.hms.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.HMS.hms.Payment.TransactionStatusChecker;
+import com.HMS.hms.Payment.TransactionStatusChecker.Resolution;
+import com.HMS.hms.Payment.TransactionStatusChecker.TransactionOutcome;
+import com.HMS.hms.Payment.parametermappings.SSLCommerzValidatorResponse;
+import com.HMS.hms.Repo.PendingTransactionRepo;
+import com.HMS.hms.Tables.PendingTransaction;
+import com.HMS.hms.Utility.CoalescingWorker;
+import com.HMS.hms.Utility.RateLimiter;
+
+/**
+ * Resolves payments whose gateway callback never arrived (closed browser, network drop).
+ * <p>
+ * Periodically pages through PENDING transactions older than {@code stale-after-minutes} and asks
+ * the gateway what happened to each one, with bounded concurrency and a request-rate cap. Paid
+ * transactions are settled exactly as a success callback would; transactions the gateway reports
+ * as failed or cancelled are closed, and ones it never saw are expired after
+ * {@code expire-after-minutes}. Only one backend instance runs the job at a time.
+ */
+@Service
+public class PaymentReconciliationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PaymentReconciliationService.class);
+
+    private static final String JOB_NAME = "payment-reconciliation";
+    private static final LocalDateTime KEYSET_START = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    @Autowired
+    private PendingTransactionRepo pendingTransactionRepo;
+
+    @Autowired
+    private PaymentSettlementService paymentSettlementService;
+
+    @Autowired
+    private TransactionStatusChecker transactionStatusChecker;
+
+    @Autowired
+    private JobLockService jobLockService;
+
+    @Value("${payment.reconciliation.enabled:true}")
+    private boolean enabled;
+
+    @Value("${payment.reconciliation.stale-after-minutes:15}")
+    private long staleAfterMinutes;
+
+    @Value("${payment.reconciliation.expire-after-minutes:1440}")
+    private long expireAfterMinutes;
+
+    @Value("${payment.reconciliation.page-size:100}")
+    private int pageSize;
+
+    @Value("${payment.reconciliation.concurrency:4}")
+    private int concurrency;
+
+    @Value("${payment.reconciliation.requests-per-second:5}")
+    private double requestsPerSecond;
+
+    @Scheduled(fixedDelayString = "${payment.reconciliation.interval-ms:300000}",
+               initialDelayString = "${payment.reconciliation.initial-delay-ms:60000}")
+    public void scheduledReconciliation() {
+        if (enabled) {
+            reconcile();
+        }
+    }
+
+    /**
+     * Runs one reconciliation pass over all stale pending transactions.
+     *
+     * @return counts of what the pass did; {@link ReconciliationRun#isSkipped()} if another
+     *         instance held the job lock
+     */
+    public ReconciliationRun reconcile() {
+        ReconciliationRun run = new ReconciliationRun();
+        boolean ran = jobLockService.runExclusively(JOB_NAME, () -> reconcilePages(run));
+        if (!ran) {
+            run.skipped = true;
+        } else {
+            logger.info("Payment reconciliation finished: {}", run);
+        }
+        return run;
+    }
+
+    private void reconcilePages(ReconciliationRun run) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime staleCutoff = now.minusMinutes(staleAfterMinutes);
+        LocalDateTime expiryCutoff = now.minusMinutes(expireAfterMinutes);
+        RateLimiter rateLimiter = new RateLimiter(requestsPerSecond, Math.max(1, concurrency));
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, concurrency),
+                                                           CoalescingWorker.namedThreads("payment-reconciliation"));
+
+        try {
+            LocalDateTime afterCreatedAt = KEYSET_START;
+            String afterTranId = "";
+            while (true) {
+                List<PendingTransaction> page = pendingTransactionRepo.findStalePendingAfter(
+                        staleCutoff, afterCreatedAt, afterTranId, PageRequest.of(0, pageSize));
+                if (page.isEmpty()) {
+                    break;
+                }
+
+                List<CompletableFuture<GatewayOutcome>> checks = new ArrayList<>(page.size());
+                for (PendingTransaction pending : page) {
+                    checks.add(CompletableFuture.supplyAsync(() -> check(pending, rateLimiter), executor));
+                }
+                List<GatewayOutcome> outcomes = new ArrayList<>(page.size());
+                for (CompletableFuture<GatewayOutcome> check : checks) {
+                    outcomes.add(check.join());
+                }
+                apply(outcomes, expiryCutoff, run);
+
+                PendingTransaction last = page.get(page.size() - 1);
+                afterCreatedAt = last.getCreatedAt();
+                afterTranId = last.getTranId();
+                if (page.size() < pageSize) {
+                    break;
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Asks the gateway about one transaction. Never throws; errors become {@link Resolution#UNKNOWN}.
+     */
+    private GatewayOutcome check(PendingTransaction pending, RateLimiter rateLimiter) {
+        try {
+            rateLimiter.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new GatewayOutcome(pending, new TransactionOutcome(Resolution.UNKNOWN, null));
+        }
+        return new GatewayOutcome(pending, transactionStatusChecker.checkTransaction(pending.getTranId()));
+    }
+
+    /**
+     * Settles paid transactions one by one (each is a single short transaction) and closes the
+     * rest of the page with one UPDATE per resulting status.
+     */
+    private void apply(List<GatewayOutcome> outcomes, LocalDateTime expiryCutoff, ReconciliationRun run) {
+        List<String> failed = new ArrayList<>();
+        List<String> cancelled = new ArrayList<>();
+        List<String> expired = new ArrayList<>();
+
+        for (GatewayOutcome outcome : outcomes) {
+            run.checked.incrementAndGet();
+            PendingTransaction pending = outcome.pending;
+            switch (outcome.gateway.getResolution()) {
+                case PAID -> {
+                    if (!outcome.amountMatches()) {
+                        logger.error("Gateway amount {} does not match registered {} for transaction {}, leaving it pending",
+                                   outcome.gateway.getPayment().amount, pending.getAmount(), pending.getTranId());
+                        run.unresolved.incrementAndGet();
+                    } else if (paymentSettlementService.settle(pending.getTranId(), outcome.gateway.getPayment().val_id,
+                            outcome.gateway.getPayment().card_type).isSettled()) {
+                        run.settled.incrementAndGet();
+                    }
+                }
+                case FAILED -> failed.add(pending.getTranId());
+                case CANCELLED -> cancelled.add(pending.getTranId());
+                case NOT_FOUND -> {
+                    if (pending.getCreatedAt().isBefore(expiryCutoff)) {
+                        expired.add(pending.getTranId());
+                    } else {
+                        run.unresolved.incrementAndGet();
+                    }
+                }
+                case UNKNOWN -> run.unresolved.incrementAndGet();
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        if (!failed.isEmpty()) {
+            run.failed.addAndGet(pendingTransactionRepo.closePendingTransactions(
+                    failed, PendingTransaction.TransactionStatus.FAILED, now));
+        }
+        if (!cancelled.isEmpty()) {
+            run.cancelled.addAndGet(pendingTransactionRepo.closePendingTransactions(
+                    cancelled, PendingTransaction.TransactionStatus.CANCELLED, now));
+        }
+        if (!expired.isEmpty()) {
+            run.expired.addAndGet(pendingTransactionRepo.closePendingTransactions(
+                    expired, PendingTransaction.TransactionStatus.EXPIRED, now));
+        }
+    }
+
+    /**
+     * What the gateway reported for one pending transaction
+     */
+    private static class GatewayOutcome {
+        private final PendingTransaction pending;
+        private final TransactionOutcome gateway;
+
+        GatewayOutcome(PendingTransaction pending, TransactionOutcome gateway) {
+            this.pending = pending;
+            this.gateway = gateway;
+        }
+
+        boolean amountMatches() {
+            SSLCommerzValidatorResponse payment = gateway.getPayment();
+            try {
+                return payment.amount != null && new BigDecimal(payment.amount).compareTo(pending.getAmount()) == 0;
+            } catch (NumberFormatException e) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Counters for one reconciliation pass
+     */
+    public static class ReconciliationRun {
+        private boolean skipped;
+        private final AtomicInteger checked = new AtomicInteger();
+        private final AtomicInteger settled = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+        private final AtomicInteger cancelled = new AtomicInteger();
+        private final AtomicInteger expired = new AtomicInteger();
+        private final AtomicInteger unresolved = new AtomicInteger();
+
+        public boolean isSkipped() { return skipped; }
+        public int getChecked() { return checked.get(); }
+        public int getSettled() { return settled.get(); }
+        public int getFailed() { return failed.get(); }
+        public int getCancelled() { return cancelled.get(); }
+        public int getExpired() { return expired.get(); }
+        public int getUnresolved() { return unresolved.get(); }
+
+        @Override
+        public String toString() {
+            return "checked=" + checked + ", settled=" + settled + ", failed=" + failed + ", cancelled=" + cancelled
+                    + ", expired=" + expired + ", unresolved=" + unresolved;
+        }
+    }
+}
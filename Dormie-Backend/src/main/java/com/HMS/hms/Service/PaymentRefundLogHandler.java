@@ -0,0 +1,38 @@
+package com.HMS.hms.Service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.HMS.hms.Tables.PaymentOutboxEvent;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Logs every payment that charged for fees already paid by another transaction, so it can be
+ * refunded. The transaction itself stays REFUND_REQUIRED until the refund is issued; a gateway
+ * refund call or a notification to the accounts office belongs in further handlers of this event.
+ */
+@Component
+public class PaymentRefundLogHandler implements PaymentOutboxHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(PaymentRefundLogHandler.class);
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Override
+    public PaymentOutboxEvent.EventType getEventType() {
+        return PaymentOutboxEvent.EventType.PAYMENT_REFUND_REQUIRED;
+    }
+
+    @Override
+    public void handle(PaymentOutboxEvent event) throws Exception {
+        JsonNode payload = objectMapper.readTree(event.getPayload());
+        logger.warn("Refund required - user: {}, tran_id: {}, val_id: {}, amount: {}, already paid hall fees: {}, dining fees: {}",
+                   event.getUserId(), event.getTranId(), payload.path("val_id").asText(),
+                   payload.path("amount").asText(), payload.path("already_paid_hall_fee_ids"),
+                   payload.path("already_paid_dining_fee_ids"));
+    }
+}
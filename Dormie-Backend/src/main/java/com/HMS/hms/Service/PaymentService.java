@@ -3,34 +3,47 @@ package com.HMS.hms.Service;
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.math.BigDecimal;
-import java.util.List;
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
-import com.HMS.hms.DTO.UnpaidFeesSummaryDTO;
 import com.HMS.hms.Payment.TransactionResponseValidator;
+import com.HMS.hms.Payment.TransactionStatusChecker;
 import com.HMS.hms.Payment.Utility.PaymentTransactionHelper;
 import com.HMS.hms.Payment.Utility.PaymentTransactionResponse;
+import com.HMS.hms.Repo.PendingTransactionRepo;
 import com.HMS.hms.Repo.StudentDiningFeesRepo;
 import com.HMS.hms.Repo.StudentHallFeesRepo;
-import com.HMS.hms.Repo.StudentPaymentInfoRepo;
-import com.HMS.hms.Repo.UsersRepo;
+import com.HMS.hms.Tables.PendingTransaction;
 import com.HMS.hms.Tables.StudentDiningFees;
 import com.HMS.hms.Tables.StudentHallFees;
-import com.HMS.hms.Tables.StudentPaymentInfo;
-import com.HMS.hms.Tables.Users;
+import com.HMS.hms.Utility.StripedLock;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 
 @Service
 public class PaymentService {
     
     private static final Logger logger = LoggerFactory.getLogger(PaymentService.class);
     
+    private static final long CALLBACK_LOCK_TIMEOUT_SECONDS = 30;
+    
+    static final String CALLBACK_TIMER = "hms.payment.callback";
+    
+    // Serialises duplicate callbacks for the same tran_id within this instance
+    private final StripedLock callbackLocks = new StripedLock(64);
+    
     @Autowired
     private PaymentTransactionHelper paymentTransactionHelper;
     
@@ -41,13 +54,19 @@ public class PaymentService {
     private StudentDiningFeesRepo studentDiningFeesRepo;
     
     @Autowired
-    private StudentPaymentInfoRepo studentPaymentInfoRepo;
+    private PaymentSettlementService paymentSettlementService;
     
     @Autowired
-    private UsersRepo usersRepo;
+    private PendingTransactionRepo pendingTransactionRepo;
     
     @Autowired
     private TransactionResponseValidator transactionResponseValidator;
+    
+    @Autowired
+    private TransactionStatusChecker transactionStatusChecker;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
 
     /**
      * Initiates a payment transaction for a user based on their unpaid fees
@@ -72,13 +91,12 @@ public class PaymentService {
         
         logger.info("Creating payment request with email: {}", email);
         
-        // Get the user's unpaid fees summary
-        UnpaidFeesSummaryDTO hallFeesSummary = studentHallFeesRepo.getUnpaidFeesSummaryByUserId(userId);
-        UnpaidFeesSummaryDTO diningFeesSummary = studentDiningFeesRepo.getUnpaidFeesSummaryByUserId(userId);
+        // Get the user's unpaid fees with their amounts
+        UnpaidFeeSelection unpaidFees = selectUnpaidFees(userId, true, true);
         
         // Calculate total unpaid amount
-        BigDecimal totalUnpaidAmount = calculateTotalUnpaidAmount(hallFeesSummary, diningFeesSummary);
-        String feeDescription = generateFeeDescription(hallFeesSummary, diningFeesSummary);
+        BigDecimal totalUnpaidAmount = unpaidFees.getTotalAmount();
+        String feeDescription = generateFeeDescription(unpaidFees.getHallAmount(), unpaidFees.getDiningAmount());
         
         // Check if user has any unpaid fees
         if (totalUnpaidAmount.compareTo(BigDecimal.ZERO) <= 0) {
@@ -98,6 +116,9 @@ public class PaymentService {
             return PaymentInitiationResult.failure("Invalid payment request: " + e.getMessage());
         }
         
+        // Register the transaction before redirecting so the callback can resolve it by tran_id
+        registerPendingTransaction(paymentRequest.getTransactionId(), userId, totalUnpaidAmount, feeDescription, unpaidFees);
+        
         // Initialize the transaction using the new response method
         PaymentTransactionResponse paymentResponse = 
                 paymentTransactionHelper.initiatePaymentTransactionWithResponse(paymentRequest);
@@ -110,6 +131,7 @@ public class PaymentService {
                 paymentResponse.getTransactionId()
             );
         } else {
+            markTransaction(paymentRequest.getTransactionId(), PendingTransaction.TransactionStatus.FAILED);
             logger.error("Payment transaction failed for user: {} - {}", username, paymentResponse.getErrorMessage());
             return PaymentInitiationResult.failure("Payment initiation failed: " + paymentResponse.getErrorMessage());
         }
@@ -138,12 +160,12 @@ public class PaymentService {
         
         logger.info("Creating hall fees payment request with email: {}", email);
         
-        // Get only the user's unpaid hall fees summary (excluding dining fees)
-        UnpaidFeesSummaryDTO hallFeesSummary = studentHallFeesRepo.getUnpaidFeesSummaryByUserId(userId);
+        // Get only the user's unpaid hall fees (excluding dining fees)
+        UnpaidFeeSelection unpaidFees = selectUnpaidFees(userId, true, false);
         
         // Calculate total unpaid hall fees amount only
-        BigDecimal totalHallFeesAmount = calculateHallFeesAmount(hallFeesSummary);
-        String feeDescription = generateHallFeeDescription(hallFeesSummary);
+        BigDecimal totalHallFeesAmount = unpaidFees.getHallAmount();
+        String feeDescription = generateHallFeeDescription(totalHallFeesAmount);
         
         // Check if user has any unpaid hall fees
         if (totalHallFeesAmount.compareTo(BigDecimal.ZERO) <= 0) {
@@ -163,6 +185,9 @@ public class PaymentService {
             return PaymentInitiationResult.failure("Invalid payment request: " + e.getMessage());
         }
         
+        // Register the transaction before redirecting so the callback can resolve it by tran_id
+        registerPendingTransaction(paymentRequest.getTransactionId(), userId, totalHallFeesAmount, feeDescription, unpaidFees);
+        
         // Initialize the transaction using the new response method
         PaymentTransactionResponse paymentResponse = 
                 paymentTransactionHelper.initiatePaymentTransactionWithResponse(paymentRequest);
@@ -175,6 +200,7 @@ public class PaymentService {
                 paymentResponse.getTransactionId()
             );
         } else {
+            markTransaction(paymentRequest.getTransactionId(), PendingTransaction.TransactionStatus.FAILED);
             logger.error("Hall fees payment transaction failed for user: {} - {}", username, paymentResponse.getErrorMessage());
             return PaymentInitiationResult.failure("Hall fees payment initiation failed: " + paymentResponse.getErrorMessage());
         }
@@ -203,12 +229,12 @@ public class PaymentService {
         
         logger.info("Creating dining fees payment request with email: {}", email);
         
-        // Get only the user's unpaid dining fees summary (excluding hall fees)
-        UnpaidFeesSummaryDTO diningFeesSummary = studentDiningFeesRepo.getUnpaidFeesSummaryByUserId(userId);
+        // Get only the user's unpaid dining fees (excluding hall fees)
+        UnpaidFeeSelection unpaidFees = selectUnpaidFees(userId, false, true);
         
         // Calculate total unpaid dining fees amount only
-        BigDecimal totalDiningFeesAmount = calculateDiningFeesAmount(diningFeesSummary);
-        String feeDescription = generateDiningFeeDescription(diningFeesSummary);
+        BigDecimal totalDiningFeesAmount = unpaidFees.getDiningAmount();
+        String feeDescription = generateDiningFeeDescription(totalDiningFeesAmount);
         
         // Check if user has any unpaid dining fees
         if (totalDiningFeesAmount.compareTo(BigDecimal.ZERO) <= 0) {
@@ -228,6 +254,9 @@ public class PaymentService {
             return PaymentInitiationResult.failure("Invalid payment request: " + e.getMessage());
         }
         
+        // Register the transaction before redirecting so the callback can resolve it by tran_id
+        registerPendingTransaction(paymentRequest.getTransactionId(), userId, totalDiningFeesAmount, feeDescription, unpaidFees);
+        
         // Initialize the transaction using the new response method
         PaymentTransactionResponse paymentResponse = 
                 paymentTransactionHelper.initiatePaymentTransactionWithResponse(paymentRequest);
@@ -240,6 +269,7 @@ public class PaymentService {
                 paymentResponse.getTransactionId()
             );
         } else {
+            markTransaction(paymentRequest.getTransactionId(), PendingTransaction.TransactionStatus.FAILED);
             logger.error("Dining fees payment transaction failed for user: {} - {}", username, paymentResponse.getErrorMessage());
             return PaymentInitiationResult.failure("Dining fees payment initiation failed: " + paymentResponse.getErrorMessage());
         }
@@ -247,218 +277,169 @@ public class PaymentService {
 
     /**
      * Processes payment success callback data
+     * The transaction is resolved by its tran_id in the pending-transaction registry, and
+     * exactly the fees recorded at initiation are settled. Duplicate callbacks for the same
+     * tran_id are serialised and settle at most once
      * 
      * @param params The callback parameters from payment gateway
      * @return PaymentCallbackResult with processed data
      */
-    @Transactional
     public PaymentCallbackResult processSuccessCallback(Map<String, String> params) {
+        return timeCallback("success", () -> handleSuccessCallback(params));
+    }
+
+    private PaymentCallbackResult handleSuccessCallback(Map<String, String> params) {
         logger.info("Payment success callback received with params: {}", params);
         
+        // Extract callback parameters
+        String tranId = params.getOrDefault("tran_id", "");
+        String valId = params.getOrDefault("val_id", "");
+        String status = params.getOrDefault("status", "");
+        
+        // Validate required parameters
+        if (tranId.isEmpty() || valId.isEmpty()) {
+            logger.error("Missing required parameters in callback: tran_id={}, val_id={}", 
+                       tranId, valId);
+            return new PaymentCallbackResult(false, "/payment-error.html", tranId, valId, status, 
+                                            "Missing required payment parameters");
+        }
+        
+        // Check the callback against the registry and the gateway before taking the lock,
+        // so a slow validation call does not hold up the other callback for this tran_id
         try {
-            // Extract callback parameters
-            String tranId = params.getOrDefault("tran_id", "");
-            String valId = params.getOrDefault("val_id", "");
-            String status = params.getOrDefault("status", "");
-            String customerEmail = params.getOrDefault("value_a", "");
-            String paymentMethod = params.getOrDefault("card_type", "");
-            
-            // Validate required parameters
-            if (tranId.isEmpty() || valId.isEmpty()) {
-                logger.error("Missing required parameters in callback: tran_id={}, val_id={}", 
-                           tranId, valId);
-                return new PaymentCallbackResult(false, "/payment-error.html", tranId, valId, status, 
-                                                "Missing required payment parameters");
-            }
-            
-            // CRITICAL: Check for duplicate transaction FIRST to prevent race conditions
-            if (studentPaymentInfoRepo.existsByTranId(tranId)) {
-                logger.warn("Duplicate transaction detected: {}", tranId);
-                String redirectUrl = "/payment-success.html?tran_id=" + tranId + "&val_id=" + valId + "&status=" + status;
-                return new PaymentCallbackResult(true, redirectUrl, tranId, valId, status, "Transaction already processed");
-            }
-            
-            logger.info("Processing payment callback with tran_id: {}, val_id: {}, customerEmail: '{}'", 
-                       tranId, valId, customerEmail);
-            
-            // If customerEmail is empty from value_a, we need an alternative approach
-            // We can look up all users and find who has unpaid fees matching the transaction amount
-            Users user = null;
-            if (customerEmail == null || customerEmail.trim().isEmpty()) {
-                logger.warn("Customer email is empty in callback, attempting to find user by transaction amount");
-                
-                // Get transaction amount
-                String amountStr = params.getOrDefault("amount", "");
-                if (!amountStr.isEmpty()) {
-                    try {
-                        BigDecimal transactionAmount = new BigDecimal(amountStr);
-                        logger.info("Looking for user with unpaid fees totaling: {}", transactionAmount);
-                        
-                        // This is a fallback - find user with matching unpaid amount
-                        // Note: This approach has limitations in production with multiple users having same amounts
-                        List<Users> allUsers = usersRepo.findByRole("STUDENT");
-                        for (Users testUser : allUsers) {
-                            UnpaidFeesSummaryDTO hallFees = studentHallFeesRepo.getUnpaidFeesSummaryByUserId(testUser.getUserId());
-                            UnpaidFeesSummaryDTO diningFees = studentDiningFeesRepo.getUnpaidFeesSummaryByUserId(testUser.getUserId());
-                            BigDecimal totalUnpaid = calculateTotalUnpaidAmount(hallFees, diningFees);
-                            
-                            if (totalUnpaid.compareTo(transactionAmount) == 0) {
-                                user = testUser;
-                                logger.info("Found matching user by amount: {} ({})", user.getEmail(), user.getUserId());
-                                break;
-                            }
-                        }
-                        
-                        if (user == null) {
-                            logger.error("No user found with unpaid amount matching transaction: {}", transactionAmount);
-                            return new PaymentCallbackResult(false, "/payment-error.html", tranId, valId, status, 
-                                                            "Unable to identify user for payment");
-                        }
-                    } catch (NumberFormatException e) {
-                        logger.error("Invalid amount format in callback: {}", amountStr);
-                        return new PaymentCallbackResult(false, "/payment-error.html", tranId, valId, status, 
-                                                        "Invalid transaction amount format");
-                    }
-                } else {
-                    logger.error("No amount found in callback parameters");
-                    return new PaymentCallbackResult(false, "/payment-error.html", tranId, valId, status, 
-                                                    "Missing transaction amount");
-                }
-            } else {
-                // Original approach - find user by email
-                Optional<Users> userOpt = usersRepo.findByEmail(customerEmail);
-                if (!userOpt.isPresent()) {
-                    logger.error("User not found with email: {}", customerEmail);
-                    return new PaymentCallbackResult(false, "/payment-error.html", tranId, valId, status, 
-                                                    "User not found");
-                }
-                user = userOpt.get();
-            }
-            
-            // Check for duplicate transaction
-            if (studentPaymentInfoRepo.existsByTranId(tranId)) {
-                logger.warn("Duplicate transaction detected: {}", tranId);
-                String redirectUrl = "/payment-success.html?tran_id=" + tranId + "&val_id=" + valId + "&status=" + status;
-                return new PaymentCallbackResult(true, redirectUrl, tranId, valId, status, "Transaction already processed");
-            }
-            
-            // Validate transaction with SSLCommerz
-            boolean isValidTransaction = transactionResponseValidator.receiveSuccessResponse(params);
-            if (!isValidTransaction) {
-                logger.error("Transaction validation failed for tran_id: {}", tranId);
-                return new PaymentCallbackResult(false, "/payment-error.html", tranId, valId, status, 
-                                                "Transaction validation failed");
+            PaymentCallbackResult rejected = checkSuccessCallback(params, tranId, valId, status);
+            if (rejected != null) {
+                return rejected;
             }
-            
-            logger.info("Processing payment for user: {} (ID: {})", user.getEmail(), user.getUserId());
-            
-            // Create payment info records and update fee statuses
+        } catch (Exception e) {
+            logger.error("Error validating payment callback: {}", e.getMessage(), e);
+            return new PaymentCallbackResult(false, "/payment-error.html", "", "", "", 
+                                            "Internal error processing payment");
+        }
+        
+        // The IPN and the browser redirect usually arrive together; settle one callback per tran_id at a time
+        ReentrantLock lock;
+        try {
+            lock = callbackLocks.tryLock(tranId, CALLBACK_LOCK_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            lock = null;
+        }
+        if (lock == null) {
+            logger.error("Timed out waiting for another callback of transaction {}", tranId);
+            return new PaymentCallbackResult(false, "/payment-error.html", tranId, valId, status, 
+                                            "Transaction is being processed, please retry");
+        }
+        
+        try {
+            return settleSuccessCallback(params, tranId, valId, status);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Checks a success callback against the transaction registered at initiation and validates
+     * it with the gateway. Runs without the callback lock and outside any database transaction.
+     *
+     * @return the response for a rejected or duplicate callback, or {@code null} if it should be settled
+     */
+    private PaymentCallbackResult checkSuccessCallback(Map<String, String> params, String tranId,
+                                                       String valId, String status) throws Exception {
+        String amountStr = params.getOrDefault("amount", "");
+        
+        // Resolve the transaction registered at initiation
+        Optional<PendingTransaction> pendingOpt = pendingTransactionRepo.findById(tranId);
+        if (!pendingOpt.isPresent()) {
+            logger.error("No pending transaction registered for tran_id: {}", tranId);
+            return new PaymentCallbackResult(false, "/payment-error.html", tranId, valId, status, 
+                                            "Unknown transaction");
+        }
+        PendingTransaction pending = pendingOpt.get();
+        
+        // Duplicate callback for a transaction that was already settled
+        if (pending.getStatus() == PendingTransaction.TransactionStatus.SETTLED
+                || pending.getStatus() == PendingTransaction.TransactionStatus.REFUND_REQUIRED) {
+            logger.warn("Duplicate transaction detected: {}", tranId);
+            return alreadyProcessed(tranId, valId, status);
+        }
+        
+        // A FAILED, CANCELLED or EXPIRED transaction is still settled if the gateway validates the payment:
+        // the money has been taken, and those statuses may come from a forged callback or our own timeout
+        if (pending.getStatus() != PendingTransaction.TransactionStatus.PENDING) {
+            logger.warn("Transaction {} is {}; settling it only if the gateway validates the payment", 
+                       tranId, pending.getStatus());
+        }
+        
+        // The gateway must report the amount that was registered for this transaction
+        if (!amountStr.isEmpty()) {
             try {
-                boolean hasHallFees = false;
-                boolean hasDiningFees = false;
-                
-                // Find and update hall fees
-                List<StudentHallFees> unpaidHallFees = studentHallFeesRepo.findByUserIdAndStatus(
-                    user.getUserId(), StudentHallFees.PaymentStatus.UNPAID);
-                
-                for (StudentHallFees hallFee : unpaidHallFees) {
-                    // Double-check the fee is still unpaid (optimistic check)
-                    if (hallFee.getStatus() == StudentHallFees.PaymentStatus.UNPAID) {
-                        hallFee.setStatus(StudentHallFees.PaymentStatus.PAID);
-                        studentHallFeesRepo.save(hallFee);
-                        logger.info("Updated hall fee {} to PAID for user {}", hallFee.getFeeId(), user.getUserId());
-                        hasHallFees = true;
-                    } else {
-                        logger.warn("Hall fee {} was already paid for user {}", hallFee.getFeeId(), user.getUserId());
-                    }
-                }
-                
-                // Find and update dining fees
-                List<StudentDiningFees> unpaidDiningFees = studentDiningFeesRepo.findByUserIdAndStatus(
-                    user.getUserId(), StudentDiningFees.PaymentStatus.UNPAID);
-                
-                for (StudentDiningFees diningFee : unpaidDiningFees) {
-                    // Double-check the fee is still unpaid (optimistic check)
-                    if (diningFee.getStatus() == StudentDiningFees.PaymentStatus.UNPAID) {
-                        diningFee.setStatus(StudentDiningFees.PaymentStatus.PAID);
-                        studentDiningFeesRepo.save(diningFee);
-                        logger.info("Updated dining fee {} to PAID for user {}", diningFee.getFeeId(), user.getUserId());
-                        hasDiningFees = true;
-                    } else {
-                        logger.warn("Dining fee {} was already paid for user {}", diningFee.getFeeId(), user.getUserId());
-                    }
-                }
-                
-                // Create payment records for each fee that was paid
-                if (hasHallFees || hasDiningFees) {
-                    // Double-check that we haven't already created a payment record for this transaction
-                    if (!studentPaymentInfoRepo.existsByTranId(tranId)) {
-                        
-                        // Create payment records for hall fees
-                        if (hasHallFees) {
-                            List<StudentHallFees> paidHallFees = studentHallFeesRepo.findByUserIdAndStatus(
-                                user.getUserId(), StudentHallFees.PaymentStatus.PAID);
-                            
-                            for (StudentHallFees hallFee : paidHallFees) {
-                                StudentPaymentInfo hallPaymentInfo = new StudentPaymentInfo(
-                                    hallFee.getFeeId(),
-                                    StudentPaymentInfo.FeeType.HALL,
-                                    tranId,
-                                    valId,
-                                    paymentMethod
-                                );
-                                studentPaymentInfoRepo.save(hallPaymentInfo);
-                                logger.info("Created hall payment record for feeId: {} with transaction: {}", 
-                                          hallFee.getFeeId(), tranId);
-                            }
-                        }
-                        
-                        // Create payment records for dining fees
-                        if (hasDiningFees) {
-                            List<StudentDiningFees> paidDiningFees = studentDiningFeesRepo.findByUserIdAndStatus(
-                                user.getUserId(), StudentDiningFees.PaymentStatus.PAID);
-                            
-                            for (StudentDiningFees diningFee : paidDiningFees) {
-                                StudentPaymentInfo diningPaymentInfo = new StudentPaymentInfo(
-                                    diningFee.getFeeId(),
-                                    StudentPaymentInfo.FeeType.DINING,
-                                    tranId,
-                                    valId,
-                                    paymentMethod
-                                );
-                                studentPaymentInfoRepo.save(diningPaymentInfo);
-                                logger.info("Created dining payment record for feeId: {} with transaction: {}", 
-                                          diningFee.getFeeId(), tranId);
-                            }
-                        }
-                        
-                        logger.info("Created payment records for transaction: {} with fee types - Hall: {}, Dining: {}", 
-                                  tranId, hasHallFees, hasDiningFees);
-                    } else {
-                        logger.info("Payment record already exists for transaction: {}, skipping creation", tranId);
-                    }
-                } else {
-                    logger.warn("No unpaid fees found to update for user {} in transaction {}", 
-                              user.getUserId(), tranId);
+                if (new BigDecimal(amountStr).compareTo(pending.getAmount()) != 0) {
+                    logger.error("Amount mismatch for tran_id: {} - callback: {}, registered: {}", 
+                               tranId, amountStr, pending.getAmount());
+                    return new PaymentCallbackResult(false, "/payment-error.html", tranId, valId, status, 
+                                                    "Transaction amount mismatch");
                 }
-                
-                logger.info("Payment processing completed successfully for transaction: {}", tranId);
-                
-                // Return success response with redirect URL
-                String redirectUrl = "/payment-success.html?tran_id=" + tranId + "&val_id=" + valId + "&status=" + status;
-                return new PaymentCallbackResult(true, redirectUrl, tranId, valId, status, "Payment processed successfully");
-                
-            } catch (Exception e) {
-                logger.error("Error updating fee records for transaction {}: {}", tranId, e.getMessage(), e);
+            } catch (NumberFormatException e) {
+                logger.error("Invalid amount format in callback: {}", amountStr);
                 return new PaymentCallbackResult(false, "/payment-error.html", tranId, valId, status, 
-                                                "Error updating payment records");
+                                                "Invalid transaction amount format");
             }
-            
+        }
+        
+        logger.info("Processing payment callback with tran_id: {}, val_id: {}, userId: {}", 
+                   tranId, valId, pending.getUserId());
+        
+        // Validate transaction with SSLCommerz
+        boolean isValidTransaction = transactionResponseValidator.receiveSuccessResponse(params);
+        if (!isValidTransaction) {
+            logger.error("Transaction validation failed for tran_id: {}", tranId);
+            return new PaymentCallbackResult(false, "/payment-error.html", tranId, valId, status, 
+                                            "Transaction validation failed");
+        }
+        return null;
+    }
+
+    /**
+     * Settles a validated success callback; the caller holds the tran_id's callback lock.
+     * The settlement's conditional claim still decides which of two concurrent callbacks wins.
+     */
+    private PaymentCallbackResult settleSuccessCallback(Map<String, String> params, String tranId,
+                                                        String valId, String status) {
+        String paymentMethod = params.getOrDefault("card_type", "");
+        String successUrl = "/payment-success.html?tran_id=" + tranId + "&val_id=" + valId + "&status=" + status;
+        
+        // Settle exactly the fees covered by this transaction
+        PaymentSettlementService.SettlementResult settlement;
+        try {
+            settlement = paymentSettlementService.settle(tranId, valId, paymentMethod);
         } catch (Exception e) {
-            logger.error("Error processing payment callback: {}", e.getMessage(), e);
-            return new PaymentCallbackResult(false, "/payment-error.html", "", "", "", 
-                                            "Internal error processing payment");
+            logger.error("Error updating fee records for transaction {}: {}", tranId, e.getMessage(), e);
+            return new PaymentCallbackResult(false, "/payment-error.html", tranId, valId, status, 
+                                            "Error updating payment records");
+        }
+        
+        if (!settlement.isSettled()) {
+            // The other callback for this tran_id, or another instance, settled it first
+            logger.warn("Duplicate transaction detected: {}", tranId);
+            return alreadyProcessed(tranId, valId, status);
         }
+        
+        logger.info("Payment processing completed successfully for transaction: {} - Hall fees: {}, Dining fees: {}", 
+                  tranId, settlement.getHallFeesSettled(), settlement.getDiningFeesSettled());
+        
+        if (settlement.isRefundRequired()) {
+            return new PaymentCallbackResult(true, successUrl, tranId, valId, status, 
+                                            "Payment received; some fees were already paid and will be refunded");
+        }
+        
+        // Return success response with redirect URL
+        return new PaymentCallbackResult(true, successUrl, tranId, valId, status, "Payment processed successfully");
+    }
+
+    private PaymentCallbackResult alreadyProcessed(String tranId, String valId, String status) {
+        String successUrl = "/payment-success.html?tran_id=" + tranId + "&val_id=" + valId + "&status=" + status;
+        return new PaymentCallbackResult(true, successUrl, tranId, valId, status, "Transaction already processed");
     }
 
     /**
@@ -468,7 +449,12 @@ public class PaymentService {
      * @return PaymentCallbackResult with processed data
      */
     public PaymentCallbackResult processFailureCallback(Map<String, String> params) {
+        return timeCallback("failure", () -> handleFailureCallback(params));
+    }
+
+    private PaymentCallbackResult handleFailureCallback(Map<String, String> params) {
         logger.info("Payment failed callback received: {}", params);
+        closeConfirmedTransaction(params.get("tran_id"), PendingTransaction.TransactionStatus.FAILED);
         
         String message = "Payment Failed<br><br>" + params.entrySet().stream()
                 .map(e -> e.getKey() + ": " + e.getValue())
@@ -484,7 +470,12 @@ public class PaymentService {
      * @return PaymentCallbackResult with processed data
      */
     public PaymentCallbackResult processCancellationCallback(Map<String, String> params) {
+        return timeCallback("cancel", () -> handleCancellationCallback(params));
+    }
+
+    private PaymentCallbackResult handleCancellationCallback(Map<String, String> params) {
         logger.info("Payment cancelled callback received: {}", params);
+        closeConfirmedTransaction(params.get("tran_id"), PendingTransaction.TransactionStatus.CANCELLED);
         
         String message = "Payment Cancelled<br><br>" + params.entrySet().stream()
                 .map(e -> e.getKey() + ": " + e.getValue())
@@ -494,58 +485,98 @@ public class PaymentService {
     }
 
     /**
-     * Calculates the total unpaid amount from hall and dining fees
+     * Times a gateway callback, tagged by callback type and whether it was accepted
+     */
+    private PaymentCallbackResult timeCallback(String callback, Supplier<PaymentCallbackResult> handler) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        PaymentCallbackResult result = null;
+        try {
+            result = handler.get();
+            return result;
+        } finally {
+            String outcome = result == null ? "error" : result.isSuccess() ? "accepted" : "rejected";
+            sample.stop(Timer.builder(CALLBACK_TIMER)
+                    .description("Payment gateway callback handling")
+                    .tags("callback", callback, "outcome", outcome)
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Collects the user's unpaid fees together with their amounts, so the pending
+     * transaction records exactly which fees the payment covers
      */
-    private BigDecimal calculateTotalUnpaidAmount(UnpaidFeesSummaryDTO hallFeesSummary, 
-                                                 UnpaidFeesSummaryDTO diningFeesSummary) {
-        BigDecimal totalUnpaidAmount = BigDecimal.ZERO;
+    private UnpaidFeeSelection selectUnpaidFees(Long userId, boolean includeHallFees, boolean includeDiningFees) {
+        UnpaidFeeSelection selection = new UnpaidFeeSelection();
         
-        if (hallFeesSummary != null && hallFeesSummary.getTotalUnpaidAmount() != null) {
-            totalUnpaidAmount = totalUnpaidAmount.add(hallFeesSummary.getTotalUnpaidAmount());
+        if (includeHallFees) {
+            for (Object[] row : studentHallFeesRepo.getUnpaidFeesWithAmountByUserId(userId)) {
+                StudentHallFees hallFee = (StudentHallFees) row[0];
+                selection.addHallFee(hallFee.getFeeId(), (BigDecimal) row[1]);
+            }
         }
         
-        if (diningFeesSummary != null && diningFeesSummary.getTotalUnpaidAmount() != null) {
-            totalUnpaidAmount = totalUnpaidAmount.add(diningFeesSummary.getTotalUnpaidAmount());
+        if (includeDiningFees) {
+            for (Object[] row : studentDiningFeesRepo.getUnpaidFeesWithAmountByUserId(userId)) {
+                StudentDiningFees diningFee = (StudentDiningFees) row[0];
+                selection.addDiningFee(diningFee.getFeeId(), (BigDecimal) row[1]);
+            }
         }
         
-        return totalUnpaidAmount;
+        return selection;
     }
 
     /**
-     * Calculates the total unpaid amount from hall fees only
+     * Persists the pending transaction for a payment that is about to be sent to the gateway
      */
-    private BigDecimal calculateHallFeesAmount(UnpaidFeesSummaryDTO hallFeesSummary) {
-        BigDecimal totalHallFeesAmount = BigDecimal.ZERO;
-        
-        if (hallFeesSummary != null && hallFeesSummary.getTotalUnpaidAmount() != null) {
-            totalHallFeesAmount = hallFeesSummary.getTotalUnpaidAmount();
+    private void registerPendingTransaction(String tranId, Long userId, BigDecimal amount, String feeDescription,
+                                            UnpaidFeeSelection unpaidFees) {
+        PendingTransaction pending = new PendingTransaction(tranId, userId, amount, feeDescription,
+                unpaidFees.getHallFeeIds(), unpaidFees.getDiningFeeIds());
+        pendingTransactionRepo.save(pending);
+        logger.info("Registered pending transaction {} for user {} covering {} hall and {} dining fees", 
+                   tranId, userId, unpaidFees.getHallFeeIds().size(), unpaidFees.getDiningFeeIds().size());
+    }
+
+    /**
+     * Closes a pending transaction after a failure or cancellation callback, but only if the gateway
+     * confirms the attempt did not succeed. The callback endpoints are unauthenticated, so the
+     * callback alone is not trusted; the transaction is closed with the status the gateway reports.
+     * Anything else (paid, unknown to the gateway, gateway unreachable) leaves it PENDING for the
+     * success callback or the reconciliation job.
+     */
+    private void closeConfirmedTransaction(String tranId, PendingTransaction.TransactionStatus claimed) {
+        if (tranId == null || tranId.isEmpty()) {
+            return;
+        }
+        TransactionStatusChecker.TransactionOutcome outcome = transactionStatusChecker.checkTransaction(tranId);
+        switch (outcome.getResolution()) {
+            case FAILED -> markTransaction(tranId, PendingTransaction.TransactionStatus.FAILED);
+            case CANCELLED -> markTransaction(tranId, PendingTransaction.TransactionStatus.CANCELLED);
+            default -> logger.warn("{} callback for transaction {} not confirmed by the gateway ({}), leaving it open",
+                                  claimed, tranId, outcome.getResolution());
         }
-        
-        return totalHallFeesAmount;
     }
 
     /**
-     * Calculates the total unpaid amount from dining fees only
+     * Closes a pending transaction (failed or cancelled); settled transactions are left untouched
      */
-    private BigDecimal calculateDiningFeesAmount(UnpaidFeesSummaryDTO diningFeesSummary) {
-        BigDecimal totalDiningFeesAmount = BigDecimal.ZERO;
-        
-        if (diningFeesSummary != null && diningFeesSummary.getTotalUnpaidAmount() != null) {
-            totalDiningFeesAmount = diningFeesSummary.getTotalUnpaidAmount();
+    private void markTransaction(String tranId, PendingTransaction.TransactionStatus status) {
+        if (tranId == null || tranId.isEmpty()) {
+            return;
+        }
+        int updated = pendingTransactionRepo.closePendingTransaction(tranId, status, LocalDateTime.now());
+        if (updated > 0) {
+            logger.info("Marked transaction {} as {}", tranId, status);
         }
-        
-        return totalDiningFeesAmount;
     }
 
     /**
      * Generates an appropriate fee description based on what types of fees are unpaid
      */
-    private String generateFeeDescription(UnpaidFeesSummaryDTO hallFeesSummary, 
-                                        UnpaidFeesSummaryDTO diningFeesSummary) {
-        boolean hasHallFees = hallFeesSummary != null && hallFeesSummary.getTotalUnpaidAmount() != null 
-                             && hallFeesSummary.getTotalUnpaidAmount().compareTo(BigDecimal.ZERO) > 0;
-        boolean hasDiningFees = diningFeesSummary != null && diningFeesSummary.getTotalUnpaidAmount() != null 
-                               && diningFeesSummary.getTotalUnpaidAmount().compareTo(BigDecimal.ZERO) > 0;
+    private String generateFeeDescription(BigDecimal hallFeesAmount, BigDecimal diningFeesAmount) {
+        boolean hasHallFees = hallFeesAmount.compareTo(BigDecimal.ZERO) > 0;
+        boolean hasDiningFees = diningFeesAmount.compareTo(BigDecimal.ZERO) > 0;
         
         if (hasHallFees && hasDiningFees) {
             return "Hall and Dining Fees";
@@ -561,9 +592,8 @@ public class PaymentService {
     /**
      * Generates fee description for hall fees only
      */
-    private String generateHallFeeDescription(UnpaidFeesSummaryDTO hallFeesSummary) {
-        if (hallFeesSummary != null && hallFeesSummary.getTotalUnpaidAmount() != null 
-            && hallFeesSummary.getTotalUnpaidAmount().compareTo(BigDecimal.ZERO) > 0) {
+    private String generateHallFeeDescription(BigDecimal hallFeesAmount) {
+        if (hallFeesAmount.compareTo(BigDecimal.ZERO) > 0) {
             return "Hall Fees Payment";
         }
         return "No Hall Fees";
@@ -572,14 +602,39 @@ public class PaymentService {
     /**
      * Generates fee description for dining fees only
      */
-    private String generateDiningFeeDescription(UnpaidFeesSummaryDTO diningFeesSummary) {
-        if (diningFeesSummary != null && diningFeesSummary.getTotalUnpaidAmount() != null 
-            && diningFeesSummary.getTotalUnpaidAmount().compareTo(BigDecimal.ZERO) > 0) {
+    private String generateDiningFeeDescription(BigDecimal diningFeesAmount) {
+        if (diningFeesAmount.compareTo(BigDecimal.ZERO) > 0) {
             return "Dining Fees Payment";
         }
         return "No Dining Fees";
     }
 
+    /**
+     * Unpaid fees selected for a payment, with per-type totals
+     */
+    private static class UnpaidFeeSelection {
+        private final Set<Long> hallFeeIds = new LinkedHashSet<>();
+        private final Set<Long> diningFeeIds = new LinkedHashSet<>();
+        private BigDecimal hallAmount = BigDecimal.ZERO;
+        private BigDecimal diningAmount = BigDecimal.ZERO;
+
+        void addHallFee(Long feeId, BigDecimal amount) {
+            hallFeeIds.add(feeId);
+            hallAmount = hallAmount.add(amount);
+        }
+
+        void addDiningFee(Long feeId, BigDecimal amount) {
+            diningFeeIds.add(feeId);
+            diningAmount = diningAmount.add(amount);
+        }
+
+        Set<Long> getHallFeeIds() { return hallFeeIds; }
+        Set<Long> getDiningFeeIds() { return diningFeeIds; }
+        BigDecimal getHallAmount() { return hallAmount; }
+        BigDecimal getDiningAmount() { return diningAmount; }
+        BigDecimal getTotalAmount() { return hallAmount.add(diningAmount); }
+    }
+
     /**
      * Result class for payment initiation operations
      */
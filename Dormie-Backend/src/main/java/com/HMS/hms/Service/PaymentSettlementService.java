@@ -0,0 +1,168 @@
+package com.HMS.hms.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.HMS.hms.Repo.PendingTransactionRepo;
+import com.HMS.hms.Repo.StudentDiningFeesRepo;
+import com.HMS.hms.Repo.StudentHallFeesRepo;
+import com.HMS.hms.Tables.PendingTransaction;
+import com.HMS.hms.Tables.StudentPaymentInfo;
+
+/**
+ * Settles a validated payment in one database transaction with a fixed number of statements,
+ * however many fees the payment covers.
+ */
+@Service
+public class PaymentSettlementService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PaymentSettlementService.class);
+
+    private static final String INSERT_PAYMENT_INFO_SQL =
+            "INSERT INTO student_payment_info (fee_id, fee_type, tran_id, val_id, payment_method) VALUES (?, ?, ?, ?, ?)";
+
+    @Autowired
+    private PendingTransactionRepo pendingTransactionRepo;
+
+    @Autowired
+    private StudentHallFeesRepo studentHallFeesRepo;
+
+    @Autowired
+    private StudentDiningFeesRepo studentDiningFeesRepo;
+
+    @Autowired
+    private PaymentOutboxService paymentOutboxService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Claims the transaction, marks its fees PAID and records one payment row per fee.
+     * <p>
+     * The claim is a conditional update to SETTLED from any unsettled status, so a duplicate callback
+     * (from this or another instance) finds nothing to claim and settles nothing, while a payment
+     * the gateway validated after its transaction was closed is still settled. Payment rows are plain
+     * INSERTs, so the (fee_id, fee_type) primary key rejects a second payment for the same fee
+     * instead of silently overwriting it. A PAYMENT_SETTLED outbox event is written in the same
+     * transaction; its side effects run after commit, off the caller's path.
+     * <p>
+     * If some or all of the fees were already paid by another transaction, the gateway has still
+     * taken the money for them: the transaction ends as REFUND_REQUIRED and a
+     * PAYMENT_REFUND_REQUIRED event lists the fees that were paid twice.
+     *
+     * @param tranId Transaction ID registered at initiation
+     * @param valId Validation ID from the gateway
+     * @param paymentMethod Card type reported by the gateway
+     * @return what was settled, or {@link SettlementResult#alreadySettled()} for a duplicate
+     */
+    @Transactional
+    public SettlementResult settle(String tranId, String valId, String paymentMethod) {
+        if (pendingTransactionRepo.claimForSettlement(tranId, valId, LocalDateTime.now()) == 0) {
+            return SettlementResult.alreadySettled();
+        }
+
+        List<Long> coveredHallFeeIds = pendingTransactionRepo.findHallFeeIdsByTranId(tranId);
+        List<Long> coveredDiningFeeIds = pendingTransactionRepo.findDiningFeeIdsByTranId(tranId);
+        List<Long> hallFeeIds = markPaid(coveredHallFeeIds, true);
+        List<Long> diningFeeIds = markPaid(coveredDiningFeeIds, false);
+
+        List<Object[]> rows = new ArrayList<>(hallFeeIds.size() + diningFeeIds.size());
+        for (Long feeId : hallFeeIds) {
+            rows.add(new Object[] {feeId, StudentPaymentInfo.FeeType.HALL.name(), tranId, valId, paymentMethod});
+        }
+        for (Long feeId : diningFeeIds) {
+            rows.add(new Object[] {feeId, StudentPaymentInfo.FeeType.DINING.name(), tranId, valId, paymentMethod});
+        }
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_PAYMENT_INFO_SQL, rows);
+        }
+
+        PendingTransaction pending = pendingTransactionRepo.findById(tranId)
+                .orElseThrow(() -> new IllegalStateException("Claimed transaction disappeared: " + tranId));
+        if (!rows.isEmpty()) {
+            paymentOutboxService.recordPaymentSettled(pending.getUserId(), tranId, valId, paymentMethod,
+                                                      pending.getAmount(), hallFeeIds, diningFeeIds);
+        }
+
+        // The gateway charged for fees that another transaction had already paid
+        List<Long> paidHallFeeIds = alreadyPaid(coveredHallFeeIds, hallFeeIds);
+        List<Long> paidDiningFeeIds = alreadyPaid(coveredDiningFeeIds, diningFeeIds);
+        boolean refundRequired = !paidHallFeeIds.isEmpty() || !paidDiningFeeIds.isEmpty();
+        if (refundRequired) {
+            pendingTransactionRepo.markRefundRequired(tranId);
+            paymentOutboxService.recordRefundRequired(pending.getUserId(), tranId, valId, pending.getAmount(),
+                                                      paidHallFeeIds, paidDiningFeeIds);
+            logger.warn("Transaction {} covered fees already paid elsewhere and needs a refund - Hall fees: {}, Dining fees: {}",
+                       tranId, paidHallFeeIds, paidDiningFeeIds);
+        }
+
+        logger.info("Settled transaction {} - Hall fees: {}, Dining fees: {}", tranId, hallFeeIds, diningFeeIds);
+        return SettlementResult.settled(hallFeeIds.size(), diningFeeIds.size(), refundRequired);
+    }
+
+    /**
+     * Locks the fees that are still UNPAID and marks them PAID with a single UPDATE.
+     * Fees already paid through another transaction are skipped.
+     *
+     * @return IDs of the fees this call moved to PAID
+     */
+    private List<Long> markPaid(List<Long> feeIds, boolean hall) {
+        if (feeIds.isEmpty()) {
+            return feeIds;
+        }
+        List<Long> unpaid = hall ? studentHallFeesRepo.lockUnpaidFeeIds(feeIds)
+                                 : studentDiningFeesRepo.lockUnpaidFeeIds(feeIds);
+        if (!unpaid.isEmpty()) {
+            if (hall) {
+                studentHallFeesRepo.markFeesPaid(unpaid);
+            } else {
+                studentDiningFeesRepo.markFeesPaid(unpaid);
+            }
+        }
+        return unpaid;
+    }
+
+    private static List<Long> alreadyPaid(List<Long> covered, List<Long> settled) {
+        List<Long> paid = new ArrayList<>(covered);
+        paid.removeAll(settled);
+        return paid;
+    }
+
+    /**
+     * Result holder for a settlement attempt
+     */
+    public static class SettlementResult {
+        private final boolean settled;
+        private final int hallFeesSettled;
+        private final int diningFeesSettled;
+        private final boolean refundRequired;
+
+        private SettlementResult(boolean settled, int hallFeesSettled, int diningFeesSettled, boolean refundRequired) {
+            this.settled = settled;
+            this.hallFeesSettled = hallFeesSettled;
+            this.diningFeesSettled = diningFeesSettled;
+            this.refundRequired = refundRequired;
+        }
+
+        public static SettlementResult settled(int hallFeesSettled, int diningFeesSettled, boolean refundRequired) {
+            return new SettlementResult(true, hallFeesSettled, diningFeesSettled, refundRequired);
+        }
+
+        public static SettlementResult alreadySettled() {
+            return new SettlementResult(false, 0, 0, false);
+        }
+
+        public boolean isSettled() { return settled; }
+        public int getHallFeesSettled() { return hallFeesSettled; }
+        public int getDiningFeesSettled() { return diningFeesSettled; }
+        public boolean isRefundRequired() { return refundRequired; }
+    }
+}
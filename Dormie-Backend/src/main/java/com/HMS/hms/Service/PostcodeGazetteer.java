@@ -0,0 +1,140 @@
+package com.HMS.hms.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Offline index of Bangladesh postcodes and their centroids, loaded once at startup from a
+ * bundled CSV ({@code postcode,latitude,longitude,name}).
+ * <p>
+ * Postcodes are four-digit numbers, so the index is a sorted {@code int[]} with parallel
+ * latitude and longitude arrays; a lookup is one binary search with no allocation beyond the
+ * returned pair. The arrays are never modified after loading and are safe to read from any thread.
+ */
+@Component
+public class PostcodeGazetteer {
+
+    private static final Logger logger = LoggerFactory.getLogger(PostcodeGazetteer.class);
+
+    @Value("${geocoding.gazetteer.location:classpath:geo/bd-postcodes.csv}")
+    private Resource gazetteerResource;
+
+    private int[] postcodes = new int[0];
+    private double[] latitudes = new double[0];
+    private double[] longitudes = new double[0];
+
+    @PostConstruct
+    public void load() {
+        if (!gazetteerResource.exists()) {
+            logger.warn("Postcode gazetteer {} not found, postcodes will only be resolved online", gazetteerResource);
+            return;
+        }
+
+        List<double[]> rows = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(gazetteerResource.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] fields = line.split(",", 4);
+                try {
+                    rows.add(new double[] {Integer.parseInt(fields[0].trim()),
+                                           Double.parseDouble(fields[1].trim()),
+                                           Double.parseDouble(fields[2].trim())});
+                } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+                    logger.warn("Skipping malformed gazetteer line {}: {}", lineNumber, line);
+                }
+            }
+        } catch (IOException e) {
+            logger.error("Could not read postcode gazetteer {}: {}", gazetteerResource, e.getMessage(), e);
+            return;
+        }
+
+        rows.sort(Comparator.comparingDouble(row -> row[0]));
+        int[] codes = new int[rows.size()];
+        double[] lats = new double[rows.size()];
+        double[] lons = new double[rows.size()];
+        int size = 0;
+        for (double[] row : rows) {
+            int code = (int) row[0];
+            if (size > 0 && codes[size - 1] == code) {
+                logger.warn("Duplicate gazetteer postcode {}, keeping the first entry", code);
+                continue;
+            }
+            codes[size] = code;
+            lats[size] = row[1];
+            lons[size] = row[2];
+            size++;
+        }
+
+        postcodes = Arrays.copyOf(codes, size);
+        latitudes = Arrays.copyOf(lats, size);
+        longitudes = Arrays.copyOf(lons, size);
+        logger.info("Loaded {} postcodes from gazetteer {}", size, gazetteerResource);
+    }
+
+    /**
+     * @param postcode The postal code to look up
+     * @return [latitude, longitude] of the postcode's centroid, or null if it is not in the gazetteer
+     */
+    public double[] lookup(String postcode) {
+        int code = parsePostcode(postcode);
+        if (code < 0) {
+            return null;
+        }
+        int index = Arrays.binarySearch(postcodes, code);
+        return index < 0 ? null : new double[] {latitudes[index], longitudes[index]};
+    }
+
+    public int size() {
+        return postcodes.length;
+    }
+
+    /**
+     * Parses a four-digit postcode without allocating; returns -1 for anything else
+     */
+    private static int parsePostcode(String postcode) {
+        if (postcode == null) {
+            return -1;
+        }
+        int start = 0;
+        int end = postcode.length();
+        while (start < end && Character.isWhitespace(postcode.charAt(start))) {
+            start++;
+        }
+        while (end > start && Character.isWhitespace(postcode.charAt(end - 1))) {
+            end--;
+        }
+        if (end - start != 4) {
+            return -1;
+        }
+        int code = 0;
+        for (int i = start; i < end; i++) {
+            char c = postcode.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            code = code * 10 + (c - '0');
+        }
+        return code;
+    }
+}
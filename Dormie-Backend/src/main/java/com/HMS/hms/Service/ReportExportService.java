@@ -0,0 +1,214 @@
+package com.HMS.hms.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.HMS.hms.Export.CsvReportWriter;
+import com.HMS.hms.Export.ReportRowWriter;
+import com.HMS.hms.Export.XlsxReportWriter;
+
+/**
+ * Streams year-end reports (fees, payments, room allocations) as CSV or XLSX.
+ * <p>
+ * Rows are read through a forward-only, read-only JDBC cursor with a fixed fetch size
+ * and written to the output stream one at a time, so heap use stays flat no matter
+ * how many rows the report has. Callers are expected to run this from a
+ * {@code StreamingResponseBody} so the response is written as the rows arrive.
+ */
+@Service
+public class ReportExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReportExportService.class);
+
+    // Rows pulled from the database per round trip
+    private static final int FETCH_SIZE = 500;
+
+    public enum ReportType {
+        HALL_FEES("hall-fees", "Hall Fees",
+                "SELECT shf.fee_id, shf.user_id, shf.student_id, shf.student_type, shf.\"year\", shf.status, "
+                + "hf.fee, spi.tran_id, spi.val_id, spi.payment_method "
+                + "FROM student_hall_fees shf "
+                + "LEFT JOIN hall_fee hf ON hf.type = UPPER(shf.student_type) AND hf.\"year\" = shf.\"year\" "
+                + "LEFT JOIN student_payment_info spi ON spi.fee_id = shf.fee_id AND spi.fee_type = 'HALL'",
+                "shf.\"year\"", "shf.fee_id",
+                "Fee ID", "User ID", "Student ID", "Student Type", "Year", "Status",
+                "Amount", "Transaction ID", "Validation ID", "Payment Method"),
+
+        DINING_FEES("dining-fees", "Dining Fees",
+                "SELECT sdf.fee_id, sdf.user_id, sdf.student_id, sdf.student_type, sdf.\"year\", "
+                + "sdf.start_date, sdf.end_date, sdf.status, "
+                + "df.fee, spi.tran_id, spi.val_id, spi.payment_method "
+                + "FROM student_dining_fees sdf "
+                + "LEFT JOIN dining_fee df ON df.\"year\" = sdf.\"year\" "
+                + "AND df.start_date = sdf.start_date AND df.end_date = sdf.end_date "
+                + "LEFT JOIN student_payment_info spi ON spi.fee_id = sdf.fee_id AND spi.fee_type = 'DINING'",
+                "sdf.\"year\"", "sdf.fee_id",
+                "Fee ID", "User ID", "Student ID", "Student Type", "Year", "Start Date", "End Date",
+                "Status", "Amount", "Transaction ID", "Validation ID", "Payment Method"),
+
+        PAYMENTS("payments", "Payments",
+                "SELECT spi.fee_id, spi.fee_type, COALESCE(shf.user_id, sdf.user_id), "
+                + "COALESCE(shf.student_id, sdf.student_id), COALESCE(shf.\"year\", sdf.\"year\"), "
+                + "spi.tran_id, spi.val_id, spi.payment_method "
+                + "FROM student_payment_info spi "
+                + "LEFT JOIN student_hall_fees shf ON spi.fee_type = 'HALL' AND shf.fee_id = spi.fee_id "
+                + "LEFT JOIN student_dining_fees sdf ON spi.fee_type = 'DINING' AND sdf.fee_id = spi.fee_id",
+                "COALESCE(shf.\"year\", sdf.\"year\")", "spi.fee_type, spi.fee_id",
+                "Fee ID", "Fee Type", "User ID", "Student ID", "Year",
+                "Transaction ID", "Validation ID", "Payment Method"),
+
+        ROOM_ALLOCATIONS("room-allocations", "Room Allocations",
+                "SELECT sr.room_id, sr.student_id, sr.user_id, s.first_name, s.last_name, "
+                + "s.department, s.batch, r.current_student, r.total_capacity "
+                + "FROM student_rooms sr "
+                + "LEFT JOIN students s ON s.user_id = sr.user_id "
+                + "LEFT JOIN rooms r ON r.room_no = sr.room_id",
+                null, "sr.room_id, sr.student_id",
+                "Room No", "Student ID", "User ID", "First Name", "Last Name",
+                "Department", "Batch", "Room Occupancy", "Room Capacity");
+
+        private final String path;
+        private final String title;
+        private final String select;
+        private final String yearColumn;
+        private final String orderBy;
+        private final String[] headers;
+
+        ReportType(String path, String title, String select, String yearColumn, String orderBy, String... headers) {
+            this.path = path;
+            this.title = title;
+            this.select = select;
+            this.yearColumn = yearColumn;
+            this.orderBy = orderBy;
+            this.headers = headers;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        public String getTitle() {
+            return title;
+        }
+
+        public boolean supportsYearFilter() {
+            return yearColumn != null;
+        }
+
+        public static ReportType fromPath(String path) {
+            for (ReportType type : ReportType.values()) {
+                if (type.path.equalsIgnoreCase(path)) {
+                    return type;
+                }
+            }
+            throw new IllegalArgumentException("Unknown report: " + path
+                    + ". Must be one of hall-fees, dining-fees, payments, room-allocations.");
+        }
+    }
+
+    public enum ExportFormat {
+        CSV("csv", "text/csv"),
+        XLSX("xlsx", "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
+
+        private final String extension;
+        private final String contentType;
+
+        ExportFormat(String extension, String contentType) {
+            this.extension = extension;
+            this.contentType = contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public static ExportFormat fromString(String value) {
+            for (ExportFormat format : ExportFormat.values()) {
+                if (format.extension.equalsIgnoreCase(value)) {
+                    return format;
+                }
+            }
+            throw new IllegalArgumentException("Invalid export format: " + value + ". Must be 'csv' or 'xlsx'.");
+        }
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Rejects a year filter on reports that have no year column.
+     * Callers run this before streaming starts, so the error can still be sent as a 400.
+     */
+    public void validateYearFilter(ReportType report, Integer year) {
+        if (year != null && !report.supportsYearFilter()) {
+            throw new IllegalArgumentException("Report " + report.getPath() + " cannot be filtered by year");
+        }
+    }
+
+    /**
+     * Writes the report to the given stream.
+     * The read-only transaction keeps the connection (and, on PostgreSQL, the server-side
+     * cursor that a non-zero fetch size needs) open for the whole export.
+     */
+    @Transactional(readOnly = true)
+    public void export(ReportType report, ExportFormat format, Integer year, OutputStream outputStream) throws IOException {
+        validateYearFilter(report, year);
+
+        StringBuilder sql = new StringBuilder(report.select);
+        if (year != null) {
+            sql.append(" WHERE ").append(report.yearColumn).append(" = ?");
+        }
+        sql.append(" ORDER BY ").append(report.orderBy);
+
+        try (ReportRowWriter writer = openWriter(format, report, outputStream)) {
+            writer.writeHeader(report.headers);
+
+            Object[] row = new Object[report.headers.length];
+            long[] rowCount = {0};
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(sql.toString(),
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(FETCH_SIZE);
+                if (year != null) {
+                    statement.setInt(1, year);
+                }
+                return statement;
+            }, rs -> {
+                for (int i = 0; i < row.length; i++) {
+                    row[i] = rs.getObject(i + 1);
+                }
+                try {
+                    writer.writeRow(row);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                rowCount[0]++;
+            });
+
+            logger.info("Exported {} rows for report {} as {}", rowCount[0], report.getPath(), format.getExtension());
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private ReportRowWriter openWriter(ExportFormat format, ReportType report, OutputStream outputStream) throws IOException {
+        return switch (format) {
+            case CSV -> new CsvReportWriter(outputStream);
+            case XLSX -> new XlsxReportWriter(outputStream, report.getTitle());
+        };
+    }
+}
@@ -0,0 +1,215 @@
+package com.HMS.hms.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.HMS.hms.DTO.StudentDashboardDTO;
+import com.HMS.hms.Security.CurrentStudentContext;
+import com.HMS.hms.Tables.HallApplication;
+import com.HMS.hms.Tables.StudentRoom;
+import com.HMS.hms.Tables.Students;
+import com.HMS.hms.Utility.CoalescingWorker;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Builds the student home page in one request.
+ * <p>
+ * The caller's profile and room come from the request's {@link CurrentStudentContext}. The other
+ * sections (fees, today's meals, complaints, hall application) are loaded concurrently on a
+ * small bounded pool, each in its own read-only transaction. The request waits at most
+ * {@code section-timeout-ms} for all of them together; a section that is late, fails or cannot
+ * be queued is left out and reported in {@link StudentDashboardDTO#getUnavailable()}.
+ * <p>
+ * A late section is cancelled: it is dropped if still queued, and its worker is interrupted if
+ * running. JDBC calls do not react to interrupts, so each section's transaction also times out
+ * after {@code section-timeout-ms} (rounded up to whole seconds), which cancels its running query.
+ */
+@Service
+public class StudentDashboardService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StudentDashboardService.class);
+
+    @Autowired
+    private CurrentStudentContext currentStudentContext;
+
+    @Autowired
+    private StudentsService studentsService;
+
+    @Autowired
+    private StudentHallFeeService studentHallFeeService;
+
+    @Autowired
+    private StudentDiningFeeService studentDiningFeeService;
+
+    @Autowired
+    private MenuCacheService menuCacheService;
+
+    @Autowired
+    private ComplaintService complaintService;
+
+    @Autowired
+    private HallApplicationService hallApplicationService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${student-dashboard.threads:8}")
+    private int threads;
+
+    @Value("${student-dashboard.queue-capacity:200}")
+    private int queueCapacity;
+
+    @Value("${student-dashboard.section-timeout-ms:2000}")
+    private long sectionTimeoutMs;
+
+    private ThreadPoolExecutor executor;
+    private TransactionTemplate readOnlyTransaction;
+
+    @PostConstruct
+    public void init() {
+        int size = Math.max(1, threads);
+        executor = new ThreadPoolExecutor(size, size, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)), CoalescingWorker.namedThreads("student-dashboard"));
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        readOnlyTransaction.setTimeout((int) Math.max(1, TimeUnit.MILLISECONDS.toSeconds(sectionTimeoutMs + 999)));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Dashboard of the authenticated student, or empty if the caller has no student record
+     */
+    public Optional<StudentDashboardDTO> getDashboard() {
+        if (!currentStudentContext.isStudent()) {
+            return Optional.empty();
+        }
+        Students student = currentStudentContext.getStudent().orElseThrow();
+        Optional<StudentRoom> studentRoom = currentStudentContext.getStudentRoom();
+        Long userId = student.getUserId();
+        boolean resident = currentStudentContext.isResidentStudent();
+
+        List<Section<?>> sections = new ArrayList<>();
+        sections.add(start("hallFees",
+                () -> new StudentDashboardDTO.FeeSummary<>(studentHallFeeService.getUnpaidAmountByUserId(userId),
+                        studentHallFeeService.getHallFeePaymentsByUserId(userId)),
+                StudentDashboardDTO::setHallFees));
+        sections.add(start("diningFees",
+                () -> new StudentDashboardDTO.FeeSummary<>(studentDiningFeeService.getUnpaidAmountByUserId(userId),
+                        studentDiningFeeService.getDiningFeePaymentsByUserId(userId)),
+                StudentDashboardDTO::setDiningFees));
+        sections.add(start("recentComplaints", () -> complaintService.getRecentComplaintsByUser(userId),
+                StudentDashboardDTO::setRecentComplaints));
+        sections.add(start("application", () -> toApplicationStatus(hallApplicationService.getHallApplicationByUserId(userId)),
+                StudentDashboardDTO::setApplication));
+
+        // Sections above are already running; fill in what the request already has meanwhile
+        StudentDashboardDTO dashboard = new StudentDashboardDTO();
+        dashboard.setProfile(studentsService.convertToDTO(student));
+        dashboard.setRoomNo(studentRoom.map(StudentRoom::getRoomId).orElse(null));
+        dashboard.setAllocationStatus(allocationStatus(student, dashboard.getRoomNo()));
+        if (resident) {
+            // Served from the precomputed menu cache, no query
+            dashboard.setTodaysMeals(new String(menuCacheService.getTodaysMenu().getBody(), StandardCharsets.UTF_8));
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(sectionTimeoutMs);
+        for (Section<?> section : sections) {
+            section.collect(dashboard, deadline);
+        }
+        return Optional.of(dashboard);
+    }
+
+    // Same wording as GET /api/rooms/allocation-status
+    private static String allocationStatus(Students student, String roomNo) {
+        String residencyStatus = student.getResidencyStatus();
+        if ("attached".equalsIgnoreCase(residencyStatus)) {
+            return "attached";
+        }
+        if ("resident".equalsIgnoreCase(residencyStatus)) {
+            return roomNo != null ? "room assigned to " + roomNo : "room not assigned";
+        }
+        return "unknown status: " + residencyStatus;
+    }
+
+    private static StudentDashboardDTO.ApplicationStatus toApplicationStatus(Optional<HallApplication> application) {
+        return application
+                .map(a -> new StudentDashboardDTO.ApplicationStatus(a.getApplicationId(), a.getApplicationStatus(), a.getApplicationDate()))
+                .orElseGet(() -> new StudentDashboardDTO.ApplicationStatus(null, "no application", null));
+    }
+
+    private <T> Section<T> start(String name, Supplier<T> loader, BiConsumer<StudentDashboardDTO, T> setter) {
+        Future<T> future;
+        try {
+            // A FutureTask, unlike a CompletableFuture, interrupts its worker when cancelled
+            future = executor.submit(() -> readOnlyTransaction.execute(status -> loader.get()));
+        } catch (RejectedExecutionException e) {
+            future = CompletableFuture.failedFuture(e);
+        }
+        return new Section<>(name, future, setter);
+    }
+
+    /**
+     * One concurrently loaded part of the dashboard. Results are only ever written to the
+     * dashboard on the request thread, so a section finishing after its deadline changes nothing.
+     */
+    private static class Section<T> {
+        private final String name;
+        private final Future<T> future;
+        private final BiConsumer<StudentDashboardDTO, T> setter;
+
+        Section(String name, Future<T> future, BiConsumer<StudentDashboardDTO, T> setter) {
+            this.name = name;
+            this.future = future;
+            this.setter = setter;
+        }
+
+        void collect(StudentDashboardDTO dashboard, long deadline) {
+            try {
+                long remaining = Math.max(0, deadline - System.nanoTime());
+                setter.accept(dashboard, future.get(remaining, TimeUnit.NANOSECONDS));
+            } catch (TimeoutException e) {
+                future.cancel(true);
+                logger.warn("Dashboard section {} timed out", name);
+                dashboard.getUnavailable().put(name, "timeout");
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                boolean busy = cause instanceof RejectedExecutionException;
+                if (busy) {
+                    logger.warn("Dashboard section {} rejected, pool is full", name);
+                } else {
+                    logger.warn("Dashboard section {} failed: {}", name, cause == null ? e.getMessage() : cause.getMessage());
+                }
+                dashboard.getUnavailable().put(name, busy ? "busy" : "error");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                dashboard.getUnavailable().put(name, "timeout");
+            }
+        }
+    }
+}
@@ -2,7 +2,6 @@ package com.HMS.hms.Service;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -12,12 +11,11 @@ import org.springframework.stereotype.Service;
 
 import com.HMS.hms.DTO.StudentDiningFeeDTO;
 import com.HMS.hms.DTO.StudentDiningFeePaymentDTO;
+import com.HMS.hms.DTO.UnpaidFeesSummaryDTO;
 import com.HMS.hms.Repo.DiningFeeRepo;
 import com.HMS.hms.Repo.StudentDiningFeesRepo;
-import com.HMS.hms.Repo.StudentPaymentInfoRepo;
 import com.HMS.hms.Tables.DiningFee;
 import com.HMS.hms.Tables.StudentDiningFees;
-import com.HMS.hms.Tables.StudentPaymentInfo;
 
 
 @Service
@@ -29,9 +27,6 @@ public class StudentDiningFeeService {
     @Autowired
     private DiningFeeRepo diningFeeRepo;
 
-    @Autowired
-    private StudentPaymentInfoRepo studentPaymentInfoRepo;
-
 
 // DTO Conversion Methods
     private StudentDiningFeeDTO convertToDTO(StudentDiningFees entity) {
@@ -301,44 +296,16 @@ public class StudentDiningFeeService {
      * Returns list combining StudentDiningFees and StudentPaymentInfo data with detailed information
      */
     public List<StudentDiningFeePaymentDTO> getDiningFeePaymentsByUserId(Long userId) {
-        List<StudentDiningFeePaymentDTO> paymentDTOs = new ArrayList<>();
-
-        // Get all paid dining fees for the user
-        List<StudentDiningFees> paidDiningFees = studentDiningFeesRepo.findByUserIdAndStatus(userId, StudentDiningFees.PaymentStatus.PAID);
-
-        // For each paid dining fee, find corresponding payment info
-        for (StudentDiningFees diningFee : paidDiningFees) {
-            // Find payment info for dining fees with the same feeId
-            List<StudentPaymentInfo> paymentInfos = studentPaymentInfoRepo.findByFeeIdAndFeeType(diningFee.getFeeId(), StudentPaymentInfo.FeeType.DINING);
-
-            // Get the dining fee amount from DiningFee table
-            BigDecimal feeAmount = BigDecimal.ZERO;
-            Optional<DiningFee> diningFeeInfo = diningFeeRepo.findByTypeAndYear(
-                DiningFee.ResidencyType.RESIDENT, 
-                diningFee.getYear()
-            );
-            if (diningFeeInfo.isPresent()) {
-                feeAmount = diningFeeInfo.get().getFee();
-            }
-
-            for (StudentPaymentInfo paymentInfo : paymentInfos) {
-                StudentDiningFeePaymentDTO paymentDTO = new StudentDiningFeePaymentDTO(
-                        diningFee.getYear(),
-                        "dining",
-                        paymentInfo.getFeeId(),
-                        paymentInfo.getTranId(),
-                        paymentInfo.getValId(),
-                        paymentInfo.getPaymentMethod(),
-                        diningFee.getStartDate(),
-                        diningFee.getEndDate(),
-                        feeAmount,
-                        diningFee.getStudentType()
-                );
-                paymentDTOs.add(paymentDTO);
-            }
-        }
+        // Paid fees, their payment info and the DiningFee amount come back from a single joined query
+        return studentDiningFeesRepo.findDiningFeePaymentsByUserId(userId);
+    }
 
-        return paymentDTOs;
+    /**
+     * Total of a user's unpaid dining fees; zero if nothing is owed
+     */
+    public BigDecimal getUnpaidAmountByUserId(Long userId) {
+        UnpaidFeesSummaryDTO summary = studentDiningFeesRepo.getUnpaidFeesSummaryByUserId(userId);
+        return summary == null ? BigDecimal.ZERO : summary.getTotalUnpaidAmount();
     }
 
 }
\ No newline at end of file
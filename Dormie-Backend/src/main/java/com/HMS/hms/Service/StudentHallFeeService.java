@@ -1,7 +1,6 @@
 package com.HMS.hms.Service;
 
 import java.math.BigDecimal;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -11,6 +10,7 @@ import org.springframework.stereotype.Service;
 
 import com.HMS.hms.DTO.StudentHallFeeDTO;
 import com.HMS.hms.DTO.StudentHallFeePaymentDTO;
+import com.HMS.hms.DTO.UnpaidFeesSummaryDTO;
 import com.HMS.hms.Repo.HallFeeRepo;
 import com.HMS.hms.Repo.StudentHallFeesRepo;
 import com.HMS.hms.Repo.StudentPaymentInfoRepo;
@@ -123,40 +123,19 @@ public class StudentHallFeeService {
 
     /**
      * Get payment information for paid hall fees by user ID
-     * Returns list combining StudentHallFees and StudentPaymentInfo
+     * Returns list combining StudentHallFees, StudentPaymentInfo and the HallFee amount
      */
     public List<StudentHallFeePaymentDTO> getHallFeePaymentsByUserId(Long userId) {
-        List<StudentHallFeePaymentDTO> paymentDTOs = new ArrayList<>();
-
-        // Get all paid hall fees for the user
-        List<StudentHallFees> paidHallFees = studentHallFeesRepo.findByUserIdAndStatus(userId, StudentHallFees.PaymentStatus.PAID);
-
-        // For each paid hall fee, find corresponding payment info
-        for (StudentHallFees hallFee : paidHallFees) {
-            // Get the hall fee amount
-            Optional<HallFee> hallFeeOpt = hallFeeRepo.findByTypeAndYear(
-                    HallFee.ResidencyType.fromString(hallFee.getStudentType()),
-                    hallFee.getYear()
-            );
-            Double feeAmount = hallFeeOpt.map(hf -> hf.getFee().doubleValue()).orElse(0.0);
-            
-            // Now that feeId is a foreign key, we can directly find payment info
-            List<StudentPaymentInfo> paymentInfos = studentPaymentInfoRepo.findByFeeIdAndFeeType(hallFee.getFeeId(), StudentPaymentInfo.FeeType.HALL);
-
-            for (StudentPaymentInfo paymentInfo : paymentInfos) {
-                StudentHallFeePaymentDTO paymentDTO = new StudentHallFeePaymentDTO(
-                        hallFee.getYear(),
-                        feeAmount,
-                        paymentInfo.getFeeId(),
-                        paymentInfo.getTranId(),
-                        paymentInfo.getValId(),
-                        paymentInfo.getPaymentMethod()
-                );
-                paymentDTOs.add(paymentDTO);
-            }
-        }
+        // Paid fees, their payment info and the fee amount come back from a single joined query
+        return studentHallFeesRepo.findHallFeePaymentsByUserId(userId);
+    }
 
-        return paymentDTOs;
+    /**
+     * Total of a user's unpaid hall fees; zero if nothing is owed
+     */
+    public BigDecimal getUnpaidAmountByUserId(Long userId) {
+        UnpaidFeesSummaryDTO summary = studentHallFeesRepo.getUnpaidFeesSummaryByUserId(userId);
+        return summary == null ? BigDecimal.ZERO : summary.getTotalUnpaidAmount();
     }
 
     /**
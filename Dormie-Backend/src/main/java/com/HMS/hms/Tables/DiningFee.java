@@ -3,6 +3,12 @@ package com.HMS.hms.Tables;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import com.HMS.hms.config.HibernateCacheConfig;
+
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
@@ -14,6 +20,8 @@ import jakarta.persistence.Table;
 
 @Entity
 @Table(name = "dining_fee")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfig.DINING_FEES_REGION)
 public class DiningFee {
 
     // Enum for residency types - dining fees are only for residents
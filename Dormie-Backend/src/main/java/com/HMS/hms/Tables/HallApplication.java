@@ -5,17 +5,56 @@ import java.time.LocalDateTime;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.OneToOne; // Import for BigDecimal
 import jakarta.persistence.Table;
 
 @Entity
-@Table(name = "hall_applications")
+@Table(name = "hall_applications",
+       indexes = {
+           @Index(name = "idx_hall_applications_distance_status", columnList = "distance_status, distance_next_attempt_at"),
+           @Index(name = "idx_hall_applications_rank", columnList = "priority_score, application_id"),
+           @Index(name = "idx_hall_applications_status_rank", columnList = "application_status, priority_score, application_id")
+       })
 public class HallApplication {
 
+    // Progress of the background distance calculation; null for applications older than it
+    public enum DistanceStatus {
+        PENDING("pending"),
+        RESOLVED("resolved"),
+        FAILED("failed");
+
+        private final String value;
+
+        DistanceStatus(String value) {
+            this.value = value;
+        }
+
+        public String getValue() {
+            return value;
+        }
+
+        public static DistanceStatus fromString(String value) {
+            for (DistanceStatus status : DistanceStatus.values()) {
+                if (status.value.equalsIgnoreCase(value)) {
+                    return status;
+                }
+            }
+            throw new IllegalArgumentException("Invalid distance status: " + value);
+        }
+
+        @Override
+        public String toString() {
+            return value;
+        }
+    }
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long applicationId;
@@ -63,6 +102,20 @@ public class HallApplication {
     private BigDecimal distanceFromHallKm; // Store as BigDecimal for precision
     // --- END NEW FIELD ---
 
+    @Column(name = "distance_status")
+    @Enumerated(EnumType.STRING)
+    private DistanceStatus distanceStatus;
+
+    @Column(name = "distance_attempts")
+    private Integer distanceAttempts;
+
+    @Column(name = "distance_next_attempt_at")
+    private LocalDateTime distanceNextAttemptAt;
+
+    // Composite allocation priority, higher first; see HallApplicationRankingService
+    @Column(name = "priority_score")
+    private Double priorityScore;
+
     public HallApplication() {
         this.applicationDate = LocalDateTime.now();
         this.applicationStatus = "PENDING";
@@ -108,4 +161,13 @@ public class HallApplication {
     }
 
     // --- END NEW GETTER/SETTER ---
+
+    public DistanceStatus getDistanceStatus() { return distanceStatus; }
+    public void setDistanceStatus(DistanceStatus distanceStatus) { this.distanceStatus = distanceStatus; }
+    public Integer getDistanceAttempts() { return distanceAttempts; }
+    public void setDistanceAttempts(Integer distanceAttempts) { this.distanceAttempts = distanceAttempts; }
+    public LocalDateTime getDistanceNextAttemptAt() { return distanceNextAttemptAt; }
+    public void setDistanceNextAttemptAt(LocalDateTime distanceNextAttemptAt) { this.distanceNextAttemptAt = distanceNextAttemptAt; }
+    public Double getPriorityScore() { return priorityScore; }
+    public void setPriorityScore(Double priorityScore) { this.priorityScore = priorityScore; }
 }
\ No newline at end of file
@@ -0,0 +1,127 @@
+package com.HMS.hms.Tables;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+/**
+ * A hall application accepted into the intake queue but not yet processed. The student holds the
+ * ticket ID and polls it; the intake workers turn the stored request into a HallApplication.
+ */
+@Entity
+@Table(name = "hall_application_intake",
+       indexes = {
+           @Index(name = "idx_hall_application_intake_status_next_attempt", columnList = "status, next_attempt_at, created_at"),
+           @Index(name = "idx_hall_application_intake_user_status", columnList = "user_id, status")
+       })
+public class HallApplicationIntake {
+
+    public enum IntakeStatus {
+        QUEUED("queued"),       // Waiting for a worker
+        SUBMITTED("submitted"), // Application created; see applicationId
+        REJECTED("rejected"),   // Failed validation; see message
+        FAILED("failed");       // Could not be processed after max-attempts
+
+        private final String value;
+
+        IntakeStatus(String value) {
+            this.value = value;
+        }
+
+        public String getValue() {
+            return value;
+        }
+
+        public static IntakeStatus fromString(String value) {
+            for (IntakeStatus status : IntakeStatus.values()) {
+                if (status.value.equalsIgnoreCase(value)) {
+                    return status;
+                }
+            }
+            throw new IllegalArgumentException("Invalid intake status: " + value);
+        }
+
+        @Override
+        public String toString() {
+            return value;
+        }
+    }
+
+    @Id
+    @Column(name = "ticket_id", length = 36)
+    private String ticketId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    // The submitted HallApplicationRequest as JSON
+    @Column(name = "payload", nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(name = "status", nullable = false)
+    @Enumerated(EnumType.STRING)
+    private IntakeStatus status = IntakeStatus.QUEUED;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts = 0;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "application_id")
+    private Long applicationId;
+
+    @Column(name = "message", length = 1000)
+    private String message;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "processed_at")
+    private LocalDateTime processedAt;
+
+    public HallApplicationIntake() {
+        this.createdAt = LocalDateTime.now();
+        this.nextAttemptAt = this.createdAt;
+    }
+
+    public HallApplicationIntake(String ticketId, Long userId, String payload) {
+        this();
+        this.ticketId = ticketId;
+        this.userId = userId;
+        this.payload = payload;
+    }
+
+    public String getTicketId() { return ticketId; }
+    public void setTicketId(String ticketId) { this.ticketId = ticketId; }
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+    public String getPayload() { return payload; }
+    public void setPayload(String payload) { this.payload = payload; }
+    public IntakeStatus getStatus() { return status; }
+    public void setStatus(IntakeStatus status) { this.status = status; }
+    public int getAttempts() { return attempts; }
+    public void setAttempts(int attempts) { this.attempts = attempts; }
+    public LocalDateTime getNextAttemptAt() { return nextAttemptAt; }
+    public void setNextAttemptAt(LocalDateTime nextAttemptAt) { this.nextAttemptAt = nextAttemptAt; }
+    public Long getApplicationId() { return applicationId; }
+    public void setApplicationId(Long applicationId) { this.applicationId = applicationId; }
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+    public LocalDateTime getProcessedAt() { return processedAt; }
+    public void setProcessedAt(LocalDateTime processedAt) { this.processedAt = processedAt; }
+
+    @Override
+    public String toString() {
+        return "HallApplicationIntake{ticketId='" + ticketId + "', userId=" + userId + ", status=" + status +
+               ", attempts=" + attempts + "}";
+    }
+}
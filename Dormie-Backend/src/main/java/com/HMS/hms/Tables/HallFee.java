@@ -2,6 +2,12 @@ package com.HMS.hms.Tables;
 
 import java.math.BigDecimal;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import com.HMS.hms.config.HibernateCacheConfig;
+
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
@@ -13,6 +19,8 @@ import jakarta.persistence.Table;
 
 @Entity
 @Table(name = "hall_fee")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfig.HALL_FEES_REGION)
 public class HallFee {
 
     // Enum for residency types
@@ -0,0 +1,58 @@
+package com.HMS.hms.Tables;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+/**
+ * A student's check-in at the dining hall for a meal. Append-only; rows are written in batches by
+ * MealCheckInService.
+ */
+@Entity
+@Table(name = "meal_attendance",
+       uniqueConstraints = @UniqueConstraint(name = "uk_meal_attendance_plan_user", columnNames = {"meal_plan_id", "user_id"}))
+public class MealAttendance {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "attendance_id")
+    private Long attendanceId;
+
+    @Column(name = "meal_plan_id", nullable = false)
+    private Long mealPlanId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "checked_in_at", nullable = false)
+    private LocalDateTime checkedInAt;
+
+    public MealAttendance() {
+    }
+
+    public MealAttendance(Long mealPlanId, Long userId, LocalDateTime checkedInAt) {
+        this.mealPlanId = mealPlanId;
+        this.userId = userId;
+        this.checkedInAt = checkedInAt;
+    }
+
+    public Long getAttendanceId() { return attendanceId; }
+    public void setAttendanceId(Long attendanceId) { this.attendanceId = attendanceId; }
+    public Long getMealPlanId() { return mealPlanId; }
+    public void setMealPlanId(Long mealPlanId) { this.mealPlanId = mealPlanId; }
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+    public LocalDateTime getCheckedInAt() { return checkedInAt; }
+    public void setCheckedInAt(LocalDateTime checkedInAt) { this.checkedInAt = checkedInAt; }
+
+    @Override
+    public String toString() {
+        return "MealAttendance{mealPlanId=" + mealPlanId + ", userId=" + userId + ", checkedInAt=" + checkedInAt + "}";
+    }
+}
@@ -8,12 +8,14 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
 
 @Entity
-@Table(name = "meal_items")
+@Table(name = "meal_items",
+       indexes = @Index(name = "idx_meal_items_plan_order", columnList = "meal_plan_id, item_order"))
 public class MealItem {
 
     @Id
@@ -0,0 +1,90 @@
+package com.HMS.hms.Tables;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+
+import jakarta.persistence.CascadeType;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.OneToMany;
+import jakarta.persistence.Table;
+
+/**
+ * A recurring menu: one or more weeks of meals that repeat. Week 1 starts on the Monday of the
+ * anchor date's week; templates are shared by the hall's mess managers.
+ */
+@Entity
+@Table(name = "meal_menu_templates")
+public class MealMenuTemplate {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "template_id")
+    private Long templateId;
+
+    @Column(name = "name", nullable = false)
+    private String name;
+
+    @Column(name = "cycle_weeks", nullable = false)
+    private Integer cycleWeeks;
+
+    @Column(name = "anchor_date", nullable = false)
+    private LocalDate anchorDate;
+
+    // Mess manager who last saved the template
+    @Column(name = "mess_manager_id", nullable = false)
+    private Long messManagerId;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @OneToMany(mappedBy = "template", cascade = CascadeType.ALL, fetch = FetchType.LAZY, orphanRemoval = true)
+    private List<MealMenuTemplateEntry> entries = new ArrayList<>();
+
+    public MealMenuTemplate() {
+        this.createdAt = LocalDateTime.now();
+    }
+
+    /**
+     * @return the cycle week (1 to cycleWeeks) that a date falls in
+     */
+    public int weekNumberOf(LocalDate date) {
+        LocalDate firstMonday = anchorDate.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        long weeks = Math.floorDiv(ChronoUnit.DAYS.between(firstMonday, date), 7);
+        return (int) Math.floorMod(weeks, (long) cycleWeeks) + 1;
+    }
+
+    public Long getTemplateId() { return templateId; }
+    public void setTemplateId(Long templateId) { this.templateId = templateId; }
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+    public Integer getCycleWeeks() { return cycleWeeks; }
+    public void setCycleWeeks(Integer cycleWeeks) { this.cycleWeeks = cycleWeeks; }
+    public LocalDate getAnchorDate() { return anchorDate; }
+    public void setAnchorDate(LocalDate anchorDate) { this.anchorDate = anchorDate; }
+    public Long getMessManagerId() { return messManagerId; }
+    public void setMessManagerId(Long messManagerId) { this.messManagerId = messManagerId; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+    public List<MealMenuTemplateEntry> getEntries() { return entries; }
+    public void setEntries(List<MealMenuTemplateEntry> entries) { this.entries = entries; }
+
+    @Override
+    public String toString() {
+        return "MealMenuTemplate{templateId=" + templateId + ", name='" + name + "', cycleWeeks=" + cycleWeeks + "}";
+    }
+}
@@ -0,0 +1,86 @@
+package com.HMS.hms.Tables;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.List;
+
+import jakarta.persistence.CollectionTable;
+import jakarta.persistence.Column;
+import jakarta.persistence.ElementCollection;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.OrderColumn;
+import jakarta.persistence.Table;
+
+/**
+ * One meal of a menu template: which cycle week, weekday and meal it fills and what is served
+ */
+@Entity
+@Table(name = "meal_menu_template_entries")
+public class MealMenuTemplateEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "entry_id")
+    private Long entryId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "template_id", nullable = false)
+    private MealMenuTemplate template;
+
+    @Column(name = "week_number", nullable = false)
+    private Integer weekNumber;
+
+    @Column(name = "day_of_week", nullable = false)
+    @Enumerated(EnumType.STRING)
+    private DayOfWeek dayOfWeek;
+
+    @Column(name = "meal_type", nullable = false)
+    @Enumerated(EnumType.STRING)
+    private MealPlan.MealType mealType;
+
+    @Column(name = "cost_per_person", nullable = false, precision = 10, scale = 2)
+    private BigDecimal costPerPerson;
+
+    @ElementCollection(fetch = FetchType.LAZY)
+    @CollectionTable(name = "meal_menu_template_items", joinColumns = @JoinColumn(name = "entry_id"))
+    @OrderColumn(name = "item_order")
+    @Column(name = "item_name", nullable = false)
+    private List<String> items = new ArrayList<>();
+
+    public MealMenuTemplateEntry() {
+    }
+
+    public MealMenuTemplateEntry(MealMenuTemplate template, Integer weekNumber, DayOfWeek dayOfWeek,
+                                 MealPlan.MealType mealType, BigDecimal costPerPerson, List<String> items) {
+        this.template = template;
+        this.weekNumber = weekNumber;
+        this.dayOfWeek = dayOfWeek;
+        this.mealType = mealType;
+        this.costPerPerson = costPerPerson;
+        this.items = new ArrayList<>(items);
+    }
+
+    public Long getEntryId() { return entryId; }
+    public void setEntryId(Long entryId) { this.entryId = entryId; }
+    public MealMenuTemplate getTemplate() { return template; }
+    public void setTemplate(MealMenuTemplate template) { this.template = template; }
+    public Integer getWeekNumber() { return weekNumber; }
+    public void setWeekNumber(Integer weekNumber) { this.weekNumber = weekNumber; }
+    public DayOfWeek getDayOfWeek() { return dayOfWeek; }
+    public void setDayOfWeek(DayOfWeek dayOfWeek) { this.dayOfWeek = dayOfWeek; }
+    public MealPlan.MealType getMealType() { return mealType; }
+    public void setMealType(MealPlan.MealType mealType) { this.mealType = mealType; }
+    public BigDecimal getCostPerPerson() { return costPerPerson; }
+    public void setCostPerPerson(BigDecimal costPerPerson) { this.costPerPerson = costPerPerson; }
+    public List<String> getItems() { return items; }
+    public void setItems(List<String> items) { this.items = items; }
+}
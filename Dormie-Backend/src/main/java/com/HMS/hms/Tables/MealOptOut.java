@@ -0,0 +1,59 @@
+package com.HMS.hms.Tables;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+/**
+ * A student who will not eat a planned meal. Rows are written in batches by MealHeadcountService;
+ * the live state of recent changes is held in memory until then.
+ */
+@Entity
+@Table(name = "meal_opt_outs",
+       uniqueConstraints = @UniqueConstraint(name = "uk_meal_opt_outs_plan_user", columnNames = {"meal_plan_id", "user_id"}))
+public class MealOptOut {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "opt_out_id")
+    private Long optOutId;
+
+    @Column(name = "meal_plan_id", nullable = false)
+    private Long mealPlanId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    public MealOptOut() {
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public MealOptOut(Long mealPlanId, Long userId) {
+        this();
+        this.mealPlanId = mealPlanId;
+        this.userId = userId;
+    }
+
+    public Long getOptOutId() { return optOutId; }
+    public void setOptOutId(Long optOutId) { this.optOutId = optOutId; }
+    public Long getMealPlanId() { return mealPlanId; }
+    public void setMealPlanId(Long mealPlanId) { this.mealPlanId = mealPlanId; }
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    @Override
+    public String toString() {
+        return "MealOptOut{mealPlanId=" + mealPlanId + ", userId=" + userId + "}";
+    }
+}
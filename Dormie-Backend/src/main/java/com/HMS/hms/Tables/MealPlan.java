@@ -71,6 +71,11 @@ public class MealPlan {
     @Column(name = "cost_per_person", nullable = false, precision = 10, scale = 2)
     private BigDecimal costPerPerson;
 
+    // Opt-outs written so far; recent changes are counted in memory by MealHeadcountService until flushed.
+    // Only its flush writes the column, so saving a plan loaded earlier cannot overwrite a newer count
+    @Column(name = "opt_out_count", insertable = false, updatable = false)
+    private Integer optOutCount;
+
     @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
 
@@ -146,6 +151,14 @@ public class MealPlan {
         this.costPerPerson = costPerPerson;
     }
 
+    public Integer getOptOutCount() {
+        return optOutCount;
+    }
+
+    public void setOptOutCount(Integer optOutCount) {
+        this.optOutCount = optOutCount;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
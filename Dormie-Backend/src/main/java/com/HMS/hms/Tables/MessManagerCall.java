@@ -3,8 +3,13 @@ package com.HMS.hms.Tables;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import com.HMS.hms.config.HibernateCacheConfig;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
@@ -19,6 +24,8 @@ import jakarta.persistence.Table;
 
 @Entity
 @Table(name = "mess_manager_call")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfig.MESS_MANAGER_CALLS_REGION)
 public class MessManagerCall {
 
     public enum CallStatus {
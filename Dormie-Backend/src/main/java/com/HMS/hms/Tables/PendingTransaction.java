@@ -0,0 +1,209 @@
+package com.HMS.hms.Tables;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+
+import jakarta.persistence.CollectionTable;
+import jakarta.persistence.Column;
+import jakarta.persistence.ElementCollection;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.Table;
+
+/**
+ * A payment transaction registered with the gateway but not yet settled.
+ * Written at initiation and keyed by the tran_id sent to SSLCommerz, so callbacks can
+ * resolve the paying user and the exact fees covered with a primary-key lookup.
+ */
+@Entity
+@Table(name = "pending_transactions",
+       indexes = @Index(name = "idx_pending_transactions_status_created", columnList = "status, created_at"))
+public class PendingTransaction {
+
+    public enum TransactionStatus {
+        PENDING("pending"),
+        SETTLED("settled"),
+        // Paid and validated, but some or all of its fees had already been paid by another transaction
+        REFUND_REQUIRED("refund_required"),
+        FAILED("failed"),
+        CANCELLED("cancelled"),
+        EXPIRED("expired");
+
+        private final String value;
+
+        TransactionStatus(String value) {
+            this.value = value;
+        }
+
+        public String getValue() {
+            return value;
+        }
+
+        public static TransactionStatus fromString(String value) {
+            for (TransactionStatus status : TransactionStatus.values()) {
+                if (status.value.equalsIgnoreCase(value)) {
+                    return status;
+                }
+            }
+            throw new IllegalArgumentException("Invalid transaction status: " + value);
+        }
+
+        @Override
+        public String toString() {
+            return value;
+        }
+    }
+
+    @Id
+    @Column(name = "tran_id", nullable = false, length = 64)
+    private String tranId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "amount", nullable = false, precision = 10, scale = 2)
+    private BigDecimal amount;
+
+    @Column(name = "fee_description")
+    private String feeDescription;
+
+    @ElementCollection
+    @CollectionTable(name = "pending_transaction_hall_fees", joinColumns = @JoinColumn(name = "tran_id"))
+    @Column(name = "fee_id", nullable = false)
+    private Set<Long> hallFeeIds = new HashSet<>();
+
+    @ElementCollection
+    @CollectionTable(name = "pending_transaction_dining_fees", joinColumns = @JoinColumn(name = "tran_id"))
+    @Column(name = "fee_id", nullable = false)
+    private Set<Long> diningFeeIds = new HashSet<>();
+
+    @Column(name = "status", nullable = false)
+    @Enumerated(EnumType.STRING)
+    private TransactionStatus status = TransactionStatus.PENDING;
+
+    @Column(name = "val_id")
+    private String valId;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    // Default constructor
+    public PendingTransaction() {
+        this.createdAt = LocalDateTime.now();
+        this.updatedAt = this.createdAt;
+    }
+
+    // Constructor with parameters
+    public PendingTransaction(String tranId, Long userId, BigDecimal amount, String feeDescription,
+                              Set<Long> hallFeeIds, Set<Long> diningFeeIds) {
+        this();
+        this.tranId = tranId;
+        this.userId = userId;
+        this.amount = amount;
+        this.feeDescription = feeDescription;
+        this.hallFeeIds = new HashSet<>(hallFeeIds);
+        this.diningFeeIds = new HashSet<>(diningFeeIds);
+        this.status = TransactionStatus.PENDING;
+    }
+
+    // Getters and Setters
+    public String getTranId() {
+        return tranId;
+    }
+
+    public void setTranId(String tranId) {
+        this.tranId = tranId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    public String getFeeDescription() {
+        return feeDescription;
+    }
+
+    public void setFeeDescription(String feeDescription) {
+        this.feeDescription = feeDescription;
+    }
+
+    public Set<Long> getHallFeeIds() {
+        return hallFeeIds;
+    }
+
+    public void setHallFeeIds(Set<Long> hallFeeIds) {
+        this.hallFeeIds = hallFeeIds;
+    }
+
+    public Set<Long> getDiningFeeIds() {
+        return diningFeeIds;
+    }
+
+    public void setDiningFeeIds(Set<Long> diningFeeIds) {
+        this.diningFeeIds = diningFeeIds;
+    }
+
+    public TransactionStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(TransactionStatus status) {
+        this.status = status;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public String getValId() {
+        return valId;
+    }
+
+    public void setValId(String valId) {
+        this.valId = valId;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "PendingTransaction{" +
+                "tranId='" + tranId + '\'' +
+                ", userId=" + userId +
+                ", amount=" + amount +
+                ", status=" + status +
+                '}';
+    }
+}
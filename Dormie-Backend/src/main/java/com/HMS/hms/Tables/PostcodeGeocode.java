@@ -0,0 +1,76 @@
+package com.HMS.hms.Tables;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Coordinates of a postcode as resolved by the geocoder, kept so each postcode is looked up
+ * externally only once across restarts and instances.
+ */
+@Entity
+@Table(name = "postcode_geocode")
+public class PostcodeGeocode {
+
+    @Id
+    @Column(name = "postcode", nullable = false, length = 16)
+    private String postcode;
+
+    @Column(name = "latitude", nullable = false)
+    private double latitude;
+
+    @Column(name = "longitude", nullable = false)
+    private double longitude;
+
+    @Column(name = "resolved_at", nullable = false)
+    private LocalDateTime resolvedAt;
+
+    // Default constructor
+    public PostcodeGeocode() {
+        this.resolvedAt = LocalDateTime.now();
+    }
+
+    // Constructor with parameters
+    public PostcodeGeocode(String postcode, double latitude, double longitude) {
+        this();
+        this.postcode = postcode;
+        this.latitude = latitude;
+        this.longitude = longitude;
+    }
+
+    // Getters and Setters
+    public String getPostcode() {
+        return postcode;
+    }
+
+    public void setPostcode(String postcode) {
+        this.postcode = postcode;
+    }
+
+    public double getLatitude() {
+        return latitude;
+    }
+
+    public void setLatitude(double latitude) {
+        this.latitude = latitude;
+    }
+
+    public double getLongitude() {
+        return longitude;
+    }
+
+    public void setLongitude(double longitude) {
+        this.longitude = longitude;
+    }
+
+    public LocalDateTime getResolvedAt() {
+        return resolvedAt;
+    }
+
+    public void setResolvedAt(LocalDateTime resolvedAt) {
+        this.resolvedAt = resolvedAt;
+    }
+}
@@ -0,0 +1,89 @@
+package com.HMS.hms.Utility;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs one background task on its own daemon thread, on request.
+ * <p>
+ * Wake-ups are coalesced: at most one run is queued while another is in progress, so a burst of
+ * requests costs one extra run, not one run per request. Retries are woken up with
+ * {@link #requestRunAfter(long)} once their backoff has passed. Requests made while shutting down
+ * are dropped; callers keep a scheduled poll as the safety net for wake-ups lost that way.
+ */
+public class CoalescingWorker {
+
+    // Wake up slightly after a retry becomes due, so the run is sure to pick it up
+    private static final long RETRY_WAKE_UP_SLACK_MS = 100;
+
+    private final Runnable task;
+    private final ScheduledExecutorService thread;
+    private final AtomicBoolean runQueued = new AtomicBoolean();
+
+    /**
+     * @param threadName Name prefix of the worker thread
+     * @param task The work to run on each wake-up
+     */
+    public CoalescingWorker(String threadName, Runnable task) {
+        this.task = task;
+        this.thread = Executors.newSingleThreadScheduledExecutor(namedThreads(threadName));
+    }
+
+    /**
+     * Asks for a run soon on the worker thread; returns immediately
+     */
+    public void requestRun() {
+        if (runQueued.compareAndSet(false, true)) {
+            try {
+                thread.execute(() -> {
+                    runQueued.set(false);
+                    task.run();
+                });
+            } catch (RuntimeException e) {
+                // Shutting down
+                runQueued.set(false);
+            }
+        }
+    }
+
+    /**
+     * Asks for a run once {@code delayMs} has passed, e.g. when a failed item's retry becomes due
+     */
+    public void requestRunAfter(long delayMs) {
+        try {
+            thread.schedule(this::requestRun, delayMs + RETRY_WAKE_UP_SLACK_MS, TimeUnit.MILLISECONDS);
+        } catch (RuntimeException e) {
+            // Shutting down
+        }
+    }
+
+    public void shutdown() {
+        thread.shutdownNow();
+    }
+
+    /**
+     * Exponential backoff: base, 2x base, 4x base... capped at {@code maxMs}
+     *
+     * @param attempts Failed attempts so far, at least 1
+     */
+    public static long backoffMs(int attempts, long baseMs, long maxMs) {
+        int shift = Math.min(attempts - 1, 30);
+        return Math.min(maxMs, baseMs << shift);
+    }
+
+    /**
+     * Daemon threads named {@code prefix-1}, {@code prefix-2}...
+     */
+    public static ThreadFactory namedThreads(String prefix) {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
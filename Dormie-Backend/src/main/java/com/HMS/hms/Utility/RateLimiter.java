@@ -0,0 +1,69 @@
+package com.HMS.hms.Utility;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token bucket limiting how often a remote API is called.
+ * <p>
+ * Holds up to {@code burst} tokens and refills at {@code permitsPerSecond}. {@link #acquire()}
+ * blocks until a token is available, so callers on a bounded pool naturally slow down to the
+ * configured rate instead of failing.
+ */
+public class RateLimiter {
+
+    private final double permitsPerSecond;
+    private final double burst;
+
+    private double tokens;
+    private long lastRefillNanos;
+
+    public RateLimiter(double permitsPerSecond, int burst) {
+        if (permitsPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Rate and burst must be positive");
+        }
+        this.permitsPerSecond = permitsPerSecond;
+        this.burst = burst;
+        this.tokens = burst;
+        this.lastRefillNanos = System.nanoTime();
+    }
+
+    /**
+     * Blocks until one permit is available and takes it.
+     */
+    public void acquire() throws InterruptedException {
+        long waitNanos;
+        while ((waitNanos = tryReserve()) > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+
+    /**
+     * Takes a permit if one is available without waiting.
+     */
+    public synchronized boolean tryAcquire() {
+        refill();
+        if (tokens >= 1) {
+            tokens -= 1;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * @return 0 if a permit was taken, otherwise how long to wait before the next one
+     */
+    private synchronized long tryReserve() {
+        refill();
+        if (tokens >= 1) {
+            tokens -= 1;
+            return 0;
+        }
+        return (long) Math.ceil((1 - tokens) / permitsPerSecond * 1_000_000_000L);
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        tokens = Math.min(burst, tokens + (now - lastRefillNanos) / 1_000_000_000.0 * permitsPerSecond);
+        lastRefillNanos = now;
+    }
+}
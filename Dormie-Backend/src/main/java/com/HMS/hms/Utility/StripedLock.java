@@ -0,0 +1,53 @@
+package com.HMS.hms.Utility;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fixed set of locks selected by key hash.
+ * <p>
+ * Used to serialise work on the same key (e.g. duplicate callbacks for one tran_id) without
+ * keeping a lock object per key. Different keys may share a stripe, which only costs some
+ * unneeded waiting; the number of stripes bounds memory regardless of how many keys are seen.
+ */
+public class StripedLock {
+
+    private final ReentrantLock[] stripes;
+
+    public StripedLock(int stripeCount) {
+        if (stripeCount < 1) {
+            throw new IllegalArgumentException("Stripe count must be at least 1");
+        }
+        // Round up to a power of two so the stripe index is a mask
+        int size = Integer.highestOneBit(stripeCount - 1) << 1;
+        this.stripes = new ReentrantLock[Math.max(1, size)];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Waits up to {@code timeout} for the stripe of {@code key}.
+     * @return the held lock, to be released by the caller, or null if the wait timed out
+     */
+    public ReentrantLock tryLock(Object key, long timeout, TimeUnit unit) throws InterruptedException {
+        ReentrantLock lock = stripeFor(key);
+        return lock.tryLock(timeout, unit) ? lock : null;
+    }
+
+    /**
+     * Waits for the stripe of {@code key} however long it takes.
+     * @return the held lock, to be released by the caller
+     */
+    public ReentrantLock lock(Object key) {
+        ReentrantLock lock = stripeFor(key);
+        lock.lock();
+        return lock;
+    }
+
+    private ReentrantLock stripeFor(Object key) {
+        int hash = key.hashCode();
+        // Spread high bits down, as HashMap does, before masking
+        return stripes[(hash ^ (hash >>> 16)) & (stripes.length - 1)];
+    }
+}
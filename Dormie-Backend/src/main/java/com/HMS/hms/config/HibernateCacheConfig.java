@@ -0,0 +1,114 @@
+package com.HMS.hms.config;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.UUID;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+
+import org.ehcache.config.CacheConfiguration;
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ConfigurationBuilder;
+import org.ehcache.config.builders.ExpiryPolicyBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.jcache.MissingCacheStrategy;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Hibernate second-level and query cache for the read-mostly reference entities: rooms, hall and
+ * dining fees, mess manager calls and users.
+ *
+ * <p>Each region is an Ehcache heap cache with a fixed entry count, so a full region evicts its
+ * least recently used entries, and entries also expire after a time to live. Regions are declared
+ * here rather than created on demand; an entity or query pointing at an undeclared region fails at
+ * startup. Entities use read-write caching, so saves, deletes and JPQL bulk updates keep the cache
+ * in step. SQL written through {@code JdbcTemplate} bypasses Hibernate and must evict the affected
+ * region itself.</p>
+ */
+@Configuration
+public class HibernateCacheConfig {
+
+    public static final String ROOMS_REGION = "rooms";
+    public static final String HALL_FEES_REGION = "hall-fees";
+    public static final String DINING_FEES_REGION = "dining-fees";
+    public static final String MESS_MANAGER_CALLS_REGION = "mess-manager-calls";
+    public static final String USERS_REGION = "users";
+    public static final String QUERY_RESULTS_REGION = "default-query-results-region";
+    public static final String UPDATE_TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+    @Value("${hibernate-cache.rooms.max-entries:2000}")
+    private long roomsMaxEntries;
+
+    @Value("${hibernate-cache.hall-fees.max-entries:200}")
+    private long hallFeesMaxEntries;
+
+    @Value("${hibernate-cache.dining-fees.max-entries:200}")
+    private long diningFeesMaxEntries;
+
+    @Value("${hibernate-cache.mess-manager-calls.max-entries:500}")
+    private long messManagerCallsMaxEntries;
+
+    @Value("${hibernate-cache.users.max-entries:10000}")
+    private long usersMaxEntries;
+
+    @Value("${hibernate-cache.queries.max-entries:5000}")
+    private long queriesMaxEntries;
+
+    @Value("${hibernate-cache.entity-ttl-minutes:60}")
+    private long entityTtlMinutes;
+
+    @Value("${hibernate-cache.query-ttl-minutes:10}")
+    private long queryTtlMinutes;
+
+    // Exported as metrics; the per-session "Session Metrics" log lines are silenced in application.properties
+    @Value("${hibernate-cache.statistics:true}")
+    private boolean statistics;
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager() {
+        Duration entityTtl = Duration.ofMinutes(entityTtlMinutes);
+        org.ehcache.config.Configuration configuration = ConfigurationBuilder.newConfigurationBuilder()
+            .withCache(ROOMS_REGION, region(roomsMaxEntries, entityTtl))
+            .withCache(HALL_FEES_REGION, region(hallFeesMaxEntries, entityTtl))
+            .withCache(DINING_FEES_REGION, region(diningFeesMaxEntries, entityTtl))
+            .withCache(MESS_MANAGER_CALLS_REGION, region(messManagerCallsMaxEntries, entityTtl))
+            .withCache(USERS_REGION, region(usersMaxEntries, entityTtl))
+            .withCache(QUERY_RESULTS_REGION, region(queriesMaxEntries, Duration.ofMinutes(queryTtlMinutes)))
+            // One entry per table; must never expire or be evicted while cached queries depend on it
+            .withCache(UPDATE_TIMESTAMPS_REGION, CacheConfigurationBuilder
+                .newCacheConfigurationBuilder(Object.class, Object.class, ResourcePoolsBuilder.heap(1000))
+                .withExpiry(ExpiryPolicyBuilder.noExpiration())
+                .build())
+            .build();
+
+        // A URI of our own keeps the manager private to this application context
+        EhcacheCachingProvider provider = (EhcacheCachingProvider) Caching.getCachingProvider(EhcacheCachingProvider.class.getName());
+        return provider.getCacheManager(URI.create("urn:hms:hibernate-cache:" + UUID.randomUUID()), configuration);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheProperties(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, MissingCacheStrategy.FAIL.getExternalRepresentation());
+            properties.put(AvailableSettings.GENERATE_STATISTICS, statistics);
+        };
+    }
+
+    private CacheConfiguration<Object, Object> region(long maxEntries, Duration timeToLive) {
+        return CacheConfigurationBuilder
+            .newCacheConfigurationBuilder(Object.class, Object.class, ResourcePoolsBuilder.heap(maxEntries))
+            .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(timeToLive))
+            .build();
+    }
+}
@@ -0,0 +1,58 @@
+package com.HMS.hms.config;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Metrics on top of what Actuator binds by itself (request latency, Hikari pool usage and waits,
+ * Hibernate statistics): statements per request, slow statements, and the application's own
+ * {@code hms.*} timers. Everything is scraped from {@code /actuator/prometheus}.
+ */
+@Configuration
+public class MetricsConfig {
+
+    // Statements slower than this are logged under org.hibernate.SQL_SLOW and counted
+    @Value("${metrics.hibernate.slow-statement-ms:500}")
+    private long slowStatementMs;
+
+    @Bean
+    public HibernatePropertiesCustomizer statementMetricsProperties() {
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, (StatementInspector) sql -> {
+                RequestStatementMetricsFilter.countStatement();
+                return sql;
+            });
+            properties.put(AvailableSettings.LOG_SLOW_QUERY, slowStatementMs);
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<RequestStatementMetricsFilter> requestStatementMetricsFilter(MeterRegistry meterRegistry) {
+        // First in the chain, so statements issued while authenticating are counted too
+        FilterRegistrationBean<RequestStatementMetricsFilter> registration =
+            new FilterRegistrationBean<>(new RequestStatementMetricsFilter(meterRegistry));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    @Bean
+    public MeterBinder slowStatementMetrics(EntityManagerFactory entityManagerFactory) {
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        return registry -> Gauge.builder("hms.hibernate.slow.statements", sessionFactory,
+                factory -> factory.getStatistics().getSlowQueries().size())
+            .description("Distinct statements that took longer than the slow statement threshold")
+            .register(registry);
+    }
+}
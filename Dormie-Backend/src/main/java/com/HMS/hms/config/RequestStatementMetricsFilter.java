@@ -0,0 +1,65 @@
+package com.HMS.hms.config;
+
+import java.io.IOException;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Records how many SQL statements Hibernate prepared while serving each request, as the
+ * {@code hms.hibernate.statements.per.request} summary tagged by method and URI pattern.
+ * <p>
+ * Statements are counted on the request thread only; work handed to other threads and SQL run
+ * through {@code JdbcTemplate} are not included.
+ */
+public class RequestStatementMetricsFilter extends OncePerRequestFilter {
+
+    public static final String METRIC_NAME = "hms.hibernate.statements.per.request";
+
+    private static final ThreadLocal<int[]> STATEMENTS = new ThreadLocal<>();
+
+    private final MeterRegistry meterRegistry;
+
+    public RequestStatementMetricsFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Called by Hibernate for every statement it prepares
+     */
+    static void countStatement() {
+        int[] count = STATEMENTS.get();
+        if (count != null) {
+            count[0]++;
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        int[] count = new int[1];
+        STATEMENTS.set(count);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            STATEMENTS.remove();
+            // Unmatched requests share one tag, so probing random paths cannot blow up the series count
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            DistributionSummary.builder(METRIC_NAME)
+                .description("SQL statements prepared by Hibernate per request")
+                .baseUnit("statements")
+                .tags("method", request.getMethod(), "uri", pattern != null ? pattern.toString() : "UNKNOWN")
+                .minimumExpectedValue(1.0)
+                .maximumExpectedValue(1000.0)
+                .register(meterRegistry)
+                .record(count[0]);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.HMS.hms.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables {@code @Scheduled} background jobs. Each job has its own enabled flag so tests
+ * can switch it off and drive the job directly.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
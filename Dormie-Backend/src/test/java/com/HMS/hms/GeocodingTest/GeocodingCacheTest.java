@@ -0,0 +1,160 @@
+package com.HMS.hms.GeocodingTest;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.HMS.hms.Repo.PostcodeGeocodeRepo;
+import com.HMS.hms.Service.GeocodingService;
+import com.HMS.hms.Service.PostcodeGazetteer;
+import com.HMS.hms.utility.NominatimStub;
+
+/**
+ * Tests for the offline gazetteer and postcode geocode caches in GeocodingService, against an
+ * embedded Nominatim stub. Each test uses its own postcodes because the in-memory cache outlives
+ * the test; the 77xx codes used for cache tests are not in the bundled gazetteer.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class GeocodingCacheTest {
+
+    private static final double DELTA = 1e-9;
+
+    @Autowired
+    private GeocodingService geocodingService;
+
+    @Autowired
+    private PostcodeGeocodeRepo postcodeGeocodeRepo;
+
+    @Autowired
+    private PostcodeGazetteer postcodeGazetteer;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private NominatimStub nominatim;
+    private Object originalNominatimUrl;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        nominatim = new NominatimStub().start()
+                .withPostcode("1000", 23.7298, 90.4078)
+                .withPostcode("7701", 23.1634, 89.2182)
+                .withPostcode("7704", 22.8456, 89.5403);
+        originalNominatimUrl = ReflectionTestUtils.getField(geocodingService, "nominatimBaseUrl");
+        ReflectionTestUtils.setField(geocodingService, "nominatimBaseUrl", nominatim.getSearchUrl());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ReflectionTestUtils.setField(geocodingService, "nominatimBaseUrl", originalNominatimUrl);
+        ReflectionTestUtils.setField(geocodingService, "nominatimEnabled", true);
+        nominatim.close();
+        jdbcTemplate.update("DELETE FROM postcode_geocode WHERE postcode LIKE '77%' OR postcode = '1000'");
+    }
+
+    /**
+     * Test 1: A postcode is sent to Nominatim once and then answered from the caches
+     */
+    @Test
+    @Order(1)
+    void testRepeatPostcodeIsLookedUpOnce() {
+        double[] first = geocodingService.getCoordinatesFromPostcode("7701");
+        double[] second = geocodingService.getCoordinatesFromPostcode(" 7701 ");
+
+        assertArrayEquals(new double[] {23.1634, 89.2182}, first, DELTA);
+        assertArrayEquals(first, second, DELTA);
+        assertEquals(1, nominatim.getRequestsFor("7701"), "Repeat lookups should not reach Nominatim");
+        assertTrue(postcodeGeocodeRepo.findById("7701").isPresent(), "Resolved postcode should be persisted");
+    }
+
+    /**
+     * Test 2: A postcode stored in postcode_geocode is answered without Nominatim
+     */
+    @Test
+    @Order(2)
+    void testStoredPostcodeIsAnsweredFromTable() {
+        jdbcTemplate.update("INSERT INTO postcode_geocode (postcode, latitude, longitude, resolved_at) "
+            + "VALUES ('7702', 24.3636, 88.6241, CURRENT_TIMESTAMP)");
+
+        double[] coords = geocodingService.getCoordinatesFromPostcode("7702");
+
+        assertArrayEquals(new double[] {24.3636, 88.6241}, coords, DELTA);
+        assertEquals(0, nominatim.getRequests(), "Stored postcode should not reach Nominatim");
+    }
+
+    /**
+     * Test 3: A postcode Nominatim does not know is remembered in memory but not persisted
+     */
+    @Test
+    @Order(3)
+    void testUnknownPostcodeIsNotRetried() {
+        assertNull(geocodingService.getCoordinatesFromPostcode("7703"));
+        assertNull(geocodingService.getCoordinatesFromPostcode("7703"));
+
+        assertEquals(1, nominatim.getRequestsFor("7703"), "Unknown postcode should be asked about once");
+        assertTrue(postcodeGeocodeRepo.findById("7703").isEmpty(), "Unknown postcode should not be persisted");
+    }
+
+    /**
+     * Test 4: Hall coordinates are resolved once, not per distance calculation
+     */
+    @Test
+    @Order(4)
+    void testHallCoordinatesAreResolvedOnce() {
+        Double first = geocodingService.calculateDistanceToHall("7704");
+        Double second = geocodingService.calculateDistanceToHall("7704");
+
+        assertNotNull(first, "Distance should be calculated");
+        assertEquals(first, second, DELTA);
+        double[] hall = geocodingService.getHallCoordinates();
+        assertEquals(geocodingService.calculateHaversineDistance(hall[0], hall[1], 22.8456, 89.5403), first, DELTA);
+        assertTrue(nominatim.getRequestsFor("1000") <= 1, "Hall postcode should be resolved at most once");
+        assertEquals(1, nominatim.getRequestsFor("7704"), "Student postcode should be resolved once");
+    }
+
+    /**
+     * Test 5: Gazetteer postcodes are answered offline, without Nominatim or the table
+     */
+    @Test
+    @Order(5)
+    void testGazetteerPostcodeIsAnsweredOffline() {
+        assertTrue(postcodeGazetteer.size() > 0, "Bundled gazetteer should be loaded");
+
+        double[] coords = geocodingService.getCoordinatesFromPostcode("9000");
+
+        assertArrayEquals(new double[] {22.8456, 89.5403}, coords, DELTA);
+        assertEquals(0, nominatim.getRequests(), "Gazetteer postcode should not reach Nominatim");
+        assertTrue(postcodeGeocodeRepo.findById("9000").isEmpty(), "Gazetteer postcode should not be persisted");
+        assertNull(postcodeGazetteer.lookup("12O7"), "Non-numeric postcode should not match");
+        assertNull(postcodeGazetteer.lookup("100"), "Short postcode should not match");
+    }
+
+    /**
+     * Test 6: With Nominatim disabled, unknown postcodes resolve to null without any request
+     */
+    @Test
+    @Order(6)
+    void testNominatimFallbackCanBeDisabled() {
+        ReflectionTestUtils.setField(geocodingService, "nominatimEnabled", false);
+
+        assertNull(geocodingService.getCoordinatesFromPostcode("7705"));
+        assertArrayEquals(new double[] {24.8949, 91.8687}, geocodingService.getCoordinatesFromPostcode("3100"), DELTA);
+        assertEquals(0, nominatim.getRequests(), "Disabled fallback should not reach Nominatim");
+    }
+}
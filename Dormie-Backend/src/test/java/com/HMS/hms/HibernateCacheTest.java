@@ -0,0 +1,201 @@
+package com.HMS.hms;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.HMS.hms.Repo.DiningFeeRepo;
+import com.HMS.hms.Repo.HallFeeRepo;
+import com.HMS.hms.Repo.MessManagerCallRepo;
+import com.HMS.hms.Repo.RoomRepo;
+import com.HMS.hms.Repo.UsersRepo;
+import com.HMS.hms.Tables.DiningFee;
+import com.HMS.hms.Tables.HallFee;
+import com.HMS.hms.Tables.MessManagerCall;
+import com.HMS.hms.Tables.Room;
+import com.HMS.hms.Tables.Users;
+import com.HMS.hms.config.HibernateCacheConfig;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Integration tests for the Hibernate second-level and query cache: repeated reads are served from
+ * the cache, and every way of writing the cached tables leaves no stale entries behind.
+ *
+ * <p>Hit counts come from Hibernate statistics, switched on for the duration of each test.
+ * Fees and calls use a far-future year so they never overlap other tests' data.</p>
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class HibernateCacheTest {
+
+    private static final int CACHE_YEAR = 2095;
+    private static final String ROOM_NO = "L2C-101";
+    private static final String EMAIL = "l2c.user@cache-test.edu";
+
+    @Autowired
+    private RoomRepo roomRepo;
+
+    @Autowired
+    private UsersRepo usersRepo;
+
+    @Autowired
+    private HallFeeRepo hallFeeRepo;
+
+    @Autowired
+    private DiningFeeRepo diningFeeRepo;
+
+    @Autowired
+    private MessManagerCallRepo messManagerCallRepo;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Statistics statistics;
+    private final List<Long> callIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        statistics.setStatisticsEnabled(false);
+        for (Long callId : callIds) {
+            messManagerCallRepo.deleteById(callId);
+        }
+        roomRepo.findById(ROOM_NO).ifPresent(roomRepo::delete);
+        usersRepo.findByEmail(EMAIL).ifPresent(usersRepo::delete);
+        hallFeeRepo.findByTypeAndYear(HallFee.ResidencyType.ATTACHED, CACHE_YEAR).ifPresent(hallFeeRepo::delete);
+        diningFeeRepo.findByTypeAndYear(DiningFee.ResidencyType.RESIDENT, CACHE_YEAR).ifPresent(diningFeeRepo::delete);
+    }
+
+    /**
+     * Test 1: Rooms and users are read from the cache by id and by email, and saves and deletes update it
+     */
+    @Test
+    @Order(1)
+    void testEntityReadsFollowSavesAndDeletes() {
+        roomRepo.save(new Room(ROOM_NO, 0, 2));
+        CacheRegionStatistics rooms = statistics.getDomainDataRegionStatistics(HibernateCacheConfig.ROOMS_REGION);
+
+        long roomHits = rooms.getHitCount();
+        assertEquals(0, roomRepo.findById(ROOM_NO).orElseThrow().getCurrentStudent(), "New room should be empty");
+        assertEquals(0, roomRepo.findById(ROOM_NO).orElseThrow().getCurrentStudent(), "Room should be read again");
+        assertTrue(rooms.getHitCount() >= roomHits + 2, "Room reads by id should be cache hits");
+
+        Room room = roomRepo.findById(ROOM_NO).orElseThrow();
+        room.setCurrentStudent(1);
+        roomRepo.save(room);
+        assertEquals(1, roomRepo.findById(ROOM_NO).orElseThrow().getCurrentStudent(), "Saved change should be read back");
+
+        roomRepo.deleteById(ROOM_NO);
+        assertTrue(roomRepo.findById(ROOM_NO).isEmpty(), "Deleted room should not be served from the cache");
+
+        Users user = new Users();
+        user.setUsername("l2c-user");
+        user.setEmail(EMAIL);
+        user.setPassword("hash");
+        user.setRole("STUDENT");
+        usersRepo.save(user);
+
+        usersRepo.findByEmail(EMAIL).orElseThrow();
+        long queryHits = statistics.getQueryCacheHitCount();
+        assertEquals("l2c-user", usersRepo.findByEmail(EMAIL).orElseThrow().getUsername(), "User should be found by email");
+        assertTrue(statistics.getQueryCacheHitCount() > queryHits, "Repeated email lookup should come from the query cache");
+
+        Users saved = usersRepo.findByEmail(EMAIL).orElseThrow();
+        saved.setUsername("l2c-renamed");
+        usersRepo.save(saved);
+        assertEquals("l2c-renamed", usersRepo.findByEmail(EMAIL).orElseThrow().getUsername(), "Rename should be read back");
+    }
+
+    /**
+     * Test 2: Cached fee and call queries see saves, deletes and JPQL bulk updates
+     */
+    @Test
+    @Order(2)
+    void testQueryReadsFollowSavesAndBulkUpdates() {
+        HallFee hallFee = hallFeeRepo.save(new HallFee(HallFee.ResidencyType.ATTACHED, CACHE_YEAR, new BigDecimal("5000.00")));
+        hallFeeRepo.findByTypeAndYear(HallFee.ResidencyType.ATTACHED, CACHE_YEAR).orElseThrow();
+        long queryHits = statistics.getQueryCacheHitCount();
+        hallFeeRepo.findByTypeAndYear(HallFee.ResidencyType.ATTACHED, CACHE_YEAR).orElseThrow();
+        assertTrue(statistics.getQueryCacheHitCount() > queryHits, "Repeated fee lookup should come from the query cache");
+
+        hallFee.setFee(new BigDecimal("5500.00"));
+        hallFeeRepo.save(hallFee);
+        assertEquals(0, new BigDecimal("5500.00").compareTo(
+            hallFeeRepo.findByTypeAndYear(HallFee.ResidencyType.ATTACHED, CACHE_YEAR).orElseThrow().getFee()),
+            "Updated fee should be read back");
+        hallFeeRepo.delete(hallFee);
+        assertTrue(hallFeeRepo.findByTypeAndYear(HallFee.ResidencyType.ATTACHED, CACHE_YEAR).isEmpty(),
+                   "Deleted fee should not be served from the query cache");
+
+        LocalDate start = LocalDate.of(CACHE_YEAR, 1, 1);
+        DiningFee diningFee = diningFeeRepo.save(new DiningFee(DiningFee.ResidencyType.RESIDENT, CACHE_YEAR,
+            start, start.plusMonths(1), new BigDecimal("3000.00")));
+        MessManagerCall call = messManagerCallRepo.save(new MessManagerCall(
+            1L, diningFee.getId(), start.minusDays(10), start, start.plusMonths(1), CACHE_YEAR, 5));
+        callIds.add(call.getCallId());
+
+        messManagerCallRepo.findByIdWithDiningFee(call.getCallId()).orElseThrow();
+        queryHits = statistics.getQueryCacheHitCount();
+        messManagerCallRepo.findByIdWithDiningFee(call.getCallId()).orElseThrow();
+        assertTrue(statistics.getQueryCacheHitCount() > queryHits, "Repeated call lookup should come from the query cache");
+
+        diningFee.setFee(new BigDecimal("3200.00"));
+        diningFeeRepo.save(diningFee);
+        assertEquals(0, new BigDecimal("3200.00").compareTo(
+            messManagerCallRepo.findByIdWithDiningFee(call.getCallId()).orElseThrow().getDiningFee().getFee()),
+            "Call should carry the updated dining fee");
+
+        assertTrue(messManagerCallRepo.expireCalls(start.minusDays(5)) >= 1, "Bulk update should expire the call");
+        assertEquals(MessManagerCall.CallStatus.EXPIRED, messManagerCallRepo.findById(call.getCallId()).orElseThrow().getStatus(),
+                     "Bulk update should be seen by reads by id");
+        assertEquals(MessManagerCall.CallStatus.EXPIRED,
+                     messManagerCallRepo.findByIdWithDiningFee(call.getCallId()).orElseThrow().getStatus(),
+                     "Bulk update should be seen by cached queries");
+    }
+
+    /**
+     * Test 3: Plain SQL bypasses the cache, so it is seen once the region is evicted
+     */
+    @Test
+    @Order(3)
+    void testJdbcWritesNeedEviction() {
+        roomRepo.save(new Room(ROOM_NO, 0, 2));
+        roomRepo.findById(ROOM_NO).orElseThrow();
+
+        jdbcTemplate.update("UPDATE rooms SET current_student = 2 WHERE room_no = ?", ROOM_NO);
+        assertEquals(0, roomRepo.findById(ROOM_NO).orElseThrow().getCurrentStudent(),
+                     "Cached room should not see a write Hibernate did not make");
+
+        entityManagerFactory.getCache().evict(Room.class, ROOM_NO);
+        assertEquals(2, roomRepo.findById(ROOM_NO).orElseThrow().getCurrentStudent(),
+                     "Evicted room should be read again from the database");
+    }
+}
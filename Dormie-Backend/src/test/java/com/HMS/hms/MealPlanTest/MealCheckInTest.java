@@ -0,0 +1,273 @@
+package com.HMS.hms.MealPlanTest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.HMS.hms.DTO.MealCheckInResultDTO;
+import com.HMS.hms.DTO.MealTokenDTO;
+import com.HMS.hms.Repo.MealAttendanceRepo;
+import com.HMS.hms.Repo.MealPlanRepo;
+import com.HMS.hms.Repo.StudentDiningFeesRepo;
+import com.HMS.hms.Repo.StudentsRepo;
+import com.HMS.hms.Repo.UsersRepo;
+import com.HMS.hms.Security.MealTokenUtils;
+import com.HMS.hms.Service.MealCheckInService;
+import com.HMS.hms.Tables.MealPlan;
+import com.HMS.hms.Tables.StudentDiningFees;
+import com.HMS.hms.Tables.Students;
+import com.HMS.hms.utility.TestUtility;
+
+/**
+ * Integration tests for meal tokens and dining hall check-in.
+ *
+ * <p>Not transactional: attendance is written by the batched writer, outside the test's thread.</p>
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class MealCheckInTest {
+
+    // Check-ins in the burst test use user IDs no real user has
+    private static final long BURST_USER_BASE = 8_000_000L;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private MealCheckInService mealCheckInService;
+
+    @Autowired
+    private MealTokenUtils mealTokenUtils;
+
+    @Autowired
+    private MealPlanRepo mealPlanRepo;
+
+    @Autowired
+    private MealAttendanceRepo mealAttendanceRepo;
+
+    @Autowired
+    private StudentDiningFeesRepo studentDiningFeesRepo;
+
+    @Autowired
+    private StudentsRepo studentsRepo;
+
+    @Autowired
+    private UsersRepo usersRepo;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private TestUtility testUtility;
+    private String baseUrl;
+    private Long mealPlanId;
+    private final List<Long> feeUserIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        testUtility = new TestUtility(restTemplate, port);
+        baseUrl = "http://localhost:" + port + "/api/meal-plans";
+        // Today's lunch, so tokens can be issued; no other test plans today's lunch
+        mealPlanId = mealPlanRepo.save(
+            new MealPlan(1L, LocalDate.now(), MealPlan.MealType.LUNCH, new BigDecimal("45.00"))).getMealPlanId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        mealCheckInService.flushAttendance();
+        jdbcTemplate.update("DELETE FROM meal_attendance WHERE meal_plan_id = ?", mealPlanId);
+        jdbcTemplate.update("DELETE FROM meal_plans WHERE meal_plan_id = ?", mealPlanId);
+        for (Long userId : feeUserIds) {
+            jdbcTemplate.update("DELETE FROM student_dining_fees WHERE user_id = ?", userId);
+        }
+    }
+
+    /**
+     * Test 1: A paying resident gets a token that admits them once
+     */
+    @Test
+    @Order(1)
+    void testTokenAdmitsOnce() {
+        String studentToken = residentToken(true);
+
+        ResponseEntity<MealTokenDTO> issued = restTemplate.exchange(baseUrl + "/" + mealPlanId + "/token",
+            HttpMethod.GET, new HttpEntity<>(headers(studentToken)), MealTokenDTO.class);
+        assertEquals(HttpStatus.OK, issued.getStatusCode(), "Token should be issued");
+        assertNotNull(issued.getBody(), "Token should be returned");
+        assertTrue(issued.getBody().getExpiresAt().isAfter(issued.getBody().getValidFrom()), "Token should have a window");
+
+        String adminToken = testUtility.loginAsAdmin();
+        ResponseEntity<MealCheckInResultDTO> first = checkIn(adminToken, issued.getBody().getToken());
+        assertEquals(HttpStatus.OK, first.getStatusCode(), "First check-in should be admitted");
+        assertEquals(MealCheckInResultDTO.ADMITTED, first.getBody().getResult(), "First check-in should be admitted");
+
+        ResponseEntity<MealCheckInResultDTO> replay = checkIn(adminToken, issued.getBody().getToken());
+        assertEquals(HttpStatus.CONFLICT, replay.getStatusCode(), "Replayed token should be refused");
+        assertEquals(MealCheckInResultDTO.ALREADY_CHECKED_IN, replay.getBody().getResult(), "Replay should be reported");
+
+        mealCheckInService.flushAttendance();
+        assertEquals(1, mealAttendanceRepo.countByMealPlanId(mealPlanId), "Attendance should be written once");
+    }
+
+    /**
+     * Test 2: Forged, expired and unpaid cases are refused
+     */
+    @Test
+    @Order(2)
+    void testInvalidTokensAreRefused() {
+        String adminToken = testUtility.loginAsAdmin();
+        Instant now = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        String valid = mealTokenUtils.generateToken(
+            new MealTokenUtils.MealToken(BURST_USER_BASE - 1, mealPlanId, now, now.plus(10, ChronoUnit.MINUTES)));
+
+        // Change the user ID in the payload and keep the signature
+        String forged = mealTokenUtils.generateToken(
+            new MealTokenUtils.MealToken(BURST_USER_BASE - 2, mealPlanId, now, now.plus(10, ChronoUnit.MINUTES)))
+            .split("\\.")[0] + "." + valid.split("\\.")[1];
+        assertEquals(MealCheckInResultDTO.INVALID, checkIn(adminToken, forged).getBody().getResult(),
+                     "Forged token should be invalid");
+        assertEquals(MealCheckInResultDTO.INVALID, checkIn(adminToken, "not-a-token").getBody().getResult(),
+                     "Malformed token should be invalid");
+
+        String expired = mealTokenUtils.generateToken(new MealTokenUtils.MealToken(
+            BURST_USER_BASE - 1, mealPlanId, now.minus(2, ChronoUnit.HOURS), now.minus(1, ChronoUnit.HOURS)));
+        ResponseEntity<MealCheckInResultDTO> late = checkIn(adminToken, expired);
+        assertEquals(HttpStatus.BAD_REQUEST, late.getStatusCode(), "Expired token should be refused");
+        assertEquals(MealCheckInResultDTO.EXPIRED, late.getBody().getResult(), "Expiry should be reported");
+
+        String unpaidToken = residentToken(false);
+        ResponseEntity<String> unpaid = restTemplate.exchange(baseUrl + "/" + mealPlanId + "/token",
+            HttpMethod.GET, new HttpEntity<>(headers(unpaidToken)), String.class);
+        assertEquals(HttpStatus.BAD_REQUEST, unpaid.getStatusCode(), "Students without a paid fee should get no token");
+
+        assertEquals(HttpStatus.UNAUTHORIZED, checkIn(unpaidToken, valid).getStatusCode(),
+                     "Students should not check others in");
+    }
+
+    /**
+     * Test 3: A burst of check-ins with every token presented twice admits each student once
+     */
+    @Test
+    @Order(3)
+    void testBurstAdmitsEachStudentOnce() throws Exception {
+        Instant now = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        List<String> tokens = new ArrayList<>();
+        for (long i = 0; i < 1000; i++) {
+            tokens.add(mealTokenUtils.generateToken(new MealTokenUtils.MealToken(
+                BURST_USER_BASE + i, mealPlanId, now, now.plus(30, ChronoUnit.MINUTES))));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        List<Future<MealCheckInResultDTO>> results = new ArrayList<>();
+        try {
+            for (int pass = 0; pass < 2; pass++) {
+                for (String token : tokens) {
+                    results.add(executor.submit(() -> mealCheckInService.checkIn(token)));
+                }
+            }
+            int admitted = 0;
+            int replayed = 0;
+            for (Future<MealCheckInResultDTO> result : results) {
+                String outcome = result.get().getResult();
+                if (MealCheckInResultDTO.ADMITTED.equals(outcome)) {
+                    admitted++;
+                } else if (MealCheckInResultDTO.ALREADY_CHECKED_IN.equals(outcome)) {
+                    replayed++;
+                }
+            }
+            assertEquals(1000, admitted, "Each student should be admitted once");
+            assertEquals(1000, replayed, "Each second presentation should be refused");
+        } finally {
+            executor.shutdown();
+        }
+
+        mealCheckInService.flushAttendance();
+        assertEquals(1000, mealAttendanceRepo.countByMealPlanId(mealPlanId), "Every admission should be written");
+    }
+
+    /**
+     * Test 4: A check-in another instance already recorded is written once and not retried
+     */
+    @Test
+    @Order(4)
+    void testCheckInRecordedElsewhereIsSkipped() {
+        Instant now = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        Instant expiresAt = now.plus(30, ChronoUnit.MINUTES);
+        long userId = BURST_USER_BASE;
+
+        // The first check-in loads this instance's bitset for the meal, before the other instance writes
+        assertEquals(MealCheckInResultDTO.ADMITTED, mealCheckInService.checkIn(mealTokenUtils.generateToken(
+            new MealTokenUtils.MealToken(userId + 1, mealPlanId, now, expiresAt))).getResult());
+        jdbcTemplate.update("INSERT INTO meal_attendance (meal_plan_id, user_id, checked_in_at) VALUES (?, ?, ?)",
+                            mealPlanId, userId, LocalDateTime.now());
+
+        MealCheckInResultDTO result = mealCheckInService.checkIn(mealTokenUtils.generateToken(
+            new MealTokenUtils.MealToken(userId, mealPlanId, now, expiresAt)));
+        assertEquals(MealCheckInResultDTO.ADMITTED, result.getResult(), "This instance has not seen the other check-in");
+
+        // The scheduled writer may flush first; either way the batch must not be stuck behind the duplicate
+        mealCheckInService.flushAttendance();
+        assertEquals(2, mealAttendanceRepo.countByMealPlanId(mealPlanId), "Each student should be recorded once");
+        assertEquals(0, mealCheckInService.flushAttendance(), "The recorded check-in should not be retried");
+    }
+
+    private ResponseEntity<MealCheckInResultDTO> checkIn(String token, String mealToken) {
+        HttpHeaders headers = headers(token);
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        return restTemplate.exchange(baseUrl + "/check-in", HttpMethod.POST,
+            new HttpEntity<>(Map.of("token", mealToken), headers), MealCheckInResultDTO.class);
+    }
+
+    private HttpHeaders headers(String token) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(token);
+        return headers;
+    }
+
+    private String residentToken(boolean paid) {
+        TestUtility.StudentCredentials credentials = testUtility.createStudentWithCredentials();
+        Students student = TestUtility.makeResident(credentials.getEmail(), usersRepo, studentsRepo);
+        Long userId = student.getUserId();
+
+        LocalDate today = LocalDate.now();
+        feeUserIds.add(userId);
+        studentDiningFeesRepo.save(new StudentDiningFees(userId, student.getStudentId(), "resident", today.getYear(),
+            today.minusDays(15), today.plusDays(15),
+            paid ? StudentDiningFees.PaymentStatus.PAID : StudentDiningFees.PaymentStatus.UNPAID));
+        return testUtility.loginAsStudent(credentials.getEmail(), credentials.getPassword());
+    }
+}
@@ -0,0 +1,301 @@
+package com.HMS.hms.MealPlanTest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.HMS.hms.DTO.MealHeadcountDTO;
+import com.HMS.hms.DTO.MealOptOutDTO;
+import com.HMS.hms.Repo.DiningFeeRepo;
+import com.HMS.hms.Repo.MealPlanRepo;
+import com.HMS.hms.Repo.MessManagerApplicationRepo;
+import com.HMS.hms.Repo.MessManagerCallRepo;
+import com.HMS.hms.Repo.StudentsRepo;
+import com.HMS.hms.Repo.UsersRepo;
+import com.HMS.hms.Service.MealHeadcountService;
+import com.HMS.hms.Tables.DiningFee;
+import com.HMS.hms.Tables.MealPlan;
+import com.HMS.hms.Tables.MessManagerApplication;
+import com.HMS.hms.Tables.MessManagerCall;
+import com.HMS.hms.Tables.Students;
+import com.HMS.hms.utility.TestUtility;
+
+/**
+ * Integration tests for meal opt-outs and live headcounts.
+ *
+ * <p>Not transactional: opt-outs are written by the flush, which only sees committed meal plans.
+ * Meals are planned far in the future so their cutoffs have not passed.</p>
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class MealHeadcountTest {
+
+    private static final LocalDate MEAL_DATE = LocalDate.of(2092, 2, 1);
+
+    // Opt-outs in the burst test use user IDs no real user has
+    private static final long BURST_USER_BASE = 9_000_000L;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private MealHeadcountService mealHeadcountService;
+
+    @Autowired
+    private MealPlanRepo mealPlanRepo;
+
+    @Autowired
+    private DiningFeeRepo diningFeeRepo;
+
+    @Autowired
+    private MessManagerCallRepo messManagerCallRepo;
+
+    @Autowired
+    private MessManagerApplicationRepo messManagerApplicationRepo;
+
+    @Autowired
+    private StudentsRepo studentsRepo;
+
+    @Autowired
+    private UsersRepo usersRepo;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private TestUtility testUtility;
+    private String baseUrl;
+    private final List<Long> mealPlanIds = new ArrayList<>();
+    private Long diningFeeId;
+    private Long callId;
+    private String managerToken;
+
+    @BeforeEach
+    void setUp() {
+        testUtility = new TestUtility(restTemplate, port);
+        baseUrl = "http://localhost:" + port + "/api/meal-plans";
+
+        // An active mess manager for the headcount endpoint
+        TestUtility.StudentCredentials manager = testUtility.createStudentWithCredentials();
+        Long managerId = usersRepo.findByEmail(manager.getEmail()).orElseThrow().getUserId();
+        LocalDate today = LocalDate.now();
+        diningFeeId = diningFeeRepo.save(new DiningFee(DiningFee.ResidencyType.RESIDENT, today.getYear(),
+            today.minusDays(10), today.plusDays(30), new BigDecimal("3000.00"))).getId();
+        MessManagerCall call = messManagerCallRepo.save(new MessManagerCall(
+            1L, diningFeeId, today.minusDays(10), today.minusDays(1), today.plusDays(30), today.getYear(), 5));
+        callId = call.getCallId();
+        MessManagerApplication application = new MessManagerApplication(callId, managerId, "Headcount test");
+        application.setStatus(MessManagerApplication.ApplicationStatus.ACCEPTED);
+        messManagerApplicationRepo.save(application);
+        managerToken = testUtility.loginAsStudent(manager.getEmail(), manager.getPassword());
+    }
+
+    @AfterEach
+    void tearDown() {
+        mealHeadcountService.flush();
+        for (Long mealPlanId : mealPlanIds) {
+            jdbcTemplate.update("DELETE FROM meal_opt_outs WHERE meal_plan_id = ?", mealPlanId);
+            jdbcTemplate.update("DELETE FROM meal_plans WHERE meal_plan_id = ?", mealPlanId);
+        }
+        jdbcTemplate.update("DELETE FROM mess_manager_application WHERE call_id = ?", callId);
+        jdbcTemplate.update("DELETE FROM mess_manager_call WHERE call_id = ?", callId);
+        jdbcTemplate.update("DELETE FROM dining_fee WHERE id = ?", diningFeeId);
+    }
+
+    /**
+     * Test 1: A burst of concurrent changes is counted exactly, live and after the flush
+     */
+    @Test
+    @Order(1)
+    void testBurstIsCountedExactly() throws Exception {
+        Long mealPlanId = planMeal(MEAL_DATE, MealPlan.MealType.LUNCH);
+
+        // 1000 students opt out, each clicking twice; 300 of them change their mind
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        try {
+            List<Future<?>> clicks = new ArrayList<>();
+            for (long i = 0; i < 1000; i++) {
+                long userId = BURST_USER_BASE + i;
+                boolean changesMind = i < 300;
+                clicks.add(executor.submit(() -> {
+                    mealHeadcountService.setOptOut(mealPlanId, userId, true);
+                    mealHeadcountService.setOptOut(mealPlanId, userId, true);
+                    if (changesMind) {
+                        mealHeadcountService.setOptOut(mealPlanId, userId, false);
+                    }
+                }));
+            }
+            for (Future<?> click : clicks) {
+                click.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        MealHeadcountDTO live = headcount(mealPlanId);
+        assertEquals(700, live.getOptedOut(), "Live count should reflect every change");
+        assertEquals(Math.max(0, live.getResidents() - 700), live.getExpectedHeadcount(),
+                     "Headcount should be residents minus opt-outs");
+
+        mealHeadcountService.flush();
+        assertEquals(700, jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM meal_opt_outs WHERE meal_plan_id = ?", Integer.class, mealPlanId),
+            "Every opt-out should be written once");
+        assertEquals(700, jdbcTemplate.queryForObject(
+            "SELECT opt_out_count FROM meal_plans WHERE meal_plan_id = ?", Integer.class, mealPlanId),
+            "Written count should match the rows");
+        assertEquals(700, headcount(mealPlanId).getOptedOut(), "Live count should be unchanged by the flush");
+        assertTrue(mealHeadcountService.getOptOut(mealPlanId, BURST_USER_BASE + 500).isOptedOut(),
+                   "Written opt-out should be read back");
+        assertFalse(mealHeadcountService.getOptOut(mealPlanId, BURST_USER_BASE + 100).isOptedOut(),
+                    "Withdrawn opt-out should not be written");
+    }
+
+    /**
+     * Test 2: A resident student opts out and back in over HTTP; repeats do not count twice
+     */
+    @Test
+    @Order(2)
+    void testStudentOptOut() {
+        Long mealPlanId = planMeal(MEAL_DATE, MealPlan.MealType.DINNER);
+        String token = testUtility.residentToken(usersRepo, studentsRepo);
+
+        ResponseEntity<MealOptOutDTO> optedOut = exchange(HttpMethod.PUT, mealPlanId, token, MealOptOutDTO.class);
+        assertEquals(HttpStatus.OK, optedOut.getStatusCode(), "Opt-out should be accepted");
+        assertNotNull(optedOut.getBody(), "Opt-out state should be returned");
+        assertTrue(optedOut.getBody().isOptedOut(), "Student should be opted out");
+        assertEquals(MEAL_DATE, optedOut.getBody().getCutoff().toLocalDate(), "Cutoff should be on the meal date");
+        exchange(HttpMethod.PUT, mealPlanId, token, MealOptOutDTO.class);
+        assertEquals(1, headcount(mealPlanId).getOptedOut(), "Repeated opt-out should count once");
+
+        mealHeadcountService.flush();
+        assertTrue(exchange(HttpMethod.GET, mealPlanId, token, MealOptOutDTO.class).getBody().isOptedOut(),
+                   "Written opt-out should be returned");
+
+        ResponseEntity<MealOptOutDTO> optedIn = exchange(HttpMethod.DELETE, mealPlanId, token, MealOptOutDTO.class);
+        assertEquals(HttpStatus.OK, optedIn.getStatusCode(), "Opting back in should be accepted");
+        assertFalse(optedIn.getBody().isOptedOut(), "Student should be opted in");
+        assertEquals(0, headcount(mealPlanId).getOptedOut(), "Opting back in should restore the headcount");
+    }
+
+    /**
+     * Test 3: Changes after the cutoff, by non-residents or headcounts for non-managers are refused
+     */
+    @Test
+    @Order(3)
+    void testCutoffAndAccess() {
+        Long pastMealId = planMeal(LocalDate.now().minusDays(1), MealPlan.MealType.LUNCH);
+        String token = testUtility.residentToken(usersRepo, studentsRepo);
+        ResponseEntity<String> late = exchange(HttpMethod.PUT, pastMealId, token, String.class);
+        assertEquals(HttpStatus.BAD_REQUEST, late.getStatusCode(), "Opt-out after the cutoff should be refused");
+        assertTrue(late.getBody().contains("closed"), "Refusal should mention the cutoff: " + late.getBody());
+
+        Long mealPlanId = planMeal(MEAL_DATE.plusDays(1), MealPlan.MealType.LUNCH);
+        TestUtility.StudentCredentials attached = testUtility.createStudentWithCredentials();
+        String attachedToken = testUtility.loginAsStudent(attached.getEmail(), attached.getPassword());
+        assertEquals(HttpStatus.FORBIDDEN, exchange(HttpMethod.PUT, mealPlanId, attachedToken, String.class).getStatusCode(),
+                     "Attached students should not opt out");
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(token);
+        ResponseEntity<String> notManager = restTemplate.exchange(
+            baseUrl + "/headcount?date=" + MEAL_DATE, HttpMethod.GET, new HttpEntity<>(headers), String.class);
+        assertEquals(HttpStatus.BAD_REQUEST, notManager.getStatusCode(), "Only active mess managers should see headcounts");
+    }
+
+    /**
+     * Test 4: Opt-outs written by another instance are included in the headcount
+     */
+    @Test
+    @Order(4)
+    void testHeadcountIncludesOtherInstances() {
+        Long mealPlanId = planMeal(MEAL_DATE.plusDays(2), MealPlan.MealType.LUNCH);
+        mealHeadcountService.setOptOut(mealPlanId, BURST_USER_BASE, true);
+
+        // Another instance flushed three opt-outs of its own
+        jdbcTemplate.update("UPDATE meal_plans SET opt_out_count = COALESCE(opt_out_count, 0) + 3 WHERE meal_plan_id = ?",
+            mealPlanId);
+        assertEquals(4, headcount(mealPlanId).getOptedOut(), "Headcount should add this instance's unwritten change");
+
+        mealHeadcountService.flush();
+        assertEquals(4, headcount(mealPlanId).getOptedOut(), "Flushed change should be counted once");
+    }
+
+    /**
+     * Test 5: Saving a plan loaded before a flush keeps the flushed count
+     */
+    @Test
+    @Order(5)
+    void testSavingPlanKeepsFlushedCount() {
+        Long mealPlanId = planMeal(MEAL_DATE.plusDays(3), MealPlan.MealType.DINNER);
+        MealPlan loaded = mealPlanRepo.findById(mealPlanId).orElseThrow();
+
+        mealHeadcountService.setOptOut(mealPlanId, BURST_USER_BASE, true);
+        mealHeadcountService.flush();
+
+        loaded.setCostPerPerson(new BigDecimal("55.00"));
+        mealPlanRepo.save(loaded);
+        assertEquals(1, jdbcTemplate.queryForObject(
+            "SELECT opt_out_count FROM meal_plans WHERE meal_plan_id = ?", Integer.class, mealPlanId),
+            "Saving the plan should not overwrite the flushed count");
+        assertEquals(1, headcount(mealPlanId).getOptedOut(), "Headcount should still include the opt-out");
+    }
+
+    private MealHeadcountDTO headcount(Long mealPlanId) {
+        MealPlan mealPlan = mealPlanRepo.findById(mealPlanId).orElseThrow();
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(managerToken);
+        ResponseEntity<MealHeadcountDTO[]> response = restTemplate.exchange(
+            baseUrl + "/headcount?date=" + mealPlan.getMealDate(), HttpMethod.GET, new HttpEntity<>(headers),
+            MealHeadcountDTO[].class);
+        assertEquals(HttpStatus.OK, response.getStatusCode(), "Mess manager should see headcounts");
+        for (MealHeadcountDTO headcount : response.getBody()) {
+            if (headcount.getMealPlanId().equals(mealPlanId)) {
+                return headcount;
+            }
+        }
+        throw new AssertionError("No headcount for meal plan " + mealPlanId);
+    }
+
+    private <T> ResponseEntity<T> exchange(HttpMethod method, Long mealPlanId, String token, Class<T> type) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(token);
+        return restTemplate.exchange(baseUrl + "/" + mealPlanId + "/opt-out", method, new HttpEntity<>(headers), type);
+    }
+
+    private Long planMeal(LocalDate date, MealPlan.MealType mealType) {
+        MealPlan mealPlan = mealPlanRepo.save(new MealPlan(1L, date, mealType, new BigDecimal("50.00")));
+        mealPlanIds.add(mealPlan.getMealPlanId());
+        return mealPlan.getMealPlanId();
+    }
+}
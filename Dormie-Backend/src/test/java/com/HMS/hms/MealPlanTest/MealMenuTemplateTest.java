@@ -0,0 +1,266 @@
+package com.HMS.hms.MealPlanTest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.HMS.hms.DTO.MealMenuGenerationResultDTO;
+import com.HMS.hms.DTO.MealMenuTemplateDTO;
+import com.HMS.hms.DTO.MealPlanDTO;
+import com.HMS.hms.Repo.DiningFeeRepo;
+import com.HMS.hms.Repo.MessManagerApplicationRepo;
+import com.HMS.hms.Repo.MessManagerCallRepo;
+import com.HMS.hms.Repo.UsersRepo;
+import com.HMS.hms.Service.MealPlanService;
+import com.HMS.hms.Tables.DiningFee;
+import com.HMS.hms.Tables.MessManagerApplication;
+import com.HMS.hms.Tables.MessManagerCall;
+import com.HMS.hms.utility.TestUtility;
+
+/**
+ * Integration tests for menu templates: generating a month of meal plans and regenerating it
+ * by writing only the differences.
+ *
+ * <p>Plans are generated far in the future so they never overlap other tests' plans.</p>
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class MealMenuTemplateTest {
+
+    private static final YearMonth MONTH = YearMonth.of(2093, 3);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private MealPlanService mealPlanService;
+
+    @Autowired
+    private DiningFeeRepo diningFeeRepo;
+
+    @Autowired
+    private MessManagerCallRepo messManagerCallRepo;
+
+    @Autowired
+    private MessManagerApplicationRepo messManagerApplicationRepo;
+
+    @Autowired
+    private UsersRepo usersRepo;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private TestUtility testUtility;
+    private String baseUrl;
+    private Long managerId;
+    private String managerToken;
+    private Long diningFeeId;
+    private Long callId;
+
+    @BeforeEach
+    void setUp() {
+        testUtility = new TestUtility(restTemplate, port);
+        baseUrl = "http://localhost:" + port + "/api/meal-plans/templates";
+
+        TestUtility.StudentCredentials manager = testUtility.createStudentWithCredentials();
+        managerId = usersRepo.findByEmail(manager.getEmail()).orElseThrow().getUserId();
+        LocalDate today = LocalDate.now();
+        diningFeeId = diningFeeRepo.save(new DiningFee(DiningFee.ResidencyType.RESIDENT, today.getYear(),
+            today.minusDays(10), today.plusDays(30), new BigDecimal("3000.00"))).getId();
+        callId = messManagerCallRepo.save(new MessManagerCall(
+            1L, diningFeeId, today.minusDays(10), today.minusDays(1), today.plusDays(30), today.getYear(), 5)).getCallId();
+        MessManagerApplication application = new MessManagerApplication(callId, managerId, "Template test");
+        application.setStatus(MessManagerApplication.ApplicationStatus.ACCEPTED);
+        messManagerApplicationRepo.save(application);
+        managerToken = testUtility.loginAsStudent(manager.getEmail(), manager.getPassword());
+    }
+
+    @AfterEach
+    void tearDown() {
+        String inMonth = "SELECT meal_plan_id FROM meal_plans WHERE meal_date BETWEEN ? AND ?";
+        jdbcTemplate.update("DELETE FROM meal_items WHERE meal_plan_id IN (" + inMonth + ")", MONTH.atDay(1), MONTH.atEndOfMonth());
+        jdbcTemplate.update("DELETE FROM meal_plans WHERE meal_date BETWEEN ? AND ?", MONTH.atDay(1), MONTH.atEndOfMonth());
+        jdbcTemplate.update("DELETE FROM meal_menu_template_items");
+        jdbcTemplate.update("DELETE FROM meal_menu_template_entries");
+        jdbcTemplate.update("DELETE FROM meal_menu_templates");
+        jdbcTemplate.update("DELETE FROM mess_manager_application WHERE call_id = ?", callId);
+        jdbcTemplate.update("DELETE FROM mess_manager_call WHERE call_id = ?", callId);
+        jdbcTemplate.update("DELETE FROM dining_fee WHERE id = ?", diningFeeId);
+    }
+
+    /**
+     * Test 1: A weekly template generates every lunch and dinner of the month with their items
+     */
+    @Test
+    @Order(1)
+    void testGenerateMonth() {
+        Long templateId = createTemplate(weeklyTemplate("Rice"));
+
+        MealMenuGenerationResultDTO result = generate(templateId);
+        assertEquals(62, result.getCreated(), "Every lunch and dinner of March should be created");
+        assertEquals(0, result.getUpdated(), "Nothing should be updated");
+        assertEquals(62, countPlans(), "Month should have two meals a day");
+        assertEquals(186, jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM meal_items i JOIN meal_plans p ON p.meal_plan_id = i.meal_plan_id " +
+            "WHERE p.meal_date BETWEEN ? AND ?", Integer.class, MONTH.atDay(1), MONTH.atEndOfMonth()),
+            "Every meal should have its three items");
+
+        LocalDate firstDay = MONTH.atDay(1);
+        List<MealPlanDTO> plans = mealPlanService.getMealPlansByDate(firstDay);
+        String day = firstDay.getDayOfWeek().name().toLowerCase();
+        for (MealPlanDTO plan : plans) {
+            assertEquals(List.of("Rice", day + " " + plan.getMealType(), "Dal"), plan.getMealItems(),
+                         "Items should follow the template in order");
+        }
+    }
+
+    /**
+     * Test 2: Regeneration writes only what the template changed and keeps untouched rows
+     */
+    @Test
+    @Order(2)
+    void testRegenerationWritesOnlyDifferences() {
+        Long templateId = createTemplate(weeklyTemplate("Rice"));
+        generate(templateId);
+
+        MealMenuGenerationResultDTO again = generate(templateId);
+        assertEquals(0, again.getCreated(), "Nothing new to create");
+        assertEquals(0, again.getUpdated(), "Unchanged template should update nothing");
+        assertEquals(62, again.getUnchanged(), "Every meal should be unchanged");
+
+        List<Long> itemIdsBefore = itemIds();
+
+        // Mondays' lunch gets a new price and a different first item
+        MealMenuTemplateDTO changed = weeklyTemplate("Rice");
+        for (MealMenuTemplateDTO.Entry entry : changed.getEntries()) {
+            if (entry.getDayOfWeek().equals("monday") && entry.getMealType().equals("lunch")) {
+                entry.setCostPerPerson(new BigDecimal("75.00"));
+                entry.getItems().set(0, "Polao");
+            }
+        }
+        ResponseEntity<MealMenuTemplateDTO> updated = restTemplate.exchange(baseUrl + "/" + templateId, HttpMethod.PUT,
+            new HttpEntity<>(changed, headers()), MealMenuTemplateDTO.class);
+        assertEquals(HttpStatus.OK, updated.getStatusCode(), "Template should be updated");
+
+        int mondays = 0;
+        for (LocalDate date = MONTH.atDay(1); !date.isAfter(MONTH.atEndOfMonth()); date = date.plusDays(1)) {
+            if (date.getDayOfWeek() == DayOfWeek.MONDAY) {
+                mondays++;
+            }
+        }
+        MealMenuGenerationResultDTO regenerated = generate(templateId);
+        assertEquals(0, regenerated.getCreated(), "Nothing new to create");
+        assertEquals(mondays, regenerated.getUpdated(), "Only Monday lunches should change");
+        assertEquals(62 - mondays, regenerated.getUnchanged(), "Other meals should be untouched");
+        assertEquals(itemIdsBefore, itemIds(), "Items should be renamed in place, not deleted and reinserted");
+        assertEquals(mondays, jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM meal_plans WHERE meal_date BETWEEN ? AND ? AND cost_per_person = 75.00",
+            Integer.class, MONTH.atDay(1), MONTH.atEndOfMonth()), "Monday lunches should have the new price");
+    }
+
+    /**
+     * Test 3: Editing one meal plan updates its items in place; non-managers cannot generate
+     */
+    @Test
+    @Order(3)
+    void testSinglePlanEditAndAccess() {
+        LocalDate date = MONTH.atDay(15);
+        MealPlanDTO plan = mealPlanService.createOrUpdateMealPlan(new MealPlanDTO(
+            null, managerId, date, "dinner", new BigDecimal("60.00"), List.of("Rice", "Fish", "Dal")));
+        List<Long> before = itemIds();
+
+        MealPlanDTO edited = mealPlanService.createOrUpdateMealPlan(new MealPlanDTO(
+            null, managerId, date, "dinner", new BigDecimal("60.00"), List.of(" Khichuri ", "Fish")));
+        assertEquals(plan.getMealPlanId(), edited.getMealPlanId(), "Same plan should be updated");
+        assertEquals(List.of("Khichuri", "Fish"), mealPlanService.getMealPlanById(plan.getMealPlanId()).orElseThrow().getMealItems(),
+                     "Items should be updated");
+        assertEquals(before.subList(0, 2), itemIds(), "Remaining items should keep their IDs");
+
+        TestUtility.StudentCredentials student = testUtility.createStudentWithCredentials();
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(testUtility.loginAsStudent(student.getEmail(), student.getPassword()));
+        ResponseEntity<String> refused = restTemplate.exchange(baseUrl, HttpMethod.POST,
+            new HttpEntity<>(weeklyTemplate("Rice"), headers), String.class);
+        assertEquals(HttpStatus.BAD_REQUEST, refused.getStatusCode(), "Only active mess managers should create templates");
+    }
+
+    private MealMenuTemplateDTO weeklyTemplate(String firstItem) {
+        List<MealMenuTemplateDTO.Entry> entries = new ArrayList<>();
+        for (DayOfWeek day : DayOfWeek.values()) {
+            for (String mealType : List.of("lunch", "dinner")) {
+                String dayName = day.name().toLowerCase();
+                entries.add(new MealMenuTemplateDTO.Entry(1, dayName, mealType, new BigDecimal("60.00"),
+                    new ArrayList<>(List.of(firstItem, dayName + " " + mealType, "Dal"))));
+            }
+        }
+        MealMenuTemplateDTO template = new MealMenuTemplateDTO();
+        template.setName("Standard week");
+        template.setCycleWeeks(1);
+        template.setEntries(entries);
+        return template;
+    }
+
+    private Long createTemplate(MealMenuTemplateDTO template) {
+        ResponseEntity<MealMenuTemplateDTO> response = restTemplate.exchange(baseUrl, HttpMethod.POST,
+            new HttpEntity<>(template, headers()), MealMenuTemplateDTO.class);
+        assertEquals(HttpStatus.CREATED, response.getStatusCode(), "Template should be created");
+        assertNotNull(response.getBody(), "Template should be returned");
+        assertEquals(14, response.getBody().getEntries().size(), "Template should have every meal of the week");
+        return response.getBody().getTemplateId();
+    }
+
+    private MealMenuGenerationResultDTO generate(Long templateId) {
+        ResponseEntity<MealMenuGenerationResultDTO> response = restTemplate.exchange(
+            baseUrl + "/" + templateId + "/generate?month=" + MONTH, HttpMethod.POST,
+            new HttpEntity<>(headers()), MealMenuGenerationResultDTO.class);
+        assertEquals(HttpStatus.OK, response.getStatusCode(), "Month should be generated");
+        return response.getBody();
+    }
+
+    private int countPlans() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM meal_plans WHERE meal_date BETWEEN ? AND ?",
+            Integer.class, MONTH.atDay(1), MONTH.atEndOfMonth());
+    }
+
+    private List<Long> itemIds() {
+        return jdbcTemplate.queryForList(
+            "SELECT i.meal_item_id FROM meal_items i JOIN meal_plans p ON p.meal_plan_id = i.meal_plan_id " +
+            "WHERE p.meal_date BETWEEN ? AND ? ORDER BY i.meal_item_id", Long.class, MONTH.atDay(1), MONTH.atEndOfMonth());
+    }
+
+    private HttpHeaders headers() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setBearerAuth(managerToken);
+        return headers;
+    }
+}
@@ -0,0 +1,164 @@
+package com.HMS.hms.MealPlanTest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.HMS.hms.DTO.MealPlanDTO;
+import com.HMS.hms.Repo.MealPlanRepo;
+import com.HMS.hms.Repo.StudentsRepo;
+import com.HMS.hms.Repo.UsersRepo;
+import com.HMS.hms.Service.MealPlanService;
+import com.HMS.hms.Tables.MealItem;
+import com.HMS.hms.Tables.MealPlan;
+import com.HMS.hms.utility.TestUtility;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Integration tests for meal plan reads: items are fetched for all plans at once, not per plan.
+ *
+ * <p>Query counts come from Hibernate statistics, switched on for the duration of each test.
+ * Plans are created far in the future so they never overlap other tests' plans.</p>
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class MealPlanFetchTest {
+
+    private static final LocalDate WEEK_START = LocalDate.of(2091, 3, 5);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private MealPlanService mealPlanService;
+
+    @Autowired
+    private MealPlanRepo mealPlanRepo;
+
+    @Autowired
+    private StudentsRepo studentsRepo;
+
+    @Autowired
+    private UsersRepo usersRepo;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private final List<MealPlan> plans = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+
+        // Two meals a day for a week, three items each, plus one plan just outside the week
+        for (int day = 0; day <= 7; day++) {
+            for (MealPlan.MealType mealType : MealPlan.MealType.values()) {
+                MealPlan plan = new MealPlan(1L, WEEK_START.plusDays(day), mealType, new BigDecimal("60.00"));
+                for (int item = 3; item >= 1; item--) {
+                    plan.getMealItems().add(new MealItem(plan, mealType.getValue() + " item " + item, item));
+                }
+                plans.add(mealPlanRepo.save(plan));
+            }
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        statistics.setStatisticsEnabled(false);
+        mealPlanRepo.deleteAll(plans);
+    }
+
+    /**
+     * Test 1: A week of plans with their items is read in at most two queries
+     */
+    @Test
+    @Order(1)
+    void testWeekViewUsesTwoQueries() {
+        statistics.clear();
+
+        List<MealPlanDTO> week = mealPlanService.getWeekMealPlans(WEEK_START);
+
+        assertEquals(14, week.size(), "Week should contain two meals for each of seven days");
+        assertEquals(WEEK_START, week.get(0).getMealDate(), "Week should start at the start date");
+        assertEquals(WEEK_START.plusDays(6), week.get(13).getMealDate(), "Week should end six days later");
+        for (MealPlanDTO plan : week) {
+            assertEquals(List.of(plan.getMealType() + " item 1", plan.getMealType() + " item 2", plan.getMealType() + " item 3"),
+                         plan.getMealItems(), "Items should be in item order");
+        }
+
+        assertEquals(0, statistics.getCollectionStatistics(MealPlan.class.getName() + ".mealItems").getFetchCount(),
+                     "Item collections should not be initialised one plan at a time");
+        assertEquals(0, statistics.getEntityStatistics(MealItem.class.getName()).getLoadCount(),
+                     "Items should be read as names, not loaded as entities");
+        long queries = TestUtility.queryCount(statistics, "MealPlan", "MealItem");
+        assertTrue(queries <= 2, "Plans and items should take at most two queries, took " + queries);
+    }
+
+    /**
+     * Test 2: Range reads fetch items the same way
+     */
+    @Test
+    @Order(2)
+    void testDateRangeFetchesItemsOnce() {
+        statistics.clear();
+
+        List<MealPlanDTO> range = mealPlanService.getMealPlansByDateRange(WEEK_START, WEEK_START.plusDays(7));
+
+        assertEquals(16, range.size(), "Range should contain every plan");
+        assertTrue(range.stream().allMatch(plan -> plan.getMealItems().size() == 3), "Every plan should have its items");
+        assertEquals(0, statistics.getCollectionStatistics(MealPlan.class.getName() + ".mealItems").getFetchCount(),
+                     "Item collections should not be initialised one plan at a time");
+        long queries = TestUtility.queryCount(statistics, "MealPlan", "MealItem");
+        assertTrue(queries <= 2, "Plans and items should take at most two queries, took " + queries);
+    }
+
+    /**
+     * Test 3: Resident students can read the week view over HTTP
+     */
+    @Test
+    @Order(3)
+    void testWeekEndpoint() {
+        TestUtility testUtility = new TestUtility(restTemplate, port);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(testUtility.residentToken(usersRepo, studentsRepo));
+        ResponseEntity<MealPlanDTO[]> response = restTemplate.exchange(
+            "http://localhost:" + port + "/api/meal-plans/week?startDate=" + WEEK_START, HttpMethod.GET,
+            new HttpEntity<>(headers), MealPlanDTO[].class);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode(), "Week view should be returned");
+        assertNotNull(response.getBody(), "Week view should not be null");
+        assertEquals(14, response.getBody().length, "Week view should contain the week's plans");
+    }
+}
@@ -0,0 +1,209 @@
+package com.HMS.hms.MealPlanTest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.HMS.hms.Repo.MealPlanRepo;
+import com.HMS.hms.Repo.StudentsRepo;
+import com.HMS.hms.Repo.UsersRepo;
+import com.HMS.hms.Service.MealPlanChangedEvent;
+import com.HMS.hms.Service.MenuCacheService;
+import com.HMS.hms.Tables.MealItem;
+import com.HMS.hms.Tables.MealPlan;
+import com.HMS.hms.Tables.Students;
+import com.HMS.hms.utility.TestUtility;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Integration tests for the cached student menu: ETags, 304 responses and rebuilds after local and
+ * other instances' changes.
+ *
+ * <p>Not transactional: the cache is rebuilt after a meal plan change commits.</p>
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class MenuCacheTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private MealPlanRepo mealPlanRepo;
+
+    @Autowired
+    private StudentsRepo studentsRepo;
+
+    @Autowired
+    private UsersRepo usersRepo;
+
+    @Autowired
+    private MenuCacheService menuCacheService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private TestUtility testUtility;
+    private String baseUrl;
+    private Statistics statistics;
+    private MealPlan todaysDinner;
+
+    @BeforeEach
+    void setUp() {
+        testUtility = new TestUtility(restTemplate, port);
+        baseUrl = "http://localhost:" + port + "/api/meal-plans";
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        statistics.setStatisticsEnabled(false);
+        if (todaysDinner != null) {
+            MealPlan plan = todaysDinner;
+            todaysDinner = null;
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                mealPlanRepo.deleteById(plan.getMealPlanId());
+                eventPublisher.publishEvent(new MealPlanChangedEvent(plan.getMealPlanId(), plan.getMealDate()));
+            });
+        }
+    }
+
+    /**
+     * Test 1: A repeated poll with the ETag gets 304 without touching meal plans
+     */
+    @Test
+    @Order(1)
+    void testNotModifiedWithoutDatabaseAccess() {
+        String token = testUtility.residentToken(usersRepo, studentsRepo);
+
+        ResponseEntity<String> first = get("/today", token, null);
+        assertEquals(HttpStatus.OK, first.getStatusCode(), "Today's menu should be returned");
+        String eTag = first.getHeaders().getETag();
+        assertNotNull(eTag, "Menu should carry an ETag");
+        assertTrue(eTag.startsWith("\""), "ETag should be strong: " + eTag);
+
+        statistics.clear();
+        ResponseEntity<String> second = get("/today", token, eTag);
+        assertEquals(HttpStatus.NOT_MODIFIED, second.getStatusCode(), "Unchanged menu should not be resent");
+        assertNull(second.getBody(), "304 should have no body");
+        assertEquals(0, TestUtility.queryCount(statistics, "MealPlan", "MealItem"),
+                     "Cached menu should not query meal plans");
+    }
+
+    /**
+     * Test 2: A committed meal plan change replaces the cached menu and its ETag
+     */
+    @Test
+    @Order(2)
+    void testChangeRebuildsMenu() {
+        String token = testUtility.residentToken(usersRepo, studentsRepo);
+        String eTag = get("/today", token, null).getHeaders().getETag();
+
+        todaysDinner = new TransactionTemplate(transactionManager).execute(status -> {
+            MealPlan plan = new MealPlan(1L, LocalDate.now(), MealPlan.MealType.DINNER, new BigDecimal("55.00"));
+            plan.getMealItems().add(new MealItem(plan, "Cached menu khichuri", 1));
+            plan = mealPlanRepo.save(plan);
+            eventPublisher.publishEvent(new MealPlanChangedEvent(plan.getMealPlanId(), plan.getMealDate()));
+            return plan;
+        });
+
+        ResponseEntity<String> changed = get("/today", token, eTag);
+        assertEquals(HttpStatus.OK, changed.getStatusCode(), "Changed menu should be resent");
+        assertNotEquals(eTag, changed.getHeaders().getETag(), "Changed menu should have a new ETag");
+        assertTrue(changed.getBody().contains("Cached menu khichuri"), "Changed menu should include the new plan");
+    }
+
+    /**
+     * Test 3: Future meals are cached the same way and still limited to resident students
+     */
+    @Test
+    @Order(3)
+    void testFutureMenuAndAccess() {
+        String token = testUtility.residentToken(usersRepo, studentsRepo);
+        ResponseEntity<String> future = get("/future", token, null);
+        assertEquals(HttpStatus.OK, future.getStatusCode(), "Future menu should be returned");
+        String eTag = future.getHeaders().getETag();
+        assertNotNull(eTag, "Future menu should carry an ETag");
+        assertEquals(HttpStatus.NOT_MODIFIED, get("/future", token, eTag).getStatusCode(),
+                     "Unchanged future menu should not be resent");
+
+        TestUtility.StudentCredentials attached = testUtility.createStudentWithCredentials();
+        String attachedToken = testUtility.loginAsStudent(attached.getEmail(), attached.getPassword());
+        assertEquals(HttpStatus.FORBIDDEN, get("/today", attachedToken, eTag).getStatusCode(),
+                     "Attached students should not see the menu, even with an ETag");
+    }
+
+    /**
+     * Test 4: A change committed elsewhere, with no event on this instance, is picked up by the probe
+     */
+    @Test
+    @Order(4)
+    void testProbePicksUpChangesFromOtherInstances() {
+        String token = testUtility.residentToken(usersRepo, studentsRepo);
+        String eTag = get("/today", token, null).getHeaders().getETag();
+
+        // Another instance saves today's dinner; this one gets no MealPlanChangedEvent
+        todaysDinner = new TransactionTemplate(transactionManager).execute(status -> {
+            MealPlan plan = new MealPlan(1L, LocalDate.now(), MealPlan.MealType.DINNER, new BigDecimal("55.00"));
+            plan.getMealItems().add(new MealItem(plan, "Other instance polao", 1));
+            return mealPlanRepo.save(plan);
+        });
+
+        menuCacheService.probeForChanges();
+        ResponseEntity<String> changed = get("/today", token, eTag);
+        assertEquals(HttpStatus.OK, changed.getStatusCode(), "Changed menu should be resent");
+        assertTrue(changed.getBody().contains("Other instance polao"), "Changed menu should include the new plan");
+
+        String probedETag = changed.getHeaders().getETag();
+        menuCacheService.probeForChanges();
+        assertEquals(probedETag, menuCacheService.getTodaysMenu().getETag(), "Unchanged plans should keep the snapshot");
+    }
+
+    private ResponseEntity<String> get(String path, String token, String ifNoneMatch) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(token);
+        if (ifNoneMatch != null) {
+            headers.setIfNoneMatch(ifNoneMatch);
+        }
+        return restTemplate.exchange(baseUrl + path, HttpMethod.GET, new HttpEntity<>(headers), String.class);
+    }
+}
@@ -0,0 +1,207 @@
+package com.HMS.hms.MessManagerTest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.HMS.hms.DTO.MessManagerCallDashboardDTO;
+import com.HMS.hms.Repo.DiningFeeRepo;
+import com.HMS.hms.Repo.MessManagerApplicationRepo;
+import com.HMS.hms.Repo.MessManagerCallRepo;
+import com.HMS.hms.Service.MessManagerApplicationService;
+import com.HMS.hms.Service.MessManagerCallService;
+import com.HMS.hms.Tables.DiningFee;
+import com.HMS.hms.Tables.MessManagerApplication;
+import com.HMS.hms.Tables.MessManagerCall;
+import com.HMS.hms.utility.TestUtility;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Integration tests for the provost's mess manager call dashboard.
+ *
+ * <p>Calls are created for a far-future year so no other test's calls show up in the dashboard.</p>
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class MessManagerCallDashboardTest {
+
+    private static final int YEAR = 2094;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private MessManagerCallService messManagerCallService;
+
+    @Autowired
+    private MessManagerApplicationService messManagerApplicationService;
+
+    @Autowired
+    private MessManagerCallRepo messManagerCallRepo;
+
+    @Autowired
+    private MessManagerApplicationRepo messManagerApplicationRepo;
+
+    @Autowired
+    private DiningFeeRepo diningFeeRepo;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<Long> callIds = new ArrayList<>();
+    private final List<Long> diningFeeIds = new ArrayList<>();
+    private Long busyCall;
+    private Long emptyCall;
+
+    @BeforeEach
+    void setUp() {
+        busyCall = createCall(new BigDecimal("3000.00"));
+        addApplications(busyCall, MessManagerApplication.ApplicationStatus.PENDING, 3, 1000);
+        addApplications(busyCall, MessManagerApplication.ApplicationStatus.ACCEPTED, 2, 2000);
+        addApplications(busyCall, MessManagerApplication.ApplicationStatus.REJECTED, 1, 3000);
+        emptyCall = createCall(new BigDecimal("3500.00"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        for (Long callId : callIds) {
+            jdbcTemplate.update("DELETE FROM mess_manager_application WHERE call_id = ?", callId);
+            jdbcTemplate.update("DELETE FROM mess_manager_call WHERE call_id = ?", callId);
+        }
+        for (Long diningFeeId : diningFeeIds) {
+            jdbcTemplate.update("DELETE FROM dining_fee WHERE id = ?", diningFeeId);
+        }
+    }
+
+    /**
+     * Test 1: Every call of the year is listed with its dining fee and per-status counts
+     */
+    @Test
+    @Order(1)
+    void testDashboardCounts() {
+        List<MessManagerCallDashboardDTO> dashboard = messManagerCallService.getDashboard(YEAR);
+
+        assertEquals(2, dashboard.size(), "Both calls of the year should be listed");
+        assertEquals(emptyCall, dashboard.get(0).getCallId(), "Newest call should come first");
+
+        MessManagerCallDashboardDTO busy = dashboard.get(1);
+        assertEquals(busyCall, busy.getCallId(), "Older call should come second");
+        assertEquals(6, busy.getTotalApplications(), "All applications should be counted");
+        assertEquals(3, busy.getPendingApplications(), "Pending applications should be counted");
+        assertEquals(2, busy.getAcceptedApplications(), "Accepted applications should be counted");
+        assertEquals(1, busy.getRejectedApplications(), "Rejected applications should be counted");
+        assertEquals(0, busy.getMonthEndApplications(), "No month-end applications");
+        assertEquals(3, busy.getRemainingSlots(), "Two of five manager slots are taken");
+        assertEquals(0, new BigDecimal("3000.00").compareTo(busy.getDiningFee()), "Dining fee should be joined in");
+        assertEquals("active", busy.getStatus(), "Call status should be included");
+
+        MessManagerCallDashboardDTO empty = dashboard.get(0);
+        assertEquals(0, empty.getTotalApplications(), "Call without applications should show zero");
+        assertEquals(5, empty.getRemainingSlots(), "Call without applications has every slot open");
+        assertEquals(0, new BigDecimal("3500.00").compareTo(empty.getDiningFee()), "Dining fee should be joined in");
+    }
+
+    /**
+     * Test 2: The dashboard is one query, and the per-call summary no longer loads applications
+     */
+    @Test
+    @Order(2)
+    void testSingleRoundTrip() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        try {
+            statistics.clear();
+            messManagerCallService.getDashboard(YEAR);
+            assertEquals(1, statistics.getPrepareStatementCount(), "Dashboard should take a single query");
+            assertEquals(0, statistics.getEntityLoadCount(), "Dashboard should not load entities");
+
+            statistics.clear();
+            Map<String, Integer> summary = messManagerApplicationService.getApplicationSummary(busyCall);
+            assertEquals(Map.of("total", 6, "pending", 3, "currentManagers", 2), summary, "Summary should match the counts");
+            assertEquals(1, statistics.getPrepareStatementCount(), "Summary should take a single query");
+            assertEquals(0, statistics.getEntityLoadCount(), "Summary should not load applications");
+            assertEquals(6, messManagerApplicationService.getTotalApplicationsCount(busyCall), "Total should be counted");
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+    }
+
+    /**
+     * Test 3: Provosts can read the dashboard over HTTP; students cannot
+     */
+    @Test
+    @Order(3)
+    void testDashboardEndpoint() {
+        TestUtility testUtility = new TestUtility(restTemplate, port);
+        String url = "http://localhost:" + port + "/api/mess-manager-calls/dashboard?year=" + YEAR;
+
+        HttpHeaders provostHeaders = new HttpHeaders();
+        provostHeaders.setBearerAuth(testUtility.loginAsProvost());
+        ResponseEntity<MessManagerCallDashboardDTO[]> response = restTemplate.exchange(
+            url, HttpMethod.GET, new HttpEntity<>(provostHeaders), MessManagerCallDashboardDTO[].class);
+        assertEquals(HttpStatus.OK, response.getStatusCode(), "Provost should read the dashboard");
+        assertNotNull(response.getBody(), "Dashboard should be returned");
+        assertEquals(2, response.getBody().length, "Dashboard should list the year's calls");
+
+        TestUtility.StudentCredentials student = testUtility.createStudentWithCredentials();
+        HttpHeaders studentHeaders = new HttpHeaders();
+        studentHeaders.setBearerAuth(testUtility.loginAsStudent(student.getEmail(), student.getPassword()));
+        ResponseEntity<String> refused = restTemplate.exchange(
+            url, HttpMethod.GET, new HttpEntity<>(studentHeaders), String.class);
+        assertFalse(refused.getStatusCode().is2xxSuccessful(), "Students should not read the dashboard");
+    }
+
+    private Long createCall(BigDecimal fee) {
+        LocalDate start = LocalDate.of(YEAR, 1, 1);
+        Long diningFeeId = diningFeeRepo.save(new DiningFee(DiningFee.ResidencyType.RESIDENT, YEAR,
+            start, start.plusMonths(1), fee)).getId();
+        diningFeeIds.add(diningFeeId);
+        MessManagerCall call = new MessManagerCall(1L, diningFeeId, start.minusDays(10), start, start.plusMonths(1), YEAR, 5);
+        call.setCreatedAt(call.getCreatedAt().plusSeconds(callIds.size()));
+        Long callId = messManagerCallRepo.save(call).getCallId();
+        callIds.add(callId);
+        return callId;
+    }
+
+    private void addApplications(Long callId, MessManagerApplication.ApplicationStatus status, int count, long firstStudentId) {
+        for (int i = 0; i < count; i++) {
+            MessManagerApplication application = new MessManagerApplication(callId, firstStudentId + i, "Dashboard test");
+            application.setStatus(status);
+            messManagerApplicationRepo.save(application);
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.HMS.hms.MessManagerTest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.HMS.hms.DTO.MessManagerCallLifecycleStatusDTO;
+import com.HMS.hms.Repo.DiningFeeRepo;
+import com.HMS.hms.Repo.MessManagerCallRepo;
+import com.HMS.hms.Service.JobLockService;
+import com.HMS.hms.Service.MessManagerCallLifecycleService;
+import com.HMS.hms.Tables.DiningFee;
+import com.HMS.hms.Tables.MessManagerCall;
+import com.HMS.hms.utility.TestUtility;
+
+/**
+ * Integration tests for the scheduled mess manager call status transitions.
+ *
+ * <p>The scheduler is disabled in tests; transitions are run directly. Calls are created with
+ * dates relative to today and removed again afterwards.</p>
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class MessManagerCallLifecycleTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private MessManagerCallLifecycleService lifecycleService;
+
+    @Autowired
+    private JobLockService jobLockService;
+
+    @Autowired
+    private MessManagerCallRepo messManagerCallRepo;
+
+    @Autowired
+    private DiningFeeRepo diningFeeRepo;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<Long> callIds = new ArrayList<>();
+    private final List<Long> diningFeeIds = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        for (Long callId : callIds) {
+            jdbcTemplate.update("DELETE FROM mess_manager_call WHERE call_id = ?", callId);
+        }
+        for (Long diningFeeId : diningFeeIds) {
+            jdbcTemplate.update("DELETE FROM dining_fee WHERE id = ?", diningFeeId);
+        }
+    }
+
+    /**
+     * Test 1: Calls past their deadlines are expired or completed; current calls are left alone
+     */
+    @Test
+    @Order(1)
+    void testTransitions() {
+        LocalDate today = LocalDate.now();
+        Long open = createCall(today.plusDays(5), today.plusDays(10), today.plusDays(40));
+        Long closed = createCall(today.minusDays(1), today.plusDays(1), today.plusDays(30));
+        Long finished = createCall(today.minusDays(40), today.minusDays(30), today.minusDays(1));
+        Long alreadyCompleted = createCall(today.minusDays(40), today.minusDays(30), today.minusDays(1));
+        jdbcTemplate.update("UPDATE mess_manager_call SET status = 'COMPLETED' WHERE call_id = ?", alreadyCompleted);
+
+        MessManagerCallLifecycleService.LifecycleRun run = lifecycleService.runTransitions();
+
+        assertFalse(run.isSkipped(), "Run should not be skipped");
+        assertNull(run.getError(), "Run should succeed");
+        assertTrue(run.getExpired() >= 2, "Closed and finished calls should be expired, was " + run.getExpired());
+        assertTrue(run.getCompleted() >= 1, "Finished call should be completed, was " + run.getCompleted());
+        assertEquals(MessManagerCall.CallStatus.ACTIVE, status(open), "Open call should stay active");
+        assertEquals(MessManagerCall.CallStatus.EXPIRED, status(closed), "Call past its deadline should expire");
+        assertEquals(MessManagerCall.CallStatus.COMPLETED, status(finished), "Finished call should complete in the same run");
+        assertEquals(MessManagerCall.CallStatus.COMPLETED, status(alreadyCompleted), "Completed call should stay completed");
+
+        MessManagerCallLifecycleService.LifecycleRun again = lifecycleService.runTransitions();
+        assertEquals(0, again.getExpired(), "Second run should have nothing to expire");
+        assertEquals(0, again.getCompleted(), "Second run should have nothing to complete");
+    }
+
+    /**
+     * Test 2: A run is skipped while another holds the job lock, and the skip is recorded
+     */
+    @Test
+    @Order(2)
+    void testSkippedWhileLockHeld() throws Exception {
+        LocalDate today = LocalDate.now();
+        Long closed = createCall(today.minusDays(1), today.plusDays(1), today.plusDays(30));
+        long skippedBefore = lifecycleService.getStatus().getTotalSkipped();
+
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Boolean> holder = CompletableFuture.supplyAsync(() ->
+            jobLockService.runExclusively("mess-manager-call-lifecycle", () -> {
+                locked.countDown();
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+        assertTrue(locked.await(10, TimeUnit.SECONDS), "Lock holder should start");
+
+        MessManagerCallLifecycleService.LifecycleRun run;
+        try {
+            run = lifecycleService.runTransitions();
+        } finally {
+            release.countDown();
+        }
+        assertTrue(holder.get(10, TimeUnit.SECONDS), "Lock holder should have run");
+        assertTrue(run.isSkipped(), "Run should be skipped while the lock is held");
+        assertEquals(MessManagerCall.CallStatus.ACTIVE, status(closed), "Skipped run should change nothing");
+
+        MessManagerCallLifecycleStatusDTO status = lifecycleService.getStatus();
+        assertTrue(status.isLastRunSkipped(), "Status should show the skip");
+        assertEquals(skippedBefore + 1, status.getTotalSkipped(), "Skip should be counted");
+
+        assertFalse(lifecycleService.runTransitions().isSkipped(), "Run should go ahead once the lock is free");
+        assertEquals(MessManagerCall.CallStatus.EXPIRED, status(closed), "Call should then be expired");
+    }
+
+    /**
+     * Test 3: Admins can read last-run timing; students cannot
+     */
+    @Test
+    @Order(3)
+    void testLifecycleStatusEndpoint() {
+        lifecycleService.runTransitions();
+        TestUtility testUtility = new TestUtility(restTemplate, port);
+        String url = "http://localhost:" + port + "/api/mess-manager-calls/lifecycle-status";
+
+        HttpHeaders adminHeaders = new HttpHeaders();
+        adminHeaders.setBearerAuth(testUtility.loginAsAdmin());
+        ResponseEntity<MessManagerCallLifecycleStatusDTO> response = restTemplate.exchange(
+            url, HttpMethod.GET, new HttpEntity<>(adminHeaders), MessManagerCallLifecycleStatusDTO.class);
+        assertEquals(HttpStatus.OK, response.getStatusCode(), "Admin should read the status");
+        MessManagerCallLifecycleStatusDTO status = response.getBody();
+        assertNotNull(status, "Status should be returned");
+        assertNotNull(status.getLastRunStartedAt(), "Last run start should be reported");
+        assertNotNull(status.getLastRunDurationMs(), "Last run duration should be reported");
+        assertNotNull(status.getLastSuccessAt(), "Last success should be reported");
+        assertTrue(status.getTotalRuns() >= 1, "Runs should be counted");
+
+        TestUtility.StudentCredentials student = testUtility.createStudentWithCredentials();
+        HttpHeaders studentHeaders = new HttpHeaders();
+        studentHeaders.setBearerAuth(testUtility.loginAsStudent(student.getEmail(), student.getPassword()));
+        ResponseEntity<String> refused = restTemplate.exchange(
+            url, HttpMethod.GET, new HttpEntity<>(studentHeaders), String.class);
+        assertFalse(refused.getStatusCode().is2xxSuccessful(), "Students should not read the status");
+    }
+
+    private Long createCall(LocalDate applicationEnd, LocalDate activityStart, LocalDate activityEnd) {
+        Long diningFeeId = diningFeeRepo.save(new DiningFee(DiningFee.ResidencyType.RESIDENT, activityStart.getYear(),
+            activityStart, activityEnd, new BigDecimal("3000.00"))).getId();
+        diningFeeIds.add(diningFeeId);
+        Long callId = messManagerCallRepo.save(new MessManagerCall(
+            1L, diningFeeId, applicationEnd, activityStart, activityEnd, activityStart.getYear(), 5)).getCallId();
+        callIds.add(callId);
+        return callId;
+    }
+
+    private MessManagerCall.CallStatus status(Long callId) {
+        return messManagerCallRepo.findById(callId).orElseThrow().getStatus();
+    }
+}
@@ -0,0 +1,196 @@
+package com.HMS.hms;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.HMS.hms.DTO.HallFeeDTO;
+import com.HMS.hms.DTO.RoomAssignmentRequest;
+import com.HMS.hms.Repo.HallFeeRepo;
+import com.HMS.hms.Service.GeocodingService;
+import com.HMS.hms.Service.HallFeeService;
+import com.HMS.hms.Service.PaymentService;
+import com.HMS.hms.Tables.HallFee;
+import com.HMS.hms.config.RequestStatementMetricsFilter;
+import com.HMS.hms.utility.TestUtility;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Integration tests for the metrics surface: the Prometheus scrape, statements per request and
+ * the timers on allocation, fee issuance, payment callbacks and geocoding.
+ *
+ * <p>Actuator runs on its own random management port, as in production. Hibernate statistics are
+ * switched on for each test, since other tests switch them off when they finish. The fee is
+ * created in a far-future year so it never overlaps other tests' fees.</p>
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "management.server.port=0")
+@ActiveProfiles("test")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class MetricsTest {
+
+    private static final int METRICS_YEAR = 2096;
+
+    @LocalServerPort
+    private int port;
+
+    @LocalManagementPort
+    private int managementPort;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private GeocodingService geocodingService;
+
+    @Autowired
+    private HallFeeService hallFeeService;
+
+    @Autowired
+    private HallFeeRepo hallFeeRepo;
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private TestUtility testUtility;
+    private String baseUrl;
+
+    @BeforeEach
+    void setUp() {
+        testUtility = new TestUtility(restTemplate, port);
+        baseUrl = "http://localhost:" + port;
+        entityManagerFactory.unwrap(SessionFactory.class).getStatistics().setStatisticsEnabled(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM student_hall_fees WHERE \"year\" = ?", METRICS_YEAR);
+        hallFeeRepo.findByTypeAndYear(HallFee.ResidencyType.ATTACHED, METRICS_YEAR).ifPresent(hallFeeRepo::delete);
+    }
+
+    /**
+     * Test 1: A scraper on the management port reads request histograms, pool and Hibernate metrics
+     * without a token; on the application port the metrics need an admin
+     */
+    @Test
+    @Order(1)
+    void testPrometheusScrape() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(testUtility.loginAsAdmin());
+        restTemplate.exchange(baseUrl + "/api/rooms", HttpMethod.GET, new HttpEntity<>(headers), String.class);
+
+        assertEquals(HttpStatus.UNAUTHORIZED,
+                     restTemplate.getForEntity(baseUrl + "/actuator/prometheus", String.class).getStatusCode(),
+                     "Metrics on the application port should need a token");
+
+        ResponseEntity<String> response = restTemplate.getForEntity(
+            "http://localhost:" + managementPort + "/actuator/prometheus", String.class);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode(), "Scrape on the management port should be allowed");
+        String body = response.getBody();
+        assertNotNull(body, "Scrape should return metrics");
+        assertTrue(body.contains("http_server_requests_seconds_bucket"), "Request latency histogram should be exposed");
+        assertTrue(body.contains("hikaricp_connections_pending"), "Pool waits should be exposed");
+        assertTrue(body.contains("hikaricp_connections_acquire_seconds_bucket"), "Pool acquire histogram should be exposed");
+        assertTrue(body.contains("hibernate_second_level_cache_requests"), "Second-level cache hits and misses should be exposed");
+        assertTrue(body.contains("hms_hibernate_slow_statements"), "Slow statement count should be exposed");
+        assertTrue(body.contains("hms_hibernate_statements_per_request"), "Statements per request should be exposed");
+        assertTrue(body.contains("application=\"HMS-Test\""), "Series should carry the application tag");
+    }
+
+    /**
+     * Test 2: Statements are counted per request and tagged with the endpoint's URI pattern
+     */
+    @Test
+    @Order(2)
+    void testStatementsPerRequest() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(testUtility.loginAsAdmin());
+        ResponseEntity<String> response = restTemplate.exchange(
+            baseUrl + "/api/hall-fees/year/" + METRICS_YEAR, HttpMethod.GET, new HttpEntity<>(headers), String.class);
+        assertTrue(response.getStatusCode().is2xxSuccessful(), "Fee query should succeed: " + response.getStatusCode());
+
+        var summary = meterRegistry.find(RequestStatementMetricsFilter.METRIC_NAME)
+            .tags("method", "GET", "uri", "/api/hall-fees/year/{year}").summary();
+        assertNotNull(summary, "Request should be recorded under its URI pattern, not its raw path");
+        assertTrue(summary.count() >= 1, "Request should be counted");
+        assertTrue(summary.max() >= 1, "Fee query should have issued at least one statement");
+    }
+
+    /**
+     * Test 3: Allocation, fee issuance, payment callbacks and geocoding are timed
+     */
+    @Test
+    @Order(3)
+    void testHotPathTimers() {
+        long geocodingBefore = count("hms.geocoding.lookup", "source", "gazetteer");
+        assertNotNull(geocodingService.getCoordinatesFromPostcode("1000"), "Hall postcode should be in the gazetteer");
+        assertEquals(geocodingBefore + 1, count("hms.geocoding.lookup", "source", "gazetteer"), "Lookup should be timed");
+
+        long callbacksBefore = count("hms.payment.callback", "callback", "failure");
+        paymentService.processFailureCallback(Map.of("tran_id", "METRICS-UNKNOWN"));
+        assertEquals(callbacksBefore + 1, count("hms.payment.callback", "callback", "failure"), "Callback should be timed");
+
+        long issuanceBefore = count("hms.fee.issuance", "fee", "hall");
+        hallFeeService.createHallFeeFromDTO(new HallFeeDTO("ATTACHED", METRICS_YEAR, new BigDecimal("1000.00")));
+        assertEquals(issuanceBefore + 1, count("hms.fee.issuance", "fee", "hall"), "Fee issuance should be timed");
+
+        long allocationsBefore = count("hms.room.allocation", "outcome", "failure");
+        RoomAssignmentRequest request = new RoomAssignmentRequest();
+        request.setUserId(-1L);
+        request.setStudentId(-1L);
+        request.setRoomNo("NO-SUCH-ROOM");
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setBearerAuth(testUtility.loginAsAdmin());
+        ResponseEntity<String> refused = restTemplate.exchange(
+            baseUrl + "/api/rooms/assign-room", HttpMethod.POST, new HttpEntity<>(request, headers), String.class);
+        assertFalse(refused.getStatusCode().is2xxSuccessful(), "Unknown student should not be assigned");
+        assertEquals(allocationsBefore + 1, count("hms.room.allocation", "outcome", "failure"),
+                     "Refused allocation should be timed");
+    }
+
+    private long count(String timerName, String tagKey, String tagValue) {
+        long count = 0;
+        for (Timer timer : meterRegistry.find(timerName).tag(tagKey, tagValue).timers()) {
+            count += timer.count();
+        }
+        return count;
+    }
+}
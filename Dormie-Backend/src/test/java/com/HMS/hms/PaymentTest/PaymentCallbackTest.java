@@ -0,0 +1,283 @@
+package com.HMS.hms.PaymentTest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+
+import com.HMS.hms.Payment.Utility.SSLCommerzConfiguration;
+import com.HMS.hms.Repo.HallFeeRepo;
+import com.HMS.hms.Repo.StudentHallFeesRepo;
+import com.HMS.hms.Repo.UsersRepo;
+import com.HMS.hms.Security.JwtUtils;
+import com.HMS.hms.Service.PaymentService;
+import com.HMS.hms.Tables.HallFee;
+import com.HMS.hms.Tables.StudentHallFees;
+import com.HMS.hms.Tables.Users;
+import com.HMS.hms.utility.SSLCommerzSimulator;
+
+/**
+ * Integration tests for the failure, cancellation and success callbacks against the embedded
+ * SSLCommerz simulator.
+ *
+ * <p>The failure and cancellation endpoints are open to anyone, so a callback only closes a
+ * transaction once the gateway confirms it; and a payment the gateway validates is settled even
+ * if its transaction was already closed. A payment for fees another transaction already paid is
+ * flagged for refund.</p>
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class PaymentCallbackTest {
+
+    private static final int CALLBACK_YEAR = 2045;
+    private static final String CALLBACK_EMAIL_DOMAIN = "@callback.dormie.test";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private SSLCommerzConfiguration sslCommerzConfig;
+
+    @Autowired
+    private UsersRepo usersRepo;
+
+    @Autowired
+    private HallFeeRepo hallFeeRepo;
+
+    @Autowired
+    private StudentHallFeesRepo studentHallFeesRepo;
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private SSLCommerzSimulator simulator;
+    private String originalGatewayUrl;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        simulator = new SSLCommerzSimulator(sslCommerzConfig.getStore().getId(), sslCommerzConfig.getStore().getPassword())
+                .start(4)
+                .withCallbackBaseUrl("http://localhost:" + port);
+        originalGatewayUrl = sslCommerzConfig.getSandbox().getBaseUrl();
+        sslCommerzConfig.getSandbox().setBaseUrl(simulator.getBaseUrl());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        sslCommerzConfig.getSandbox().setBaseUrl(originalGatewayUrl);
+        simulator.close();
+
+        String testUsers = "SELECT user_id FROM users WHERE email LIKE '%" + CALLBACK_EMAIL_DOMAIN + "'";
+        String testTransactions = "SELECT tran_id FROM pending_transactions WHERE user_id IN (" + testUsers + ")";
+        jdbcTemplate.update("DELETE FROM pending_transaction_hall_fees WHERE tran_id IN (" + testTransactions + ")");
+        jdbcTemplate.update("DELETE FROM pending_transaction_dining_fees WHERE tran_id IN (" + testTransactions + ")");
+        jdbcTemplate.update("DELETE FROM payment_outbox WHERE user_id IN (" + testUsers + ")");
+        jdbcTemplate.update("DELETE FROM pending_transactions WHERE user_id IN (" + testUsers + ")");
+        jdbcTemplate.update("DELETE FROM student_payment_info WHERE fee_type = 'HALL' AND fee_id IN "
+                + "(SELECT fee_id FROM student_hall_fees WHERE user_id IN (" + testUsers + "))");
+        jdbcTemplate.update("DELETE FROM student_hall_fees WHERE user_id IN (" + testUsers + ")");
+        jdbcTemplate.update("DELETE FROM hall_fee WHERE \"year\" = ?", CALLBACK_YEAR);
+        jdbcTemplate.update("DELETE FROM users WHERE email LIKE '%" + CALLBACK_EMAIL_DOMAIN + "'");
+    }
+
+    /**
+     * Test 1: Failure and cancellation callbacks the gateway does not confirm leave the payment open
+     */
+    @Test
+    @Order(1)
+    void testUnconfirmedFailureAndCancellationAreIgnored() throws Exception {
+        String tranId = initiatePayment(seedStudentsWithUnpaidHallFee(1).get(0));
+
+        postCallback("/api/payment/ssl-fail-page", tranId);
+        assertEquals("PENDING", statusOf(tranId), "Forged failure should not close the transaction");
+        postCallback("/api/payment/ssl-cancel-page", tranId);
+        assertEquals("PENDING", statusOf(tranId), "Forged cancellation should not close the transaction");
+
+        List<SSLCommerzSimulator.CallbackResult> callbacks = simulator.completePayment(tranId).get(30, TimeUnit.SECONDS);
+        assertTrue(callbacks.get(0).isSettled(), "Real success callback should still be accepted");
+        assertEquals("SETTLED", statusOf(tranId));
+        assertEquals(1, paidFeeCount(tranId), "The fee should be paid");
+    }
+
+    /**
+     * Test 2: Failure and cancellation callbacks the gateway confirms close the transaction
+     */
+    @Test
+    @Order(2)
+    void testConfirmedFailureAndCancellationCloseTransaction() {
+        List<String> tokens = seedStudentsWithUnpaidHallFee(2);
+        String declined = initiatePayment(tokens.get(0));
+        String cancelled = initiatePayment(tokens.get(1));
+
+        simulator.declineWithoutCallback(declined);
+        simulator.cancelWithoutCallback(cancelled);
+        postCallback("/api/payment/ssl-fail-page", declined);
+        postCallback("/api/payment/ssl-cancel-page", cancelled);
+
+        assertEquals("FAILED", statusOf(declined), "Confirmed failure should close the transaction");
+        assertEquals("CANCELLED", statusOf(cancelled), "Confirmed cancellation should close the transaction");
+    }
+
+    /**
+     * Test 3: A validated success settles a closed transaction; an unvalidated one does not
+     */
+    @Test
+    @Order(3)
+    void testValidatedSuccessSettlesClosedTransaction() throws Exception {
+        List<String> tokens = seedStudentsWithUnpaidHallFee(2);
+        String paid = initiatePayment(tokens.get(0));
+        String forged = initiatePayment(tokens.get(1));
+        jdbcTemplate.update("UPDATE pending_transactions SET status = 'CANCELLED' WHERE tran_id IN (?, ?)", paid, forged);
+
+        List<SSLCommerzSimulator.CallbackResult> callbacks = simulator.completePayment(paid).get(30, TimeUnit.SECONDS);
+        assertTrue(callbacks.get(0).isSettled(), "Validated payment should be accepted");
+        assertEquals("SETTLED", statusOf(paid), "Validated payment should settle the cancelled transaction");
+        assertEquals(1, paidFeeCount(paid), "The fee should be paid");
+
+        PaymentService.PaymentCallbackResult result = paymentService.processSuccessCallback(
+            Map.of("tran_id", forged, "val_id", "FORGED-VAL-ID", "status", "VALID"));
+        assertFalse(result.isSuccess(), "Unvalidated success should be rejected");
+        assertEquals("CANCELLED", statusOf(forged), "Unvalidated success should not settle anything");
+        assertEquals(0, paidFeeCount(forged), "No fee should be paid");
+    }
+
+    /**
+     * Test 4: A second payment for fees that are already paid is flagged for refund
+     */
+    @Test
+    @Order(4)
+    void testDoubleChargeIsFlaggedForRefund() throws Exception {
+        String token = seedStudentsWithUnpaidHallFee(1).get(0);
+        String first = initiatePayment(token);
+        String second = initiatePayment(token);
+
+        assertTrue(simulator.completePayment(first).get(30, TimeUnit.SECONDS).get(0).isSettled());
+        assertEquals("SETTLED", statusOf(first));
+
+        List<SSLCommerzSimulator.CallbackResult> callbacks = simulator.completePayment(second).get(30, TimeUnit.SECONDS);
+        assertTrue(callbacks.get(0).isSettled(), "The gateway took the money, so the callback should be accepted");
+        assertEquals("REFUND_REQUIRED", statusOf(second), "Second charge should be flagged for refund");
+        assertEquals(0, paidFeeCount(second), "The fee should stay paid by the first transaction");
+
+        String payload = jdbcTemplate.queryForObject(
+            "SELECT payload FROM payment_outbox WHERE tran_id = ? AND event_type = 'PAYMENT_REFUND_REQUIRED'",
+            String.class, second);
+        assertTrue(payload.contains("already_paid_hall_fee_ids"), "Refund event should list the fees paid twice");
+        assertEquals(0, jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM payment_outbox WHERE tran_id = ? AND event_type = 'PAYMENT_SETTLED'",
+            Integer.class, second), "Nothing was settled by the second transaction");
+
+        PaymentService.PaymentCallbackResult duplicate = paymentService.processSuccessCallback(
+            Map.of("tran_id", second, "val_id", "ANY-VAL-ID", "status", "VALID"));
+        assertTrue(duplicate.isSuccess(), "A repeated callback should be treated as already processed");
+        assertEquals("REFUND_REQUIRED", statusOf(second), "A repeated callback should not settle it again");
+    }
+
+    private void postCallback(String path, String tranId) {
+        MultiValueMap<String, String> params = new LinkedMultiValueMap<>();
+        params.add("tran_id", tranId);
+        params.add("status", "FAILED");
+        ResponseEntity<String> response = postForm(path, params);
+        assertEquals(HttpStatus.OK, response.getStatusCode(), "Callback page should render");
+    }
+
+    private ResponseEntity<String> postForm(String path, MultiValueMap<String, String> params) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
+        return restTemplate.exchange("http://localhost:" + port + path, HttpMethod.POST,
+            new HttpEntity<>(params, headers), String.class);
+    }
+
+    private String initiatePayment(String token) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(token);
+        ResponseEntity<Map<String, Object>> response = restTemplate.exchange(
+            "http://localhost:" + port + "/api/payment/initiate", HttpMethod.POST, new HttpEntity<>(headers),
+            new ParameterizedTypeReference<Map<String, Object>>() {});
+        assertEquals(HttpStatus.OK, response.getStatusCode(), "Payment initiation should succeed");
+        assertNotNull(response.getBody(), "Initiation response should not be null");
+        return (String) response.getBody().get("transaction_id");
+    }
+
+    private String statusOf(String tranId) {
+        return jdbcTemplate.queryForObject("SELECT status FROM pending_transactions WHERE tran_id = ?",
+            String.class, tranId);
+    }
+
+    private int paidFeeCount(String tranId) {
+        return jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM student_hall_fees shf JOIN student_payment_info spi "
+                + "ON spi.fee_id = shf.fee_id AND spi.fee_type = 'HALL' "
+                + "WHERE shf.status = 'PAID' AND spi.tran_id = ?",
+            Integer.class, tranId);
+    }
+
+    /**
+     * Seeds students directly (skipping signup and password hashing) with one unpaid hall fee each
+     */
+    private List<String> seedStudentsWithUnpaidHallFee(int count) {
+        hallFeeRepo.save(new HallFee(HallFee.ResidencyType.ATTACHED, CALLBACK_YEAR, new BigDecimal("9000.00")));
+
+        List<Users> users = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Users user = new Users();
+            user.setUsername("callbackstudent" + i);
+            user.setEmail("callbackstudent" + i + CALLBACK_EMAIL_DOMAIN);
+            user.setPassword("not-used");
+            user.setRole("STUDENT");
+            user.setCreatedAt(LocalDateTime.now());
+            users.add(user);
+        }
+        users = usersRepo.saveAll(users);
+
+        List<StudentHallFees> fees = new ArrayList<>();
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < users.size(); i++) {
+            Users user = users.get(i);
+            fees.add(new StudentHallFees(user.getUserId(), 920000L + i, "attached", CALLBACK_YEAR,
+                StudentHallFees.PaymentStatus.UNPAID));
+            tokens.add(jwtUtils.generateTokenFromEmail(user.getEmail()));
+        }
+        studentHallFeesRepo.saveAll(fees);
+        return tokens;
+    }
+}
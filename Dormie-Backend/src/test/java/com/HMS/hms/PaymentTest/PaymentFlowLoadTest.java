@@ -0,0 +1,212 @@
+package com.HMS.hms.PaymentTest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.HMS.hms.Payment.Utility.SSLCommerzConfiguration;
+import com.HMS.hms.Repo.HallFeeRepo;
+import com.HMS.hms.Repo.StudentHallFeesRepo;
+import com.HMS.hms.Repo.UsersRepo;
+import com.HMS.hms.Security.JwtUtils;
+import com.HMS.hms.Tables.HallFee;
+import com.HMS.hms.Tables.StudentHallFees;
+import com.HMS.hms.Tables.Users;
+import com.HMS.hms.utility.PaymentLoadHarness;
+import com.HMS.hms.utility.SSLCommerzSimulator;
+
+/**
+ * Load and correctness tests for the payment flow against the embedded SSLCommerz simulator.
+ *
+ * <p>Not {@code @Transactional}: the flows run on server threads and must see committed
+ * seed data, so each test cleans up after itself. Flow count and concurrency default to a
+ * CI-friendly size; run e.g. {@code mvn test -Dtest=PaymentFlowLoadTest
+ * -Dpayment.load.flows=5000 -Dpayment.load.concurrency=64} for a full fee-deadline run.</p>
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class PaymentFlowLoadTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(PaymentFlowLoadTest.class);
+
+    private static final int LOAD_YEAR = 2041;
+    private static final String LOAD_EMAIL_DOMAIN = "@load.dormie.test";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private SSLCommerzConfiguration sslCommerzConfig;
+
+    @Autowired
+    private UsersRepo usersRepo;
+
+    @Autowired
+    private HallFeeRepo hallFeeRepo;
+
+    @Autowired
+    private StudentHallFeesRepo studentHallFeesRepo;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private SSLCommerzSimulator simulator;
+    private String originalGatewayUrl;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        simulator = new SSLCommerzSimulator(sslCommerzConfig.getStore().getId(), sslCommerzConfig.getStore().getPassword())
+                .start(32)
+                .withCallbackBaseUrl("http://localhost:" + port);
+        originalGatewayUrl = sslCommerzConfig.getSandbox().getBaseUrl();
+        sslCommerzConfig.getSandbox().setBaseUrl(simulator.getBaseUrl());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        sslCommerzConfig.getSandbox().setBaseUrl(originalGatewayUrl);
+        simulator.close();
+
+        String loadUsers = "SELECT user_id FROM users WHERE email LIKE '%" + LOAD_EMAIL_DOMAIN + "'";
+        String loadTransactions = "SELECT tran_id FROM pending_transactions WHERE user_id IN (" + loadUsers + ")";
+        jdbcTemplate.update("DELETE FROM pending_transaction_hall_fees WHERE tran_id IN (" + loadTransactions + ")");
+        jdbcTemplate.update("DELETE FROM pending_transaction_dining_fees WHERE tran_id IN (" + loadTransactions + ")");
+        jdbcTemplate.update("DELETE FROM payment_outbox WHERE user_id IN (" + loadUsers + ")");
+        jdbcTemplate.update("DELETE FROM pending_transactions WHERE user_id IN (" + loadUsers + ")");
+        jdbcTemplate.update("DELETE FROM student_payment_info WHERE fee_type = 'HALL' AND fee_id IN "
+                + "(SELECT fee_id FROM student_hall_fees WHERE user_id IN (" + loadUsers + "))");
+        jdbcTemplate.update("DELETE FROM student_hall_fees WHERE user_id IN (" + loadUsers + ")");
+        jdbcTemplate.update("DELETE FROM hall_fee WHERE \"year\" = ?", LOAD_YEAR);
+        jdbcTemplate.update("DELETE FROM users WHERE email LIKE '%" + LOAD_EMAIL_DOMAIN + "'");
+    }
+
+    /**
+     * Test 1: Concurrent initiate and callback flows settle every paid fee exactly once
+     */
+    @Test
+    @Order(1)
+    void testConcurrentFlowsSettleEachFeeOnce() throws Exception {
+        int flows = Integer.getInteger("payment.load.flows", 200);
+        int concurrency = Integer.getInteger("payment.load.concurrency", 32);
+        simulator.withLatency(5, 40).withErrorRates(0.02, 0.02).withCallbacksPerPayment(2);
+
+        List<String> tokens = seedStudentsWithUnpaidHallFee(flows);
+        PaymentLoadHarness.Report report = new PaymentLoadHarness(port, simulator, concurrency).run(tokens);
+        logger.info("Payment load run: {}", report);
+
+        assertEquals(0, report.getErrors(), "No flow should end with a transport error");
+        assertEquals(flows, report.getSettled() + report.getInitiationFailures() + report.getCallbackFailures(),
+            "Every flow should either settle or fail cleanly");
+        assertTrue(report.getSettled() > flows / 2, "Most flows should settle despite injected gateway errors");
+
+        Integer paidFees = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM student_hall_fees WHERE \"year\" = ? AND status = 'PAID'", Integer.class, LOAD_YEAR);
+        Integer paymentRows = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM student_payment_info spi JOIN student_hall_fees shf ON shf.fee_id = spi.fee_id "
+                + "WHERE spi.fee_type = 'HALL' AND shf.\"year\" = ?", Integer.class, LOAD_YEAR);
+        Integer settledTransactions = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM pending_transactions WHERE status = 'SETTLED' AND user_id IN "
+                + "(SELECT user_id FROM users WHERE email LIKE '%" + LOAD_EMAIL_DOMAIN + "')", Integer.class);
+
+        assertEquals(report.getSettled(), paidFees, "Each settled flow should mark exactly its own fee PAID");
+        assertEquals(paidFees, paymentRows, "No fee should be settled twice");
+        assertEquals(report.getSettled(), settledTransactions, "Each settled flow should close its transaction");
+    }
+
+    /**
+     * Test 2: A gateway that rejects every initiation leaves fees unpaid and transactions failed
+     */
+    @Test
+    @Order(2)
+    void testGatewayOutageLeavesFeesUnpaid() throws Exception {
+        simulator.withErrorRates(1.0, 0.0);
+
+        List<String> tokens = seedStudentsWithUnpaidHallFee(3);
+        PaymentLoadHarness.Report report = new PaymentLoadHarness(port, simulator, 3).run(tokens);
+
+        assertEquals(3, report.getInitiationFailures(), "Every initiation should fail");
+        assertEquals(0, report.getSettled(), "Nothing should settle");
+
+        Integer unpaidFees = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM student_hall_fees WHERE \"year\" = ? AND status = 'UNPAID'", Integer.class, LOAD_YEAR);
+        Integer failedTransactions = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM pending_transactions WHERE status = 'FAILED' AND user_id IN "
+                + "(SELECT user_id FROM users WHERE email LIKE '%" + LOAD_EMAIL_DOMAIN + "')", Integer.class);
+        assertEquals(3, unpaidFees, "Fees should stay unpaid");
+        assertEquals(3, failedTransactions, "Failed initiations should be recorded");
+    }
+
+    /**
+     * Test 3: A burst of duplicate callbacks for one transaction settles its fee exactly once
+     */
+    @Test
+    @Order(3)
+    void testDuplicateCallbackBurstSettlesOnce() throws Exception {
+        simulator.withCallbacksPerPayment(10);
+
+        List<String> tokens = seedStudentsWithUnpaidHallFee(1);
+        PaymentLoadHarness.Report report = new PaymentLoadHarness(port, simulator, 1).run(tokens);
+
+        assertEquals(1, report.getSettled(), "The payment should settle");
+        Integer paymentRows = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM student_payment_info spi JOIN student_hall_fees shf ON shf.fee_id = spi.fee_id "
+                + "WHERE spi.fee_type = 'HALL' AND shf.\"year\" = ?", Integer.class, LOAD_YEAR);
+        assertEquals(1, paymentRows, "Only one payment row should be written");
+        Integer outboxEvents = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM payment_outbox WHERE tran_id = ?", Integer.class, report.getSettledTranIds().iterator().next());
+        assertEquals(1, outboxEvents, "Only one settlement event should be written");
+        assertEquals(10, simulator.getCallbacksSent(), "All duplicate callbacks should have been sent");
+    }
+
+    /**
+     * Seeds students directly (skipping signup and password hashing) with one unpaid hall fee each
+     */
+    private List<String> seedStudentsWithUnpaidHallFee(int count) {
+        hallFeeRepo.save(new HallFee(HallFee.ResidencyType.ATTACHED, LOAD_YEAR, new BigDecimal("9000.00")));
+
+        List<Users> users = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Users user = new Users();
+            user.setUsername("loadstudent" + i);
+            user.setEmail("loadstudent" + i + LOAD_EMAIL_DOMAIN);
+            user.setPassword("not-used");
+            user.setRole("STUDENT");
+            user.setCreatedAt(LocalDateTime.now());
+            users.add(user);
+        }
+        users = usersRepo.saveAll(users);
+
+        List<StudentHallFees> fees = new ArrayList<>();
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < users.size(); i++) {
+            Users user = users.get(i);
+            fees.add(new StudentHallFees(user.getUserId(), 900000L + i, "attached", LOAD_YEAR,
+                StudentHallFees.PaymentStatus.UNPAID));
+            tokens.add(jwtUtils.generateTokenFromEmail(user.getEmail()));
+        }
+        studentHallFeesRepo.saveAll(fees);
+        return tokens;
+    }
+}
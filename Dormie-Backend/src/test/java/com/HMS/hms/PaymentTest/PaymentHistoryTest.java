@@ -0,0 +1,302 @@
+package com.HMS.hms.PaymentTest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.HMS.hms.DTO.StudentDiningFeePaymentDTO;
+import com.HMS.hms.DTO.StudentHallFeePaymentDTO;
+import com.HMS.hms.Repo.DiningFeeRepo;
+import com.HMS.hms.Repo.HallFeeRepo;
+import com.HMS.hms.Repo.StudentDiningFeesRepo;
+import com.HMS.hms.Repo.StudentHallFeesRepo;
+import com.HMS.hms.Repo.StudentPaymentInfoRepo;
+import com.HMS.hms.Repo.UsersRepo;
+import com.HMS.hms.Security.JwtUtils;
+import com.HMS.hms.Tables.DiningFee;
+import com.HMS.hms.Tables.HallFee;
+import com.HMS.hms.Tables.StudentDiningFees;
+import com.HMS.hms.Tables.StudentHallFees;
+import com.HMS.hms.Tables.StudentPaymentInfo;
+import com.HMS.hms.Tables.Users;
+
+/**
+ * Integration tests for the combined payment history: GET /api/payment/history and the
+ * per-fee-type joined payment queries behind the student payment views.
+ *
+ * <p>One student is seeded with two paid hall fees, three paid dining fees and one unpaid
+ * hall fee; a second student has no payments at all.</p>
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class PaymentHistoryTest {
+
+    private static final int HISTORY_YEAR = 2044;
+    private static final int PREVIOUS_YEAR = 2043;
+    private static final String HISTORY_EMAIL_DOMAIN = "@history.dormie.test";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private UsersRepo usersRepo;
+
+    @Autowired
+    private HallFeeRepo hallFeeRepo;
+
+    @Autowired
+    private DiningFeeRepo diningFeeRepo;
+
+    @Autowired
+    private StudentHallFeesRepo studentHallFeesRepo;
+
+    @Autowired
+    private StudentDiningFeesRepo studentDiningFeesRepo;
+
+    @Autowired
+    private StudentPaymentInfoRepo studentPaymentInfoRepo;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Users payer;
+    private Users newcomer;
+
+    @BeforeEach
+    public void setUp() {
+        payer = saveUser("historypayer");
+        newcomer = saveUser("historynewcomer");
+
+        hallFeeRepo.save(new HallFee(HallFee.ResidencyType.ATTACHED, HISTORY_YEAR, new BigDecimal("9000.00")));
+        hallFeeRepo.save(new HallFee(HallFee.ResidencyType.ATTACHED, PREVIOUS_YEAR, new BigDecimal("8000.00")));
+        diningFeeRepo.save(new DiningFee(DiningFee.ResidencyType.RESIDENT, HISTORY_YEAR,
+            LocalDate.of(HISTORY_YEAR, 1, 1), LocalDate.of(HISTORY_YEAR, 12, 31), new BigDecimal("3000.00")));
+
+        for (int year : new int[] {HISTORY_YEAR, PREVIOUS_YEAR}) {
+            StudentHallFees fee = studentHallFeesRepo.save(new StudentHallFees(payer.getUserId(), 930001L, "attached",
+                year, StudentHallFees.PaymentStatus.PAID));
+            studentPaymentInfoRepo.save(new StudentPaymentInfo(fee.getFeeId(), StudentPaymentInfo.FeeType.HALL,
+                "HIST-HALL-" + year, "VAL-HALL-" + year, "bkash"));
+        }
+        studentHallFeesRepo.save(new StudentHallFees(payer.getUserId(), 930001L, "attached", HISTORY_YEAR - 2,
+            StudentHallFees.PaymentStatus.UNPAID));
+
+        for (int month = 1; month <= 3; month++) {
+            StudentDiningFees fee = studentDiningFeesRepo.save(new StudentDiningFees(payer.getUserId(), 930001L,
+                "resident", HISTORY_YEAR, LocalDate.of(HISTORY_YEAR, month, 1), LocalDate.of(HISTORY_YEAR, month, 28),
+                StudentDiningFees.PaymentStatus.PAID));
+            studentPaymentInfoRepo.save(new StudentPaymentInfo(fee.getFeeId(), StudentPaymentInfo.FeeType.DINING,
+                "HIST-DINING-" + month, "VAL-DINING-" + month, "nagad"));
+        }
+    }
+
+    @AfterEach
+    public void tearDown() {
+        String testUsers = "SELECT user_id FROM users WHERE email LIKE '%" + HISTORY_EMAIL_DOMAIN + "'";
+        jdbcTemplate.update("DELETE FROM student_payment_info WHERE fee_type = 'HALL' AND fee_id IN "
+                + "(SELECT fee_id FROM student_hall_fees WHERE user_id IN (" + testUsers + "))");
+        jdbcTemplate.update("DELETE FROM student_payment_info WHERE fee_type = 'DINING' AND fee_id IN "
+                + "(SELECT fee_id FROM student_dining_fees WHERE user_id IN (" + testUsers + "))");
+        jdbcTemplate.update("DELETE FROM student_hall_fees WHERE user_id IN (" + testUsers + ")");
+        jdbcTemplate.update("DELETE FROM student_dining_fees WHERE user_id IN (" + testUsers + ")");
+        hallFeeRepo.findByTypeAndYear(HallFee.ResidencyType.ATTACHED, HISTORY_YEAR).ifPresent(hallFeeRepo::delete);
+        hallFeeRepo.findByTypeAndYear(HallFee.ResidencyType.ATTACHED, PREVIOUS_YEAR).ifPresent(hallFeeRepo::delete);
+        diningFeeRepo.findByTypeAndYear(DiningFee.ResidencyType.RESIDENT, HISTORY_YEAR).ifPresent(diningFeeRepo::delete);
+        usersRepo.delete(payer);
+        usersRepo.delete(newcomer);
+    }
+
+    /**
+     * Test 1: Both fee types come back in one list, newest first, across page boundaries
+     */
+    @Test
+    @Order(1)
+    void testHistoryPagesThroughBothFeeTypes() {
+        String token = jwtUtils.generateTokenFromEmail(payer.getEmail());
+        List<String> tranIds = new ArrayList<>();
+
+        Map<String, Object> first = getHistory(token, 0, 2);
+        assertPage(first, 2, 5, 3);
+        tranIds.addAll(tranIdsOf(first));
+
+        Map<String, Object> second = getHistory(token, 1, 2);
+        assertPage(second, 2, 5, 3);
+        tranIds.addAll(tranIdsOf(second));
+
+        Map<String, Object> last = getHistory(token, 2, 2);
+        assertPage(last, 1, 5, 3);
+        tranIds.addAll(tranIdsOf(last));
+
+        assertEquals(List.of("HIST-DINING-3", "HIST-DINING-2", "HIST-DINING-1", "HIST-HALL-" + HISTORY_YEAR,
+                             "HIST-HALL-" + PREVIOUS_YEAR), tranIds,
+                     "Entries should be ordered by year, then dining periods before the year's hall fee");
+
+        Map<String, Object> hall = payments(last).get(0);
+        assertEquals("hall", hall.get("feeType"), "Last entry should be the older hall fee");
+        assertEquals(0, new BigDecimal("8000.00").compareTo(new BigDecimal(hall.get("amount").toString())),
+                     "Hall amount should come from that year's hall fee");
+        Map<String, Object> dining = payments(first).get(0);
+        assertEquals("dining", dining.get("feeType"), "First entry should be the latest dining period");
+        assertEquals(0, new BigDecimal("3000.00").compareTo(new BigDecimal(dining.get("amount").toString())),
+                     "Dining amount should come from the overlapping dining fee");
+        assertEquals(LocalDate.of(HISTORY_YEAR, 3, 1).toString(), dining.get("feeStartDate"),
+                     "Dining entries should carry their period");
+
+        Map<String, Object> beyond = getHistory(token, 3, 2);
+        assertPage(beyond, 0, 5, 3);
+
+        Map<String, Object> whole = getHistory(token, 0, 5);
+        assertPage(whole, 5, 5, 1);
+    }
+
+    /**
+     * Test 2: A student without payments gets an empty first page, and bad paging is rejected
+     */
+    @Test
+    @Order(2)
+    void testHistoryForStudentWithoutPayments() {
+        String token = jwtUtils.generateTokenFromEmail(newcomer.getEmail());
+
+        Map<String, Object> empty = getHistory(token, 0, 20);
+        assertPage(empty, 0, 0, 0);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(token);
+        for (String query : new String[] {"page=-1&size=20", "page=0&size=0", "page=0&size=101"}) {
+            ResponseEntity<String> response = restTemplate.exchange(
+                "http://localhost:" + port + "/api/payment/history?" + query, HttpMethod.GET,
+                new HttpEntity<>(headers), String.class);
+            assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode(), "Paging " + query + " should be rejected");
+        }
+    }
+
+    /**
+     * Test 3: The joined per-fee-type queries return each paid fee once with its payment and amount
+     */
+    @Test
+    @Order(3)
+    void testJoinedPaymentQueriesPerFeeType() {
+        List<StudentHallFeePaymentDTO> hall = studentHallFeesRepo.findHallFeePaymentsByUserId(payer.getUserId());
+        assertEquals(2, hall.size(), "Only paid hall fees should be returned");
+        assertEquals(HISTORY_YEAR, hall.get(0).getYear(), "Hall payments should be newest first");
+        assertEquals("HIST-HALL-" + HISTORY_YEAR, hall.get(0).getTranId(), "Payment info should be joined");
+        assertEquals("bkash", hall.get(0).getPaymentMethod(), "Payment method should be joined");
+        assertEquals(9000.0, hall.get(0).getAmount(), 0.001, "Amount should come from the hall fee");
+        assertEquals(8000.0, hall.get(1).getAmount(), 0.001, "Each year should use its own hall fee");
+
+        List<StudentDiningFeePaymentDTO> dining = studentDiningFeesRepo.findDiningFeePaymentsByUserId(payer.getUserId());
+        assertEquals(3, dining.size(), "Every paid dining period should be returned");
+        assertEquals(LocalDate.of(HISTORY_YEAR, 3, 1), dining.get(0).getFeeStartDate(), "Latest period should come first");
+        assertEquals("HIST-DINING-3", dining.get(0).getTranId(), "Payment info should be joined");
+        for (StudentDiningFeePaymentDTO payment : dining) {
+            assertEquals(0, new BigDecimal("3000.00").compareTo(payment.getFeeAmount()),
+                         "Amount should come from the overlapping dining fee");
+        }
+
+        assertTrue(studentHallFeesRepo.findHallFeePaymentsByUserId(newcomer.getUserId()).isEmpty(),
+                   "Student without payments should have no hall payments");
+        assertTrue(studentDiningFeesRepo.findDiningFeePaymentsByUserId(newcomer.getUserId()).isEmpty(),
+                   "Student without payments should have no dining payments");
+    }
+
+    /**
+     * Test 4: Overlapping dining fee periods price each paid period once, in both history queries
+     */
+    @Test
+    @Order(4)
+    void testOverlappingDiningFeesDoNotRepeatPayments() {
+        DiningFee revised = diningFeeRepo.save(new DiningFee(DiningFee.ResidencyType.RESIDENT, HISTORY_YEAR,
+            LocalDate.of(HISTORY_YEAR, 2, 1), LocalDate.of(HISTORY_YEAR, 12, 31), new BigDecimal("3500.00")));
+        try {
+            String token = jwtUtils.generateTokenFromEmail(payer.getEmail());
+            Map<String, Object> whole = getHistory(token, 0, 10);
+            assertPage(whole, 5, 5, 1);
+            Map<String, Object> march = payments(whole).get(0);
+            assertEquals(0, new BigDecimal("3500.00").compareTo(new BigDecimal(march.get("amount").toString())),
+                         "Latest overlapping dining fee should price the period");
+
+            List<StudentDiningFeePaymentDTO> dining = studentDiningFeesRepo.findDiningFeePaymentsByUserId(payer.getUserId());
+            assertEquals(3, dining.size(), "Each paid dining period should be returned once");
+            assertEquals(0, new BigDecimal("3500.00").compareTo(dining.get(0).getFeeAmount()),
+                         "Both queries should pick the same dining fee");
+            assertEquals(0, new BigDecimal("3000.00").compareTo(dining.get(2).getFeeAmount()),
+                         "Periods outside the revised fee should keep the original one");
+        } finally {
+            diningFeeRepo.delete(revised);
+        }
+    }
+
+    private Map<String, Object> getHistory(String token, int page, int size) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(token);
+        ResponseEntity<Map<String, Object>> response = restTemplate.exchange(
+            "http://localhost:" + port + "/api/payment/history?page=" + page + "&size=" + size, HttpMethod.GET,
+            new HttpEntity<>(headers), new ParameterizedTypeReference<Map<String, Object>>() {});
+        assertEquals(HttpStatus.OK, response.getStatusCode(), "History page " + page + " should load");
+        assertNotNull(response.getBody(), "History response should not be null");
+        return response.getBody();
+    }
+
+    private void assertPage(Map<String, Object> page, int entries, long totalElements, int totalPages) {
+        assertEquals(entries, payments(page).size(), "Page " + page.get("page") + " entry count");
+        assertEquals(totalElements, ((Number) page.get("totalElements")).longValue(),
+                     "Page " + page.get("page") + " total count");
+        assertEquals(totalPages, ((Number) page.get("totalPages")).intValue(), "Page " + page.get("page") + " page count");
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Map<String, Object>> payments(Map<String, Object> page) {
+        return (List<Map<String, Object>>) page.get("payments");
+    }
+
+    private List<String> tranIdsOf(Map<String, Object> page) {
+        List<String> tranIds = new ArrayList<>();
+        for (Map<String, Object> payment : payments(page)) {
+            tranIds.add((String) payment.get("tranId"));
+        }
+        return tranIds;
+    }
+
+    private Users saveUser(String username) {
+        Users user = new Users();
+        user.setUsername(username);
+        user.setEmail(username + HISTORY_EMAIL_DOMAIN);
+        user.setPassword("not-used");
+        user.setRole("STUDENT");
+        user.setCreatedAt(LocalDateTime.now());
+        return usersRepo.save(user);
+    }
+}
@@ -0,0 +1,163 @@
+package com.HMS.hms.PaymentTest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.IllegalTransactionStateException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.HMS.hms.Repo.PaymentOutboxRepo;
+import com.HMS.hms.Service.PaymentOutboxService;
+import com.HMS.hms.Tables.PaymentOutboxEvent;
+import com.HMS.hms.utility.RecordingOutboxHandler;
+
+/**
+ * Tests for the payment outbox: events are written with the surrounding transaction and
+ * drained after commit, in order per user, with retries.
+ * Retry timing comes from the test profile (100 ms backoff, 3 attempts).
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class PaymentOutboxTest {
+
+    private static final String TRAN_PREFIX = "OUTBOX-TEST-";
+    private static final long USER_A = 990001L;
+    private static final long USER_B = 990002L;
+
+    @Autowired
+    private PaymentOutboxService paymentOutboxService;
+
+    @Autowired
+    private PaymentOutboxRepo paymentOutboxRepo;
+
+    @Autowired
+    private RecordingOutboxHandler recordingHandler;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    public void setUp() {
+        recordingHandler.reset();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        jdbcTemplate.update("DELETE FROM payment_outbox WHERE tran_id LIKE ?", TRAN_PREFIX + "%");
+    }
+
+    /**
+     * Test 1: An event is handled after its transaction commits and never if it rolls back
+     */
+    @Test
+    @Order(1)
+    void testEventIsHandledOnlyAfterCommit() throws Exception {
+        String committed = TRAN_PREFIX + "COMMIT";
+        String rolledBack = TRAN_PREFIX + "ROLLBACK";
+
+        transactionTemplate.executeWithoutResult(status -> record(USER_A, committed));
+        transactionTemplate.executeWithoutResult(status -> {
+            record(USER_A, rolledBack);
+            status.setRollbackOnly();
+        });
+
+        PaymentOutboxEvent event = awaitStatus(committed, PaymentOutboxEvent.EventStatus.DONE);
+        assertEquals(1, event.getAttempts(), "Event should be handled on the first attempt");
+        assertTrue(paymentOutboxRepo.findByTranIdOrderByEventIdAsc(rolledBack).isEmpty(),
+            "Rolled back event should not exist");
+        assertFalse(recordingHandler.getHandled().contains(rolledBack), "Rolled back event should not be handled");
+        assertThrows(IllegalTransactionStateException.class, () -> record(USER_A, TRAN_PREFIX + "NO-TX"),
+            "Events must be written inside a transaction");
+    }
+
+    /**
+     * Test 2: A failing event is retried and holds back later events of the same user only
+     */
+    @Test
+    @Order(2)
+    void testRetriesKeepPerUserOrder() throws Exception {
+        String first = TRAN_PREFIX + "A1";
+        String second = TRAN_PREFIX + "A2";
+        String third = TRAN_PREFIX + "A3";
+        String otherUser = TRAN_PREFIX + "B1";
+        recordingHandler.failTimes(first, 2);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            record(USER_A, first);
+            record(USER_A, second);
+            record(USER_B, otherUser);
+            record(USER_A, third);
+        });
+
+        assertEquals(3, awaitStatus(first, PaymentOutboxEvent.EventStatus.DONE).getAttempts(),
+            "First event should succeed on its third attempt");
+        awaitStatus(third, PaymentOutboxEvent.EventStatus.DONE);
+        awaitStatus(otherUser, PaymentOutboxEvent.EventStatus.DONE);
+
+        List<String> userAOrder = recordingHandler.getHandled().stream()
+            .filter(tranId -> tranId.startsWith(TRAN_PREFIX + "A"))
+            .collect(Collectors.toList());
+        assertEquals(List.of(first, second, third), userAOrder, "User A's events should be handled in write order");
+        assertTrue(recordingHandler.getHandled().indexOf(otherUser) < recordingHandler.getHandled().indexOf(first),
+            "Another user's event should not wait for user A's retries");
+    }
+
+    /**
+     * Test 3: An event that keeps failing is marked FAILED and stops blocking the user's later events
+     */
+    @Test
+    @Order(3)
+    void testExhaustedEventIsMarkedFailed() throws Exception {
+        String poisoned = TRAN_PREFIX + "POISON";
+        String next = TRAN_PREFIX + "AFTER-POISON";
+        recordingHandler.failTimes(poisoned, Integer.MAX_VALUE);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            record(USER_A, poisoned);
+            record(USER_A, next);
+        });
+
+        PaymentOutboxEvent failed = awaitStatus(poisoned, PaymentOutboxEvent.EventStatus.FAILED);
+        assertEquals(3, failed.getAttempts(), "Event should be given up after the configured attempts");
+        assertTrue(failed.getLastError().contains("Simulated handler failure"), "Last error should be kept");
+        awaitStatus(next, PaymentOutboxEvent.EventStatus.DONE);
+        assertFalse(recordingHandler.getHandled().contains(poisoned), "Poisoned event should never be handled");
+    }
+
+    private void record(long userId, String tranId) {
+        paymentOutboxService.recordPaymentSettled(userId, tranId, "VAL-" + tranId, "VISA-Test",
+            new BigDecimal("100.00"), List.of(1L), List.of());
+    }
+
+    private PaymentOutboxEvent awaitStatus(String tranId, PaymentOutboxEvent.EventStatus status) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 15_000;
+        while (System.currentTimeMillis() < deadline) {
+            List<PaymentOutboxEvent> events = paymentOutboxRepo.findByTranIdOrderByEventIdAsc(tranId);
+            if (!events.isEmpty() && events.get(0).getStatus() == status) {
+                return events.get(0);
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("Outbox event " + tranId + " did not reach " + status);
+    }
+}
@@ -0,0 +1,241 @@
+package com.HMS.hms.PaymentTest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.HMS.hms.Payment.Utility.SSLCommerzConfiguration;
+import com.HMS.hms.Repo.HallFeeRepo;
+import com.HMS.hms.Repo.StudentHallFeesRepo;
+import com.HMS.hms.Repo.UsersRepo;
+import com.HMS.hms.Security.JwtUtils;
+import com.HMS.hms.Service.JobLockService;
+import com.HMS.hms.Service.PaymentReconciliationService;
+import com.HMS.hms.Tables.HallFee;
+import com.HMS.hms.Tables.StudentHallFees;
+import com.HMS.hms.Tables.Users;
+import com.HMS.hms.utility.SSLCommerzSimulator;
+
+/**
+ * Integration tests for PaymentReconciliationService against the embedded SSLCommerz simulator.
+ *
+ * <p>Payments are initiated through the API, their callbacks are deliberately never sent,
+ * and the reconciliation pass is then run directly.</p>
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class PaymentReconciliationTest {
+
+    private static final int RECONCILE_YEAR = 2042;
+    private static final String RECONCILE_EMAIL_DOMAIN = "@reconcile.dormie.test";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private SSLCommerzConfiguration sslCommerzConfig;
+
+    @Autowired
+    private PaymentReconciliationService paymentReconciliationService;
+
+    @Autowired
+    private JobLockService jobLockService;
+
+    @Autowired
+    private UsersRepo usersRepo;
+
+    @Autowired
+    private HallFeeRepo hallFeeRepo;
+
+    @Autowired
+    private StudentHallFeesRepo studentHallFeesRepo;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private SSLCommerzSimulator simulator;
+    private String originalGatewayUrl;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        simulator = new SSLCommerzSimulator(sslCommerzConfig.getStore().getId(), sslCommerzConfig.getStore().getPassword())
+                .start(4)
+                .withCallbackBaseUrl("http://localhost:" + port);
+        originalGatewayUrl = sslCommerzConfig.getSandbox().getBaseUrl();
+        sslCommerzConfig.getSandbox().setBaseUrl(simulator.getBaseUrl());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        sslCommerzConfig.getSandbox().setBaseUrl(originalGatewayUrl);
+        simulator.close();
+
+        String testUsers = "SELECT user_id FROM users WHERE email LIKE '%" + RECONCILE_EMAIL_DOMAIN + "'";
+        String testTransactions = "SELECT tran_id FROM pending_transactions WHERE user_id IN (" + testUsers + ")";
+        jdbcTemplate.update("DELETE FROM pending_transaction_hall_fees WHERE tran_id IN (" + testTransactions + ")");
+        jdbcTemplate.update("DELETE FROM pending_transaction_dining_fees WHERE tran_id IN (" + testTransactions + ")");
+        jdbcTemplate.update("DELETE FROM payment_outbox WHERE user_id IN (" + testUsers + ")");
+        jdbcTemplate.update("DELETE FROM pending_transactions WHERE user_id IN (" + testUsers + ")");
+        jdbcTemplate.update("DELETE FROM student_payment_info WHERE fee_type = 'HALL' AND fee_id IN "
+                + "(SELECT fee_id FROM student_hall_fees WHERE user_id IN (" + testUsers + "))");
+        jdbcTemplate.update("DELETE FROM student_hall_fees WHERE user_id IN (" + testUsers + ")");
+        jdbcTemplate.update("DELETE FROM hall_fee WHERE \"year\" = ?", RECONCILE_YEAR);
+        jdbcTemplate.update("DELETE FROM users WHERE email LIKE '%" + RECONCILE_EMAIL_DOMAIN + "'");
+    }
+
+    /**
+     * Test 1: Stale transactions are settled, failed or expired from the gateway's answer
+     */
+    @Test
+    @Order(1)
+    void testReconcileSettlesFailsAndExpiresStaleTransactions() {
+        List<String> tokens = seedStudentsWithUnpaidHallFee(4);
+        String paid = initiatePayment(tokens.get(0));
+        String declined = initiatePayment(tokens.get(1));
+        String abandoned = initiatePayment(tokens.get(2));
+        String recent = initiatePayment(tokens.get(3));
+
+        simulator.payWithoutCallback(paid);
+        simulator.declineWithoutCallback(declined);
+        backdate(paid, 60);
+        backdate(declined, 60);
+        backdate(abandoned, 2 * 24 * 60);
+
+        PaymentReconciliationService.ReconciliationRun run = paymentReconciliationService.reconcile();
+
+        assertFalse(run.isSkipped(), "Reconciliation should run");
+        assertEquals(3, run.getChecked(), "Only stale transactions should be checked");
+        assertEquals(1, run.getSettled(), "The paid transaction should be settled");
+        assertEquals(1, run.getFailed(), "The declined transaction should be failed");
+        assertEquals(1, run.getExpired(), "The abandoned transaction should be expired");
+        assertEquals(3, simulator.getTransactionQueries(), "The gateway should be queried once per stale transaction");
+
+        assertEquals("SETTLED", statusOf(paid));
+        assertEquals("FAILED", statusOf(declined));
+        assertEquals("EXPIRED", statusOf(abandoned));
+        assertEquals("PENDING", statusOf(recent));
+        Integer paidFees = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM student_hall_fees shf JOIN student_payment_info spi "
+                + "ON spi.fee_id = shf.fee_id AND spi.fee_type = 'HALL' "
+                + "WHERE shf.\"year\" = ? AND shf.status = 'PAID' AND spi.tran_id = ?",
+            Integer.class, RECONCILE_YEAR, paid);
+        assertEquals(1, paidFees, "The reconciled payment should mark its fee PAID with a payment record");
+
+        PaymentReconciliationService.ReconciliationRun secondRun = paymentReconciliationService.reconcile();
+        assertEquals(0, secondRun.getChecked(), "Nothing stale should be left to check");
+    }
+
+    /**
+     * Test 2: A pass is skipped while another holder has the job lock
+     */
+    @Test
+    @Order(2)
+    void testReconcileSkipsWhileJobLockIsHeld() throws Exception {
+        CountDownLatch lockHeld = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread holder = new Thread(() -> jobLockService.runExclusively("payment-reconciliation", () -> {
+            lockHeld.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        holder.start();
+
+        try {
+            assertTrue(lockHeld.await(10, TimeUnit.SECONDS), "Holder should acquire the lock");
+            assertTrue(paymentReconciliationService.reconcile().isSkipped(), "Pass should be skipped");
+        } finally {
+            release.countDown();
+            holder.join();
+        }
+        assertFalse(paymentReconciliationService.reconcile().isSkipped(), "Pass should run once the lock is free");
+    }
+
+    private String initiatePayment(String token) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(token);
+        ResponseEntity<Map<String, Object>> response = restTemplate.exchange(
+            "http://localhost:" + port + "/api/payment/initiate", HttpMethod.POST, new HttpEntity<>(headers),
+            new ParameterizedTypeReference<Map<String, Object>>() {});
+        assertEquals(HttpStatus.OK, response.getStatusCode(), "Payment initiation should succeed");
+        assertNotNull(response.getBody(), "Initiation response should not be null");
+        return (String) response.getBody().get("transaction_id");
+    }
+
+    private void backdate(String tranId, int minutes) {
+        jdbcTemplate.update("UPDATE pending_transactions SET created_at = ? WHERE tran_id = ?",
+            LocalDateTime.now().minusMinutes(minutes), tranId);
+    }
+
+    private String statusOf(String tranId) {
+        return jdbcTemplate.queryForObject("SELECT status FROM pending_transactions WHERE tran_id = ?",
+            String.class, tranId);
+    }
+
+    /**
+     * Seeds students directly (skipping signup and password hashing) with one unpaid hall fee each
+     */
+    private List<String> seedStudentsWithUnpaidHallFee(int count) {
+        hallFeeRepo.save(new HallFee(HallFee.ResidencyType.ATTACHED, RECONCILE_YEAR, new BigDecimal("9000.00")));
+
+        List<Users> users = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Users user = new Users();
+            user.setUsername("reconcilestudent" + i);
+            user.setEmail("reconcilestudent" + i + RECONCILE_EMAIL_DOMAIN);
+            user.setPassword("not-used");
+            user.setRole("STUDENT");
+            user.setCreatedAt(LocalDateTime.now());
+            users.add(user);
+        }
+        users = usersRepo.saveAll(users);
+
+        List<StudentHallFees> fees = new ArrayList<>();
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < users.size(); i++) {
+            Users user = users.get(i);
+            fees.add(new StudentHallFees(user.getUserId(), 910000L + i, "attached", RECONCILE_YEAR,
+                StudentHallFees.PaymentStatus.UNPAID));
+            tokens.add(jwtUtils.generateTokenFromEmail(user.getEmail()));
+        }
+        studentHallFeesRepo.saveAll(fees);
+        return tokens;
+    }
+}
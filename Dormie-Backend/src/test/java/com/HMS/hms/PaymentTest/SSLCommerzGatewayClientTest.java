@@ -0,0 +1,179 @@
+package com.HMS.hms.PaymentTest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.http.HttpTimeoutException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.HMS.hms.Payment.SSLCommerz;
+import com.HMS.hms.Payment.SSLCommerzGatewayClient;
+import com.HMS.hms.Payment.Utility.CircuitBreaker;
+import com.HMS.hms.Payment.Utility.SSLCommerzConfiguration;
+import com.HMS.hms.utility.SSLCommerzSimulator;
+
+/**
+ * Tests for the shared SSLCommerz HTTP transport against the embedded simulator: response
+ * timeouts, jittered retries, the circuit breaker and non-blocking session initiation.
+ *
+ * <p>Each test builds its own client with short timeouts and a small breaker threshold, so no
+ * Spring context is needed.</p>
+ */
+class SSLCommerzGatewayClientTest {
+
+    private static final String STORE_ID = "client-test-store";
+    private static final String STORE_PASSWORD = "client-test-password";
+
+    private SSLCommerzSimulator simulator;
+    private SSLCommerzConfiguration config;
+    private SSLCommerzGatewayClient client;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        simulator = new SSLCommerzSimulator(STORE_ID, STORE_PASSWORD).start(4);
+        config = new SSLCommerzConfiguration();
+        config.getStore().setId(STORE_ID);
+        config.getStore().setPassword(STORE_PASSWORD);
+        config.getSandbox().setBaseUrl(simulator.getBaseUrl());
+        config.getHttp().setConnectTimeoutMs(1000);
+        config.getHttp().setReadTimeoutMs(2000);
+        config.getHttp().setMaxRetries(2);
+        config.getHttp().setRetryBackoffMs(100);
+        config.getHttp().setCircuitFailureThreshold(2);
+        config.getHttp().setCircuitOpenMs(300);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (client != null) {
+            client.shutdown();
+        }
+        simulator.close();
+    }
+
+    /**
+     * Test 1: A slow gateway fails the call at the response timeout
+     */
+    @Test
+    void testResponseTimeout() {
+        config.getHttp().setReadTimeoutMs(200);
+        config.getHttp().setMaxRetries(0);
+        client = new SSLCommerzGatewayClient(config);
+        simulator.withLatency(1500, 1500);
+
+        long start = System.nanoTime();
+        IOException error = assertThrows(IOException.class, () -> queryTransaction("SLOW-1"));
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertTrue(error instanceof HttpTimeoutException, "Call should fail with a timeout, got " + error);
+        assertTrue(elapsedMs < 1200, "Call should give up at the timeout, not wait for the gateway: " + elapsedMs + " ms");
+    }
+
+    /**
+     * Test 2: Failing validation GETs are retried with jittered backoff and count once toward the breaker
+     */
+    @Test
+    void testRetriesCountOnceTowardBreaker() {
+        client = new SSLCommerzGatewayClient(config);
+        simulator.withErrorRates(0.0, 1.0);
+
+        long start = System.nanoTime();
+        assertThrows(IOException.class, () -> queryTransaction("RETRY-1"));
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertEquals(3, simulator.getTransactionQueries(), "One attempt plus two retries should be sent");
+        // Full jitter: the two delays are at most 100 ms and 200 ms
+        assertTrue(elapsedMs < 1500, "Backoff should stay under its ceiling: " + elapsedMs + " ms");
+        assertEquals(CircuitBreaker.State.CLOSED, client.getCircuitState(),
+                     "One exhausted call is one failure, below the threshold of two");
+
+        assertThrows(IOException.class, () -> queryTransaction("RETRY-2"));
+        assertEquals(CircuitBreaker.State.OPEN, client.getCircuitState(), "Second failed call should open the breaker");
+    }
+
+    /**
+     * Test 3: An open breaker fails fast, then lets one half-open probe through
+     */
+    @Test
+    void testBreakerOpensAndProbesHalfOpen() throws Exception {
+        config.getHttp().setMaxRetries(0);
+        config.getHttp().setCircuitFailureThreshold(1);
+        client = new SSLCommerzGatewayClient(config);
+        simulator.withErrorRates(0.0, 1.0);
+
+        assertThrows(IOException.class, () -> queryTransaction("OPEN-1"));
+        assertEquals(CircuitBreaker.State.OPEN, client.getCircuitState(), "Failure should open the breaker");
+
+        IOException rejected = assertThrows(IOException.class, () -> queryTransaction("OPEN-2"));
+        assertTrue(rejected.getMessage().contains("circuit open"), "Open breaker should reject the call");
+        assertEquals(1, simulator.getTransactionQueries(), "Rejected call should not reach the gateway");
+
+        // Failed probe: the breaker opens again
+        Thread.sleep(350);
+        assertThrows(IOException.class, () -> queryTransaction("PROBE-1"));
+        assertEquals(2, simulator.getTransactionQueries(), "Probe should reach the gateway");
+        assertEquals(CircuitBreaker.State.OPEN, client.getCircuitState(), "Failed probe should reopen the breaker");
+
+        // Successful probe: other calls are rejected while it is in flight, then the breaker closes
+        Thread.sleep(350);
+        simulator.withErrorRates(0.0, 0.0).withLatency(300, 300);
+        CompletableFuture<String> probe = client.getWithRetryAsync(SSLCommerzSimulator.TRANSACTION_QUERY_PATH.substring(1),
+            transactionQuery("PROBE-2"));
+        Thread.sleep(100);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, client.getCircuitState(), "Breaker should be half-open during the probe");
+        assertThrows(IOException.class, () -> queryTransaction("PROBE-3"), "Only one probe should be let through");
+        probe.get(5, TimeUnit.SECONDS);
+        assertEquals(CircuitBreaker.State.CLOSED, client.getCircuitState(), "Successful probe should close the breaker");
+    }
+
+    /**
+     * Test 4: Session initiation completes asynchronously and is never retried
+     */
+    @Test
+    void testAsyncInitiation() throws Exception {
+        client = new SSLCommerzGatewayClient(config);
+        SSLCommerz sslCommerz = new SSLCommerz(STORE_ID, STORE_PASSWORD, client);
+
+        String gatewayPage = sslCommerz.initiateTransactionAsync(initiationForm("ASYNC-1")).get(5, TimeUnit.SECONDS);
+        assertTrue(gatewayPage.contains("/EasyCheckOut/"), "Initiation should return the gateway page URL");
+
+        simulator.withErrorRates(1.0, 0.0);
+        CompletableFuture<String> failing = sslCommerz.initiateTransactionAsync(initiationForm("ASYNC-2"));
+        ExecutionException error = assertThrows(ExecutionException.class, () -> failing.get(5, TimeUnit.SECONDS));
+        assertTrue(error.getCause() instanceof IOException, "Gateway error should fail the future");
+        assertEquals(2, simulator.getInitRequests(), "Initiation POSTs should not be retried");
+    }
+
+    private void queryTransaction(String tranId) throws IOException {
+        client.getWithRetry(SSLCommerzSimulator.TRANSACTION_QUERY_PATH.substring(1), transactionQuery(tranId));
+    }
+
+    private Map<String, String> transactionQuery(String tranId) {
+        Map<String, String> query = new LinkedHashMap<>();
+        query.put("tran_id", tranId);
+        query.put("store_id", STORE_ID);
+        query.put("store_passwd", STORE_PASSWORD);
+        query.put("format", "json");
+        return query;
+    }
+
+    private Map<String, String> initiationForm(String tranId) {
+        Map<String, String> form = new HashMap<>();
+        form.put("tran_id", tranId);
+        form.put("total_amount", "100.00");
+        form.put("currency", "BDT");
+        form.put("success_url", "http://localhost/api/payment/ssl-success-page");
+        return form;
+    }
+}
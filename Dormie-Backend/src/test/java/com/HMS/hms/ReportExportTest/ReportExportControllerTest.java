@@ -0,0 +1,164 @@
+package com.HMS.hms.ReportExportTest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.HMS.hms.DTO.HallFeeDTO;
+import com.HMS.hms.utility.TestUtility;
+
+/**
+ * Integration tests for ReportExportController.
+ *
+ * <p>Covers CSV and XLSX streaming exports, request validation and
+ * role-based access to the export endpoints.</p>
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@Transactional
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class ReportExportControllerTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    private TestUtility testUtility;
+    private String adminJwtToken;
+    private String reportsBaseUrl;
+
+    @BeforeEach
+    public void setUp() {
+        testUtility = new TestUtility(restTemplate, port);
+        adminJwtToken = testUtility.loginAsAdmin();
+        reportsBaseUrl = "http://localhost:" + port + "/api/reports";
+    }
+
+    /**
+     * Test 1: Hall fee export as CSV contains the header and the issued fee rows
+     */
+    @Test
+    @Order(1)
+    void testExportHallFeesAsCsv() {
+        testUtility.createStudentWithCredentials();
+
+        HttpHeaders headers = createAuthHeaders(adminJwtToken);
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        HallFeeDTO hallFee = new HallFeeDTO("attached", 2031, new BigDecimal("12000.00"));
+        ResponseEntity<HallFeeDTO> created = restTemplate.exchange(
+            "http://localhost:" + port + "/api/hall-fees", HttpMethod.POST,
+            new HttpEntity<>(hallFee, headers), HallFeeDTO.class);
+        assertEquals(HttpStatus.CREATED, created.getStatusCode(), "Hall fee should be created");
+
+        ResponseEntity<String> response = restTemplate.exchange(
+            reportsBaseUrl + "/hall-fees/export?format=csv&year=2031", HttpMethod.GET,
+            new HttpEntity<>(createAuthHeaders(adminJwtToken)), String.class);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode(), "CSV export should succeed");
+        String body = response.getBody();
+        assertNotNull(body, "CSV body should not be null");
+        String[] lines = body.split("\r\n");
+        assertTrue(lines[0].startsWith("Fee ID,User ID,Student ID"), "First line should be the header");
+        assertTrue(lines.length > 1, "Export should contain the issued hall fees");
+        assertTrue(lines[1].contains(",2031,UNPAID,12000.00"), "Row should carry year, status and amount");
+        assertTrue(response.getHeaders().getFirst(HttpHeaders.CONTENT_DISPOSITION).contains("hall-fees-2031.csv"),
+            "Filename should include report and year");
+    }
+
+    /**
+     * Test 2: Room allocation export as XLSX is a valid workbook package
+     */
+    @Test
+    @Order(2)
+    void testExportRoomAllocationsAsXlsx() throws IOException {
+        ResponseEntity<byte[]> response = restTemplate.exchange(
+            reportsBaseUrl + "/room-allocations/export?format=xlsx", HttpMethod.GET,
+            new HttpEntity<>(createAuthHeaders(adminJwtToken)), byte[].class);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode(), "XLSX export should succeed");
+        assertNotNull(response.getBody(), "XLSX body should not be null");
+
+        String sheet = null;
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(response.getBody()))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                if ("xl/worksheets/sheet1.xml".equals(entry.getName())) {
+                    sheet = new String(zip.readAllBytes(), StandardCharsets.UTF_8);
+                }
+            }
+        }
+        assertNotNull(sheet, "Workbook should contain the worksheet part");
+        assertTrue(sheet.contains("<t>Room No</t>"), "Worksheet should start with the header row");
+        assertTrue(sheet.endsWith("</sheetData></worksheet>"), "Worksheet should be complete");
+    }
+
+    /**
+     * Test 3: Unknown report and format are rejected
+     */
+    @Test
+    @Order(3)
+    void testInvalidExportRequestsAreRejected() {
+        HttpEntity<Void> request = new HttpEntity<>(createAuthHeaders(adminJwtToken));
+
+        ResponseEntity<String> unknownReport = restTemplate.exchange(
+            reportsBaseUrl + "/grades/export", HttpMethod.GET, request, String.class);
+        assertEquals(HttpStatus.BAD_REQUEST, unknownReport.getStatusCode(), "Unknown report should be rejected");
+
+        ResponseEntity<String> unknownFormat = restTemplate.exchange(
+            reportsBaseUrl + "/payments/export?format=pdf", HttpMethod.GET, request, String.class);
+        assertEquals(HttpStatus.BAD_REQUEST, unknownFormat.getStatusCode(), "Unknown format should be rejected");
+
+        ResponseEntity<String> yearOnRooms = restTemplate.exchange(
+            reportsBaseUrl + "/room-allocations/export?year=2024", HttpMethod.GET, request, String.class);
+        assertEquals(HttpStatus.BAD_REQUEST, yearOnRooms.getStatusCode(), "Room report has no year filter");
+    }
+
+    /**
+     * Test 4: Students cannot export reports
+     */
+    @Test
+    @Order(4)
+    void testStudentCannotExport() {
+        TestUtility.StudentCredentials student = testUtility.createStudentWithCredentials();
+        String studentToken = testUtility.loginAsStudent(student.getEmail(), student.getPassword());
+
+        ResponseEntity<String> response = restTemplate.exchange(
+            reportsBaseUrl + "/payments/export", HttpMethod.GET,
+            new HttpEntity<>(createAuthHeaders(studentToken)), String.class);
+
+        assertEquals(HttpStatus.UNAUTHORIZED, response.getStatusCode(), "Students should not be able to export");
+    }
+
+    private HttpHeaders createAuthHeaders(String token) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(token);
+        return headers;
+    }
+}
@@ -0,0 +1,229 @@
+package com.HMS.hms.SeatAllocationTest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.HMS.hms.DTO.BulkApplicationDecisionRequest;
+import com.HMS.hms.DTO.BulkApplicationDecisionResultDTO;
+import com.HMS.hms.DTO.HallApplicationRequest;
+import com.HMS.hms.DTO.MessageResponse;
+import com.HMS.hms.Repo.HallApplicationRepo;
+import com.HMS.hms.Repo.StudentsRepo;
+import com.HMS.hms.Repo.UsersRepo;
+import com.HMS.hms.utility.TestUtility;
+
+/**
+ * Integration tests for accepting and rejecting hall applications in bulk.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class HallApplicationBulkDecisionTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private HallApplicationRepo hallApplicationRepo;
+
+    @Autowired
+    private StudentsRepo studentsRepo;
+
+    @Autowired
+    private UsersRepo usersRepo;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private TestUtility testUtility;
+    private String baseUrl;
+    private final List<Long> applicantIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        testUtility = new TestUtility(restTemplate, port);
+        baseUrl = "http://localhost:" + port + "/api/applications";
+    }
+
+    @AfterEach
+    void tearDown() {
+        for (Long userId : applicantIds) {
+            jdbcTemplate.update("DELETE FROM hall_applications WHERE user_id = ?", userId);
+        }
+    }
+
+    /**
+     * Test 1: Accepting by ID decides pending applications, makes the students residents and reports the rest
+     */
+    @Test
+    @Order(1)
+    void testBulkAcceptByIds() {
+        Long firstUser = submitApplication();
+        Long secondUser = submitApplication();
+        Long rejectedUser = submitApplication();
+        Long first = applicationIdOf(firstUser);
+        Long second = applicationIdOf(secondUser);
+        Long rejected = applicationIdOf(rejectedUser);
+        Long missing = Long.MAX_VALUE;
+
+        HttpHeaders headers = jsonHeaders(testUtility.loginAsProvost());
+        ResponseEntity<MessageResponse> rejectResponse = restTemplate.exchange(
+            baseUrl + "/" + rejected + "/reject", HttpMethod.POST, new HttpEntity<>(headers), MessageResponse.class);
+        assertEquals(HttpStatus.OK, rejectResponse.getStatusCode(), "Single reject should succeed");
+
+        BulkApplicationDecisionRequest request = new BulkApplicationDecisionRequest();
+        request.setDecision("accept");
+        request.setApplicationIds(List.of(first, rejected, second, missing, first));
+        BulkApplicationDecisionResultDTO result = decide(request, headers);
+
+        assertEquals(2, result.getDecided(), "Both pending applications should be accepted");
+        assertEquals(2, result.getSkipped(), "Rejected and missing applications should be skipped");
+        List<BulkApplicationDecisionResultDTO.Outcome> outcomes = result.getOutcomes();
+        assertEquals(4, outcomes.size(), "Duplicate IDs should be reported once");
+        assertOutcome(outcomes.get(0), first, BulkApplicationDecisionResultDTO.DECIDED, "APPROVED");
+        assertOutcome(outcomes.get(1), rejected, BulkApplicationDecisionResultDTO.NOT_PENDING, "REJECTED");
+        assertOutcome(outcomes.get(2), second, BulkApplicationDecisionResultDTO.DECIDED, "APPROVED");
+        assertOutcome(outcomes.get(3), missing, BulkApplicationDecisionResultDTO.NOT_FOUND, null);
+
+        assertEquals("resident", studentsRepo.findByUserId(firstUser).orElseThrow().getResidencyStatus());
+        assertEquals("resident", studentsRepo.findByUserId(secondUser).orElseThrow().getResidencyStatus());
+        assertEquals("attached", studentsRepo.findByUserId(rejectedUser).orElseThrow().getResidencyStatus(),
+                     "A rejected applicant should keep their residency status");
+    }
+
+    /**
+     * Test 2: Rejecting the top N decides the highest-ranked pending applications
+     */
+    @Test
+    @Order(2)
+    void testBulkRejectTopN() throws InterruptedException {
+        submitApplication();
+        submitApplication();
+        // Resolving the distance rescores an application, so let the ranking settle first
+        awaitDistancesSettled();
+        List<Long> topTwo = hallApplicationRepo.findTopPendingIdsByRank(PageRequest.of(0, 2));
+        assertEquals(2, topTwo.size(), "There should be at least two ranked pending applications");
+
+        BulkApplicationDecisionRequest request = new BulkApplicationDecisionRequest();
+        request.setDecision("reject");
+        request.setTopN(2);
+        BulkApplicationDecisionResultDTO result = decide(request, jsonHeaders(testUtility.loginAsProvost()));
+
+        assertEquals(2, result.getDecided(), "Top two applications should be rejected");
+        assertOutcome(result.getOutcomes().get(0), topTwo.get(0), BulkApplicationDecisionResultDTO.DECIDED, "REJECTED");
+        assertOutcome(result.getOutcomes().get(1), topTwo.get(1), BulkApplicationDecisionResultDTO.DECIDED, "REJECTED");
+        assertEquals("REJECTED", hallApplicationRepo.findById(topTwo.get(0)).orElseThrow().getApplicationStatus());
+    }
+
+    /**
+     * Test 3: A request must select applications exactly one way, and students cannot use it
+     */
+    @Test
+    @Order(3)
+    void testBulkDecisionValidation() {
+        BulkApplicationDecisionRequest request = new BulkApplicationDecisionRequest();
+        request.setDecision("accept");
+        request.setApplicationIds(List.of(1L));
+        request.setTopN(5);
+        ResponseEntity<MessageResponse> both = restTemplate.exchange(
+            baseUrl + "/bulk-decision", HttpMethod.POST,
+            new HttpEntity<>(request, jsonHeaders(testUtility.loginAsProvost())), MessageResponse.class);
+        assertEquals(HttpStatus.BAD_REQUEST, both.getStatusCode(), "IDs and topN together should be rejected");
+
+        TestUtility.StudentCredentials credentials = testUtility.createStudentWithCredentials();
+        String studentToken = testUtility.loginAsStudent(credentials.getEmail(), credentials.getPassword());
+        request.setTopN(null);
+        ResponseEntity<String> denied = restTemplate.exchange(
+            baseUrl + "/bulk-decision", HttpMethod.POST,
+            new HttpEntity<>(request, jsonHeaders(studentToken)), String.class);
+        assertEquals(HttpStatus.UNAUTHORIZED, denied.getStatusCode(), "Students should not decide applications");
+    }
+
+    private BulkApplicationDecisionResultDTO decide(BulkApplicationDecisionRequest request, HttpHeaders headers) {
+        ResponseEntity<BulkApplicationDecisionResultDTO> response = restTemplate.exchange(
+            baseUrl + "/bulk-decision", HttpMethod.POST, new HttpEntity<>(request, headers),
+            BulkApplicationDecisionResultDTO.class);
+        assertEquals(HttpStatus.OK, response.getStatusCode(), "Bulk decision should succeed");
+        assertNotNull(response.getBody(), "Bulk decision result should not be null");
+        return response.getBody();
+    }
+
+    private void assertOutcome(BulkApplicationDecisionResultDTO.Outcome outcome, Long applicationId,
+                               String expectedOutcome, String expectedStatus) {
+        assertEquals(applicationId, outcome.getApplicationId(), "Outcomes should follow request order");
+        assertEquals(expectedOutcome, outcome.getOutcome(), "Outcome of application " + applicationId);
+        assertEquals(expectedStatus, outcome.getApplicationStatus(), "Status of application " + applicationId);
+    }
+
+    private Long submitApplication() {
+        TestUtility.StudentCredentials credentials = testUtility.createStudentWithCredentials();
+        String token = testUtility.loginAsStudent(credentials.getEmail(), credentials.getPassword());
+        Long userId = usersRepo.findByEmail(credentials.getEmail()).orElseThrow().getUserId();
+        applicantIds.add(userId);
+
+        HallApplicationRequest request = new HallApplicationRequest();
+        request.setCollege("Engineering College");
+        request.setCollegeLocation("Dhaka");
+        request.setFamilyIncome(new BigDecimal("10000"));
+        request.setDistrict("Khulna");
+        request.setPostcode("9000");
+        request.setHasLocalRelative("no");
+        request.setLocalRelativeAddress("");
+
+        ResponseEntity<MessageResponse> response = restTemplate.exchange(
+            baseUrl + "/seat", HttpMethod.POST, new HttpEntity<>(request, jsonHeaders(token)), MessageResponse.class);
+        assertEquals(HttpStatus.OK, response.getStatusCode(), "Seat application should be successful");
+        return userId;
+    }
+
+    private void awaitDistancesSettled() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 15_000;
+        while (System.currentTimeMillis() < deadline) {
+            Integer pending = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM hall_applications WHERE distance_status = 'PENDING'", Integer.class);
+            if (pending != null && pending == 0) {
+                return;
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("Distances of pending applications were not calculated");
+    }
+
+    private Long applicationIdOf(Long userId) {
+        return hallApplicationRepo.findAllByUserId(userId).get(0).getApplicationId();
+    }
+
+    private HttpHeaders jsonHeaders(String token) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setBearerAuth(token);
+        return headers;
+    }
+}
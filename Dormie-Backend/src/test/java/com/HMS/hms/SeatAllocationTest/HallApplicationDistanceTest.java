@@ -0,0 +1,172 @@
+package com.HMS.hms.SeatAllocationTest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.HMS.hms.DTO.HallApplicationRequest;
+import com.HMS.hms.DTO.MessageResponse;
+import com.HMS.hms.Repo.HallApplicationRepo;
+import com.HMS.hms.Repo.UsersRepo;
+import com.HMS.hms.Service.GeocodingService;
+import com.HMS.hms.Tables.HallApplication;
+import com.HMS.hms.utility.NominatimStub;
+import com.HMS.hms.utility.TestUtility;
+
+/**
+ * Integration tests for background distance calculation of hall applications.
+ *
+ * <p>Not transactional: the background worker only sees committed applications. Retry timing
+ * comes from the test profile (100 ms backoff, 3 attempts).</p>
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class HallApplicationDistanceTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private GeocodingService geocodingService;
+
+    @Autowired
+    private HallApplicationRepo hallApplicationRepo;
+
+    @Autowired
+    private UsersRepo usersRepo;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private TestUtility testUtility;
+    private NominatimStub nominatim;
+    private Object originalNominatimUrl;
+    private final List<Long> applicantIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        testUtility = new TestUtility(restTemplate, port);
+        nominatim = new NominatimStub().start();
+        originalNominatimUrl = ReflectionTestUtils.getField(geocodingService, "nominatimBaseUrl");
+        ReflectionTestUtils.setField(geocodingService, "nominatimBaseUrl", nominatim.getSearchUrl());
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.setField(geocodingService, "nominatimBaseUrl", originalNominatimUrl);
+        nominatim.close();
+        for (Long userId : applicantIds) {
+            jdbcTemplate.update("DELETE FROM hall_applications WHERE user_id = ?", userId);
+        }
+        jdbcTemplate.update("DELETE FROM postcode_geocode WHERE postcode LIKE '77%'");
+    }
+
+    /**
+     * Test 1: Submission returns before the distance is known, and the distance is filled in afterwards
+     */
+    @Test
+    @Order(1)
+    void testDistanceIsFilledInAfterSubmission() throws Exception {
+        Long userId = submitApplication("9000");
+
+        HallApplication application = awaitDistanceStatus(userId, HallApplication.DistanceStatus.RESOLVED);
+
+        double[] hall = geocodingService.getHallCoordinates();
+        BigDecimal expected = BigDecimal.valueOf(geocodingService.calculateHaversineDistance(hall[0], hall[1], 22.8456, 89.5403))
+            .setScale(2, RoundingMode.HALF_UP);
+        assertEquals(expected, application.getDistanceFromHallKm(), "Distance should match the gazetteer coordinates");
+        assertEquals(0, nominatim.getRequests(), "Gazetteer postcode should not reach Nominatim");
+    }
+
+    /**
+     * Test 2: A geocoder outage is retried, given up on, and recovered by a backfill
+     */
+    @Test
+    @Order(2)
+    void testOutageIsRetriedThenBackfilled() throws Exception {
+        nominatim.withUnavailable(true);
+        Long userId = submitApplication("7798");
+
+        HallApplication failed = awaitDistanceStatus(userId, HallApplication.DistanceStatus.FAILED);
+        assertNull(failed.getDistanceFromHallKm(), "Distance should stay empty while the geocoder is down");
+        assertEquals(3, failed.getDistanceAttempts(), "Distance should be given up after the configured attempts");
+        assertEquals(3, nominatim.getRequestsFor("7798"), "Each attempt should reach the geocoder once");
+
+        nominatim.withUnavailable(false).withPostcode("7798", 23.1634, 89.2182);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(testUtility.loginAsAdmin());
+        ResponseEntity<MessageResponse> response = restTemplate.exchange(
+            "http://localhost:" + port + "/api/applications/distances/backfill", HttpMethod.POST,
+            new HttpEntity<>(headers), MessageResponse.class);
+        assertEquals(HttpStatus.OK, response.getStatusCode(), "Backfill should be accepted");
+
+        HallApplication resolved = awaitDistanceStatus(userId, HallApplication.DistanceStatus.RESOLVED);
+        assertNotNull(resolved.getDistanceFromHallKm(), "Backfill should fill in the distance");
+    }
+
+    private Long submitApplication(String postcode) {
+        TestUtility.StudentCredentials credentials = testUtility.createStudentWithCredentials();
+        String token = testUtility.loginAsStudent(credentials.getEmail(), credentials.getPassword());
+        Long userId = usersRepo.findByEmail(credentials.getEmail()).orElseThrow().getUserId();
+        applicantIds.add(userId);
+
+        HallApplicationRequest request = new HallApplicationRequest();
+        request.setCollege("Engineering College");
+        request.setCollegeLocation("Dhaka");
+        request.setFamilyIncome(new BigDecimal("50000"));
+        request.setDistrict("Khulna");
+        request.setPostcode(postcode);
+        request.setHasLocalRelative("no");
+        request.setLocalRelativeAddress("");
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setBearerAuth(token);
+        ResponseEntity<MessageResponse> response = restTemplate.exchange(
+            "http://localhost:" + port + "/api/applications/seat", HttpMethod.POST,
+            new HttpEntity<>(request, headers), MessageResponse.class);
+        assertEquals(HttpStatus.OK, response.getStatusCode(), "Seat application should be successful");
+        return userId;
+    }
+
+    private HallApplication awaitDistanceStatus(Long userId, HallApplication.DistanceStatus status) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 15_000;
+        while (System.currentTimeMillis() < deadline) {
+            List<HallApplication> applications = hallApplicationRepo.findAllByUserId(userId);
+            if (!applications.isEmpty() && applications.get(0).getDistanceStatus() == status) {
+                return applications.get(0);
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("Application of user " + userId + " did not reach distance status " + status);
+    }
+}
@@ -0,0 +1,227 @@
+package com.HMS.hms.SeatAllocationTest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.HMS.hms.DTO.HallApplicationIntakeTicketDTO;
+import com.HMS.hms.DTO.HallApplicationRequest;
+import com.HMS.hms.Repo.HallApplicationRepo;
+import com.HMS.hms.Repo.UsersRepo;
+import com.HMS.hms.Service.HallApplicationIntakeService;
+import com.HMS.hms.utility.TestUtility;
+
+/**
+ * Integration tests for the hall application intake queue.
+ *
+ * <p>Not transactional: tickets are processed by background workers, which only see committed
+ * tickets. Intake mode is switched on for each test and off again afterwards.</p>
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class HallApplicationIntakeTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private HallApplicationIntakeService hallApplicationIntakeService;
+
+    @Autowired
+    private HallApplicationRepo hallApplicationRepo;
+
+    @Autowired
+    private UsersRepo usersRepo;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private TestUtility testUtility;
+    private String baseUrl;
+    private final List<Long> applicantIds = Collections.synchronizedList(new ArrayList<>());
+
+    @BeforeEach
+    void setUp() {
+        testUtility = new TestUtility(restTemplate, port);
+        baseUrl = "http://localhost:" + port + "/api/applications";
+        ReflectionTestUtils.setField(hallApplicationIntakeService, "enabled", true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.setField(hallApplicationIntakeService, "enabled", false);
+        for (Long userId : applicantIds) {
+            jdbcTemplate.update("DELETE FROM hall_application_intake WHERE user_id = ?", userId);
+            jdbcTemplate.update("DELETE FROM hall_applications WHERE user_id = ?", userId);
+        }
+    }
+
+    /**
+     * Test 1: A queued submission is acknowledged with a ticket and becomes an application
+     */
+    @Test
+    @Order(1)
+    void testQueuedSubmissionBecomesApplication() throws Exception {
+        Applicant applicant = createApplicant();
+
+        ResponseEntity<HallApplicationIntakeTicketDTO> response = submit(applicant.token, validRequest());
+        assertEquals(HttpStatus.ACCEPTED, response.getStatusCode(), "Intake should acknowledge with 202");
+        HallApplicationIntakeTicketDTO ticket = response.getBody();
+        assertNotNull(ticket, "Ticket should be returned");
+        assertNotNull(ticket.getTicketId(), "Ticket should have an ID");
+
+        HallApplicationIntakeTicketDTO processed = awaitProcessed(applicant.token, ticket.getTicketId());
+        assertEquals("submitted", processed.getStatus(), "Ticket should be submitted");
+        assertNull(processed.getQueuePosition(), "Processed ticket has no queue position");
+        assertEquals(hallApplicationRepo.findAllByUserId(applicant.userId).get(0).getApplicationId(),
+                     processed.getApplicationId(), "Ticket should point at the created application");
+
+        // A second application while the first is pending is rejected by the worker
+        HallApplicationIntakeTicketDTO second = submit(applicant.token, validRequest()).getBody();
+        assertNotNull(second, "Second ticket should be returned");
+        HallApplicationIntakeTicketDTO rejected = awaitProcessed(applicant.token, second.getTicketId());
+        assertEquals("rejected", rejected.getStatus(), "Duplicate application should be rejected");
+        assertTrue(rejected.getMessage().contains("pending"), "Rejection should explain why: " + rejected.getMessage());
+        assertEquals(1, hallApplicationRepo.findAllByUserId(applicant.userId).size(), "Only one application should exist");
+    }
+
+    /**
+     * Test 2: Invalid submissions are refused up front and tickets are private to their student
+     */
+    @Test
+    @Order(2)
+    void testValidationAndTicketPrivacy() throws Exception {
+        Applicant applicant = createApplicant();
+        HallApplicationRequest invalid = validRequest();
+        invalid.setHasLocalRelative("yes");
+        invalid.setLocalRelativeAddress(" ");
+        ResponseEntity<String> refused = restTemplate.exchange(
+            baseUrl + "/seat", HttpMethod.POST, new HttpEntity<>(invalid, jsonHeaders(applicant.token)), String.class);
+        assertEquals(HttpStatus.BAD_REQUEST, refused.getStatusCode(), "Invalid submission should be refused immediately");
+        Integer tickets = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM hall_application_intake WHERE user_id = ?", Integer.class, applicant.userId);
+        assertEquals(0, tickets, "No ticket should be queued for an invalid submission");
+
+        HallApplicationIntakeTicketDTO ticket = submit(applicant.token, validRequest()).getBody();
+        assertNotNull(ticket, "Ticket should be returned");
+        Applicant other = createApplicant();
+        ResponseEntity<String> foreign = restTemplate.exchange(
+            baseUrl + "/intake/" + ticket.getTicketId(), HttpMethod.GET, new HttpEntity<>(jsonHeaders(other.token)), String.class);
+        assertEquals(HttpStatus.NOT_FOUND, foreign.getStatusCode(), "Another student's ticket should not be visible");
+        awaitProcessed(applicant.token, ticket.getTicketId());
+    }
+
+    /**
+     * Test 3: A burst of submissions is drained completely, one application per student
+     */
+    @Test
+    @Order(3)
+    void testBurstIsDrained() throws Exception {
+        List<Applicant> applicants = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            applicants.add(createApplicant());
+        }
+
+        List<CompletableFuture<HallApplicationIntakeTicketDTO>> submissions = new ArrayList<>();
+        for (Applicant applicant : applicants) {
+            submissions.add(CompletableFuture.supplyAsync(() -> submit(applicant.token, validRequest()).getBody()));
+        }
+
+        Set<Long> applicationIds = new HashSet<>();
+        for (int i = 0; i < applicants.size(); i++) {
+            HallApplicationIntakeTicketDTO ticket = submissions.get(i).join();
+            assertNotNull(ticket, "Every submission should get a ticket");
+            HallApplicationIntakeTicketDTO processed = awaitProcessed(applicants.get(i).token, ticket.getTicketId());
+            assertEquals("submitted", processed.getStatus(), "Every queued submission should be processed");
+            applicationIds.add(processed.getApplicationId());
+        }
+        assertEquals(applicants.size(), applicationIds.size(), "Each ticket should have its own application");
+    }
+
+    private ResponseEntity<HallApplicationIntakeTicketDTO> submit(String token, HallApplicationRequest request) {
+        return restTemplate.exchange(baseUrl + "/seat", HttpMethod.POST,
+            new HttpEntity<>(request, jsonHeaders(token)), HallApplicationIntakeTicketDTO.class);
+    }
+
+    private HallApplicationIntakeTicketDTO awaitProcessed(String token, String ticketId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 15_000;
+        while (System.currentTimeMillis() < deadline) {
+            ResponseEntity<HallApplicationIntakeTicketDTO> response = restTemplate.exchange(
+                baseUrl + "/intake/" + ticketId, HttpMethod.GET, new HttpEntity<>(jsonHeaders(token)),
+                HallApplicationIntakeTicketDTO.class);
+            assertEquals(HttpStatus.OK, response.getStatusCode(), "Ticket should be found");
+            HallApplicationIntakeTicketDTO ticket = response.getBody();
+            if (ticket != null && !"queued".equals(ticket.getStatus())) {
+                return ticket;
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("Intake ticket " + ticketId + " was not processed");
+    }
+
+    private Applicant createApplicant() {
+        TestUtility.StudentCredentials credentials = testUtility.createStudentWithCredentials();
+        Applicant applicant = new Applicant();
+        applicant.token = testUtility.loginAsStudent(credentials.getEmail(), credentials.getPassword());
+        applicant.userId = usersRepo.findByEmail(credentials.getEmail()).orElseThrow().getUserId();
+        applicantIds.add(applicant.userId);
+        return applicant;
+    }
+
+    private HallApplicationRequest validRequest() {
+        HallApplicationRequest request = new HallApplicationRequest();
+        request.setCollege("Engineering College");
+        request.setCollegeLocation("Dhaka");
+        request.setFamilyIncome(new BigDecimal("40000"));
+        request.setDistrict("Khulna");
+        request.setPostcode("9000");
+        request.setHasLocalRelative("no");
+        request.setLocalRelativeAddress("");
+        return request;
+    }
+
+    private HttpHeaders jsonHeaders(String token) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setBearerAuth(token);
+        return headers;
+    }
+
+    private static class Applicant {
+        private String token;
+        private Long userId;
+    }
+}
@@ -0,0 +1,211 @@
+package com.HMS.hms.SeatAllocationTest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.HMS.hms.DTO.HallApplicationRequest;
+import com.HMS.hms.DTO.HallApplicationSummaryDTO;
+import com.HMS.hms.DTO.MessageResponse;
+import com.HMS.hms.DTO.RankedApplicationsPageDTO;
+import com.HMS.hms.Repo.HallApplicationRepo;
+import com.HMS.hms.Repo.UsersRepo;
+import com.HMS.hms.Service.HallApplicationRankingService;
+import com.HMS.hms.Tables.HallApplication;
+import com.HMS.hms.utility.TestUtility;
+
+/**
+ * Integration tests for priority ranking of hall applications and the keyset-paged provost list.
+ *
+ * <p>Not transactional: scores are completed by the background distance worker, which only sees
+ * committed applications. Postcodes come from the bundled gazetteer, so no geocoder is needed.</p>
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class HallApplicationRankingTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private HallApplicationRankingService hallApplicationRankingService;
+
+    @Autowired
+    private HallApplicationRepo hallApplicationRepo;
+
+    @Autowired
+    private UsersRepo usersRepo;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private TestUtility testUtility;
+    private final List<Long> applicantIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        testUtility = new TestUtility(restTemplate, port);
+    }
+
+    @AfterEach
+    void tearDown() {
+        for (Long userId : applicantIds) {
+            jdbcTemplate.update("DELETE FROM hall_applications WHERE user_id = ?", userId);
+        }
+    }
+
+    /**
+     * Test 1: The score is stored on submission and recomputed once the distance is known
+     */
+    @Test
+    @Order(1)
+    void testScoreIsRecomputedWithDistance() throws Exception {
+        Long userId = submitApplication("50000", false, "9000");
+
+        HallApplication application = awaitResolved(userId);
+        assertNotNull(application.getPriorityScore(), "Application should have a priority score");
+        assertEquals(hallApplicationRankingService.score(application, 2024), application.getPriorityScore(),
+                     "Stored score should include the resolved distance");
+
+        application.setDistanceFromHallKm(null);
+        assertTrue(application.getPriorityScore() > hallApplicationRankingService.score(application, 2024),
+                   "A distant applicant should rank above the same applicant without a distance");
+    }
+
+    /**
+     * Test 2: The ranked list is served highest score first, page by page, without gaps or repeats
+     */
+    @Test
+    @Order(2)
+    void testRankedListIsKeysetPaged() throws Exception {
+        Long poorFarAway = submitApplication("20000", false, "9000");
+        Long wealthyLocal = submitApplication("80000", true, "1000");
+        Long middleFarAway = submitApplication("50000", false, "9000");
+        Long poorFarAwayApp = awaitResolved(poorFarAway).getApplicationId();
+        Long wealthyLocalApp = awaitResolved(wealthyLocal).getApplicationId();
+        Long middleFarAwayApp = awaitResolved(middleFarAway).getApplicationId();
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(testUtility.loginAsProvost());
+        List<HallApplicationSummaryDTO> ranked = new ArrayList<>();
+        String url = "http://localhost:" + port + "/api/applications/ranked?status=PENDING&limit=2";
+        RankedApplicationsPageDTO page;
+        do {
+            ResponseEntity<RankedApplicationsPageDTO> response = restTemplate.exchange(
+                url, HttpMethod.GET, new HttpEntity<>(headers), RankedApplicationsPageDTO.class);
+            assertEquals(HttpStatus.OK, response.getStatusCode(), "Ranked page should be returned");
+            page = response.getBody();
+            assertNotNull(page, "Ranked page should not be null");
+            assertTrue(page.getApplications().size() <= 2, "Page should respect the limit");
+            ranked.addAll(page.getApplications());
+            url = "http://localhost:" + port + "/api/applications/ranked?status=PENDING&limit=2"
+                + "&afterScore=" + page.getNextAfterScore() + "&afterId=" + page.getNextAfterId();
+        } while (page.isHasMore());
+
+        Set<Long> seen = new HashSet<>();
+        List<Long> order = new ArrayList<>();
+        for (int i = 0; i < ranked.size(); i++) {
+            HallApplicationSummaryDTO summary = ranked.get(i);
+            assertTrue(seen.add(summary.getApplicationId()), "Application " + summary.getApplicationId() + " should appear once");
+            assertEquals("PENDING", summary.getApplicationStatus(), "Only pending applications should be listed");
+            assertNotNull(summary.getUsername(), "Username should be joined into the summary");
+            if (i > 0) {
+                assertTrue(ranked.get(i - 1).getPriorityScore() >= summary.getPriorityScore(), "Scores should not increase down the list");
+            }
+            order.add(summary.getApplicationId());
+        }
+        assertTrue(order.indexOf(poorFarAwayApp) >= 0 && order.indexOf(poorFarAwayApp) < order.indexOf(middleFarAwayApp),
+                   "Lower income should rank higher at the same distance");
+        assertTrue(order.indexOf(middleFarAwayApp) < order.indexOf(wealthyLocalApp),
+                   "A wealthy applicant near the hall with a local relative should rank last");
+    }
+
+    /**
+     * Test 3: Rescoring fills in scores that are missing
+     */
+    @Test
+    @Order(3)
+    void testRescoreFillsMissingScores() throws Exception {
+        Long userId = submitApplication("30000", false, "9000");
+        Double expected = awaitResolved(userId).getPriorityScore();
+        jdbcTemplate.update("UPDATE hall_applications SET priority_score = NULL WHERE user_id = ?", userId);
+        assertNull(hallApplicationRepo.findAllByUserId(userId).get(0).getPriorityScore(), "Score should be cleared");
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(testUtility.loginAsAdmin());
+        ResponseEntity<MessageResponse> response = restTemplate.exchange(
+            "http://localhost:" + port + "/api/applications/ranking/rescore", HttpMethod.POST,
+            new HttpEntity<>(headers), MessageResponse.class);
+        assertEquals(HttpStatus.OK, response.getStatusCode(), "Rescore should succeed");
+
+        assertEquals(expected, hallApplicationRepo.findAllByUserId(userId).get(0).getPriorityScore(),
+                     "Rescore should restore the same score");
+    }
+
+    private Long submitApplication(String familyIncome, boolean hasLocalRelative, String postcode) {
+        TestUtility.StudentCredentials credentials = testUtility.createStudentWithCredentials();
+        String token = testUtility.loginAsStudent(credentials.getEmail(), credentials.getPassword());
+        Long userId = usersRepo.findByEmail(credentials.getEmail()).orElseThrow().getUserId();
+        applicantIds.add(userId);
+
+        HallApplicationRequest request = new HallApplicationRequest();
+        request.setCollege("Engineering College");
+        request.setCollegeLocation("Dhaka");
+        request.setFamilyIncome(new BigDecimal(familyIncome));
+        request.setDistrict("Khulna");
+        request.setPostcode(postcode);
+        request.setHasLocalRelative(hasLocalRelative ? "yes" : "no");
+        request.setLocalRelativeAddress(hasLocalRelative ? "Azimpur, Dhaka" : "");
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setBearerAuth(token);
+        ResponseEntity<MessageResponse> response = restTemplate.exchange(
+            "http://localhost:" + port + "/api/applications/seat", HttpMethod.POST,
+            new HttpEntity<>(request, headers), MessageResponse.class);
+        assertEquals(HttpStatus.OK, response.getStatusCode(), "Seat application should be successful");
+        return userId;
+    }
+
+    private HallApplication awaitResolved(Long userId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 15_000;
+        while (System.currentTimeMillis() < deadline) {
+            List<HallApplication> applications = hallApplicationRepo.findAllByUserId(userId);
+            if (!applications.isEmpty() && applications.get(0).getDistanceStatus() == HallApplication.DistanceStatus.RESOLVED) {
+                return applications.get(0);
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("Distance of application of user " + userId + " was not resolved");
+    }
+}
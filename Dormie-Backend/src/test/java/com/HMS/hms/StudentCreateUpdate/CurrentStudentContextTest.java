@@ -0,0 +1,184 @@
+package com.HMS.hms.StudentCreateUpdate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.HMS.hms.DTO.StudentDTO;
+import com.HMS.hms.Repo.RoomRepo;
+import com.HMS.hms.Repo.StudentRoomRepo;
+import com.HMS.hms.Repo.StudentsRepo;
+import com.HMS.hms.Repo.UsersRepo;
+import com.HMS.hms.Tables.Room;
+import com.HMS.hms.Tables.StudentRoom;
+import com.HMS.hms.Tables.Students;
+import com.HMS.hms.utility.TestUtility;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Integration tests for the request-scoped current student context: the caller's user, student
+ * and room assignment records are loaded once per request with one joined query.
+ *
+ * <p>Query counts come from Hibernate statistics, counting only queries that read student or room
+ * assignment records; the JWT filter's own user lookup and background jobs are not counted.</p>
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class CurrentStudentContextTest {
+
+    private static final String ROOM_NO = "CTX-101";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private UsersRepo usersRepo;
+
+    @Autowired
+    private StudentsRepo studentsRepo;
+
+    @Autowired
+    private RoomRepo roomRepo;
+
+    @Autowired
+    private StudentRoomRepo studentRoomRepo;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private TestUtility testUtility;
+    private Statistics statistics;
+    private String baseUrl;
+    private Long userId;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        testUtility = new TestUtility(restTemplate, port);
+        baseUrl = "http://localhost:" + port + "/api";
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+
+        TestUtility.StudentCredentials credentials = testUtility.createStudentWithCredentials();
+        userId = usersRepo.findByEmail(credentials.getEmail()).orElseThrow().getUserId();
+        token = testUtility.loginAsStudent(credentials.getEmail(), credentials.getPassword());
+    }
+
+    @AfterEach
+    void tearDown() {
+        statistics.setStatisticsEnabled(false);
+        jdbcTemplate.update("DELETE FROM student_rooms WHERE room_id = ?", ROOM_NO);
+        jdbcTemplate.update("DELETE FROM rooms WHERE room_no = ?", ROOM_NO);
+    }
+
+    /**
+     * Test 1: A resident's allocation status reads user, student and room assignment in one query
+     */
+    @Test
+    @Order(1)
+    void testAllocationStatusUsesOneLookup() {
+        Students student = makeResident();
+        roomRepo.save(new Room(ROOM_NO, 1, 2));
+        studentRoomRepo.save(new StudentRoom(userId, student.getStudentId(), ROOM_NO));
+
+        statistics.clear();
+        ResponseEntity<String> response = get("/rooms/allocation-status", String.class);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode(), "Allocation status should be returned");
+        assertNotNull(response.getBody(), "Allocation status should have a body");
+        assertTrue(response.getBody().contains("room assigned to " + ROOM_NO), "Room should be reported: " + response.getBody());
+        assertEquals(1, TestUtility.queryCount(statistics, "Students", "StudentRoom"),
+                     "User, student and room assignment should come from one joined query");
+
+        statistics.clear();
+        ResponseEntity<String> room = get("/rooms/my-current-room", String.class);
+        assertEquals(ROOM_NO, room.getBody(), "Current room should come from the context");
+        assertEquals(1, TestUtility.queryCount(statistics, "Students", "StudentRoom"),
+                     "Current room should also take one lookup");
+    }
+
+    /**
+     * Test 2: Student self-service endpoints resolve the caller once per request
+     */
+    @Test
+    @Order(2)
+    void testStudentEndpointsUseOneLookup() {
+        statistics.clear();
+        ResponseEntity<StudentDTO> me = get("/students/me", StudentDTO.class);
+        assertEquals(HttpStatus.OK, me.getStatusCode(), "Student should read their own record");
+        assertNotNull(me.getBody(), "Student record should be returned");
+        assertEquals(userId, me.getBody().getUserId(), "Record should be the caller's");
+        assertEquals(1, TestUtility.queryCount(statistics, "Students", "StudentRoom"),
+                     "Profile should take one lookup");
+
+        ResponseEntity<String> attached = get("/rooms/allocation-status", String.class);
+        assertTrue(attached.getBody().contains("attached"), "Attached student has no allocation: " + attached.getBody());
+
+        // The resident check runs before the cached menu is served
+        ResponseEntity<String> refused = get("/meal-plans/today", String.class);
+        assertEquals(HttpStatus.FORBIDDEN, refused.getStatusCode(), "Attached students cannot view meal plans");
+        makeResident();
+        statistics.clear();
+        ResponseEntity<String> menu = get("/meal-plans/today", String.class);
+        assertEquals(HttpStatus.OK, menu.getStatusCode(), "Residents can view meal plans");
+        assertEquals(1, TestUtility.queryCount(statistics, "Students", "StudentRoom"),
+                     "Resident check should take one lookup");
+    }
+
+    /**
+     * Test 3: Non-students get no student context
+     */
+    @Test
+    @Order(3)
+    void testNonStudentHasNoContext() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(testUtility.loginAsAdmin());
+        ResponseEntity<String> me = restTemplate.exchange(baseUrl + "/students/me", HttpMethod.GET,
+            new HttpEntity<>(headers), String.class);
+        assertEquals(HttpStatus.FORBIDDEN, me.getStatusCode(), "Admins have no student record to read");
+
+        ResponseEntity<String> menu = restTemplate.exchange(baseUrl + "/meal-plans/today", HttpMethod.GET,
+            new HttpEntity<>(headers), String.class);
+        assertEquals(HttpStatus.FORBIDDEN, menu.getStatusCode(), "Admins are not resident students");
+    }
+
+    private Students makeResident() {
+        Students student = studentsRepo.findByUserId(userId).orElseThrow();
+        student.setResidencyStatus("resident");
+        return studentsRepo.save(student);
+    }
+
+    private <T> ResponseEntity<T> get(String path, Class<T> type) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(token);
+        return restTemplate.exchange(baseUrl + path, HttpMethod.GET, new HttpEntity<>(headers), type);
+    }
+}
@@ -0,0 +1,217 @@
+package com.HMS.hms.StudentCreateUpdate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.HMS.hms.DTO.ComplaintCreateRequest;
+import com.HMS.hms.DTO.HallApplicationRequest;
+import com.HMS.hms.Repo.RoomRepo;
+import com.HMS.hms.Repo.StudentRoomRepo;
+import com.HMS.hms.Repo.StudentsRepo;
+import com.HMS.hms.Repo.UsersRepo;
+import com.HMS.hms.Service.ComplaintService;
+import com.HMS.hms.Service.HallApplicationService;
+import com.HMS.hms.Service.StudentDashboardService;
+import com.HMS.hms.Tables.Room;
+import com.HMS.hms.Tables.StudentRoom;
+import com.HMS.hms.Tables.Students;
+import com.HMS.hms.utility.TestUtility;
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Integration tests for the student dashboard: one request returns every home page section,
+ * and sections that cannot be loaded in time are reported instead of failing the request.
+ *
+ * <p>Slow and overloaded sections are simulated by swapping in a blocked executor.</p>
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class StudentDashboardTest {
+
+    private static final String ROOM_NO = "DASH-201";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private StudentDashboardService studentDashboardService;
+
+    @Autowired
+    private ComplaintService complaintService;
+
+    @Autowired
+    private HallApplicationService hallApplicationService;
+
+    @Autowired
+    private UsersRepo usersRepo;
+
+    @Autowired
+    private StudentsRepo studentsRepo;
+
+    @Autowired
+    private RoomRepo roomRepo;
+
+    @Autowired
+    private StudentRoomRepo studentRoomRepo;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private TestUtility testUtility;
+    private String url;
+    private Long userId;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        testUtility = new TestUtility(restTemplate, port);
+        url = "http://localhost:" + port + "/api/students/me/dashboard";
+        TestUtility.StudentCredentials credentials = testUtility.createStudentWithCredentials();
+        userId = usersRepo.findByEmail(credentials.getEmail()).orElseThrow().getUserId();
+        token = testUtility.loginAsStudent(credentials.getEmail(), credentials.getPassword());
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM complaints WHERE user_id = ?", userId);
+        jdbcTemplate.update("DELETE FROM hall_applications WHERE user_id = ?", userId);
+        jdbcTemplate.update("DELETE FROM student_rooms WHERE room_id = ?", ROOM_NO);
+        jdbcTemplate.update("DELETE FROM rooms WHERE room_no = ?", ROOM_NO);
+    }
+
+    /**
+     * Test 1: A resident's dashboard has every section in one response
+     */
+    @Test
+    @Order(1)
+    void testFullDashboard() {
+        Students student = studentsRepo.findByUserId(userId).orElseThrow();
+        student.setResidencyStatus("resident");
+        studentsRepo.save(student);
+        roomRepo.save(new Room(ROOM_NO, 1, 2));
+        studentRoomRepo.save(new StudentRoom(userId, student.getStudentId(), ROOM_NO));
+        complaintService.createComplaint(new ComplaintCreateRequest("Lost bottle", "Blue bottle in the reading room", "LOST_AND_FOUND"), userId);
+        hallApplicationService.submitHallApplication(applicationRequest(), userId);
+
+        JsonNode dashboard = getDashboard();
+
+        assertEquals(userId.longValue(), dashboard.path("profile").path("userId").asLong(), "Profile should be the caller's");
+        assertEquals(ROOM_NO, dashboard.path("roomNo").asText(), "Room should be included");
+        assertEquals("room assigned to " + ROOM_NO, dashboard.path("allocationStatus").asText(), "Allocation should match the room");
+        assertEquals(0, dashboard.path("hallFees").path("unpaidAmount").decimalValue().compareTo(BigDecimal.ZERO),
+                     "Nothing should be owed");
+        assertTrue(dashboard.path("hallFees").path("payments").isArray(), "Hall fee payments should be included");
+        assertTrue(dashboard.path("diningFees").path("payments").isArray(), "Dining fee payments should be included");
+        assertTrue(dashboard.path("todaysMeals").isArray(), "Residents should get today's menu");
+        assertEquals(1, dashboard.path("recentComplaints").size(), "Complaint should be included");
+        assertEquals("Lost bottle", dashboard.path("recentComplaints").get(0).path("title").asText(), "Complaint should be the caller's");
+        assertEquals("PENDING", dashboard.path("application").path("status").asText(), "Application status should be included");
+        assertEquals(0, dashboard.path("unavailable").size(), "Every section should be available");
+    }
+
+    /**
+     * Test 2: Slow and rejected sections are reported while the rest is still returned
+     */
+    @Test
+    @Order(2)
+    void testPartialResults() throws Exception {
+        ThreadPoolExecutor original = (ThreadPoolExecutor) ReflectionTestUtils.getField(studentDashboardService, "executor");
+        ThreadPoolExecutor blocked = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1));
+        CountDownLatch release = new CountDownLatch(1);
+        blocked.execute(() -> {
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        ReflectionTestUtils.setField(studentDashboardService, "executor", blocked);
+        ReflectionTestUtils.setField(studentDashboardService, "sectionTimeoutMs", 300L);
+        try {
+            long start = System.currentTimeMillis();
+            JsonNode dashboard = getDashboard();
+            long elapsed = System.currentTimeMillis() - start;
+
+            assertEquals(userId.longValue(), dashboard.path("profile").path("userId").asLong(), "Profile should still be returned");
+            assertEquals("attached", dashboard.path("allocationStatus").asText(), "Allocation should still be returned");
+            assertTrue(dashboard.path("todaysMeals").isNull(), "Attached students get no menu");
+            assertEquals("timeout", dashboard.path("unavailable").path("hallFees").asText(), "Queued section should time out");
+            assertEquals("busy", dashboard.path("unavailable").path("diningFees").asText(), "Rejected section should be busy");
+            assertEquals("busy", dashboard.path("unavailable").path("recentComplaints").asText(), "Rejected section should be busy");
+            assertEquals("busy", dashboard.path("unavailable").path("application").asText(), "Rejected section should be busy");
+            assertTrue(dashboard.path("hallFees").isNull(), "Unavailable section should be left out");
+            assertTrue(elapsed < 5000, "Request should not wait for the slow section, took " + elapsed + " ms");
+            assertTrue(((Future<?>) blocked.getQueue().peek()).isCancelled(), "Timed-out section should be cancelled, not left to run");
+        } finally {
+            release.countDown();
+            blocked.shutdownNow();
+            ReflectionTestUtils.setField(studentDashboardService, "executor", original);
+            ReflectionTestUtils.setField(studentDashboardService, "sectionTimeoutMs", 2000L);
+        }
+    }
+
+    /**
+     * Test 3: Only students have a dashboard
+     */
+    @Test
+    @Order(3)
+    void testStudentsOnly() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(testUtility.loginAsAdmin());
+        ResponseEntity<String> response = restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(headers), String.class);
+        assertFalse(response.getStatusCode().is2xxSuccessful(), "Admins should not get a student dashboard");
+    }
+
+    private JsonNode getDashboard() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(token);
+        ResponseEntity<JsonNode> response = restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(headers), JsonNode.class);
+        assertEquals(HttpStatus.OK, response.getStatusCode(), "Dashboard should be returned");
+        assertNotNull(response.getBody(), "Dashboard should have a body");
+        return response.getBody();
+    }
+
+    private HallApplicationRequest applicationRequest() {
+        HallApplicationRequest request = new HallApplicationRequest();
+        request.setCollege("Engineering College");
+        request.setCollegeLocation("Dhaka");
+        request.setFamilyIncome(new BigDecimal("40000"));
+        request.setDistrict("Khulna");
+        request.setPostcode("9000");
+        request.setHasLocalRelative("no");
+        request.setLocalRelativeAddress("");
+        return request;
+    }
+}
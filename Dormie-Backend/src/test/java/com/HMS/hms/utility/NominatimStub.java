@@ -0,0 +1,114 @@
+package com.HMS.hms.utility;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Embeddable stand-in for the Nominatim search endpoint, used to exercise geocoding offline.
+ *
+ * <p>Answers {@code GET /search?postalcode=...} with the coordinates registered through
+ * {@link #withPostcode(String, double, double)} and an empty result list for any other postcode,
+ * counting requests per postcode. {@link #withUnavailable(boolean)} answers every request with
+ * HTTP 503 to mimic an outage or rate-limit rejection.</p>
+ *
+ * <p>Point the backend at it with {@code nominatim.base.url=}{@link #getSearchUrl()}.</p>
+ */
+public class NominatimStub implements AutoCloseable {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, double[]> coordinates = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> requestsByPostcode = new ConcurrentHashMap<>();
+    private final AtomicLong requests = new AtomicLong();
+
+    private volatile boolean unavailable = false;
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+
+    public NominatimStub start() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        serverExecutor = Executors.newFixedThreadPool(4);
+        server.setExecutor(serverExecutor);
+        server.createContext("/search", this::handleSearch);
+        server.start();
+        return this;
+    }
+
+    @Override
+    public void close() {
+        if (server != null) {
+            server.stop(0);
+            serverExecutor.shutdownNow();
+        }
+    }
+
+    public String getSearchUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/search";
+    }
+
+    public NominatimStub withPostcode(String postcode, double latitude, double longitude) {
+        coordinates.put(postcode, new double[] {latitude, longitude});
+        return this;
+    }
+
+    public NominatimStub withUnavailable(boolean unavailable) {
+        this.unavailable = unavailable;
+        return this;
+    }
+
+    public long getRequests() { return requests.get(); }
+
+    public long getRequestsFor(String postcode) {
+        AtomicLong count = requestsByPostcode.get(postcode);
+        return count == null ? 0 : count.get();
+    }
+
+    private void handleSearch(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        String postcode = decodeQuery(exchange.getRequestURI().getRawQuery()).getOrDefault("postalcode", "");
+        requestsByPostcode.computeIfAbsent(postcode, code -> new AtomicLong()).incrementAndGet();
+        if (unavailable) {
+            exchange.sendResponseHeaders(503, -1);
+            exchange.close();
+            return;
+        }
+
+        double[] coords = coordinates.get(postcode);
+        List<Map<String, String>> body = coords == null ? List.of()
+                : List.of(Map.of("lat", String.valueOf(coords[0]), "lon", String.valueOf(coords[1])));
+        byte[] bytes = objectMapper.writeValueAsBytes(body);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static Map<String, String> decodeQuery(String encoded) {
+        Map<String, String> values = new HashMap<>();
+        if (encoded == null || encoded.isEmpty()) {
+            return values;
+        }
+        for (String pair : encoded.split("&")) {
+            int eq = pair.indexOf('=');
+            String key = eq < 0 ? pair : pair.substring(0, eq);
+            String value = eq < 0 ? "" : pair.substring(eq + 1);
+            values.put(URLDecoder.decode(key, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return values;
+    }
+}
@@ -0,0 +1,195 @@
+package com.HMS.hms.utility;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Drives concurrent initiate-then-callback payment flows against {@code PaymentController}.
+ *
+ * <p>Each flow authenticates as one student, calls {@code POST /api/payment/initiate}, and has
+ * the {@link SSLCommerzSimulator} pay the returned transaction, which fires the success
+ * callback(s) back at the backend. The resulting {@link Report} carries throughput and latency
+ * percentiles; settlement correctness is checked by the caller against the database.</p>
+ */
+public class PaymentLoadHarness {
+
+    private final String paymentBaseUrl;
+    private final SSLCommerzSimulator simulator;
+    private final int concurrency;
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * @param port Port the backend is listening on
+     * @param simulator Gateway simulator the backend is pointed at
+     * @param concurrency Number of flows in flight at once
+     */
+    public PaymentLoadHarness(int port, SSLCommerzSimulator simulator, int concurrency) {
+        this.paymentBaseUrl = "http://localhost:" + port + "/api/payment";
+        this.simulator = simulator;
+        this.concurrency = concurrency;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    /**
+     * Runs one payment flow per JWT token and waits for all of them.
+     *
+     * @param studentTokens JWT tokens of the students who will pay
+     * @return aggregated results
+     */
+    public Report run(List<String> studentTokens) throws InterruptedException {
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        List<Long> initiateLatencies = Collections.synchronizedList(new ArrayList<>());
+        List<Long> callbackLatencies = Collections.synchronizedList(new ArrayList<>());
+        List<Long> flowLatencies = Collections.synchronizedList(new ArrayList<>());
+        Set<String> settledTranIds = ConcurrentHashMap.newKeySet();
+        AtomicInteger initiationFailures = new AtomicInteger();
+        AtomicInteger callbackFailures = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+
+        long start = System.nanoTime();
+        List<Future<?>> flows = new ArrayList<>();
+        for (String token : studentTokens) {
+            flows.add(workers.submit(() -> {
+                long flowStart = System.nanoTime();
+                try {
+                    HttpRequest initiate = HttpRequest.newBuilder(URI.create(paymentBaseUrl + "/initiate"))
+                            .timeout(Duration.ofSeconds(60))
+                            .header("Authorization", "Bearer " + token)
+                            .POST(HttpRequest.BodyPublishers.noBody())
+                            .build();
+                    HttpResponse<String> response = httpClient.send(initiate, HttpResponse.BodyHandlers.ofString());
+                    long initiated = System.nanoTime();
+                    initiateLatencies.add(initiated - flowStart);
+                    if (response.statusCode() != 200) {
+                        initiationFailures.incrementAndGet();
+                        return;
+                    }
+
+                    JsonNode body = objectMapper.readTree(response.body());
+                    String tranId = body.path("transaction_id").asText();
+                    List<SSLCommerzSimulator.CallbackResult> callbacks = simulator.completePayment(tranId).get();
+                    long completed = System.nanoTime();
+                    callbackLatencies.add(completed - initiated);
+                    flowLatencies.add(completed - flowStart);
+
+                    if (callbacks.stream().anyMatch(SSLCommerzSimulator.CallbackResult::isSettled)) {
+                        settledTranIds.add(tranId);
+                    } else {
+                        callbackFailures.incrementAndGet();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    errors.incrementAndGet();
+                } catch (Exception e) {
+                    errors.incrementAndGet();
+                }
+            }));
+        }
+        for (Future<?> flow : flows) {
+            try {
+                flow.get();
+            } catch (ExecutionException e) {
+                errors.incrementAndGet();
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        workers.shutdown();
+
+        return new Report(studentTokens.size(), settledTranIds, initiationFailures.get(), callbackFailures.get(),
+                errors.get(), elapsed, toArray(initiateLatencies), toArray(callbackLatencies), toArray(flowLatencies));
+    }
+
+    private static long[] toArray(List<Long> values) {
+        synchronized (values) {
+            long[] array = values.stream().mapToLong(Long::longValue).toArray();
+            Arrays.sort(array);
+            return array;
+        }
+    }
+
+    /**
+     * Aggregated outcome of a load run.
+     */
+    public static class Report {
+        private final int flows;
+        private final Set<String> settledTranIds;
+        private final int initiationFailures;
+        private final int callbackFailures;
+        private final int errors;
+        private final long elapsedNanos;
+        private final long[] initiateLatencies;
+        private final long[] callbackLatencies;
+        private final long[] flowLatencies;
+
+        Report(int flows, Set<String> settledTranIds, int initiationFailures, int callbackFailures, int errors,
+               long elapsedNanos, long[] initiateLatencies, long[] callbackLatencies, long[] flowLatencies) {
+            this.flows = flows;
+            this.settledTranIds = settledTranIds;
+            this.initiationFailures = initiationFailures;
+            this.callbackFailures = callbackFailures;
+            this.errors = errors;
+            this.elapsedNanos = elapsedNanos;
+            this.initiateLatencies = initiateLatencies;
+            this.callbackLatencies = callbackLatencies;
+            this.flowLatencies = flowLatencies;
+        }
+
+        public int getFlows() { return flows; }
+        public Set<String> getSettledTranIds() { return settledTranIds; }
+        public int getSettled() { return settledTranIds.size(); }
+        public int getInitiationFailures() { return initiationFailures; }
+        public int getCallbackFailures() { return callbackFailures; }
+        public int getErrors() { return errors; }
+
+        /**
+         * Completed flows per second over the whole run
+         */
+        public double getThroughput() {
+            return flows / (elapsedNanos / 1_000_000_000.0);
+        }
+
+        public double getInitiateP99Millis() { return percentileMillis(initiateLatencies, 0.99); }
+        public double getCallbackP99Millis() { return percentileMillis(callbackLatencies, 0.99); }
+        public double getFlowP50Millis() { return percentileMillis(flowLatencies, 0.50); }
+        public double getFlowP99Millis() { return percentileMillis(flowLatencies, 0.99); }
+
+        private static double percentileMillis(long[] sorted, double percentile) {
+            if (sorted.length == 0) {
+                return 0.0;
+            }
+            int index = (int) Math.ceil(percentile * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1_000_000.0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(
+                "flows=%d settled=%d initiationFailures=%d callbackFailures=%d errors=%d "
+                    + "elapsed=%.1fs throughput=%.1f flows/s initiateP99=%.1fms callbackP99=%.1fms "
+                    + "flowP50=%.1fms flowP99=%.1fms",
+                flows, getSettled(), initiationFailures, callbackFailures, errors,
+                elapsedNanos / 1_000_000_000.0, getThroughput(), getInitiateP99Millis(), getCallbackP99Millis(),
+                getFlowP50Millis(), getFlowP99Millis());
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.HMS.hms.utility;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.stereotype.Component;
+
+import com.HMS.hms.Service.PaymentOutboxHandler;
+import com.HMS.hms.Tables.PaymentOutboxEvent;
+
+/**
+ * Outbox handler picked up by the test context. Records the tran_id of every event it handled,
+ * in handling order, and can be told to fail a transaction's event a number of times.
+ * Does nothing for transactions it was not told about apart from recording them.
+ */
+@Component
+public class RecordingOutboxHandler implements PaymentOutboxHandler {
+
+    private final List<String> handled = new CopyOnWriteArrayList<>();
+    private final Map<String, AtomicInteger> failuresLeft = new ConcurrentHashMap<>();
+
+    @Override
+    public PaymentOutboxEvent.EventType getEventType() {
+        return PaymentOutboxEvent.EventType.PAYMENT_SETTLED;
+    }
+
+    @Override
+    public void handle(PaymentOutboxEvent event) {
+        AtomicInteger failures = failuresLeft.get(event.getTranId());
+        if (failures != null && failures.getAndDecrement() > 0) {
+            throw new IllegalStateException("Simulated handler failure for " + event.getTranId());
+        }
+        handled.add(event.getTranId());
+    }
+
+    /**
+     * Makes the next {@code times} attempts for the transaction's event fail
+     */
+    public void failTimes(String tranId, int times) {
+        failuresLeft.put(tranId, new AtomicInteger(times));
+    }
+
+    public List<String> getHandled() {
+        return handled;
+    }
+
+    public void reset() {
+        handled.clear();
+        failuresLeft.clear();
+    }
+}
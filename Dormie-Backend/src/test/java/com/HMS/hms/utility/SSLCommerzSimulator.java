@@ -0,0 +1,489 @@
+package com.HMS.hms.utility;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Embeddable stand-in for the SSLCommerz gateway, used to exercise the payment flow offline.
+ *
+ * <p>Implements the endpoints the backend calls: session initiation
+ * ({@code POST /gwprocess/v4/api.php}), order validation
+ * ({@code GET /validator/api/validationserverAPI.php}) and transaction lookup by tran_id
+ * ({@code GET /validator/api/merchantTransIDvalidationAPI.php}). Response latency and the share of
+ * requests answered with HTTP 500 are configurable per endpoint. Once a session exists,
+ * {@link #completePayment(String)} plays the customer's side: it signs the success callback
+ * the same way the gateway does and posts it to the {@code success_url} from initiation,
+ * optionally several times at once to mimic the IPN and browser redirect arriving together.</p>
+ *
+ * <p>Point the backend at it with {@code sslcommerz.sandbox.base-url=}{@link #getBaseUrl()}.</p>
+ */
+public class SSLCommerzSimulator implements AutoCloseable {
+
+    public static final String INIT_PATH = "/gwprocess/v4/api.php";
+    public static final String VALIDATION_PATH = "/validator/api/validationserverAPI.php";
+    public static final String TRANSACTION_QUERY_PATH = "/validator/api/merchantTransIDvalidationAPI.php";
+
+    private final String storeId;
+    private final String storePassword;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, Session> sessionsByTranId = new ConcurrentHashMap<>();
+    private final Map<String, Session> sessionsByValId = new ConcurrentHashMap<>();
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private HttpClient callbackClient;
+
+    private int minLatencyMs = 0;
+    private int maxLatencyMs = 0;
+    private double initErrorRate = 0.0;
+    private double validationErrorRate = 0.0;
+    private int callbacksPerPayment = 1;
+    private String callbackBaseUrl;
+
+    private final AtomicLong initRequests = new AtomicLong();
+    private final AtomicLong validationRequests = new AtomicLong();
+    private final AtomicLong transactionQueries = new AtomicLong();
+    private final AtomicLong injectedErrors = new AtomicLong();
+    private final AtomicLong callbacksSent = new AtomicLong();
+
+    /**
+     * @param storeId Store ID the backend is configured with
+     * @param storePassword Store password, needed to sign callbacks the backend will accept
+     */
+    public SSLCommerzSimulator(String storeId, String storePassword) {
+        this.storeId = storeId;
+        this.storePassword = storePassword;
+    }
+
+    /**
+     * Starts the simulator on an ephemeral localhost port.
+     *
+     * @param threads Number of threads serving gateway requests
+     * @return this simulator
+     */
+    public SSLCommerzSimulator start(int threads) throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        serverExecutor = Executors.newFixedThreadPool(threads);
+        server.setExecutor(serverExecutor);
+        server.createContext(INIT_PATH, this::handleInit);
+        server.createContext(VALIDATION_PATH, this::handleValidation);
+        server.createContext(TRANSACTION_QUERY_PATH, this::handleTransactionQuery);
+        server.start();
+
+        callbackClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
+        return this;
+    }
+
+    @Override
+    public void close() {
+        if (server != null) {
+            server.stop(0);
+            serverExecutor.shutdownNow();
+        }
+    }
+
+    public String getBaseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    /**
+     * Uniform random latency added to every gateway response.
+     */
+    public SSLCommerzSimulator withLatency(int minMs, int maxMs) {
+        this.minLatencyMs = minMs;
+        this.maxLatencyMs = Math.max(minMs, maxMs);
+        return this;
+    }
+
+    /**
+     * Share (0..1) of initiation and validation requests answered with HTTP 500.
+     */
+    public SSLCommerzSimulator withErrorRates(double initErrorRate, double validationErrorRate) {
+        this.initErrorRate = initErrorRate;
+        this.validationErrorRate = validationErrorRate;
+        return this;
+    }
+
+    /**
+     * How many identical success callbacks {@link #completePayment(String)} fires concurrently.
+     */
+    public SSLCommerzSimulator withCallbacksPerPayment(int callbacksPerPayment) {
+        this.callbacksPerPayment = Math.max(1, callbacksPerPayment);
+        return this;
+    }
+
+    /**
+     * Sends callbacks to this scheme://host:port instead of the one in {@code success_url},
+     * for when the backend's {@code app.base.url} does not match the port it is listening on.
+     */
+    public SSLCommerzSimulator withCallbackBaseUrl(String callbackBaseUrl) {
+        this.callbackBaseUrl = callbackBaseUrl;
+        return this;
+    }
+
+    /**
+     * Pays the session registered for {@code tranId} and fires the signed success callback(s).
+     *
+     * @return HTTP status and Location header of every callback response
+     */
+    public CompletableFuture<List<CallbackResult>> completePayment(String tranId) {
+        Session session = sessionsByTranId.get(tranId);
+        if (session == null) {
+            return CompletableFuture.failedFuture(new IllegalStateException("No session for tran_id " + tranId));
+        }
+        session.outcome = "VALID";
+        sessionsByValId.put(session.valId, session);
+
+        String body = encodeForm(signedCallback(session));
+        HttpRequest request = HttpRequest.newBuilder(callbackUri(session.successUrl))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+
+        List<CompletableFuture<CallbackResult>> callbacks = new ArrayList<>();
+        for (int i = 0; i < callbacksPerPayment; i++) {
+            callbacksSent.incrementAndGet();
+            callbacks.add(callbackClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .thenApply(response -> new CallbackResult(response.statusCode(),
+                            response.headers().firstValue("Location").orElse(""))));
+        }
+        return CompletableFuture.allOf(callbacks.toArray(CompletableFuture[]::new))
+                .thenApply(ignored -> callbacks.stream().map(CompletableFuture::join).collect(Collectors.toList()));
+    }
+
+    /**
+     * The customer pays but no callback is ever delivered (closed browser, dropped IPN).
+     */
+    public void payWithoutCallback(String tranId) {
+        Session session = requireSession(tranId);
+        session.outcome = "VALID";
+        sessionsByValId.put(session.valId, session);
+    }
+
+    /**
+     * The customer's payment attempt is declined and no callback is delivered.
+     */
+    public void declineWithoutCallback(String tranId) {
+        requireSession(tranId).outcome = "FAILED";
+    }
+
+    /**
+     * The customer cancels on the gateway's page and no callback is delivered.
+     */
+    public void cancelWithoutCallback(String tranId) {
+        requireSession(tranId).outcome = "CANCELLED";
+    }
+
+    public long getInitRequests() { return initRequests.get(); }
+    public long getValidationRequests() { return validationRequests.get(); }
+    public long getTransactionQueries() { return transactionQueries.get(); }
+    public long getInjectedErrors() { return injectedErrors.get(); }
+    public long getCallbacksSent() { return callbacksSent.get(); }
+
+    private void handleInit(HttpExchange exchange) throws IOException {
+        initRequests.incrementAndGet();
+        try (exchange) {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                respond(exchange, 405, Map.of("status", "FAILED", "failedreason", "POST required"));
+                return;
+            }
+            simulateLatency();
+            if (shouldFail(initErrorRate)) {
+                respond(exchange, 500, Map.of("status", "FAILED", "failedreason", "Simulated gateway error"));
+                return;
+            }
+
+            Map<String, String> form;
+            try (InputStream in = exchange.getRequestBody()) {
+                form = decodeForm(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+            }
+            if (!storeId.equals(form.get("store_id")) || !storePassword.equals(form.get("store_passwd"))) {
+                respond(exchange, 200, Map.of("status", "FAILED", "failedreason", "Store Credential Error Or Store is De-active"));
+                return;
+            }
+            String tranId = form.get("tran_id");
+            if (tranId == null || form.get("total_amount") == null || form.get("success_url") == null) {
+                respond(exchange, 200, Map.of("status", "FAILED", "failedreason", "Missing required parameters"));
+                return;
+            }
+
+            Session session = new Session(tranId, form.get("total_amount"),
+                    form.getOrDefault("currency", "BDT"), form.get("success_url"));
+            sessionsByTranId.put(tranId, session);
+
+            Map<String, Object> response = new LinkedHashMap<>();
+            response.put("status", "SUCCESS");
+            response.put("failedreason", "");
+            response.put("sessionkey", session.sessionKey);
+            response.put("GatewayPageURL", "https://sandbox.sslcommerz.com/EasyCheckOut/" + session.sessionKey);
+            respond(exchange, 200, response);
+        }
+    }
+
+    private void handleValidation(HttpExchange exchange) throws IOException {
+        validationRequests.incrementAndGet();
+        try (exchange) {
+            simulateLatency();
+            if (shouldFail(validationErrorRate)) {
+                respond(exchange, 500, Map.of("status", "FAILED"));
+                return;
+            }
+
+            Map<String, String> query = decodeForm(exchange.getRequestURI().getRawQuery());
+            Session session = sessionsByValId.get(query.getOrDefault("val_id", ""));
+            if (session == null || !storeId.equals(query.get("store_id"))
+                    || !storePassword.equals(query.get("store_passwd"))) {
+                respond(exchange, 200, Map.of("status", "INVALID_TRANSACTION"));
+                return;
+            }
+
+            // SSLCommerz answers VALID the first time and VALIDATED on every later query
+            String status = session.validated ? "VALIDATED" : "VALID";
+            session.validated = true;
+
+            Map<String, Object> response = new LinkedHashMap<>();
+            response.put("status", status);
+            response.put("tran_date", session.createdAt);
+            response.put("tran_id", session.tranId);
+            response.put("val_id", session.valId);
+            response.put("amount", session.amount);
+            response.put("store_amount", session.amount);
+            response.put("currency", session.currency);
+            response.put("bank_tran_id", session.bankTranId);
+            response.put("card_type", "SIMULATOR-VISA");
+            response.put("currency_type", session.currency);
+            response.put("currency_amount", session.amount);
+            response.put("risk_level", "0");
+            respond(exchange, 200, response);
+        }
+    }
+
+    private void handleTransactionQuery(HttpExchange exchange) throws IOException {
+        transactionQueries.incrementAndGet();
+        try (exchange) {
+            simulateLatency();
+            if (shouldFail(validationErrorRate)) {
+                respond(exchange, 500, Map.of("APIConnect", "FAILED"));
+                return;
+            }
+
+            Map<String, String> query = decodeForm(exchange.getRequestURI().getRawQuery());
+            if (!storeId.equals(query.get("store_id")) || !storePassword.equals(query.get("store_passwd"))) {
+                respond(exchange, 200, Map.of("APIConnect", "INVALID_REQUEST"));
+                return;
+            }
+
+            // Sessions the customer never acted on are not reported, as with the real gateway
+            Session session = sessionsByTranId.get(query.getOrDefault("tran_id", ""));
+            List<Map<String, Object>> elements = new ArrayList<>();
+            if (session != null && session.outcome != null) {
+                Map<String, Object> element = new LinkedHashMap<>();
+                element.put("val_id", "VALID".equals(session.outcome) ? session.valId : "");
+                element.put("amount", session.amount);
+                element.put("currency", session.currency);
+                element.put("bank_tran_id", session.bankTranId);
+                element.put("card_type", "SIMULATOR-VISA");
+                element.put("tran_date", session.createdAt);
+                element.put("tran_id", session.tranId);
+                element.put("status", session.outcome);
+                element.put("currency_type", session.currency);
+                element.put("currency_amount", session.amount);
+                elements.add(element);
+            }
+
+            Map<String, Object> response = new LinkedHashMap<>();
+            response.put("APIConnect", "DONE");
+            response.put("no_of_trans_found", String.valueOf(elements.size()));
+            response.put("element", elements);
+            respond(exchange, 200, response);
+        }
+    }
+
+    private Session requireSession(String tranId) {
+        Session session = sessionsByTranId.get(tranId);
+        if (session == null) {
+            throw new IllegalStateException("No session for tran_id " + tranId);
+        }
+        return session;
+    }
+
+    private Map<String, String> signedCallback(Session session) {
+        Map<String, String> params = new LinkedHashMap<>();
+        params.put("tran_id", session.tranId);
+        params.put("val_id", session.valId);
+        params.put("amount", session.amount);
+        params.put("card_type", "SIMULATOR-VISA");
+        params.put("store_amount", session.amount);
+        params.put("bank_tran_id", session.bankTranId);
+        params.put("status", "VALID");
+        params.put("tran_date", session.createdAt);
+        params.put("currency", session.currency);
+        params.put("store_id", storeId);
+
+        String verifyKey = String.join(",", params.keySet());
+        TreeMap<String, String> signed = new TreeMap<>(params);
+        signed.put("store_passwd", md5(storePassword));
+        String hashString = signed.entrySet().stream()
+                .map(e -> e.getKey() + "=" + e.getValue())
+                .collect(Collectors.joining("&"));
+
+        params.put("verify_key", verifyKey);
+        params.put("verify_sign", md5(hashString));
+        return params;
+    }
+
+    private URI callbackUri(String successUrl) {
+        if (callbackBaseUrl == null) {
+            return URI.create(successUrl);
+        }
+        URI original = URI.create(successUrl);
+        return URI.create(callbackBaseUrl + original.getRawPath());
+    }
+
+    private void simulateLatency() {
+        if (maxLatencyMs <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextInt(minLatencyMs, maxLatencyMs + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private boolean shouldFail(double rate) {
+        if (rate > 0 && ThreadLocalRandom.current().nextDouble() < rate) {
+            injectedErrors.incrementAndGet();
+            return true;
+        }
+        return false;
+    }
+
+    private void respond(HttpExchange exchange, int status, Map<String, ?> body) throws IOException {
+        byte[] bytes;
+        try {
+            bytes = objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new IOException(e);
+        }
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static Map<String, String> decodeForm(String encoded) {
+        Map<String, String> values = new HashMap<>();
+        if (encoded == null || encoded.isEmpty()) {
+            return values;
+        }
+        for (String pair : encoded.split("&")) {
+            int eq = pair.indexOf('=');
+            String key = eq < 0 ? pair : pair.substring(0, eq);
+            String value = eq < 0 ? "" : pair.substring(eq + 1);
+            values.put(URLDecoder.decode(key, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return values;
+    }
+
+    private static String encodeForm(Map<String, String> values) {
+        return values.entrySet().stream()
+                .map(e -> URLEncoder.encode(e.getKey(), StandardCharsets.UTF_8) + "="
+                        + URLEncoder.encode(e.getValue(), StandardCharsets.UTF_8))
+                .collect(Collectors.joining("&"));
+    }
+
+    private static String md5(String value) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("MD5");
+            StringBuilder sb = new StringBuilder();
+            for (byte b : md.digest(value.getBytes(StandardCharsets.UTF_8))) {
+                sb.append(String.format("%02x", b));
+            }
+            return sb.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * A payment session created by an initiation request.
+     */
+    private static class Session {
+        private final String tranId;
+        private final String amount;
+        private final String currency;
+        private final String successUrl;
+        private final String sessionKey = UUID.randomUUID().toString().replace("-", "");
+        private final String valId = "SIM" + UUID.randomUUID().toString().replace("-", "").substring(0, 20);
+        private final String bankTranId = "BANK" + System.nanoTime();
+        private final String createdAt = LocalDateTime.now().withNano(0).toString().replace('T', ' ');
+        private volatile boolean validated;
+        private volatile String outcome;
+
+        Session(String tranId, String amount, String currency, String successUrl) {
+            this.tranId = tranId;
+            this.amount = new BigDecimal(amount).toPlainString();
+            this.currency = currency;
+            this.successUrl = successUrl;
+        }
+    }
+
+    /**
+     * Outcome of one callback POST as seen by the gateway.
+     */
+    public static class CallbackResult {
+        private final int status;
+        private final String location;
+
+        public CallbackResult(int status, String location) {
+            this.status = status;
+            this.location = location;
+        }
+
+        public int getStatus() { return status; }
+        public String getLocation() { return location; }
+
+        public boolean isSettled() {
+            return status == 302 && location.contains("/payment-success.html");
+        }
+    }
+}
@@ -2,6 +2,8 @@ package com.HMS.hms.utility;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import org.hibernate.stat.Statistics;
 import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
@@ -14,6 +16,9 @@ import com.HMS.hms.DTO.JwtResponse;
 import com.HMS.hms.DTO.LoginRequest;
 import com.HMS.hms.DTO.MessageResponse;
 import com.HMS.hms.DTO.SignupRequest;
+import com.HMS.hms.Repo.StudentsRepo;
+import com.HMS.hms.Repo.UsersRepo;
+import com.HMS.hms.Tables.Students;
 
 /**
  * Utility class for common test operations.
@@ -71,6 +76,15 @@ public class TestUtility {
         return accessToken;
     }
 
+    /**
+     * Authenticates as the bootstrapped provost and returns the JWT token.
+     * 
+     * @return JWT token for provost authentication
+     */
+    public String loginAsProvost() {
+        return loginAsStudent("provost@provost", "provost");
+    }
+
     /**
      * Authenticates as a student and returns the JWT token.
      * 
@@ -202,6 +216,55 @@ public class TestUtility {
         return new StudentCredentials(email, password);
     }
 
+    /**
+     * Marks an existing student as a resident, as meal plan features require.
+     * 
+     * @param email Student's email
+     * @param usersRepo Repository to resolve the user
+     * @param studentsRepo Repository to update the student
+     * @return The saved student record
+     */
+    public static Students makeResident(String email, UsersRepo usersRepo, StudentsRepo studentsRepo) {
+        Long userId = usersRepo.findByEmail(email).orElseThrow().getUserId();
+        Students student = studentsRepo.findByUserId(userId).orElseThrow();
+        student.setResidencyStatus("resident");
+        return studentsRepo.save(student);
+    }
+
+    /**
+     * Creates a resident student and logs in as them.
+     * 
+     * @param usersRepo Repository to resolve the user
+     * @param studentsRepo Repository to update the student
+     * @return JWT token for the new resident student
+     */
+    public String residentToken(UsersRepo usersRepo, StudentsRepo studentsRepo) {
+        StudentCredentials credentials = createStudentWithCredentials();
+        makeResident(credentials.getEmail(), usersRepo, studentsRepo);
+        return loginAsStudent(credentials.getEmail(), credentials.getPassword());
+    }
+
+    /**
+     * Counts executions of the recorded queries that mention any of the given names,
+     * e.g. entity names, since the statistics were last cleared.
+     * 
+     * @param statistics Hibernate statistics with collection enabled
+     * @param names Entity or table names to look for in the query strings
+     * @return Total number of matching query executions
+     */
+    public static long queryCount(Statistics statistics, String... names) {
+        long count = 0;
+        for (String query : statistics.getQueries()) {
+            for (String name : names) {
+                if (query.contains(name)) {
+                    count += statistics.getQueryStatistics(query).getExecutionCount();
+                    break;
+                }
+            }
+        }
+        return count;
+    }
+
     /**
      * Gets the base URL for authentication endpoints.
      * 